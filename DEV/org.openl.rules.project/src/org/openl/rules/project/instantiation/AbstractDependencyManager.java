@@ -13,7 +13,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -51,6 +54,8 @@ public abstract class AbstractDependencyManager implements IDependencyManager {
     private final ThreadLocal<Deque<IDependencyLoader>> compilationStackThreadLocal = ThreadLocal
             .withInitial(ArrayDeque::new);
     private final Map<ProjectDescriptor, ClassLoader> externalJarsClassloaders = new HashMap<>();
+    // the threads which wait for a dependency compiled by another thread, used to detect circular dependencies
+    private final Map<Thread, Thread> waitingThreads = new ConcurrentHashMap<>();
     private final ClassLoader rootClassLoader;
     protected boolean executionMode;
     private Map<String, Object> externalParameters;
@@ -172,8 +177,10 @@ public abstract class AbstractDependencyManager implements IDependencyManager {
     }
 
     // Disable cache. if cache required it should be used in loaders.
+    // Not synchronized: different dependencies are compiled concurrently, the loaders de-duplicate the requests for
+    // the same dependency.
     @Override
-    public synchronized CompiledDependency loadDependency(
+    public CompiledDependency loadDependency(
             ResolvedDependency dependency) throws OpenLCompilationException {
         final IDependencyLoader dependencyLoader = findDependencyLoaderByDependency(dependency);
         Deque<IDependencyLoader> compilationStack = getCompilationStack();
@@ -221,6 +228,109 @@ public abstract class AbstractDependencyManager implements IDependencyManager {
         }
     }
 
+    /**
+     * Waits for the compilation of the dependency which is in progress in another thread. If that thread waits
+     * directly or indirectly for a compilation of the current thread, the dependencies refer to each other.
+     */
+    CompiledDependency awaitCompilation(IDependencyLoader dependencyLoader,
+                                        DependencyCompilation compilation) throws OpenLCompilationException {
+        Thread current = Thread.currentThread();
+        waitingThreads.put(current, compilation.getOwner());
+        try {
+            Set<Thread> visited = new HashSet<>();
+            for (Thread t = compilation.getOwner(); t != null && visited.add(t); t = waitingThreads.get(t)) {
+                if (t == current) {
+                    Deque<IDependencyLoader> compilationStack = getCompilationStack();
+                    throw new OpenLCompilationException(String.format(
+                            "Circular dependency is detected: '%s' is compiled in another thread and depends on '%s'.",
+                            dependencyLoader.getDependency(),
+                            compilationStack.isEmpty() ? dependencyLoader.getDependency()
+                                    : compilationStack.getLast().getDependency()));
+                }
+            }
+            return compilation.await();
+        } finally {
+            waitingThreads.remove(current);
+        }
+    }
+
+    /**
+     * Returns the executor which compiles the independent dependencies concurrently in
+     * {@link #compileDependencies(Collection)}.
+     *
+     * @return the executor or {@code null} if the dependencies are compiled on demand only
+     */
+    protected Executor getCompilationExecutor() {
+        return null;
+    }
+
+    /**
+     * Compiles the given dependencies and the projects they depend on ahead of the compilation which uses them. A
+     * dependency is scheduled as soon as all the projects it depends on are compiled, so independent projects are
+     * compiled concurrently by {@link #getCompilationExecutor()}. The compiled dependencies are cached by the loaders.
+     * The compilation errors are not thrown here, they are reported when the dependency is loaded.
+     */
+    public void compileDependencies(Collection<ResolvedDependency> dependencies) {
+        Executor executor = getCompilationExecutor();
+        if (executor == null || !getCompilationStack().isEmpty()) {
+            // a compilation in progress must not wait for other threads which may wait for it
+            return;
+        }
+        Map<IDependencyLoader, CompletableFuture<Void>> tasks = new HashMap<>();
+        Set<IDependencyLoader> path = new HashSet<>();
+        List<CompletableFuture<Void>> roots = new ArrayList<>();
+        for (ResolvedDependency dependency : dependencies) {
+            IDependencyLoader dependencyLoader = findDependencyLoader(dependency);
+            if (dependencyLoader != null) {
+                roots.add(scheduleCompilation(dependencyLoader, tasks, path, executor));
+            }
+        }
+        CompletableFuture.allOf(roots.toArray(new CompletableFuture[0])).join();
+    }
+
+    private CompletableFuture<Void> scheduleCompilation(IDependencyLoader dependencyLoader,
+                                                        Map<IDependencyLoader, CompletableFuture<Void>> tasks,
+                                                        Set<IDependencyLoader> path,
+                                                        Executor executor) {
+        CompletableFuture<Void> task = tasks.get(dependencyLoader);
+        if (task != null) {
+            return task;
+        }
+        if (!path.add(dependencyLoader)) {
+            // circular dependency is reported by the compilation
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        ProjectDescriptor project = dependencyLoader.getProject();
+        if (project.getDependencies() != null) {
+            for (ProjectDependencyDescriptor pdd : project.getDependencies()) {
+                IDependencyLoader dl = findDependencyLoader(buildResolvedDependency(pdd.getName()));
+                if (dl != null && dl.isProjectLoader() && !Objects.equals(dl.getProject(), project)) {
+                    dependencies.add(scheduleCompilation(dl, tasks, path, executor));
+                }
+            }
+        }
+        path.remove(dependencyLoader);
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        task = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                .handle((r, e) -> null)
+                .thenRunAsync(() -> compileQuietly(dependencyLoader, contextClassLoader), executor);
+        tasks.put(dependencyLoader, task);
+        return task;
+    }
+
+    private void compileQuietly(IDependencyLoader dependencyLoader, ClassLoader contextClassLoader) {
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+            loadDependency(dependencyLoader.getDependency());
+        } catch (OpenLCompilationException | RuntimeException e) {
+            log.debug("Failed to compile dependency '{}' in advance.", dependencyLoader.getDependency(), e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldClassLoader);
+        }
+    }
+
     public IDependencyLoader findDependencyLoader(ResolvedDependency dependency) {
         return getDependencyLoaders().stream()
                 .filter(
@@ -457,6 +567,18 @@ public abstract class AbstractDependencyManager implements IDependencyManager {
 
     @Override
     public synchronized void reset(ResolvedDependency dependency) {
+        reset(dependency, true);
+    }
+
+    /**
+     * Resets the dependency and all dependencies depending on it.
+     *
+     * @param dependency the dependency to reset
+     * @param resetClasspath if {@code false}, then the classes generated into the project classloader are kept, so the
+     *            other modules of the project are not recompiled if the dependency contains datatypes. The caller is
+     *            responsible to reset the dependency again if the generated classes are outdated.
+     */
+    protected synchronized void reset(ResolvedDependency dependency, boolean resetClasspath) {
         if (dependency == null) {
             return;
         }
@@ -482,7 +604,7 @@ public abstract class AbstractDependencyManager implements IDependencyManager {
             if (depLoader.getRefToCompiledDependency() != null) {
                 CompiledDependency compiledDependency = depLoader.getRefToCompiledDependency();
                 IOpenClass openClass = compiledDependency.getCompiledOpenClass().getOpenClassWithErrors();
-                if (openClass instanceof XlsModuleOpenClass && ((XlsModuleOpenClass) openClass)
+                if (resetClasspath && openClass instanceof XlsModuleOpenClass && ((XlsModuleOpenClass) openClass)
                         .isAppliedChangesToClasspath()) {
                     // Datatypes are generated into the project classloader. If module contains datatype then
                     // whole project needs to be recompiled.
@@ -0,0 +1,39 @@
+package org.openl.rules.project.instantiation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.openl.dependency.CompiledDependency;
+import org.openl.exception.OpenLCompilationException;
+
+/**
+ * The compilation of a dependency which is in progress in the owner thread. Other threads which request the same
+ * dependency wait for its result instead of compiling it once again.
+ */
+final class DependencyCompilation extends CompletableFuture<CompiledDependency> {
+
+    private final Thread owner = Thread.currentThread();
+
+    Thread getOwner() {
+        return owner;
+    }
+
+    /**
+     * Waits for the result and rethrows the exception of the compilation in the current thread.
+     */
+    CompiledDependency await() throws OpenLCompilationException {
+        try {
+            return join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof OpenLCompilationException) {
+                throw (OpenLCompilationException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
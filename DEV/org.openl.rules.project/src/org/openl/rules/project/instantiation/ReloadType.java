@@ -7,8 +7,8 @@ package org.openl.rules.project.instantiation;
  */
 public enum ReloadType {
     NO, // Simple reload without reloading of wrappers
-    SINGLE, // Only for current project: reload wrapper but with using of old
-    // class loader
+    SINGLE, // Only for current module: recompile the module and the modules depending on it with using of old
+    // class loader. The module is recompiled as a whole, the tables are not rebound separately
     RELOAD, // Usual reload: reload wrapper but with using of old class loader
     // and clear all compiled wrappers from cache
     FORCED // Forced reloading with new class loader after reload and clear all
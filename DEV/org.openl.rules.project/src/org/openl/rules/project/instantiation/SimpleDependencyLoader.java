@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +27,7 @@ public class SimpleDependencyLoader implements IDependencyLoader {
     private final AbstractDependencyManager dependencyManager;
     private final ResolvedDependency dependency;
     private volatile CompiledDependency compiledDependency;
+    private final AtomicReference<DependencyCompilation> compilation = new AtomicReference<>();
     private final boolean executionMode;
     private final ProjectDescriptor project;
     private final Module module;
@@ -81,6 +83,10 @@ public class SimpleDependencyLoader implements IDependencyLoader {
         return dependencyManager;
     }
 
+    /**
+     * Returns the cached dependency or compiles it. Concurrent requests for the same dependency are de-duplicated: the
+     * first thread compiles it, other threads wait for the result.
+     */
     @Override
     public final CompiledDependency getCompiledDependency() throws OpenLCompilationException {
         CompiledDependency cachedDependency = compiledDependency;
@@ -89,13 +95,37 @@ public class SimpleDependencyLoader implements IDependencyLoader {
             return cachedDependency;
         }
         log.debug("Dependency '{}' is not found in cache.", dependency);
-        synchronized (dependencyManager) {
-            cachedDependency = compiledDependency;
-            if (cachedDependency != null) {
+        while (true) {
+            DependencyCompilation current = compilation.get();
+            if (current == null) {
+                DependencyCompilation started = new DependencyCompilation();
+                if (compilation.compareAndSet(null, started)) {
+                    return compile(started);
+                }
+            } else if (current.getOwner() == Thread.currentThread()) {
+                return compileDependency();
+            } else {
+                log.debug("Dependency '{}' is being compiled in another thread.", dependency);
+                return dependencyManager.awaitCompilation(this, current);
+            }
+        }
+    }
+
+    private CompiledDependency compile(DependencyCompilation started) throws OpenLCompilationException {
+        try {
+            CompiledDependency result = compiledDependency;
+            if (result != null) {
                 log.debug("Compiled dependency '{}' is used from cache.", dependency);
-                return cachedDependency;
+            } else {
+                result = compileDependency();
             }
-            return compileDependency();
+            started.complete(result);
+            return result;
+        } catch (OpenLCompilationException | RuntimeException | Error e) {
+            started.completeExceptionally(e);
+            throw e;
+        } finally {
+            compilation.compareAndSet(started, null);
         }
     }
 
@@ -168,6 +198,8 @@ public class SimpleDependencyLoader implements IDependencyLoader {
             onResetComplete(this, compiledDependency1);
         }
         compiledDependency = null;
+        // the running compilation is not awaited by the next requests, they compile the dependency once again
+        compilation.set(null);
     }
 
     protected void onResetComplete(IDependencyLoader dependencyLoader, CompiledDependency compiledDependency) {
@@ -0,0 +1,175 @@
+package org.openl.rules.project.instantiation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.openl.CompiledOpenClass;
+import org.openl.dependency.CompiledDependency;
+import org.openl.dependency.DependencyType;
+import org.openl.exception.OpenLCompilationException;
+import org.openl.rules.project.model.ProjectDependencyDescriptor;
+import org.openl.rules.project.model.ProjectDescriptor;
+import org.openl.types.NullOpenClass;
+
+public class ParallelDependencyCompilationTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentRequestsAreCompiledOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestDependencyManager dependencyManager = new TestDependencyManager(executor, project("A"));
+        dependencyManager.onCompile("A", () -> {
+            started.countDown();
+            release.await();
+        });
+
+        Future<CompiledDependency> first = executor
+            .submit(() -> dependencyManager.loadDependency(AbstractDependencyManager.buildResolvedDependency("A")));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        AtomicReference<Thread> secondThread = new AtomicReference<>();
+        Future<CompiledDependency> second = executor.submit(() -> {
+            secondThread.set(Thread.currentThread());
+            return dependencyManager.loadDependency(AbstractDependencyManager.buildResolvedDependency("A"));
+        });
+        // Release the first compilation only when the second request waits for it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (secondThread.get() == null || secondThread.get().getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "The second request does not wait for the compilation.");
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, dependencyManager.getCompilationCount("A"));
+    }
+
+    @Test
+    public void testIndependentProjectsAreCompiledConcurrently() throws Exception {
+        // A depends on B and C, B and C are independent
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        TestDependencyManager dependencyManager = new TestDependencyManager(executor,
+            project("A", "B", "C"),
+            project("B"),
+            project("C"));
+        ThrowingRunnable awaitBoth = () -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(10, TimeUnit.SECONDS), "Independent projects are compiled sequentially.");
+        };
+        dependencyManager.onCompile("B", awaitBoth);
+        dependencyManager.onCompile("C", awaitBoth);
+
+        dependencyManager
+            .compileDependencies(Collections.singletonList(AbstractDependencyManager.buildResolvedDependency("A")));
+
+        List<String> order = dependencyManager.getCompilationOrder();
+        assertEquals(3, order.size());
+        assertEquals("A", order.get(2));
+        assertEquals(Set.of("B", "C"), new HashSet<>(order.subList(0, 2)));
+        assertEquals(1, dependencyManager.getCompilationCount("B"));
+    }
+
+    private static ProjectDescriptor project(String name, String... dependencies) {
+        ProjectDescriptor project = new ProjectDescriptor();
+        project.setName(name);
+        List<ProjectDependencyDescriptor> projectDependencies = new ArrayList<>();
+        for (String dependency : dependencies) {
+            ProjectDependencyDescriptor projectDependency = new ProjectDependencyDescriptor();
+            projectDependency.setName(dependency);
+            projectDependencies.add(projectDependency);
+        }
+        project.setDependencies(projectDependencies);
+        project.setModules(Collections.emptyList());
+        return project;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private static final class TestDependencyManager extends AbstractDependencyManager {
+        private final ExecutorService executor;
+        private final List<ProjectDescriptor> projects;
+        private final Map<String, ThrowingRunnable> actions = new HashMap<>();
+        private final Map<String, AtomicInteger> compilationCounts = new HashMap<>();
+        private final List<String> compilationOrder = Collections.synchronizedList(new ArrayList<>());
+
+        TestDependencyManager(ExecutorService executor, ProjectDescriptor... projects) {
+            super(null, true, null);
+            this.executor = executor;
+            this.projects = List.of(projects);
+            for (ProjectDescriptor project : projects) {
+                compilationCounts.put(project.getName(), new AtomicInteger());
+            }
+        }
+
+        void onCompile(String projectName, ThrowingRunnable action) {
+            actions.put(projectName, action);
+        }
+
+        int getCompilationCount(String projectName) {
+            return compilationCounts.get(projectName).get();
+        }
+
+        List<String> getCompilationOrder() {
+            return compilationOrder;
+        }
+
+        @Override
+        protected ExecutorService getCompilationExecutor() {
+            return executor;
+        }
+
+        @Override
+        protected Set<IDependencyLoader> initDependencyLoaders() {
+            Set<IDependencyLoader> dependencyLoaders = new HashSet<>();
+            for (ProjectDescriptor project : projects) {
+                dependencyLoaders.add(new SimpleDependencyLoader(project, null, true, this) {
+                    @Override
+                    protected CompiledDependency compileDependency() throws OpenLCompilationException {
+                        String name = getProject().getName();
+                        compilationCounts.get(name).incrementAndGet();
+                        try {
+                            ThrowingRunnable action = actions.get(name);
+                            if (action != null) {
+                                action.run();
+                            }
+                        } catch (Exception e) {
+                            throw new OpenLCompilationException("Failed to compile.", e);
+                        }
+                        compilationOrder.add(name);
+                        return new CompiledDependency(getDependency(),
+                            new CompiledOpenClass(NullOpenClass.the, Collections.emptyList()),
+                            DependencyType.PROJECT);
+                    }
+                });
+            }
+            return dependencyLoaders;
+        }
+    }
+}
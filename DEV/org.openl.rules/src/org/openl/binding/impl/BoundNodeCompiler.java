@@ -0,0 +1,358 @@
+package org.openl.binding.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.openl.binding.IBoundNode;
+import org.openl.binding.impl.cast.IOpenCast;
+import org.openl.exception.OpenLRuntimeException;
+import org.openl.rules.operator.Comparison;
+import org.openl.rules.operator.Operators;
+import org.openl.types.IMethodCaller;
+import org.openl.types.impl.CastingMethodCaller;
+import org.openl.types.java.JavaOpenMethod;
+import org.openl.util.ClassUtils;
+import org.openl.vm.IRuntimeEnv;
+
+/**
+ * Compiles bound expressions to the JVM byte code. Operators and static Java methods are invoked directly with
+ * unboxed arguments instead of the reflection calls, and the arithmetic and the comparisons of the primitive types are
+ * replaced with the JVM instructions. The nodes which cannot be compiled are evaluated by the interpreter, so the
+ * compiled expression returns the same result and throws the same exceptions as the original one.
+ * <p>
+ * The compilation is disabled by default and is enabled by the {@value #COMPILE_PROPERTY} system property.
+ */
+public final class BoundNodeCompiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BoundNodeCompiler.class);
+
+    public static final String COMPILE_PROPERTY = "org.openl.binding.compile";
+
+    private static final boolean ENABLED = Boolean.getBoolean(COMPILE_PROPERTY);
+
+    private static final Type COMPILED_NODE_TYPE = Type.getType(CompiledBoundNode.class);
+    private static final Type BOUND_NODE_TYPE = Type.getType(IBoundNode.class);
+    private static final Type BOUND_NODES_TYPE = Type.getType(IBoundNode[].class);
+    private static final Type RUNTIME_EXCEPTION_TYPE = Type.getType(OpenLRuntimeException.class);
+    private static final Type EXCEPTION_TYPE = Type.getType(Exception.class);
+    private static final Method CONSTRUCTOR = Method
+            .getMethod("void <init>(org.openl.binding.IBoundNode, org.openl.binding.IBoundNode[])");
+    private static final Method EVALUATE_RUNTIME = Method.getMethod("Object evaluateRuntime(org.openl.vm.IRuntimeEnv)");
+    private static final Method EVALUATE = Method.getMethod("Object evaluate(org.openl.vm.IRuntimeEnv)");
+    private static final Method FAIL = Method.getMethod("RuntimeException fail(int, Exception)");
+
+    private static final Map<String, Integer> ARITHMETIC = Map
+            .of("add", GeneratorAdapter.ADD, "subtract", GeneratorAdapter.SUB, "multiply", GeneratorAdapter.MUL);
+    private static final Set<Class<?>> ARITHMETIC_TYPES = Set.of(int.class, long.class, float.class, double.class);
+    // Floating point numbers are compared with the tolerance, so only integer comparisons are replaced
+    private static final Map<String, Integer> COMPARISON = Map.of("eq",
+            GeneratorAdapter.EQ,
+            "ne",
+            GeneratorAdapter.NE,
+            "gt",
+            GeneratorAdapter.GT,
+            "ge",
+            GeneratorAdapter.GE,
+            "lt",
+            GeneratorAdapter.LT,
+            "le",
+            GeneratorAdapter.LE);
+    private static final Set<Class<?>> COMPARISON_TYPES = Set.of(int.class, long.class);
+
+    private BoundNodeCompiler() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Compiles the expression if it is a call of an operator or a static Java method.
+     *
+     * @param node the bound expression
+     * @return the compiled expression or the same node if it cannot be compiled
+     */
+    public static IBoundNode compile(IBoundNode node) {
+        if (!isCall(node) && !isCast(node)) {
+            return node;
+        }
+        try {
+            return new Generator().generate(node);
+        } catch (Exception | LinkageError e) {
+            LOG.debug("Failed to compile the expression. It is evaluated by the interpreter.", e);
+            return node;
+        }
+    }
+
+    private static boolean isLiteral(IBoundNode node) {
+        if (!(node instanceof LiteralBoundNode)) {
+            return false;
+        }
+        Class<?> type = node.getType().getInstanceClass();
+        Object value = ((LiteralBoundNode) node).getValue();
+        return type != null && type.isPrimitive() && value != null && ClassUtils
+                .primitiveToWrapper(type) == value.getClass();
+    }
+
+    private static boolean isCast(IBoundNode node) {
+        if (node.getClass() != CastNode.class) {
+            return false;
+        }
+        IBoundNode child = node.getChildren()[0];
+        IOpenCast cast = ((CastNode) node).getCast();
+        return cast.isImplicit() && isWidening(child.getType().getInstanceClass(), node.getType().getInstanceClass());
+    }
+
+    private static boolean isCall(IBoundNode node) {
+        if (node.getClass() != BinaryOpNode.class && node.getClass() != MethodBoundNode.class || node
+                .getTargetNode() != null) {
+            return false;
+        }
+        IMethodCaller caller = ((MethodBoundNode) node).getMethodCaller();
+        IOpenCast[] casts = null;
+        if (caller instanceof CastingMethodCaller) {
+            casts = ((CastingMethodCaller) caller).getCasts();
+            caller = caller.getMethod();
+        }
+        if (!(caller instanceof JavaOpenMethod)) {
+            return false;
+        }
+        java.lang.reflect.Method method = ((JavaOpenMethod) caller).getJavaMethod();
+        if (!Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers()) || !isAccessible(
+                method.getDeclaringClass()) || method.getReturnType() == void.class) {
+            return false;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        IBoundNode[] children = node.getChildren();
+        if (children.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < children.length; i++) {
+            Class<?> type = children[i].getType().getInstanceClass();
+            Class<?> parameterType = parameterTypes[i];
+            if (type == null) {
+                return false;
+            } else if (casts != null && casts[i] != null) {
+                if (!casts[i].isImplicit() || !isWidening(type, parameterType)) {
+                    return false;
+                }
+            } else if (parameterType.isPrimitive()) {
+                if (type != parameterType) {
+                    return false;
+                }
+            } else if (type.isPrimitive() || !parameterType.isAssignableFrom(type) || !isAccessible(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWidening(Class<?> from, Class<?> to) {
+        if (from == null || to == null || !from.isPrimitive() || !to.isPrimitive()) {
+            return false;
+        } else if (from == to || to == double.class) {
+            return from != boolean.class && to != boolean.class;
+        } else if (to == float.class) {
+            return from != boolean.class;
+        } else if (to == long.class) {
+            return from == int.class || from == short.class || from == byte.class || from == char.class;
+        } else if (to == int.class) {
+            return from == short.class || from == byte.class || from == char.class;
+        } else if (to == short.class) {
+            return from == byte.class;
+        }
+        return false;
+    }
+
+    private static boolean isAccessible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            // The generated class is defined in the class loader of this class
+            return Modifier.isPublic(type.getModifiers()) && Class
+                    .forName(type.getName(), false, BoundNodeCompiler.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static final class Generator {
+
+        private final List<IBoundNode> nodes = new ArrayList<>();
+        private final List<Runnable> handlers = new ArrayList<>();
+        private GeneratorAdapter mg;
+
+        IBoundNode generate(IBoundNode root) throws ReflectiveOperationException {
+            String className = COMPILED_NODE_TYPE.getInternalName() + "$Generated";
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+            cw.visit(Opcodes.V11,
+                    Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                    className,
+                    null,
+                    COMPILED_NODE_TYPE.getInternalName(),
+                    null);
+
+            mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, CONSTRUCTOR, null, null, cw);
+            mg.visitCode();
+            mg.loadThis();
+            mg.loadArgs();
+            mg.invokeConstructor(COMPILED_NODE_TYPE, CONSTRUCTOR);
+            mg.returnValue();
+            mg.endMethod();
+
+            mg = new GeneratorAdapter(Opcodes.ACC_PROTECTED, EVALUATE_RUNTIME, null, null, cw);
+            mg.visitCode();
+            Class<?> type = write(root);
+            if (type.isPrimitive()) {
+                mg.valueOf(Type.getType(type));
+            }
+            mg.returnValue();
+            handlers.forEach(Runnable::run);
+            mg.endMethod();
+            cw.visitEnd();
+
+            // Hidden classes are unloaded together with the compiled expression
+            Class<?> compiledClass = MethodHandles.lookup().defineHiddenClass(cw.toByteArray(), false).lookupClass();
+            return (IBoundNode) compiledClass.getConstructor(IBoundNode.class, IBoundNode[].class)
+                    .newInstance(root, nodes.toArray(IBoundNode.EMPTY));
+        }
+
+        /**
+         * Writes the code which puts the value of the node to the stack.
+         *
+         * @return the type of the value in the stack
+         */
+        private Class<?> write(IBoundNode node) {
+            if (isLiteral(node)) {
+                writeLiteral(((LiteralBoundNode) node).getValue());
+                return node.getType().getInstanceClass();
+            } else if (isCast(node)) {
+                Class<?> from = write(node.getChildren()[0]);
+                Class<?> to = node.getType().getInstanceClass();
+                mg.cast(Type.getType(from), Type.getType(to));
+                return to;
+            } else if (isCall(node)) {
+                return writeCall((MethodBoundNode) node);
+            }
+            return writeInterpreted(node);
+        }
+
+        private void writeLiteral(Object value) {
+            if (value instanceof Boolean) {
+                mg.push((Boolean) value);
+            } else if (value instanceof Character) {
+                mg.push((Character) value);
+            } else if (value instanceof Long) {
+                mg.push((Long) value);
+            } else if (value instanceof Float) {
+                mg.push((Float) value);
+            } else if (value instanceof Double) {
+                mg.push((Double) value);
+            } else {
+                mg.push(((Number) value).intValue());
+            }
+        }
+
+        private Class<?> writeCall(MethodBoundNode node) {
+            java.lang.reflect.Method method = ((JavaOpenMethod) node.getMethodCaller().getMethod()).getJavaMethod();
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            IBoundNode[] children = node.getChildren();
+            for (int i = 0; i < children.length; i++) {
+                Class<?> type = write(children[i]);
+                if (parameterTypes[i].isPrimitive()) {
+                    mg.cast(Type.getType(type), Type.getType(parameterTypes[i]));
+                } else if (!parameterTypes[i].isAssignableFrom(type)) {
+                    mg.checkCast(Type.getType(parameterTypes[i]));
+                }
+            }
+
+            Class<?> returnType = method.getReturnType();
+            boolean sameTypes = parameterTypes.length == 2 && parameterTypes[0] == parameterTypes[1];
+            if (sameTypes && method.getDeclaringClass() == Operators.class && returnType == parameterTypes[0]
+                    && ARITHMETIC_TYPES.contains(returnType)) {
+                Integer operation = ARITHMETIC.get(method.getName());
+                if (operation != null) {
+                    mg.math(operation, Type.getType(returnType));
+                    return returnType;
+                }
+            }
+            if (sameTypes && method.getDeclaringClass() == Comparison.class && returnType == boolean.class
+                    && COMPARISON_TYPES.contains(parameterTypes[0])) {
+                Integer operation = COMPARISON.get(method.getName());
+                if (operation != null) {
+                    Label isTrue = mg.newLabel();
+                    Label end = mg.newLabel();
+                    mg.ifCmp(Type.getType(parameterTypes[0]), operation, isTrue);
+                    mg.push(false);
+                    mg.goTo(end);
+                    mg.mark(isTrue);
+                    mg.push(true);
+                    mg.mark(end);
+                    return returnType;
+                }
+            }
+
+            int index = register(node);
+            Label start = mg.mark();
+            mg.invokeStatic(Type.getType(method.getDeclaringClass()), Method.getMethod(method));
+            Label end = mg.mark();
+            handle(start, end, index, EXCEPTION_TYPE);
+            return returnType;
+        }
+
+        private Class<?> writeInterpreted(IBoundNode node) {
+            int index = register(node);
+            Label start = mg.mark();
+            mg.loadThis();
+            mg.getField(COMPILED_NODE_TYPE, "nodes", BOUND_NODES_TYPE);
+            mg.push(index);
+            mg.arrayLoad(BOUND_NODE_TYPE);
+            mg.loadArg(0);
+            mg.invokeInterface(BOUND_NODE_TYPE, EVALUATE);
+            Label end = mg.mark();
+            handle(start, end, index, RUNTIME_EXCEPTION_TYPE);
+
+            Class<?> type = node.getType().getInstanceClass();
+            if (type != null && type.isPrimitive() && type != void.class) {
+                mg.unbox(Type.getType(type));
+                return type;
+            }
+            return Object.class;
+        }
+
+        private int register(IBoundNode node) {
+            nodes.add(node);
+            return nodes.size() - 1;
+        }
+
+        private void handle(Label start, Label end, int index, Type exception) {
+            handlers.add(() -> {
+                // The exception is in the stack
+                mg.catchException(start, end, exception);
+                mg.loadThis();
+                mg.swap();
+                mg.push(index);
+                mg.swap();
+                mg.invokeVirtual(COMPILED_NODE_TYPE, FAIL);
+                mg.throwException();
+            });
+        }
+    }
+}
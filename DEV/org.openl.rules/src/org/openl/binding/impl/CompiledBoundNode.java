@@ -0,0 +1,86 @@
+package org.openl.binding.impl;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.openl.binding.IBoundNode;
+import org.openl.binding.MethodUtil;
+import org.openl.exception.OpenLRuntimeException;
+import org.openl.types.IOpenClass;
+import org.openl.types.java.JavaOpenMethod;
+
+/**
+ * The base class of the expressions generated by {@link BoundNodeCompiler}. The original bound node is kept as the only
+ * child, so the dependencies and the debug information are taken from the original tree.
+ */
+abstract class CompiledBoundNode extends ABoundNode {
+
+    /**
+     * The nodes which are evaluated by the interpreter or are invoked directly from the generated code. The index of a
+     * node in this array is used by the generated code to refer to it.
+     */
+    protected final IBoundNode[] nodes;
+
+    protected CompiledBoundNode(IBoundNode root, IBoundNode[] nodes) {
+        super(root.getSyntaxNode(), root);
+        this.nodes = nodes;
+    }
+
+    @Override
+    public IOpenClass getType() {
+        return children[0].getType();
+    }
+
+    @Override
+    public int getDims() {
+        return children[0].getDims();
+    }
+
+    /**
+     * Creates the same exception as the interpreter throws when the node fails. It is called from the generated code.
+     *
+     * @param index the index of the failed node
+     * @param cause the exception thrown by the method or by the interpreted node
+     */
+    protected RuntimeException fail(int index, Exception cause) {
+        IBoundNode node = nodes[index];
+        Deque<IBoundNode> path = new ArrayDeque<>();
+        findPath(children[0], node, path);
+        OpenLRuntimeException exception;
+        if (cause instanceof OpenLRuntimeException) {
+            // The interpreted node has already registered itself
+            exception = (OpenLRuntimeException) cause;
+            path.poll();
+        } else {
+            Method method = ((JavaOpenMethod) ((MethodBoundNode) node).getMethodCaller().getMethod()).getJavaMethod();
+            String message = cause.getMessage() == null ? cause.toString() : cause.getMessage();
+            exception = new OpenLRuntimeException(
+                    "Failure in the method '" + MethodUtil.printQualifiedMethodName(method) + "'. Cause: " + message,
+                    cause);
+        }
+        for (IBoundNode parent : path) {
+            if (parent instanceof MethodBoundNode) {
+                exception.pushMethodNode(parent);
+            }
+        }
+        return exception;
+    }
+
+    private static boolean findPath(IBoundNode current, IBoundNode node, Deque<IBoundNode> path) {
+        if (current == node) {
+            path.add(current);
+            return true;
+        }
+        IBoundNode[] children = current.getChildren();
+        if (children != null) {
+            for (IBoundNode child : children) {
+                if (child != null && findPath(child, node, path)) {
+                    path.add(current);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -20,6 +20,7 @@ import org.openl.binding.impl.module.WrapModuleSpecificTypes;
 import org.openl.message.OpenLMessagesUtils;
 import org.openl.rules.calc.SpreadsheetResult;
 import org.openl.rules.calc.SpreadsheetStructureBuilder;
+import org.openl.rules.data.DataLookupMethodCaller;
 import org.openl.rules.method.ITablePropertiesMethod;
 import org.openl.rules.types.OpenMethodDispatcher;
 import org.openl.syntax.ISyntaxNode;
@@ -74,6 +75,7 @@ public class MethodNodeBinder extends ANodeBinder {
                 BindHelper.checkOnDeprecation(node, bindingContext, methodCaller);
                 if (methodCaller != null) {
                     methodCaller = processFoundMethodCaller(methodCaller);
+                    methodCaller = DataLookupMethodCaller.wrap(methodCaller, children);
                     bindingContext.addMessages(openLMessages);
                     log(methodName, parameterTypes, "entirely appropriate by signature method");
                     return new MethodBoundNode(node, methodCaller, children);
@@ -33,6 +33,7 @@ public class OpenLClassLoader extends GroovyClassLoader {
     private final Set<ClassLoader> bundleClassLoaders = new LinkedHashSet<>();
 
     private final Map<String, byte[]> generatedClasses = new ConcurrentHashMap<>();
+    private final Map<String, String> generatedClassFingerprints = new ConcurrentHashMap<>();
 
     private final Set<GroovyClassLoader> groovyClassLoaders = new HashSet<>();
 
@@ -106,6 +107,47 @@ public class OpenLClassLoader extends GroovyClassLoader {
 
     }
 
+    /**
+     * Adds the generated class with the fingerprint of the source it has been generated from.
+     *
+     * @param name the name of the class
+     * @param byteCode the byte code of the class
+     * @param fingerprint the description of the source, if it is not changed, then the same byte code is generated
+     */
+    public void addGeneratedClass(String name, byte[] byteCode, String fingerprint) {
+        addGeneratedClass(name, byteCode);
+        generatedClassFingerprints.put(name, fingerprint);
+    }
+
+    /**
+     * Returns the fingerprint of the generated class defined in this class loader or in its bundle class loaders.
+     *
+     * @param name the name of the class
+     * @return the fingerprint or {@code null} if the class has not been generated with a fingerprint
+     * @see #addGeneratedClass(String, byte[], String)
+     */
+    public String getGeneratedClassFingerprint(String name) {
+        Set<ClassLoader> c = Collections.newSetFromMap(new IdentityHashMap<>());
+        c.add(this);
+        return getGeneratedClassFingerprint(name, c);
+    }
+
+    private String getGeneratedClassFingerprint(String name, Set<ClassLoader> c) {
+        String fingerprint = generatedClassFingerprints.get(name);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        for (ClassLoader bundleClassLoader : bundleClassLoaders) {
+            if (bundleClassLoader instanceof OpenLClassLoader && c.add(bundleClassLoader)) {
+                fingerprint = ((OpenLClassLoader) bundleClassLoader).getGeneratedClassFingerprint(name, c);
+                if (fingerprint != null) {
+                    return fingerprint;
+                }
+            }
+        }
+        return null;
+    }
+
     public boolean containsClassLoader(ClassLoader classLoader) {
         if (bundleClassLoaders.contains(classLoader)) {
             return true;
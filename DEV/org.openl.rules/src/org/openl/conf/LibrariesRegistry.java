@@ -22,6 +22,7 @@ import org.openl.rules.helpers.CharRange;
 import org.openl.rules.helpers.DateRange;
 import org.openl.rules.helpers.DoubleRange;
 import org.openl.rules.helpers.IntRange;
+import org.openl.rules.helpers.Lookups;
 import org.openl.rules.helpers.RulesUtils;
 import org.openl.rules.helpers.StringRange;
 import org.openl.rules.util.Avg;
@@ -63,6 +64,7 @@ public class LibrariesRegistry {
         DEFAULT.addJavalib(Miscs.class);
         DEFAULT.addJavalib(Numbers.class);
         DEFAULT.addJavalib(RulesUtils.class);
+        DEFAULT.addJavalib(Lookups.class);
         DEFAULT.addJavalib(CtrUtils.class);
 
         DEFAULT.addJavalib(Operators.class);
@@ -14,6 +14,7 @@ import org.openl.excel.parser.ExcelReaderFactory;
 import org.openl.excel.parser.ExtendedValue;
 import org.openl.excel.parser.MergedCell;
 import org.openl.excel.parser.SheetDescriptor;
+import org.openl.excel.parser.SparseGrid;
 import org.openl.excel.parser.TableStyles;
 import org.openl.rules.lang.xls.XlsSheetSourceCodeModule;
 import org.openl.rules.lang.xls.XlsWorkbookListener;
@@ -35,7 +36,7 @@ public class ParsedGrid extends AGrid {
     private final Logger log = LoggerFactory.getLogger(ParsedGrid.class);
 
     private final String workbookPath;
-    private final Object[][] cells;
+    private final SparseGrid cells;
     private final String uri;
     private final XlsSheetSourceCodeModule sheetSource;
     private final SheetDescriptor sheetDescriptor;
@@ -51,7 +52,7 @@ public class ParsedGrid extends AGrid {
     ParsedGrid(String workbookPath,
                XlsSheetSourceCodeModule sheetSource,
                SheetDescriptor sheet,
-               Object[][] cells,
+               SparseGrid cells,
                boolean use1904Windowing) {
         this.workbookPath = workbookPath;
         this.cells = cells;
@@ -77,17 +78,15 @@ public class ParsedGrid extends AGrid {
 
     @Override
     public int getMaxColumnIndex(int row) {
-        int internalRow = row - getFirstRowNum();
-
-        if (cells.length <= internalRow) {
+        if (row >= cells.getFirstRow() + cells.getHeight()) {
             return 0;
         }
-        return getFirstColNum() + cells[internalRow].length - 1;
+        return cells.getFirstColumn() + cells.getWidth() - 1;
     }
 
     @Override
     public int getMaxRowIndex() {
-        return getFirstRowNum() + cells.length - 1;
+        return cells.getFirstRow() + cells.getHeight() - 1;
     }
 
     @Override
@@ -97,12 +96,12 @@ public class ParsedGrid extends AGrid {
 
     @Override
     public int getMinColumnIndex(int row) {
-        return getFirstColNum();
+        return cells.getFirstColumn();
     }
 
     @Override
     public int getMinRowIndex() {
-        return getFirstRowNum();
+        return cells.getFirstRow();
     }
 
     @Override
@@ -135,53 +134,38 @@ public class ParsedGrid extends AGrid {
         LinkedHashSet<CellRowCol> startPoints = new LinkedHashSet<>();
 
         // Find top left points
-        for (int i = 0; i < cells.length; i++) {
-            Object[] row = cells[i];
-            for (int j = 0; j < row.length; j++) {
-                Object col = row[j];
-
-                if (col instanceof MergedCell) {
-                    CellRowCol rowCol = findTopLeft(i, j);
-                    startPoints.add(rowCol);
-                }
+        cells.forEach((row, col, value) -> {
+            if (value instanceof MergedCell) {
+                startPoints.add(findTopLeft(row, col));
             }
-        }
+        });
 
         // Find bottom right points and create regions
         for (CellRowCol start : startPoints) {
             CellRowCol end = findBottomRight(start.row, start.col);
-            GridRegion region = new GridRegion(getFirstRowNum() + start.row,
-                    getFirstColNum() + start.col,
-                    getFirstRowNum() + end.row,
-                    getFirstColNum() + end.col);
+            GridRegion region = new GridRegion(start.row, start.col, end.row, end.col);
             regions.add(region);
             regionsPool.add(region);
         }
     }
 
-    private CellRowCol findTopLeft(int internalRow, int internalCol) {
-        while (cells[internalRow][internalCol] == MergedCell.MERGE_WITH_LEFT) {
-            if (internalCol == 0) {
-                break;
-            }
-            internalCol--;
+    private CellRowCol findTopLeft(int row, int col) {
+        while (col > cells.getFirstColumn() && cells.get(row, col) == MergedCell.MERGE_WITH_LEFT) {
+            col--;
         }
-        while (cells[internalRow][internalCol] == MergedCell.MERGE_WITH_UP) {
-            if (internalRow == 0) {
-                break;
-            }
-            internalRow--;
+        while (row > cells.getFirstRow() && cells.get(row, col) == MergedCell.MERGE_WITH_UP) {
+            row--;
         }
-        return new CellRowCol(internalRow, internalCol);
+        return new CellRowCol(row, col);
     }
 
-    private CellRowCol findBottomRight(int internalRow, int internalCol) {
-        int endRow = internalRow;
-        int endCol = internalCol;
-        while (endRow < cells.length - 1 && cells[endRow + 1][endCol] == MergedCell.MERGE_WITH_UP) {
+    private CellRowCol findBottomRight(int row, int col) {
+        int endRow = row;
+        int endCol = col;
+        while (cells.get(endRow + 1, endCol) == MergedCell.MERGE_WITH_UP) {
             endRow++;
         }
-        while (endCol < cells[endRow].length - 1 && cells[endRow][endCol + 1] == MergedCell.MERGE_WITH_LEFT) {
+        while (cells.get(endRow, endCol + 1) == MergedCell.MERGE_WITH_LEFT) {
             endCol++;
         }
 
@@ -191,17 +175,10 @@ public class ParsedGrid extends AGrid {
     /////////////////////////// Methods used in ParsedCell ///////////////////////////////////
 
     protected Object getCellValue(int row, int column) {
-        int internalRow = row - getFirstRowNum();
-        int internalCol = column - getFirstColNum();
-
-        if (internalRow < 0 || internalCol < 0 || cells.length <= internalRow || cells[internalRow].length <= internalCol) {
-            return null;
-        }
-
-        Object value = cells[internalRow][internalCol];
+        Object value = cells.get(row, column);
         if (value instanceof MergedCell) {
-            CellRowCol topLeft = findTopLeft(internalRow, internalCol);
-            value = cells[topLeft.row][topLeft.col];
+            CellRowCol topLeft = findTopLeft(row, column);
+            value = cells.get(topLeft.row, topLeft.col);
         }
         if (value instanceof ExtendedValue) {
             value = ((ExtendedValue) value).getValue();
@@ -211,26 +188,20 @@ public class ParsedGrid extends AGrid {
     }
 
     protected ICellStyle getCellStyle(int row, int column) {
-        int internalRow = row - getFirstRowNum();
-        int internalCol = column - getFirstColNum();
-
-        if (internalRow < 0 || internalCol < 0 || cells.length <= internalRow || cells[internalRow].length <= internalCol) {
+        if (!cells.contains(row, column)) {
             return null;
         }
 
-        Object value = cells[internalRow][internalCol];
+        Object value = cells.get(row, column);
         short indent = value instanceof AlignedValue ? ((AlignedValue) value).getIndent() : 0;
         return new IndentedStyle(indent, this, row, column);
     }
 
     protected TableStyles getTableStyles(int row, int column) {
-        int internalRow = row - getFirstRowNum();
-        int internalCol = column - getFirstColNum();
-
-        if (internalRow >= 0 && internalCol >= 0 && cells.length > internalRow && cells[internalRow].length > internalCol) {
-            CellRowCol topLeft = findTopLeft(internalRow, internalCol);
-            row -= internalRow - topLeft.row;
-            column -= internalCol - topLeft.col;
+        if (cells.contains(row, column)) {
+            CellRowCol topLeft = findTopLeft(row, column);
+            row = topLeft.row;
+            column = topLeft.col;
         }
 
         if (currentTableStyles == null || !IGridRegion.Tool.contains(currentTableStyles.getRegion(), column, row)) {
@@ -275,18 +246,6 @@ public class ParsedGrid extends AGrid {
         return regionsPool.getRegionContaining(col, row);
     }
 
-    protected Object[][] getCells() {
-        return cells;
-    }
-
-    private int getFirstRowNum() {
-        return sheetDescriptor.getFirstRowNum();
-    }
-
-    private int getFirstColNum() {
-        return sheetDescriptor.getFirstColNum();
-    }
-
     protected boolean isUse1904Windowing() {
         return use1904Windowing;
     }
@@ -18,6 +18,7 @@ import org.openl.dependency.DependencyType;
 import org.openl.excel.parser.ExcelReader;
 import org.openl.excel.parser.ExcelReaderFactory;
 import org.openl.excel.parser.SheetDescriptor;
+import org.openl.excel.parser.SparseGrid;
 import org.openl.exception.OpenLCompilationException;
 import org.openl.message.OpenLMessage;
 import org.openl.message.OpenLMessagesUtils;
@@ -107,7 +108,7 @@ public class SequentialXlsLoader {
                 final SheetDescriptor sheet = sheets.get(i);
                 XlsSheetSourceCodeModule sheetSource = new SequentialXlsSheetSourceCodeModule(workbookSourceModule,
                         sheet);
-                Object[][] cells = excelReader.getCells(sheet);
+                SparseGrid cells = excelReader.getGrid(sheet);
                 IGridTable[] tables = new ParsedGrid(path, sheetSource, sheet, cells, use1904Windowing).getTables();
                 sheetNodes[i] = createWorksheetSyntaxNode(tablePartProcessor, sheetSource, tables);
             }
@@ -0,0 +1,515 @@
+package org.openl.excel.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.openl.rules.table.IGridRegion;
+import org.openl.util.FileUtils;
+
+/**
+ * Excel reader which keeps the parsed cells of the workbooks on the disk. The snapshot of a workbook is found by the
+ * hash of the file content, so an unchanged workbook is not parsed again, for example after the restart of the
+ * application. The styles are always read from the workbook.
+ * <p>
+ * The snapshot is written when all sheets of the workbook have been parsed. If a cell contains a value which cannot
+ * be stored, the workbook is not cached. When the snapshots take more than the maximum size, the least recently used
+ * ones are deleted.
+ */
+final class CachingExcelReader implements ExcelReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingExcelReader.class);
+
+    private static final String FORMAT = "OPENL-GRID-1";
+    private static final String EXTENSION = ".grid";
+
+    private static final byte STRING = 1;
+    private static final byte STRING_REF = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte DATE = 6;
+    private static final byte ALIGNED = 7;
+    private static final byte MERGED = 8;
+
+    // The limits of the xlsx format
+    private static final int MAX_ROWS = 1 << 20;
+    private static final int MAX_COLUMNS = 1 << 14;
+
+    private final String fileName;
+    private final Path cacheDir;
+    private final long maxSize;
+    private final Supplier<ExcelReader> readerFactory;
+
+    private ExcelReader reader;
+    private Path snapshot;
+    private List<CachedSheetDescriptor> cachedSheets;
+    private SparseGrid[] cachedGrids;
+    private boolean use1904Windowing;
+
+    private SnapshotWriter writer;
+
+    /**
+     * @param maxSize the maximum size of all snapshots in the cache directory in bytes
+     */
+    CachingExcelReader(String fileName, Path cacheDir, long maxSize, Supplier<ExcelReader> readerFactory) {
+        this.fileName = fileName;
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+        this.readerFactory = readerFactory;
+    }
+
+    @Override
+    public List<? extends SheetDescriptor> getSheets() {
+        if (cachedSheets == null && snapshot == null) {
+            snapshot = cacheDir.resolve(hash(fileName) + EXTENSION);
+            if (Files.isRegularFile(snapshot)) {
+                try {
+                    readSnapshot();
+                    // The last modification time is the time of the last use, see evict()
+                    Files.setLastModifiedTime(snapshot, FileTime.fromMillis(System.currentTimeMillis()));
+                    LOG.debug("Cells of '{}' are read from '{}'.", fileName, snapshot);
+                } catch (Exception e) {
+                    LOG.warn("Failed to read cached cells from '{}'.", snapshot, e);
+                    cachedSheets = null;
+                    cachedGrids = null;
+                }
+            }
+        }
+        return cachedSheets != null ? cachedSheets : getReader().getSheets();
+    }
+
+    @Override
+    public Object[][] getCells(SheetDescriptor sheet) {
+        return getGrid(sheet).toArray();
+    }
+
+    @Override
+    public SparseGrid getGrid(SheetDescriptor sheet) {
+        List<? extends SheetDescriptor> sheets = getSheets();
+        if (cachedSheets != null) {
+            return cachedGrids[sheet.getIndex()];
+        }
+        SparseGrid grid = getReader().getGrid(sheet);
+        if (writer == null) {
+            writer = new SnapshotWriter(sheets.size());
+        }
+        writer.write(sheet, grid);
+        return grid;
+    }
+
+    @Override
+    public boolean isUse1904Windowing() {
+        getSheets();
+        return cachedSheets != null ? use1904Windowing : getReader().isUse1904Windowing();
+    }
+
+    @Override
+    public TableStyles getTableStyles(SheetDescriptor sheet, IGridRegion tableRegion) {
+        ExcelReader excelReader = getReader();
+        return excelReader.getTableStyles(excelReader.getSheets().get(sheet.getIndex()), tableRegion);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (writer != null) {
+                writer.commit();
+            }
+        } finally {
+            writer = null;
+            cachedSheets = null;
+            cachedGrids = null;
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+        }
+    }
+
+    private ExcelReader getReader() {
+        if (reader == null) {
+            reader = readerFactory.get();
+        }
+        return reader;
+    }
+
+    private void readSnapshot() throws IOException {
+        try (SnapshotInputStream snapshotIn = new SnapshotInputStream(Files.newInputStream(snapshot),
+                Files.size(snapshot)); DataInputStream in = new DataInputStream(snapshotIn)) {
+            if (!FORMAT.equals(in.readUTF())) {
+                throw new IOException("Unsupported format.");
+            }
+            use1904Windowing = in.readBoolean();
+            // Every sheet takes at least 32 bytes
+            int count = snapshotIn.readCount(in, 32);
+            List<CachedSheetDescriptor> sheets = new ArrayList<>(count);
+            SparseGrid[] grids = new SparseGrid[count];
+            List<String> strings = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = in.readInt();
+                CachedSheetDescriptor sheet = new CachedSheetDescriptor(in.readUTF(), index, in.readInt(), in.readInt());
+                SparseGrid grid = new SparseGrid();
+                int firstRow = readIndex(in, MAX_ROWS);
+                int firstColumn = readIndex(in, MAX_COLUMNS);
+                grid.setRegion(firstRow, firstColumn, readIndex(in, MAX_ROWS + 1), readIndex(in, MAX_COLUMNS + 1));
+                // Every cell takes at least 9 bytes
+                int cells = snapshotIn.readCount(in, 9);
+                for (int j = 0; j < cells; j++) {
+                    grid.set(readIndex(in, MAX_ROWS), readIndex(in, MAX_COLUMNS), readValue(in, snapshotIn, strings));
+                }
+                sheets.add(sheet);
+                grids[index] = grid;
+            }
+            cachedGrids = grids;
+            cachedSheets = sheets;
+        }
+    }
+
+    private static int readIndex(DataInputStream in, int limit) throws IOException {
+        int index = in.readInt();
+        if (index < 0 || index >= limit) {
+            throw new IOException(String.format("Invalid index '%s'.", index));
+        }
+        return index;
+    }
+
+    private static Object readValue(DataInputStream in,
+            SnapshotInputStream snapshotIn,
+            List<String> strings) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case STRING:
+                byte[] bytes = new byte[snapshotIn.readCount(in, 1)];
+                in.readFully(bytes);
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            case STRING_REF:
+                return strings.get(in.readInt());
+            case INTEGER:
+                return in.readInt();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case DATE:
+                return new Date(in.readLong());
+            case ALIGNED:
+                short indent = in.readShort();
+                return new AlignedValue(in.readBoolean() ? readValue(in, snapshotIn, strings) : null, indent);
+            case MERGED:
+                return MergedCell.values()[in.readByte()];
+            default:
+                throw new IOException(String.format("Unknown value type '%s'.", type));
+        }
+    }
+
+    /**
+     * Deletes the least recently used snapshots until all snapshots in the cache directory take no more than the
+     * maximum size. The most recent snapshot is always kept.
+     */
+    private void evict() {
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            snapshots = files.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(CachingExcelReader::getLastModifiedTime).reversed())
+                    .toList();
+        } catch (IOException | UncheckedIOException e) {
+            LOG.debug("Failed to list the snapshots in '{}'.", cacheDir, e);
+            return;
+        }
+        long size = 0;
+        for (Path file : snapshots) {
+            try {
+                size += Files.size(file);
+                if (size > maxSize && !file.equals(snapshots.get(0))) {
+                    Files.deleteIfExists(file);
+                    LOG.debug("Snapshot '{}' is evicted.", file);
+                }
+            } catch (IOException e) {
+                // The file can be in use or already deleted by another process
+                LOG.debug("Failed to evict snapshot '{}'.", file, e);
+            }
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String hash(String fileName) {
+        try (InputStream in = Files.newInputStream(Path.of(fileName))) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(FORMAT.getBytes(StandardCharsets.UTF_8));
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hash.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ExcelParseException(e);
+        }
+    }
+
+    /**
+     * Writes the parsed sheets to a temporary file, which replaces the snapshot when all sheets are written.
+     */
+    private final class SnapshotWriter {
+        private final boolean[] writtenSheets;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private Path tempFile;
+        private DataOutputStream out;
+        private boolean failed;
+
+        SnapshotWriter(int sheetCount) {
+            this.writtenSheets = new boolean[sheetCount];
+        }
+
+        void write(SheetDescriptor sheet, SparseGrid grid) {
+            if (failed || writtenSheets[sheet.getIndex()]) {
+                return;
+            }
+            try {
+                if (out == null) {
+                    Files.createDirectories(cacheDir);
+                    tempFile = Files.createTempFile(cacheDir, "snapshot", ".tmp");
+                    out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)));
+                    out.writeUTF(FORMAT);
+                    out.writeBoolean(getReader().isUse1904Windowing());
+                    out.writeInt(writtenSheets.length);
+                }
+                out.writeInt(sheet.getIndex());
+                out.writeUTF(sheet.getName());
+                out.writeInt(sheet.getFirstRowNum());
+                out.writeInt(sheet.getFirstColNum());
+                out.writeInt(grid.getFirstRow());
+                out.writeInt(grid.getFirstColumn());
+                out.writeInt(grid.getHeight());
+                out.writeInt(grid.getWidth());
+                int[] cells = new int[1];
+                grid.forEach((row, column, value) -> cells[0]++);
+                out.writeInt(cells[0]);
+                grid.forEach((row, column, value) -> {
+                    try {
+                        out.writeInt(row);
+                        out.writeInt(column);
+                        writeValue(value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writtenSheets[sheet.getIndex()] = true;
+            } catch (IOException | RuntimeException e) {
+                LOG.debug("Cells of '{}' are not cached.", fileName, e);
+                failed = true;
+                discard();
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value instanceof String) {
+                Integer ref = strings.get(value);
+                if (ref != null) {
+                    out.writeByte(STRING_REF);
+                    out.writeInt(ref);
+                } else {
+                    strings.put((String) value, strings.size());
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    out.writeByte(STRING);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            } else if (value instanceof Integer) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value != null && value.getClass() == Date.class) {
+                out.writeByte(DATE);
+                out.writeLong(((Date) value).getTime());
+            } else if (value instanceof AlignedValue) {
+                AlignedValue alignedValue = (AlignedValue) value;
+                out.writeByte(ALIGNED);
+                out.writeShort(alignedValue.getIndent());
+                out.writeBoolean(alignedValue.getValue() != null);
+                if (alignedValue.getValue() != null) {
+                    writeValue(alignedValue.getValue());
+                }
+            } else if (value instanceof MergedCell) {
+                out.writeByte(MERGED);
+                out.writeByte(((MergedCell) value).ordinal());
+            } else {
+                throw new IOException(String.format("Value of type '%s' cannot be cached.",
+                        value == null ? null : value.getClass().getTypeName()));
+            }
+        }
+
+        void commit() {
+            if (failed || out == null) {
+                return;
+            }
+            try {
+                out.close();
+                out = null;
+                if (allSheetsWritten()) {
+                    Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    LOG.debug("Cells of '{}' are cached in '{}'.", fileName, snapshot);
+                    evict();
+                }
+            } catch (IOException e) {
+                LOG.debug("Cells of '{}' are not cached.", fileName, e);
+            } finally {
+                discard();
+            }
+        }
+
+        private boolean allSheetsWritten() {
+            for (boolean written : writtenSheets) {
+                if (!written) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void discard() {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                    // Nothing to do
+                }
+                out = null;
+            }
+            if (tempFile != null) {
+                FileUtils.deleteQuietly(tempFile.toFile());
+            }
+        }
+    }
+
+    /**
+     * Counts the read bytes, so the counts and the lengths read from the snapshot are checked against the rest of the
+     * file before anything is allocated for them.
+     */
+    private static final class SnapshotInputStream extends FilterInputStream {
+        private final long size;
+        private long position;
+
+        SnapshotInputStream(InputStream in, long size) {
+            super(new BufferedInputStream(in));
+            this.size = size;
+        }
+
+        /**
+         * Reads the count of the items, each of them takes at least the given number of bytes in the rest of the file.
+         */
+        int readCount(DataInputStream in, int itemSize) throws IOException {
+            int count = in.readInt();
+            if (count < 0 || (long) count * itemSize > size - position) {
+                throw new IOException(String.format("Invalid count '%s' at position %s.", count, position));
+            }
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    private static final class CachedSheetDescriptor implements SheetDescriptor {
+        private final String name;
+        private final int index;
+        private final int firstRowNum;
+        private final int firstColNum;
+
+        CachedSheetDescriptor(String name, int index, int firstRowNum, int firstColNum) {
+            this.name = name;
+            this.index = index;
+            this.firstRowNum = firstRowNum;
+            this.firstColNum = firstColNum;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public int getFirstRowNum() {
+            return firstRowNum;
+        }
+
+        @Override
+        public int getFirstColNum() {
+            return firstColNum;
+        }
+    }
+}
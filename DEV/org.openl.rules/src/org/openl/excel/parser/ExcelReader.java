@@ -18,6 +18,18 @@ public interface ExcelReader extends AutoCloseable {
      */
     Object[][] getCells(SheetDescriptor sheet);
 
+    /**
+     * Parse and get not empty cells from a given sheet. Unlike {@link #getCells(SheetDescriptor)} the cells are
+     * addressed by the row and column indexes on the sheet.
+     *
+     * @param sheet sheet to parse
+     * @return parsed objects with types as in Excel
+     */
+    default SparseGrid getGrid(SheetDescriptor sheet) {
+        Object[][] cells = getCells(sheet);
+        return SparseGrid.of(cells, sheet.getFirstRowNum(), sheet.getFirstColNum());
+    }
+
     /**
      * Sometimes we need to convert parsed double value to date. For example a cell contains value 1.25, user sees it in
      * Excel as 1.25 but in OpenL this value has a type Date. It should be converted from double to Date. (There is unit
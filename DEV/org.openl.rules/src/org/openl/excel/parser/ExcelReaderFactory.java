@@ -3,6 +3,7 @@ package org.openl.excel.parser;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 
 import org.apache.poi.poifs.filesystem.FileMagic;
 
@@ -10,9 +11,24 @@ import org.openl.excel.parser.dom.DOMReader;
 import org.openl.excel.parser.event.EventReader;
 import org.openl.excel.parser.sax.SAXReader;
 import org.openl.util.IOUtils;
+import org.openl.util.StringUtils;
 
 public abstract class ExcelReaderFactory {
 
+    /**
+     * The directory to keep the parsed cells of the workbooks between the runs of the application. The cells are
+     * parsed from the workbooks every time if the property is not defined.
+     */
+    public static final String CACHE_DIR_PROPERTY = "org.openl.rules.excel.cache.dir";
+
+    /**
+     * The maximum size of the parsed cells kept in the cache directory in megabytes. The least recently used workbooks
+     * are removed from the cache when it is exceeded. The default is 1024.
+     */
+    public static final String CACHE_MAX_SIZE_PROPERTY = "org.openl.rules.excel.cache.max-size";
+
+    private static final long DEFAULT_CACHE_MAX_SIZE = 1024;
+
     public static ExcelReaderFactory sequentialFactory() {
         return new SequentialExcelReaderFactory();
     }
@@ -40,6 +56,18 @@ public abstract class ExcelReaderFactory {
     private static class SequentialExcelReaderFactory extends ExcelReaderFactory {
         @Override
         public ExcelReader create(String fileName, final InputStream is) {
+            String cacheDir = System.getProperty(CACHE_DIR_PROPERTY);
+            if (fileName != null && is == null && StringUtils.isNotBlank(cacheDir)) {
+                long maxSize = Long.getLong(CACHE_MAX_SIZE_PROPERTY, DEFAULT_CACHE_MAX_SIZE) * 1024 * 1024;
+                return new CachingExcelReader(fileName,
+                        Paths.get(cacheDir),
+                        maxSize,
+                        () -> createReader(fileName, null));
+            }
+            return createReader(fileName, is);
+        }
+
+        private ExcelReader createReader(String fileName, final InputStream is) {
             boolean useFile = fileName != null;
 
             if (useFile && is != null) {
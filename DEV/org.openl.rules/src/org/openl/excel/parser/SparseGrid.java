@@ -0,0 +1,246 @@
+package org.openl.excel.parser;
+
+import java.util.Arrays;
+
+/**
+ * Sparse storage of the parsed cells of a sheet. Only not empty cells are stored. The rows are grouped into chunks, so
+ * the storage is not copied when it grows, and every row keeps the column indexes of its cells in a primitive array.
+ * <p>
+ * The cells are addressed by the absolute row and column indexes on the sheet. The region of the grid is defined
+ * by the first row and column and by its size, the cells outside the region are treated as empty.
+ */
+public final class SparseGrid {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private Row[][] chunks = new Row[0][];
+    private int cellCount;
+
+    private int firstRow;
+    private int firstColumn;
+    private int height;
+    private int width;
+
+    /**
+     * Creates the grid with the given cells.
+     *
+     * @param cells the cells, the first cell is located at the first row and the first column
+     */
+    public static SparseGrid of(Object[][] cells, int firstRow, int firstColumn) {
+        SparseGrid grid = new SparseGrid();
+        int width = 0;
+        for (int i = 0; i < cells.length; i++) {
+            Object[] row = cells[i];
+            width = Math.max(width, row.length);
+            for (int j = 0; j < row.length; j++) {
+                if (row[j] != null) {
+                    grid.set(firstRow + i, firstColumn + j, row[j]);
+                }
+            }
+        }
+        grid.setRegion(firstRow, firstColumn, cells.length, width);
+        return grid;
+    }
+
+    /**
+     * Sets the value of the cell. The region of the grid is not changed.
+     *
+     * @param value the value or {@code null} to clear the cell
+     */
+    public void set(int row, int column, Object value) {
+        if (row < 0 || column < 0) {
+            throw new IndexOutOfBoundsException(String.format("Invalid cell address: row=%s, column=%s.", row, column));
+        }
+        int chunkIndex = row >>> CHUNK_BITS;
+        if (chunkIndex >= chunks.length) {
+            if (value == null) {
+                return;
+            }
+            chunks = Arrays.copyOf(chunks, Math.max(chunkIndex + 1, chunks.length + (chunks.length >> 1)));
+        }
+        Row[] chunk = chunks[chunkIndex];
+        if (chunk == null) {
+            if (value == null) {
+                return;
+            }
+            chunks[chunkIndex] = chunk = new Row[CHUNK_SIZE];
+        }
+        Row r = chunk[row & CHUNK_MASK];
+        if (r == null) {
+            if (value == null) {
+                return;
+            }
+            chunk[row & CHUNK_MASK] = r = new Row();
+        }
+        cellCount += r.set(column, value);
+    }
+
+    /**
+     * @return the value of the cell or {@code null} if the cell is empty or is outside the region
+     */
+    public Object get(int row, int column) {
+        if (!contains(row, column)) {
+            return null;
+        }
+        Row r = getRow(row);
+        return r == null ? null : r.get(column);
+    }
+
+    public boolean contains(int row, int column) {
+        return row >= firstRow && column >= firstColumn && row < firstRow + height && column < firstColumn + width;
+    }
+
+    /**
+     * Defines the region of the grid.
+     */
+    public void setRegion(int firstRow, int firstColumn, int height, int width) {
+        this.firstRow = firstRow;
+        this.firstColumn = firstColumn;
+        this.height = height;
+        this.width = width;
+    }
+
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    public int getFirstColumn() {
+        return firstColumn;
+    }
+
+    /**
+     * @return the number of the rows in the region
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the number of the columns in the region
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the number of the stored cells, including the cells outside the region
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Iterates over not empty cells of the region row by row.
+     */
+    public void forEach(CellConsumer action) {
+        int lastRow = firstRow + height;
+        int lastColumn = firstColumn + width;
+        for (int row = firstRow; row < lastRow; row++) {
+            Row r = getRow(row);
+            if (r != null) {
+                for (int i = r.indexOf(firstColumn); i < r.size && r.columns[i] < lastColumn; i++) {
+                    action.accept(row, r.columns[i], r.values[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the cells of the region as a dense array
+     */
+    public Object[][] toArray() {
+        if (height == 0 || width == 0) {
+            return new Object[0][];
+        }
+        Object[][] cells = new Object[height][width];
+        forEach((row, column, value) -> cells[row - firstRow][column - firstColumn] = value);
+        return cells;
+    }
+
+    private Row getRow(int row) {
+        int chunkIndex = row >>> CHUNK_BITS;
+        if (chunkIndex >= chunks.length) {
+            return null;
+        }
+        Row[] chunk = chunks[chunkIndex];
+        return chunk == null ? null : chunk[row & CHUNK_MASK];
+    }
+
+    @FunctionalInterface
+    public interface CellConsumer {
+        void accept(int row, int column, Object value);
+    }
+
+    /**
+     * The cells of a row sorted by the column index.
+     */
+    private static final class Row {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private int[] columns = new int[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size;
+
+        Object get(int column) {
+            int i = Arrays.binarySearch(columns, 0, size, column);
+            return i >= 0 ? values[i] : null;
+        }
+
+        /**
+         * @return the change of the number of the cells
+         */
+        int set(int column, Object value) {
+            // The cells are usually added from left to right
+            if (size == 0 || columns[size - 1] < column) {
+                if (value == null) {
+                    return 0;
+                }
+                ensureCapacity();
+                columns[size] = column;
+                values[size] = value;
+                size++;
+                return 1;
+            }
+            int i = Arrays.binarySearch(columns, 0, size, column);
+            if (i >= 0) {
+                if (value != null) {
+                    values[i] = value;
+                    return 0;
+                }
+                System.arraycopy(columns, i + 1, columns, i, size - i - 1);
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                values[--size] = null;
+                return -1;
+            }
+            if (value == null) {
+                return 0;
+            }
+            ensureCapacity();
+            int insertion = -i - 1;
+            System.arraycopy(columns, insertion, columns, insertion + 1, size - insertion);
+            System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+            columns[insertion] = column;
+            values[insertion] = value;
+            size++;
+            return 1;
+        }
+
+        /**
+         * @return the index of the first cell which column is greater or equal to the given one
+         */
+        int indexOf(int column) {
+            int i = Arrays.binarySearch(columns, 0, size, column);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        private void ensureCapacity() {
+            if (size == columns.length) {
+                int capacity = size + (size >> 1) + 1;
+                columns = Arrays.copyOf(columns, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.openl.excel.parser.sax;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Deduplicates parsed cell values of a workbook. Values of the shared strings table are cached by their index, other
+ * strings and numbers are interned, so equal values of the different cells refer to the same object.
+ */
+final class CellValuePool {
+    private static final int MAX_INTERNED_VALUES = 1 << 16;
+
+    // Marks a shared string which is blank after trimming
+    private static final Object EMPTY = new Object();
+
+    private Object[] sharedStrings = new Object[0];
+    private final Map<Object, Object> values = new HashMap<>();
+
+    /**
+     * Get the trimmed shared string.
+     *
+     * @param index  the index in the shared strings table
+     * @param loader loads the trimmed string if it is not cached
+     * @return the string or null if it is blank
+     */
+    String getSharedString(int index, IntFunction<String> loader) {
+        if (index >= sharedStrings.length) {
+            sharedStrings = Arrays.copyOf(sharedStrings, Math.max(index + 1, sharedStrings.length * 2));
+        }
+        Object value = sharedStrings[index];
+        if (value == null) {
+            String loaded = loader.apply(index);
+            value = loaded == null ? EMPTY : intern(loaded);
+            sharedStrings[index] = value;
+        }
+        return value == EMPTY ? null : (String) value;
+    }
+
+    /**
+     * Get the pooled value equal to the given one. The pool is not grown after {@link #MAX_INTERNED_VALUES} to restrict
+     * memory consumption for the workbooks with a lot of unique values.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        Object pooled = values.get(value);
+        if (pooled != null) {
+            return (T) pooled;
+        }
+        if (values.size() < MAX_INTERNED_VALUES) {
+            values.put(value, value);
+        }
+        return value;
+    }
+
+    void clear() {
+        sharedStrings = new Object[0];
+        values.clear();
+    }
+}
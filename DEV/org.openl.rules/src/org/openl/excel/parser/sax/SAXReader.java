@@ -29,6 +29,7 @@ import org.openl.excel.parser.ExcelReader;
 import org.openl.excel.parser.ExcelUtils;
 import org.openl.excel.parser.ParserDateUtil;
 import org.openl.excel.parser.SheetDescriptor;
+import org.openl.excel.parser.SparseGrid;
 import org.openl.excel.parser.TableStyles;
 import org.openl.rules.table.IGridRegion;
 import org.openl.util.FileTool;
@@ -37,6 +38,7 @@ import org.openl.util.FileUtils;
 public class SAXReader implements ExcelReader {
 
     private final ParserDateUtil parserDateUtil = new ParserDateUtil();
+    private final CellValuePool valuePool = new CellValuePool();
 
     private final String fileName;
     private File tempFile;
@@ -86,6 +88,11 @@ public class SAXReader implements ExcelReader {
 
     @Override
     public Object[][] getCells(SheetDescriptor sheet) {
+        return getGrid(sheet).toArray();
+    }
+
+    @Override
+    public SparseGrid getGrid(SheetDescriptor sheet) {
         SAXSheetDescriptor saxSheet = (SAXSheetDescriptor) sheet;
         try (ReadOnlyOPCPackage pkg = ReadOnlyOPCPackage.open(fileName)) {
             XSSFReader r = new XSSFReader(pkg.pck);
@@ -96,7 +103,8 @@ public class SAXReader implements ExcelReader {
             SheetHandler handler = new SheetHandler(r.getSharedStringsTable(),
                     use1904Windowing,
                     styleTable,
-                    parserDateUtil);
+                    parserDateUtil,
+                    valuePool);
             parser.setContentHandler(handler);
 
             try (InputStream sheetData = r.getSheet(saxSheet.getRelationId())) {
@@ -107,7 +115,7 @@ public class SAXReader implements ExcelReader {
             saxSheet.setFirstRowNum(start.getRow());
             saxSheet.setFirstColNum(start.getColumn());
 
-            return handler.getCells();
+            return handler.getGrid();
         } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
             throw new ExcelParseException(e);
         }
@@ -159,6 +167,7 @@ public class SAXReader implements ExcelReader {
         FileUtils.deleteQuietly(tempFile);
         tempFile = null;
         parserDateUtil.reset();
+        valuePool.clear();
     }
 
     private void initializeNeededData(XSSFReader r, OPCPackage pkg) {
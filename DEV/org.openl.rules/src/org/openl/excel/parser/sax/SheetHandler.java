@@ -3,9 +3,7 @@ package org.openl.excel.parser.sax;
 import static org.apache.poi.xssf.usermodel.XSSFRelation.NS_SPREADSHEETML;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.util.CellAddress;
@@ -20,23 +18,28 @@ import org.openl.excel.parser.AlignedValue;
 import org.openl.excel.parser.ExcelParseException;
 import org.openl.excel.parser.MergedCell;
 import org.openl.excel.parser.ParserDateUtil;
+import org.openl.excel.parser.SparseGrid;
 import org.openl.util.NumberUtils;
 import org.openl.util.StringUtils;
 
+/**
+ * Parses the cells of a sheet into {@link SparseGrid}. Only not empty cells are kept, the values are deduplicated by
+ * {@link CellValuePool} shared between the sheets of a workbook.
+ */
 public class SheetHandler extends DefaultHandler {
-    private static final int MAX_ESTIMATED_CELLS_COUNT = 10_000 * 256;
-
     private final Logger log = LoggerFactory.getLogger(SheetHandler.class);
 
     private final SharedStrings sharedStringsTable;
     private final ParserDateUtil parserDateUtil;
     private final boolean use1904Windowing;
     private final MinimalStyleTable stylesTable;
+    private final CellValuePool valuePool;
 
-    private final LruCache<Integer, String> lruCache = new LruCache<>(50);
-    private Object[][] cells = new Object[0][];
+    private final SparseGrid grid = new SparseGrid();
 
     private CellAddress start = CellAddress.A1;
+    private int lastRow = -1;
+    private int lastCol = -1;
     private CellAddress effectiveStart = null;
     private CellAddress effectiveEnd = null;
     private CellAddress current;
@@ -64,15 +67,17 @@ public class SheetHandler extends DefaultHandler {
     SheetHandler(SharedStrings sharedStringsTable,
                  boolean use1904Windowing,
                  MinimalStyleTable stylesTable,
-                 ParserDateUtil parserDateUtil) {
+                 ParserDateUtil parserDateUtil,
+                 CellValuePool valuePool) {
         this.sharedStringsTable = sharedStringsTable;
         this.use1904Windowing = use1904Windowing;
         this.stylesTable = stylesTable;
         this.parserDateUtil = parserDateUtil;
+        this.valuePool = valuePool;
     }
 
-    public Object[][] getCells() {
-        return cells;
+    public SparseGrid getGrid() {
+        return grid;
     }
 
     @Override
@@ -83,7 +88,7 @@ public class SheetHandler extends DefaultHandler {
 
         if ("dimension".equals(name)) {
             // According to specification "dimension" is optional and is not required
-            initializeCells(attributes.getValue("ref"));
+            start = new CellAddress(attributes.getValue("ref").split(":")[0]);
         } else if (isTextTag(localName)) {
             vIsOpen = true;
             // Clear contents cache
@@ -140,13 +145,13 @@ public class SheetHandler extends DefaultHandler {
                 // Mark cells merged with Left. Don't include first column.
                 for (int row = firstMergeRow; row <= lastMergeRow; row++) {
                     for (int col = firstMergeCol + 1; col <= lastMergeCol; col++) {
-                        setCell(row - start.getRow(), col - start.getColumn(), MergedCell.MERGE_WITH_LEFT);
+                        setCell(row, col, MergedCell.MERGE_WITH_LEFT);
                     }
                 }
 
                 // Mark cells merged with Up. Only first column starting from second row.
                 for (int row = firstMergeRow + 1; row <= lastMergeRow; row++) {
-                    setCell(row - start.getRow(), firstMergeCol - start.getColumn(), MergedCell.MERGE_WITH_UP);
+                    setCell(row, firstMergeCol, MergedCell.MERGE_WITH_UP);
                 }
             }
         }
@@ -173,18 +178,14 @@ public class SheetHandler extends DefaultHandler {
                     // To be precise it's a formula with String type. But we care only about a value.
                     // Fallback to INLINE_STRING
                 case INLINE_STRING:
-                    parsedValue = StringUtils.trimToNull(value.toString());
+                    parsedValue = valuePool.intern(StringUtils.trimToNull(value.toString()));
                     break;
                 case SHARED_STRING_TABLE_STRING:
                     String sstIndex = value.toString();
                     try {
                         int idx = Integer.parseInt(sstIndex);
-                        String strValue = lruCache.get(idx);
-                        if (strValue == null && !lruCache.containsKey(idx)) {
-                            strValue = sharedStringsTable.getItemAt(idx).toString();
-                            lruCache.put(idx, strValue);
-                        }
-                        parsedValue = StringUtils.trimToNull(strValue);
+                        parsedValue = valuePool.getSharedString(idx,
+                                i -> StringUtils.trimToNull(sharedStringsTable.getItemAt(i).toString()));
                     } catch (NumberFormatException ex) {
                         throw new ExcelParseException("Failed to parse SST index '" + sstIndex, ex);
                     }
@@ -200,7 +201,7 @@ public class SheetHandler extends DefaultHandler {
                                     formatString)) {
                                 parsedValue = DateUtil.getJavaDate(d, use1904Windowing);
                             } else {
-                                parsedValue = NumberUtils.intOrDouble(d);
+                                parsedValue = valuePool.intern(NumberUtils.intOrDouble(d));
                             }
                         }
                     } catch (NumberFormatException e) {
@@ -213,13 +214,10 @@ public class SheetHandler extends DefaultHandler {
                     break;
             }
 
-            int row = current.getRow() - start.getRow();
-            int col = current.getColumn() - start.getColumn();
-
             if (indent != null && indent != 0) {
                 parsedValue = new AlignedValue(parsedValue, indent);
             }
-            setCell(row, col, parsedValue);
+            setCell(current.getRow(), current.getColumn(), parsedValue);
         } else if ("is".equals(localName)) {
             isInlineStringOpen = false;
         }
@@ -227,61 +225,28 @@ public class SheetHandler extends DefaultHandler {
 
     private void setCell(int row, int col, Object parsedValue) {
         // Sometimes sheet dimension is defined like C1:E63 but exists cell in B65 in same sheet. It's a strange case
-        // but we must support it too.
-        int rowShift = 0;
-        int colShift = 0;
-
-        if (row < 0) {
-            rowShift = -row;
-            row = 0;
-        }
-
-        if (col < 0) {
-            colShift = -col;
-            col = 0;
-        }
-
-        // According to specification "dimension" is optional and is not required. We must expand array if it's too
-        // small
-        int rowCount = cells.length;
-        int maxRows = Math.max(row + 1, rowCount + rowShift);
-
-        int columnCount = rowCount == 0 ? 0 : cells[0].length;
-        int maxCols = Math.max(col + 1, columnCount + colShift);
-
-        if (rowShift > 0 || colShift > 0) {
-            start = new CellAddress(start.getRow() - rowShift, start.getColumn() - colShift);
-        }
-
-        if (maxRows > rowCount || maxCols > columnCount) {
-            // Increase the size in advance (1.5 times) to reduce too many array copy operations during parsing.
-            // In endDocument() the size will be reduced to effective size.
-            int newRows = maxRows > rowCount ? Math.max(maxRows, rowCount + (rowCount >> 1)) : maxRows;
-            int newCols = maxCols > columnCount ? Math.max(maxCols, columnCount + (columnCount >> 1)) : columnCount;
-            log.debug("Extend cells array. Current: {}:{}, new: {}:{}", rowCount, columnCount, newRows, newCols);
-            Object[][] copy = new Object[newRows][newCols];
-            arrayCopy(cells, copy, rowShift, colShift);
-            cells = copy;
+        // but we must support it too. According to specification "dimension" is optional and is not required.
+        if (row < start.getRow() || col < start.getColumn()) {
+            start = new CellAddress(Math.min(row, start.getRow()), Math.min(col, start.getColumn()));
         }
+        lastRow = Math.max(lastRow, row);
+        lastCol = Math.max(lastCol, col);
 
-        cells[row][col] = parsedValue;
+        grid.set(row, col, parsedValue);
 
         if (parsedValue != null && !(parsedValue instanceof MergedCell)) {
-            int curRow = row + start.getRow();
-            int curCol = col + start.getColumn();
-
             if (effectiveStart == null) {
-                effectiveStart = new CellAddress(curRow, curCol);
+                effectiveStart = new CellAddress(row, col);
                 effectiveEnd = effectiveStart;
             } else {
-                if (curRow < effectiveStart.getRow() || curCol < effectiveStart.getColumn()) {
-                    int minRow = Math.min(curRow, effectiveStart.getRow());
-                    int minCol = Math.min(curCol, effectiveStart.getColumn());
+                if (row < effectiveStart.getRow() || col < effectiveStart.getColumn()) {
+                    int minRow = Math.min(row, effectiveStart.getRow());
+                    int minCol = Math.min(col, effectiveStart.getColumn());
                     effectiveStart = new CellAddress(minRow, minCol);
                 }
-                if (curRow > effectiveEnd.getRow() || curCol > effectiveEnd.getColumn()) {
-                    int maxRow = Math.max(curRow, effectiveEnd.getRow());
-                    int maxCol = Math.max(curCol, effectiveEnd.getColumn());
+                if (row > effectiveEnd.getRow() || col > effectiveEnd.getColumn()) {
+                    int maxRow = Math.max(row, effectiveEnd.getRow());
+                    int maxCol = Math.max(col, effectiveEnd.getColumn());
                     effectiveEnd = new CellAddress(maxRow, maxCol);
                 }
             }
@@ -301,21 +266,19 @@ public class SheetHandler extends DefaultHandler {
 
     @Override
     public void endDocument() {
-        int rowCount = cells.length;
-        if (rowCount == 0 || cells[0].length == 0) {
-            // No need to optimize cells[][] size
-            return;
-        }
-
         if (effectiveStart == null || effectiveEnd == null) {
-            cells = new Object[0][];
+            // Empty sheet
+            grid.setRegion(start.getRow(), start.getColumn(), 0, 0);
             return;
         }
 
+        // The region of all parsed cells to check the values of merged cells
+        grid.setRegion(start.getRow(),
+                start.getColumn(),
+                lastRow - start.getRow() + 1,
+                lastCol - start.getColumn() + 1);
         for (CellRangeAddress mergedCell : mergedCells) {
-            int r = mergedCell.getFirstRow() - start.getRow();
-            int c = mergedCell.getFirstColumn() - start.getColumn();
-            if (r >= 0 && c >= 0 && cells[r][c] != null) {
+            if (grid.get(mergedCell.getFirstRow(), mergedCell.getFirstColumn()) != null) {
                 if (mergedCell.getLastRow() > effectiveEnd.getRow() || mergedCell.getLastColumn() > effectiveEnd
                         .getColumn()) {
                     int maxRow = Math.max(mergedCell.getLastRow(), effectiveEnd.getRow());
@@ -327,71 +290,15 @@ public class SheetHandler extends DefaultHandler {
 
         int rows = effectiveEnd.getRow() - effectiveStart.getRow() + 1;
         int cols = effectiveEnd.getColumn() - effectiveStart.getColumn() + 1;
-
-        int columnCount = cells[0].length;
-        if (rows < rowCount || cols < columnCount) {
-            log.debug("Optimize cells array. Current: {}:{}, new: {}:{}", rowCount, columnCount, rows, cols);
-            int fromRow = effectiveStart.getRow() - start.getRow();
-            int fromCol = effectiveStart.getColumn() - start.getColumn();
-            Object[][] copy = new Object[rows][cols];
-            for (int i = 0; i < copy.length; i++) {
-                System.arraycopy(cells[fromRow + i], fromCol, copy[i], 0, cols);
-            }
-            cells = copy;
-            start = effectiveStart;
-        }
-    }
-
-    private void initializeCells(String dimension) {
-        String[] cellsRefs = dimension.split(":");
-        start = new CellAddress(cellsRefs[0]);
-        if (cellsRefs.length == 1) {
-            log.debug("Array size: 1:1");
-            cells = new Object[1][1];
-        } else {
-            int startRow = start.getRow();
-            int startColumn = start.getColumn();
-
-            CellAddress end = new CellAddress(cellsRefs[1]);
-            int endRow = end.getRow();
-            int endColumn = end.getColumn();
-
-            int rows = endRow - startRow + 1;
-            int cols = endColumn - startColumn + 1;
-            if (rows * cols > MAX_ESTIMATED_CELLS_COUNT) {
-                // Can consume too much memory. Restrict initial size and increment it on demand.
-                rows = Math.max(1, MAX_ESTIMATED_CELLS_COUNT / cols);
-            }
-            log.debug("Array size: {}:{}", rows, cols);
-            cells = new Object[rows][cols];
-        }
-    }
-
-    private void arrayCopy(Object[][] from, Object[][] to, int toRow, int toCol) {
-        for (int i = 0; i < from.length; i++) {
-            System.arraycopy(from[i], 0, to[toRow + i], toCol, from[i].length);
-        }
+        log.debug("Effective sheet size: {}:{}, parsed cells: {}", rows, cols, grid.getCellCount());
+        start = effectiveStart;
+        grid.setRegion(start.getRow(), start.getColumn(), rows, cols);
     }
 
     public CellAddress getStart() {
         return start;
     }
 
-    private static class LruCache<A, B> extends LinkedHashMap<A, B> {
-        private static final long serialVersionUID = -6937158218983475882L;
-        private final int maxEntries;
-
-        LruCache(final int maxEntries) {
-            super(maxEntries + 1, 1.0f, true);
-            this.maxEntries = maxEntries;
-        }
-
-        @Override
-        protected boolean removeEldestEntry(final Map.Entry<A, B> eldest) {
-            return super.size() > maxEntries;
-        }
-    }
-
     private enum XmlCellType {
         BOOLEAN,
         ERROR,
@@ -177,6 +177,10 @@ public class TableProperties {
         return tableProperties.getNature();
     }
 
+    public java.lang.Boolean getConcurrentCells() {
+        return tableProperties.getConcurrentCells();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -331,6 +335,12 @@ public class TableProperties {
         if (tableProperties.getNature() != null) {
             sb.append("Nature").append(" = ").append(toString(tableProperties.getNature())).append("\r\n");
         }
+        if (tableProperties.getConcurrentCells() != null) {
+            sb.append("ConcurrentCells")
+                    .append(" = ")
+                    .append(toString(tableProperties.getConcurrentCells()))
+                    .append("\r\n");
+        }
         sb.append("}\r\n");
         return sb.toString();
     }
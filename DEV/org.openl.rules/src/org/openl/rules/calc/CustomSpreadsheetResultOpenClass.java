@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -52,6 +53,17 @@ import org.openl.vm.IRuntimeEnv;
 public class CustomSpreadsheetResultOpenClass extends ADynamicClass implements ModuleSpecificType {
     private final Logger log = LoggerFactory.getLogger(CustomSpreadsheetResultOpenClass.class);
     private static final String[] EMPTY_STRING_ARRAY = new String[]{};
+    // The lookup of the generated valueOf() method is cached to avoid the reflection on every conversion
+    private static final ClassValue<java.lang.reflect.Method> VALUE_OF_METHODS = new ClassValue<>() {
+        @Override
+        protected java.lang.reflect.Method computeValue(Class<?> type) {
+            try {
+                return type.getMethod("valueOf", SpreadsheetResult.class, BiFunction.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
     private static final Comparator<String> FIELD_COMPARATOR = (o1, o2) -> {
         // We do not expect empty fields names, so the length of strings always be greater than zero.
         char c1 = Character.toUpperCase(o1.charAt(0));
@@ -92,6 +104,8 @@ public class CustomSpreadsheetResultOpenClass extends ADynamicClass implements M
     protected volatile String beanClassName;
     volatile Map<String, List<IOpenField>> beanFieldsMap;
     volatile Map<String, String> xmlNamesMap;
+    // The fields of SpreadsheetResult.toMap() by the naming strategy
+    final Map<Object, SpreadsheetResult.ResultModelFields> resultModelFields = new ConcurrentHashMap<>();
     private volatile boolean initializing;
 
     private final boolean spreadsheet;
@@ -416,7 +430,7 @@ public class CustomSpreadsheetResultOpenClass extends ADynamicClass implements M
 
     public static Object createBean(Class<?> clazz, SpreadsheetResult spreadsheetResult, SpreadsheetResultBeanPropertyNamingStrategy namingStrategy) {
         try {
-            var method = clazz.getMethod("valueOf", SpreadsheetResult.class, BiFunction.class);
+            var method = VALUE_OF_METHODS.get(clazz);
             return method.invoke(null, spreadsheetResult, new BiFunction<Object, Class<?>, Object>() {
                 @Override
                 public Object apply(Object v, Class<?> toClass) {
@@ -512,7 +526,7 @@ public class CustomSpreadsheetResultOpenClass extends ADynamicClass implements M
                     return SpreadsheetResult.convertSpreadsheetResult(v, toClass, null, namingStrategy);
                 }
             });
-        } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+        } catch (IllegalAccessException | InvocationTargetException e) {
             throw new IllegalStateException(e);
         }
     }
@@ -25,6 +25,12 @@ public class Spreadsheet extends ExecutableRulesMethod {
 
     private SpreadsheetCell[][] cells;
 
+    /**
+     * Levels of the cells which can be calculated concurrently. It is set only for the spreadsheets with the
+     * {@code concurrentCells} property.
+     */
+    private SpreadsheetCellLevels cellLevels;
+
     /**
      * Top left cell of the whole Spreadsheet is not included. So the row names starts from [1, 0] in the Spreadsheet
      * table body
@@ -113,6 +119,14 @@ public class Spreadsheet extends ExecutableRulesMethod {
         this.cells = cells;
     }
 
+    public SpreadsheetCellLevels getCellLevels() {
+        return cellLevels;
+    }
+
+    public void setCellLevels(SpreadsheetCellLevels cellLevels) {
+        this.cellLevels = cellLevels;
+    }
+
     public void setColumnNames(String[] colNames) {
         this.columnNames = colNames;
     }
@@ -225,6 +225,10 @@ public class SpreadsheetBoundNode extends AMethodBasedNode {
             validateRowsColumnsForResultModel(spreadsheet);
 
             spreadsheet.setCells(cells);
+            if (spreadsheet.getMethodProperties() != null && Boolean.TRUE
+                    .equals(spreadsheet.getMethodProperties().getConcurrentCells())) {
+                spreadsheet.setCellLevels(SpreadsheetCellLevels.build(cells));
+            }
 
             spreadsheet.setResultBuilder(structureBuilder.buildResultBuilder(spreadsheet, bindingContext));
         }
@@ -0,0 +1,164 @@
+package org.openl.rules.calc;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.openl.binding.BindingDependencies;
+import org.openl.rules.calc.element.SpreadsheetCell;
+import org.openl.rules.calc.element.SpreadsheetCellField;
+import org.openl.rules.calc.element.SpreadsheetRangeField;
+import org.openl.types.IOpenField;
+import org.openl.types.impl.CompositeMethod;
+
+/**
+ * Groups the formula cells of a spreadsheet into levels by the references to other cells. The cells of the same level
+ * do not refer to each other, so they can be calculated concurrently as soon as all the previous levels are calculated.
+ * <p>
+ * The cells which are a part of a circular reference, or refer to such cells, are not included into any level. They
+ * are calculated lazily in the thread which requests them.
+ * <p>
+ * A cell is identified by the index {@code row * width + column}.
+ */
+public final class SpreadsheetCellLevels {
+
+    private static final int[] NO_DEPENDENCIES = new int[0];
+
+    private final int width;
+    private final int[][] levels;
+    private final int[][] dependencies;
+
+    private SpreadsheetCellLevels(int width, int[][] levels, int[][] dependencies) {
+        this.width = width;
+        this.levels = levels;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Builds the levels from the bound cell methods. It must be called before the debug information is removed from
+     * the cell methods.
+     *
+     * @return the levels or {@code null} if there are no cells which can be calculated concurrently
+     */
+    public static SpreadsheetCellLevels build(SpreadsheetCell[][] cells) {
+        int height = cells.length;
+        int width = height == 0 ? 0 : cells[0].length;
+        int[][] dependencies = new int[height * width][];
+        int methodCells = 0;
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                SpreadsheetCell cell = cells[row][column];
+                if (cell != null && cell.isMethodCell() && cell.getMethod() instanceof CompositeMethod) {
+                    dependencies[row * width + column] = collectDependencies(cells,
+                            (CompositeMethod) cell.getMethod());
+                    methodCells++;
+                }
+            }
+        }
+        if (methodCells < 2) {
+            return null;
+        }
+
+        // Kahn's algorithm: the level of a cell is greater than the levels of all the cells it refers to
+        int[] unresolved = new int[dependencies.length];
+        List<List<Integer>> dependants = new ArrayList<>(dependencies.length);
+        List<Integer> current = new ArrayList<>();
+        for (int cell = 0; cell < dependencies.length; cell++) {
+            dependants.add(null);
+            if (dependencies[cell] != null) {
+                unresolved[cell] = dependencies[cell].length;
+                if (unresolved[cell] == 0) {
+                    current.add(cell);
+                }
+            }
+        }
+        for (int cell = 0; cell < dependencies.length; cell++) {
+            if (dependencies[cell] != null) {
+                for (int dependency : dependencies[cell]) {
+                    if (dependants.get(dependency) == null) {
+                        dependants.set(dependency, new ArrayList<>());
+                    }
+                    dependants.get(dependency).add(cell);
+                }
+            }
+        }
+        List<int[]> levels = new ArrayList<>();
+        while (!current.isEmpty()) {
+            levels.add(current.stream().mapToInt(Integer::intValue).toArray());
+            List<Integer> next = new ArrayList<>();
+            for (int cell : current) {
+                List<Integer> cellDependants = dependants.get(cell);
+                if (cellDependants != null) {
+                    for (int dependant : cellDependants) {
+                        if (--unresolved[dependant] == 0) {
+                            next.add(dependant);
+                        }
+                    }
+                }
+            }
+            current = next;
+        }
+        return new SpreadsheetCellLevels(width, levels.toArray(new int[0][]), dependencies);
+    }
+
+    private static int[] collectDependencies(SpreadsheetCell[][] cells, CompositeMethod method) {
+        BindingDependencies bindingDependencies = new BindingDependencies();
+        method.updateDependency(bindingDependencies);
+        int width = cells[0].length;
+        BitSet result = new BitSet();
+        for (IOpenField field : bindingDependencies.getFieldsMap().values()) {
+            if (field instanceof SpreadsheetCellField) {
+                SpreadsheetCell cell = ((SpreadsheetCellField) field).getCell();
+                int row = cell.getRowIndex();
+                int column = cell.getColumnIndex();
+                if (row < cells.length && column < width && cells[row][column] == cell && cell.isMethodCell()) {
+                    result.set(row * width + column);
+                }
+            } else if (field instanceof SpreadsheetRangeField) {
+                SpreadsheetRangeField range = (SpreadsheetRangeField) field;
+                for (int row = range.getStartRow(); row <= range.getEndRow() && row < cells.length; row++) {
+                    for (int column = range.getStartColumn(); column <= range.getEndColumn() && column < width; column++) {
+                        if (cells[row][column] != null && cells[row][column].isMethodCell()) {
+                            result.set(row * width + column);
+                        }
+                    }
+                }
+            }
+        }
+        return result.isEmpty() ? NO_DEPENDENCIES : result.stream().toArray();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the cells of each level, the levels are sorted in the order of the calculation
+     */
+    public int[][] getLevels() {
+        return levels;
+    }
+
+    /**
+     * Collects the formula cells which the given cell refers to directly or indirectly, including the cell itself.
+     */
+    public BitSet getRequiredCells(int row, int column) {
+        BitSet required = new BitSet();
+        int[] stack = new int[dependencies.length];
+        int size = 0;
+        int start = row * width + column;
+        if (dependencies[start] != null) {
+            required.set(start);
+            stack[size++] = start;
+        }
+        while (size > 0) {
+            for (int dependency : dependencies[stack[--size]]) {
+                if (!required.get(dependency)) {
+                    required.set(dependency);
+                    stack[size++] = dependency;
+                }
+            }
+        }
+        return required;
+    }
+}
@@ -4,6 +4,7 @@ import org.openl.rules.calc.element.SpreadsheetCell;
 import org.openl.rules.method.RulesMethodInvoker;
 import org.openl.types.IDynamicObject;
 import org.openl.vm.IRuntimeEnv;
+import org.openl.vm.Tracer;
 
 /**
  * Invoker for {@link Spreadsheet}.
@@ -27,11 +28,22 @@ public class SpreadsheetInvoker extends RulesMethodInvoker<Spreadsheet> {
 
     @Override
     public Object invokeSimple(Object target, Object[] params, IRuntimeEnv env) {
-        SpreadsheetResultCalculator res = new SpreadsheetResultCalculator(getInvokableMethod(),
-                (IDynamicObject) target,
-                params,
-                env,
-                preFetchedResult);
+        SpreadsheetCellLevels cellLevels = getInvokableMethod().getCellLevels();
+        SpreadsheetResultCalculator res;
+        if (cellLevels == null || Tracer.isEnabled()) {
+            res = new SpreadsheetResultCalculator(getInvokableMethod(),
+                    (IDynamicObject) target,
+                    params,
+                    env,
+                    preFetchedResult);
+        } else {
+            res = new SpreadsheetResultCalculatorMT(getInvokableMethod(),
+                    (IDynamicObject) target,
+                    params,
+                    env,
+                    preFetchedResult,
+                    cellLevels);
+        }
         return getInvokableMethod().getResultBuilder().buildResult(res);
     }
 
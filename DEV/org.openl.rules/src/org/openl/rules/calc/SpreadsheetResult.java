@@ -2,6 +2,7 @@ package org.openl.rules.calc;
 
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -324,6 +325,9 @@ public class SpreadsheetResult implements Serializable {
 
     private static final ThreadLocal<Integer> DEPTH_LOCAL_THREAD = new ThreadLocal<>();
 
+    // The key of the fields of toMap() without the naming strategy
+    private static final Object NO_NAMING_STRATEGY = new Object();
+
     private String truncateStringValue(String value) {
         if (value == null) {
             return "";
@@ -426,45 +430,19 @@ public class SpreadsheetResult implements Serializable {
                                      SpreadsheetResultBeanPropertyNamingStrategy spreadsheetResultBeanPropertyNamingStrategy) {
         Map<String, Object> values = new HashMap<>();
         if (columnNames != null && rowNames != null) {
-            long nonNullsColumnsCount = Arrays.stream(columnNamesForResultModel).filter(Objects::nonNull).count();
-            long nonNullsRowsCount = Arrays.stream(rowNamesForResultModel).filter(Objects::nonNull).count();
-            final boolean isSingleRow = nonNullsRowsCount == 1;
-            final boolean isSingleColumn = nonNullsColumnsCount == 1;
             if (customSpreadsheetResultOpenClass != null) {
-                Map<String, String> xmlNamesMap = customSpreadsheetResultOpenClass.getXmlNamesMap();
-                for (Map.Entry<String, List<IOpenField>> e : customSpreadsheetResultOpenClass.getBeanFieldsMap()
-                        .entrySet()) {
-                    List<IOpenField> openFields = e.getValue();
-                    Map<String, Integer> p1 = new HashMap<>();
-                    Set<Point> points = new HashSet<>();
-                    for (IOpenField openField : openFields) {
-                        Point p = getPoint(openField.getName());
-                        if (p != null && !points.contains(p) && columnNamesForResultModel[p
-                                .getColumn()] != null && rowNamesForResultModel[p.getRow()] != null) {
-                            String key = getKey(spreadsheetResultBeanPropertyNamingStrategy, xmlNamesMap, e, p);
-                            p1.merge(key, 1, Integer::sum);
-                            points.add(p);
-                        }
-                    }
-                    for (IOpenField openField : openFields) {
-                        Point p = getPoint(openField.getName());
-                        if (p != null && columnNamesForResultModel[p.getColumn()] != null && rowNamesForResultModel[p
-                                .getRow()] != null) {
-                            String key = getKey(spreadsheetResultBeanPropertyNamingStrategy, xmlNamesMap, e, p);
-                            String fName;
-                            if (p1.get(key) == 1) {
-                                fName = key;
-                            } else {
-                                fName = xmlNamesMap.get(e.getKey());
-                            }
-                            values.put(fName,
-                                    convertSpreadsheetResult(getValue(p.getRow(), p.getColumn()),
-                                            spreadsheetResultsToMap,
-                                            spreadsheetResultBeanPropertyNamingStrategy));
-                        }
-                    }
+                ResultModelFields fields = getResultModelFields(spreadsheetResultBeanPropertyNamingStrategy);
+                for (int i = 0; i < fields.names.length; i++) {
+                    values.put(fields.names[i],
+                            convertSpreadsheetResult(getValue(fields.rows[i], fields.columns[i]),
+                                    spreadsheetResultsToMap,
+                                    spreadsheetResultBeanPropertyNamingStrategy));
                 }
             } else {
+                long nonNullsColumnsCount = Arrays.stream(columnNamesForResultModel).filter(Objects::nonNull).count();
+                long nonNullsRowsCount = Arrays.stream(rowNamesForResultModel).filter(Objects::nonNull).count();
+                final boolean isSingleRow = nonNullsRowsCount == 1;
+                final boolean isSingleColumn = nonNullsColumnsCount == 1;
                 for (int i = 0; i < rowNamesForResultModel.length; i++) {
                     for (int j = 0; j < columnNamesForResultModel.length; j++) {
                         if (columnNamesForResultModel[j] != null && rowNamesForResultModel[i] != null) {
@@ -506,6 +484,54 @@ public class SpreadsheetResult implements Serializable {
         return values;
     }
 
+    private ResultModelFields getResultModelFields(SpreadsheetResultBeanPropertyNamingStrategy spreadsheetResultBeanPropertyNamingStrategy) {
+        Object key = spreadsheetResultBeanPropertyNamingStrategy != null ? spreadsheetResultBeanPropertyNamingStrategy
+                                                                         : NO_NAMING_STRATEGY;
+        ResultModelFields fields = customSpreadsheetResultOpenClass.resultModelFields.get(key);
+        if (fields == null || !fields.isBuiltFor(this)) {
+            fields = buildResultModelFields(spreadsheetResultBeanPropertyNamingStrategy);
+            customSpreadsheetResultOpenClass.resultModelFields.put(key, fields);
+        }
+        return fields;
+    }
+
+    private ResultModelFields buildResultModelFields(SpreadsheetResultBeanPropertyNamingStrategy spreadsheetResultBeanPropertyNamingStrategy) {
+        List<String> names = new ArrayList<>();
+        List<Point> points = new ArrayList<>();
+        Map<String, String> xmlNamesMap = customSpreadsheetResultOpenClass.getXmlNamesMap();
+        Map<String, List<IOpenField>> beanFieldsMap = customSpreadsheetResultOpenClass.getBeanFieldsMap();
+        for (Map.Entry<String, List<IOpenField>> e : beanFieldsMap.entrySet()) {
+            List<IOpenField> openFields = e.getValue();
+            Map<String, Integer> p1 = new HashMap<>();
+            Set<Point> usedPoints = new HashSet<>();
+            for (IOpenField openField : openFields) {
+                Point p = getPoint(openField.getName());
+                if (p != null && !usedPoints.contains(p) && columnNamesForResultModel[p
+                        .getColumn()] != null && rowNamesForResultModel[p.getRow()] != null) {
+                    String key = getKey(spreadsheetResultBeanPropertyNamingStrategy, xmlNamesMap, e, p);
+                    p1.merge(key, 1, Integer::sum);
+                    usedPoints.add(p);
+                }
+            }
+            for (IOpenField openField : openFields) {
+                Point p = getPoint(openField.getName());
+                if (p != null && columnNamesForResultModel[p.getColumn()] != null && rowNamesForResultModel[p
+                        .getRow()] != null) {
+                    String key = getKey(spreadsheetResultBeanPropertyNamingStrategy, xmlNamesMap, e, p);
+                    String fName;
+                    if (p1.get(key) == 1) {
+                        fName = key;
+                    } else {
+                        fName = xmlNamesMap.get(e.getKey());
+                    }
+                    names.add(fName);
+                    points.add(p);
+                }
+            }
+        }
+        return new ResultModelFields(this, beanFieldsMap, names, points);
+    }
+
     private String getKey(SpreadsheetResultBeanPropertyNamingStrategy spreadsheetResultBeanPropertyNamingStrategy,
                           Map<String, String> xmlNamesMap,
                           Entry<String, List<IOpenField>> e,
@@ -793,4 +819,40 @@ public class SpreadsheetResult implements Serializable {
         }
         return hashCode;
     }
+
+    /**
+     * Names and coordinates of the values of {@link #toMap(boolean, SpreadsheetResultBeanPropertyNamingStrategy)}
+     * resolved once for the spreadsheet type and the naming strategy.
+     */
+    static final class ResultModelFields {
+        private final String[] rowNamesForResultModel;
+        private final String[] columnNamesForResultModel;
+        private final Map<String, Point> fieldsCoordinates;
+        private final Map<String, List<IOpenField>> beanFieldsMap;
+        final String[] names;
+        final int[] rows;
+        final int[] columns;
+
+        private ResultModelFields(SpreadsheetResult spreadsheetResult,
+                                  Map<String, List<IOpenField>> beanFieldsMap,
+                                  List<String> names,
+                                  List<Point> points) {
+            this.rowNamesForResultModel = spreadsheetResult.rowNamesForResultModel;
+            this.columnNamesForResultModel = spreadsheetResult.columnNamesForResultModel;
+            this.fieldsCoordinates = spreadsheetResult.fieldsCoordinates;
+            this.beanFieldsMap = beanFieldsMap;
+            this.names = names.toArray(new String[0]);
+            this.rows = new int[points.size()];
+            this.columns = new int[points.size()];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = points.get(i).getRow();
+                columns[i] = points.get(i).getColumn();
+            }
+        }
+
+        boolean isBuiltFor(SpreadsheetResult spreadsheetResult) {
+            return rowNamesForResultModel == spreadsheetResult.rowNamesForResultModel && columnNamesForResultModel == spreadsheetResult.columnNamesForResultModel && fieldsCoordinates == spreadsheetResult.fieldsCoordinates && beanFieldsMap == spreadsheetResult.customSpreadsheetResultOpenClass
+                    .getBeanFieldsMap();
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package org.openl.rules.calc;
+
+/**
+ * Implemented by all classes generated as spreadsheet result beans.
+ * <p>
+ * A bean created from a spreadsheet result does not copy the values of the cells until they are requested by the
+ * getters or the setters. So serializers can read the values straight from the spreadsheet result without filling the
+ * bean.
+ *
+ * @see SpreadsheetResultBeanByteCodeGenerator
+ */
+public interface SpreadsheetResultBean {
+
+    /**
+     * Reads the value of the cell without copying the values of all cells to the bean.
+     *
+     * @param cell the name of the cell, see {@link SpreadsheetCell#cell()}
+     * @param type the type of the property of the cell
+     * @return the value converted to the type of the property
+     */
+    Object readCell(String cell, Class<?> type);
+}
@@ -1,5 +1,7 @@
 package org.openl.rules.calc;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,7 +39,20 @@ final class SpreadsheetResultBeanByteCodeGenerator {
     public static final Method SET_VALUE = Method.getMethod("Object put(Object, Object)");
     private static final Type SR_TYPE = Type.getType(SpreadsheetResult.class);
     private static final Method SR_GET_VALUE = Method.getMethod("Object getModelValue(String)");
-    private static final Type METHOD_TYPE = Type.getType(java.lang.reflect.Method.class);
+    private static final Type CONVERTER_TYPE = Type.getType(BiFunction.class);
+    private static final Method CONVERT = Method.getMethod("Object apply(Object, Object)");
+    private static final String SOURCE = "source$";
+    private static final String CONVERTER = "converter$";
+    private static final Method VALUES = new Method("values$", VALUES_TYPE, new Type[0]);
+    private static final Method MATERIALIZE = Method.getMethod("void materialize$()");
+    private static final Method READ_CELL = Method.getMethod("Object readCell(String, Class)");
+    private static final String PUT_VALUES = "putValues$";
+    private static final String PUT_VALUES_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+            VALUES_TYPE,
+            SR_TYPE,
+            CONVERTER_TYPE);
+    // Keeps the generated methods small enough to be compiled by JIT
+    private static final int VALUE_OF_CHUNK_SIZE = 256;
 
     private final List<FieldDescription> fields;
     private final Type beanType;
@@ -86,6 +101,9 @@ final class SpreadsheetResultBeanByteCodeGenerator {
         visitConstructor(classWriter);
         visitFields(classWriter);
         visitValueOf(classWriter);
+        visitMaterialize(classWriter);
+        visitReadCell(classWriter);
+        visitWriteObject(classWriter);
         return classWriter.toByteArray();
     }
 
@@ -115,7 +133,7 @@ final class SpreadsheetResultBeanByteCodeGenerator {
                 beanType.getInternalName(),
                 null,
                 "java/lang/Object",
-                new String[]{"java/io/Serializable"});
+                new String[]{"java/io/Serializable", Type.getInternalName(SpreadsheetResultBean.class)});
     }
 
     private void visitClassAnnotations(ClassWriter classWriter) {
@@ -146,6 +164,20 @@ final class SpreadsheetResultBeanByteCodeGenerator {
         var map = classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "values", "Ljava/util/HashMap;", "Ljava/util/HashMap<Lorg/openl/cache/GenericKey;Ljava/lang/Object;>;", null);
         map.visitEnd();
 
+        // The spreadsheet result is kept until the values are requested, see valueOf()
+        var source = classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_TRANSIENT | Opcodes.ACC_VOLATILE,
+                SOURCE,
+                SR_TYPE.getDescriptor(),
+                null,
+                null);
+        source.visitEnd();
+        var converter = classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_TRANSIENT,
+                CONVERTER,
+                CONVERTER_TYPE.getDescriptor(),
+                null,
+                null);
+        converter.visitEnd();
+
         var mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, DEFAULT_CONSTRUCTOR, null, null, classWriter);
 
         // invokes the super class constructor
@@ -175,7 +207,7 @@ final class SpreadsheetResultBeanByteCodeGenerator {
         String getterMethod = fieldDescription.className + " " + ClassUtils.getter(fieldName) + "()";
         var mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, Method.getMethod(getterMethod), null, null, classWriter);
         mg.loadThis();
-        mg.getField(beanType, "values", VALUES_TYPE);
+        mg.invokeVirtual(beanType, VALUES);
         mg.push(fieldDescription.cell);
         mg.invokeVirtual(VALUES_TYPE, GET_VALUE);
         mg.checkCast(fieldDescription.type);
@@ -211,7 +243,7 @@ final class SpreadsheetResultBeanByteCodeGenerator {
         var mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, Method.getMethod(setterMethod), null, null, classWriter);
 
         mg.loadThis();
-        mg.getField(beanType, "values", VALUES_TYPE);
+        mg.invokeVirtual(beanType, VALUES);
         mg.push(fieldDescription.cell);
         mg.loadArg(0);
         mg.invokeVirtual(VALUES_TYPE, SET_VALUE);
@@ -234,97 +266,180 @@ final class SpreadsheetResultBeanByteCodeGenerator {
         var bean = mg.newLocal(beanType);
         mg.storeLocal(bean);
 
-        // array
-        mg.push(beanType);
-        mg.invokeVirtual(Type.getType(Class.class), Method.getMethod("java.lang.reflect.Method[] getDeclaredMethods()"));
-        var array = mg.newLocal(Type.getType(java.lang.reflect.Method[].class));
-        mg.storeLocal(array);
-
-        // end index
-        mg.loadLocal(array);
-        mg.arrayLength();
-        var end = mg.newLocal(Type.INT_TYPE);
-        mg.storeLocal(end);
-
-        // index
-        mg.push(0);
-        var index = mg.newLocal(Type.INT_TYPE);
-        mg.storeLocal(index);
-
-
-        var methodVisitor = mg.getDelegate();
-
-        var forLoop = mg.mark();
-        methodVisitor.visitFrame(Opcodes.F_FULL, 6, new Object[]{"org/openl/rules/calc/SpreadsheetResult", "java/util/function/BiFunction", beanType.getInternalName(), "[Ljava/lang/reflect/Method;", Opcodes.INTEGER, Opcodes.INTEGER}, 0, new Object[]{});
-
-        // index >= end
-        mg.loadLocal(index);
-        mg.loadLocal(end);
-        var exitFor = mg.newLabel();
-        mg.ifCmp(Type.INT_TYPE, GeneratorAdapter.GE, exitFor);
-
-        // method = array[index]
-        mg.loadLocal(array);
-        mg.loadLocal(index);
-        mg.arrayLoad(METHOD_TYPE);
-        var method = mg.newLocal(METHOD_TYPE);
-        mg.storeLocal(method);
-
-        // annotation = method.getAnnotation(SpreadsheetCell.class)
-        mg.loadLocal(method);
-        mg.push(Type.getType(SpreadsheetCell.class));
-        mg.invokeVirtual(METHOD_TYPE, Method.getMethod("java.lang.annotation.Annotation getAnnotation(Class)"));
-        mg.checkCast(Type.getType(SpreadsheetCell.class));
-        var annotation = mg.newLocal(Type.getType(SpreadsheetCell.class));
-        mg.storeLocal(annotation);
-
-        // if annotation == null
-        mg.loadLocal(annotation);
-        var exitIf = mg.newLabel();
-        mg.ifNull(exitIf);
-
-        // cell = annotation.getCell()
-        mg.loadLocal(annotation);
-        mg.invokeInterface(Type.getType(SpreadsheetCell.class), Method.getMethod("String cell()"));
-        var cell = mg.newLocal(Type.getType(String.class));
-        mg.storeLocal(cell);
-
-        // put on the stack
+        // The values are not copied to the bean until they are requested by the getters or setters. So the bean can
+        // be serialized by readCell() straight from the spreadsheet result.
+        // bean.converter$ = converter;
+        mg.loadLocal(bean);
+        mg.loadArg(1);
+        mg.putField(beanType, CONVERTER, CONVERTER_TYPE);
+
+        // bean.source$ = sr;
+        mg.loadLocal(bean);
+        mg.loadArg(0);
+        mg.putField(beanType, SOURCE, SR_TYPE);
+
+        // return bean
         mg.loadLocal(bean);
+        mg.returnValue();
+        mg.endMethod();
+
+        // private HashMap values$() {
+        mg = new GeneratorAdapter(Opcodes.ACC_PRIVATE, VALUES, null, null, classWriter);
+        mg.visitCode();
+
+        // if (source$ != null) materialize$();
+        mg.loadThis();
+        mg.getField(beanType, SOURCE, SR_TYPE);
+        var materialized = mg.newLabel();
+        mg.ifNull(materialized);
+        mg.loadThis();
+        mg.invokeVirtual(beanType, MATERIALIZE);
+        mg.mark(materialized);
+        mg.getDelegate().visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+
+        // return values;
+        mg.loadThis();
         mg.getField(beanType, "values", VALUES_TYPE);
-        mg.loadLocal(cell); // cell
-        mg.loadArg(1); // converter
+        mg.returnValue();
+        mg.endMethod();
+    }
+
+    private void visitMaterialize(ClassWriter classWriter) {
+        var mg = new GeneratorAdapter(Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNCHRONIZED, MATERIALIZE, null, null, classWriter);
+
+        // {
+        mg.visitCode();
 
-        // _v = sr.getFieldValue(cell);
-        mg.loadArg(0); // sr
-        mg.loadLocal(cell); // cell
+        // sr = source$;
+        mg.loadThis();
+        mg.getField(beanType, SOURCE, SR_TYPE);
+        var sr = mg.newLocal(SR_TYPE);
+        mg.storeLocal(sr);
+
+        // if (sr == null) return;
+        mg.loadLocal(sr);
+        var notMaterialized = mg.newLabel();
+        mg.ifNonNull(notMaterialized);
+        mg.returnValue();
+        mg.mark(notMaterialized);
+        mg.getDelegate().visitFrame(Opcodes.F_APPEND, 1, new Object[]{SR_TYPE.getInternalName()}, 0, null);
+
+        // The cells and the types of the fields are known at generation time, so no reflection is required on
+        // every call. The values are set by the chunks of the fields to not exceed the size limit of the method.
+        for (int from = 0, chunk = 0; from < fields.size(); from += VALUE_OF_CHUNK_SIZE, chunk++) {
+            var putValuesMethod = new Method(PUT_VALUES + chunk, PUT_VALUES_DESCRIPTOR);
+            visitPutValues(classWriter,
+                    putValuesMethod,
+                    fields.subList(from, Math.min(from + VALUE_OF_CHUNK_SIZE, fields.size())));
+
+            // putValues(values, sr, converter$)
+            mg.loadThis();
+            mg.getField(beanType, "values", VALUES_TYPE);
+            mg.loadLocal(sr);
+            mg.loadThis();
+            mg.getField(beanType, CONVERTER, CONVERTER_TYPE);
+            mg.invokeStatic(beanType, putValuesMethod);
+        }
+
+        // source$ = null;
+        mg.loadThis();
+        mg.visitInsn(Opcodes.ACONST_NULL);
+        mg.putField(beanType, SOURCE, SR_TYPE);
+
+        mg.returnValue();
+        mg.endMethod();
+    }
+
+    private void visitReadCell(ClassWriter classWriter) {
+        var mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, READ_CELL, null, null, classWriter);
+
+        // {
+        mg.visitCode();
+
+        // sr = source$;
+        mg.loadThis();
+        mg.getField(beanType, SOURCE, SR_TYPE);
+        var sr = mg.newLocal(SR_TYPE);
+        mg.storeLocal(sr);
+
+        // if (sr == null) return values.get(cell);
+        mg.loadLocal(sr);
+        var notMaterialized = mg.newLabel();
+        mg.ifNonNull(notMaterialized);
+        mg.loadThis();
+        mg.getField(beanType, "values", VALUES_TYPE);
+        mg.loadArg(0);
+        mg.invokeVirtual(VALUES_TYPE, GET_VALUE);
+        mg.returnValue();
+        mg.mark(notMaterialized);
+        mg.getDelegate().visitFrame(Opcodes.F_APPEND, 1, new Object[]{SR_TYPE.getInternalName()}, 0, null);
+
+        // return converter$.apply(sr.getModelValue(cell), type);
+        mg.loadThis();
+        mg.getField(beanType, CONVERTER, CONVERTER_TYPE);
+        mg.loadLocal(sr);
+        mg.loadArg(0);
         mg.invokeVirtual(SR_TYPE, SR_GET_VALUE);
+        mg.loadArg(1);
+        mg.invokeInterface(CONVERTER_TYPE, CONVERT);
+        mg.returnValue();
+        mg.endMethod();
+    }
 
-        // _v = converter.apply(_v, method.getReturnType())
-        mg.loadLocal(method);
-        mg.invokeVirtual(METHOD_TYPE, Method.getMethod("Class getReturnType()"));
-        mg.invokeInterface(Type.getType(BiFunction.class), Method.getMethod("Object apply(Object, Object)"));
+    private void visitWriteObject(ClassWriter classWriter) {
+        var objectOutputStream = Type.getType(ObjectOutputStream.class);
+        var mg = new GeneratorAdapter(Opcodes.ACC_PRIVATE,
+                new Method("writeObject", Type.VOID_TYPE, new Type[]{objectOutputStream}),
+                null,
+                new Type[]{Type.getType(IOException.class)},
+                classWriter);
 
-        // _z = values.put(cell, _v);
-        mg.invokeVirtual(VALUES_TYPE, SET_VALUE);
-        // remove _z from the stack
+        // {
+        mg.visitCode();
+
+        // The spreadsheet result is not serialized, so the values are copied to the bean before.
+        // values$();
+        mg.loadThis();
+        mg.invokeVirtual(beanType, VALUES);
         mg.pop();
 
-        mg.mark(exitIf);
-        methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+        // out.defaultWriteObject();
+        mg.loadArg(0);
+        mg.invokeVirtual(objectOutputStream, Method.getMethod("void defaultWriteObject()"));
 
-        // index++
-        mg.iinc(index, 1);
-        mg.goTo(forLoop);
+        mg.returnValue();
+        mg.endMethod();
+    }
 
-        mg.mark(exitFor);
-        methodVisitor.visitFrame(Opcodes.F_CHOP, 3, null, 0, null);
+    private void visitPutValues(ClassWriter classWriter, Method method, List<FieldDescription> chunk) {
+        var mg = new GeneratorAdapter(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, method, null, null, classWriter);
+
+        // {
+        mg.visitCode();
+
+        for (var field : chunk) {
+            // put on the stack
+            mg.loadArg(0); // values
+            mg.push(field.cell); // cell
+            mg.loadArg(2); // converter
+
+            // _v = sr.getModelValue(cell);
+            mg.loadArg(1); // sr
+            mg.push(field.cell); // cell
+            mg.invokeVirtual(SR_TYPE, SR_GET_VALUE);
+
+            // _v = converter.apply(_v, FieldType.class)
+            mg.push(field.type);
+            mg.invokeInterface(CONVERTER_TYPE, CONVERT);
+
+            // _z = values.put(cell, _v);
+            mg.invokeVirtual(VALUES_TYPE, SET_VALUE);
+            // remove _z from the stack
+            mg.pop();
+        }
 
-        // return bean
-        mg.loadLocal(bean);
         mg.returnValue();
         mg.endMethod();
-
     }
 
     static final class FieldDescription {
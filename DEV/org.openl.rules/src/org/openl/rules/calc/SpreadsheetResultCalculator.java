@@ -29,7 +29,7 @@ public class SpreadsheetResultCalculator implements IDynamicObject {
      */
     protected final IRuntimeEnv env;
 
-    private final Object[][] results;
+    protected final Object[][] results;
 
     public SpreadsheetResultCalculator(Spreadsheet spreadsheet,
                                        IDynamicObject targetModule,
@@ -94,6 +94,19 @@ public class SpreadsheetResultCalculator implements IDynamicObject {
     }
 
     public Object getValue(int row, int column) {
+        return getValue(row, column, env);
+    }
+
+    /**
+     * Gets the value of the cell. If the cell is not calculated yet, it is calculated in the given environment.
+     *
+     * @param env the environment of the caller, it can differ from the environment of the spreadsheet call when the
+     *            cell is requested from another thread
+     */
+    public Object getValue(int row, int column, IRuntimeEnv env) {
+        if (env == null) {
+            env = this.env;
+        }
         Object result = results[row][column];
         if (result == EMPTY_CELL) {
             return null;
@@ -144,7 +157,7 @@ public class SpreadsheetResultCalculator implements IDynamicObject {
 
         for (int row = 0; row < height; row++) {
             for (int col = 0; col < width; col++) {
-                resultArray[row][col] = getValue(row, col);
+                resultArray[row][col] = getValue(row, col, env);
             }
         }
         return resultArray;
@@ -0,0 +1,156 @@
+package org.openl.rules.calc;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.openl.rules.calc.element.SpreadsheetCell;
+import org.openl.rules.core.ce.ServiceMT;
+import org.openl.types.IDynamicObject;
+import org.openl.vm.IRuntimeEnv;
+import org.openl.vm.Tracer;
+
+/**
+ * Calculates the independent cells of a spreadsheet concurrently. The cells are calculated level by level, see
+ * {@link SpreadsheetCellLevels}, the cells of one level are forked to {@link ServiceMT}. Every cell is calculated only
+ * once: the first thread which requests a cell calculates it, other threads wait for the result.
+ * <p>
+ * It is used for the spreadsheets with the {@code concurrentCells} property when the tracer is not enabled.
+ */
+public class SpreadsheetResultCalculatorMT extends SpreadsheetResultCalculator {
+
+    private static final VarHandle RESULT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final SpreadsheetCellLevels cellLevels;
+
+    public SpreadsheetResultCalculatorMT(Spreadsheet spreadsheet,
+                                         IDynamicObject targetModule,
+                                         Object[] params,
+                                         IRuntimeEnv env,
+                                         Object[][] preCalculatedResult,
+                                         SpreadsheetCellLevels cellLevels) {
+        super(spreadsheet, targetModule, params, env, preCalculatedResult);
+        this.cellLevels = cellLevels;
+    }
+
+    @Override
+    public Object getValue(int row, int column) {
+        if (RESULT.getAcquire(results[row], column) == METHOD_VALUE) {
+            calculateLevels(cellLevels.getRequiredCells(row, column));
+        }
+        return getValue(row, column, env);
+    }
+
+    @Override
+    public Object getValue(int row, int column, IRuntimeEnv env) {
+        if (env == null) {
+            env = this.env;
+        }
+        Object[] rowResults = results[row];
+        while (true) {
+            Object result = RESULT.getAcquire(rowResults, column);
+            if (result == EMPTY_CELL) {
+                return null;
+            } else if (result instanceof CalculatingCell) {
+                CalculatingCell calculating = (CalculatingCell) result;
+                if (calculating.owner == Thread.currentThread()) {
+                    // circular reference, it is calculated recursively in the same way as in the sequential mode
+                    return Tracer.invoke(getSpreadsheet().getCells()[row][column], this, params, env, this);
+                }
+                return calculating.await();
+            } else if (result != METHOD_VALUE) {
+                return result;
+            }
+            CalculatingCell calculating = new CalculatingCell();
+            if (RESULT.compareAndSet(rowResults, column, METHOD_VALUE, calculating)) {
+                return calculate(rowResults, row, column, env, calculating);
+            }
+        }
+    }
+
+    private Object calculate(Object[] rowResults, int row, int column, IRuntimeEnv env, CalculatingCell calculating) {
+        Object value;
+        try {
+            value = Tracer.invoke(getSpreadsheet().getCells()[row][column], this, params, env, this);
+        } catch (RuntimeException | Error e) {
+            // the cell stays not calculated as in the sequential mode
+            RESULT.setRelease(rowResults, column, METHOD_VALUE);
+            calculating.completeExceptionally(e);
+            throw e;
+        }
+        RESULT.setRelease(rowResults, column, value);
+        calculating.complete(value);
+        return value;
+    }
+
+    @Override
+    public Object[][] getValues() {
+        calculateLevels(null);
+        return super.getValues();
+    }
+
+    /**
+     * Calculates the cells level by level. The first not calculated cell of a level is calculated in the current
+     * thread, the others are forked.
+     *
+     * @param required the cells to calculate or {@code null} to calculate all the cells
+     */
+    private void calculateLevels(BitSet required) {
+        int width = cellLevels.getWidth();
+        ServiceMT serviceMT = ServiceMT.getInstance();
+        for (int[] level : cellLevels.getLevels()) {
+            int inline = -1;
+            for (int cell : level) {
+                if (required != null && !required.get(cell)) {
+                    continue;
+                }
+                int row = cell / width;
+                int column = cell % width;
+                if (RESULT.getAcquire(results[row], column) != METHOD_VALUE) {
+                    continue;
+                }
+                if (inline < 0) {
+                    inline = cell;
+                } else {
+                    serviceMT.execute(env, e -> getValue(row, column, e));
+                }
+            }
+            if (inline >= 0) {
+                try {
+                    getValue(inline / width, inline % width, env);
+                } catch (RuntimeException | Error e) {
+                    try {
+                        serviceMT.join(env);
+                    } catch (RuntimeException | Error suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                    throw e;
+                }
+                serviceMT.join(env);
+            }
+        }
+    }
+
+    /**
+     * Marks a cell which is being calculated by the owner thread.
+     */
+    private static final class CalculatingCell extends CompletableFuture<Object> {
+        private final Thread owner = Thread.currentThread();
+
+        Object await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -31,7 +31,7 @@ public class SpreadsheetCellField extends ASpreadsheetField implements NodeDescr
             return getType().nullObject();
         }
 
-        return spreadsheetResultCalculator.getValue(cell.getRowIndex(), cell.getColumnIndex());
+        return spreadsheetResultCalculator.getValue(cell.getRowIndex(), cell.getColumnIndex(), env);
     }
 
     public SpreadsheetCell getCell() {
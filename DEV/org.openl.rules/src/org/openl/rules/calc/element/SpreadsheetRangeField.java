@@ -55,7 +55,7 @@ public class SpreadsheetRangeField extends ASpreadsheetField implements NodeDesc
         int i = 0;
         for (int x = sx; x <= ex; ++x) {
             for (int y = sy; y <= ey; ++y) {
-                Object v = calc.getValue(y, x);
+                Object v = calc.getValue(y, x, env);
                 IOpenCast openCast = casts[x - sx][y - sy];
                 if (openCast != null && openCast.isImplicit()) {
                     v = openCast.convert(v);
@@ -68,6 +68,22 @@ public class SpreadsheetRangeField extends ASpreadsheetField implements NodeDesc
         return array;
     }
 
+    public int getStartRow() {
+        return sy;
+    }
+
+    public int getEndRow() {
+        return ey;
+    }
+
+    public int getStartColumn() {
+        return sx;
+    }
+
+    public int getEndColumn() {
+        return ex;
+    }
+
     @Override
     public String getDescription() {
         return getType().getDisplayName(SHORT) + " " + rangeName;
@@ -1,10 +1,11 @@
 package org.openl.rules.cmatch;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.openl.rules.cmatch.algorithm.Argument;
+import org.openl.rules.cmatch.matcher.IMatchIndex;
 import org.openl.rules.cmatch.matcher.IMatcher;
 
 public class MatchNode {
@@ -24,8 +25,13 @@ public class MatchNode {
      */
     private Object[] checkValues;
 
+    /**
+     * Index of the check values. It is built on the first use.
+     */
+    private IMatchIndex index;
+
     public MatchNode(int rowIndex) {
-        children = new LinkedList<>();
+        children = new ArrayList<>();
         this.rowIndex = rowIndex;
     }
 
@@ -50,6 +56,15 @@ public class MatchNode {
         return Collections.unmodifiableList(children);
     }
 
+    public IMatchIndex getIndex() {
+        IMatchIndex result = index;
+        if (result == null) {
+            result = matcher.buildIndex(checkValues);
+            index = result;
+        }
+        return result;
+    }
+
     public IMatcher getMatcher() {
         return matcher;
     }
@@ -76,10 +91,12 @@ public class MatchNode {
 
     public void setCheckValues(Object[] checkValues) {
         this.checkValues = checkValues;
+        index = null;
     }
 
     public void setMatcher(IMatcher matcher) {
         this.matcher = matcher;
+        index = null;
     }
 
     public void setWeight(int weight) {
@@ -4,7 +4,6 @@ import java.util.List;
 
 import org.openl.rules.cmatch.ColumnMatch;
 import org.openl.rules.cmatch.MatchNode;
-import org.openl.rules.cmatch.matcher.IMatcher;
 import org.openl.vm.IRuntimeEnv;
 import org.openl.vm.Tracer;
 
@@ -22,23 +21,26 @@ public class MatchAlgorithmExecutor implements IMatchAlgorithmExecutor {
                 throw new IllegalArgumentException("Linearized MatchNode tree expected.");
             }
 
+            List<MatchNode> children = line.getChildren();
+            // arguments are extracted once, when the previous children have a matching result value
+            Object[] vars = new Object[children.size()];
+            int extracted = 0;
+
             // find matching result value from left to right
-            for (int resultIndex = 0; resultIndex < returnValues.length; resultIndex++) {
-                boolean success = true;
+            int resultIndex = 0;
+            while (resultIndex >= 0 && resultIndex < returnValues.length) {
                 // check that all children are MATCH at resultIndex element
-                List<MatchNode> children = line.getChildren();
-                for (MatchNode node : children) {
-                    Argument arg = node.getArgument();
-                    Object var = arg.extractValue(target, params, env);
-                    IMatcher matcher = node.getMatcher();
-                    Object checkValue = node.getCheckValues()[resultIndex];
-                    if (!matcher.match(var, checkValue)) {
-                        success = false;
-                        break;
+                int next = resultIndex;
+                for (int i = 0; i < children.size() && next == resultIndex; i++) {
+                    MatchNode node = children.get(i);
+                    if (i == extracted) {
+                        vars[extracted++] = node.getArgument().extractValue(target, params, env);
                     }
+                    // the result values which are not matched by the child are skipped
+                    next = node.getIndex().next(vars[i], resultIndex);
                 }
 
-                if (success) {
+                if (next == resultIndex) {
                     Object result = returnValues[resultIndex];
                     for (MatchNode node : line.getChildren()) {
                         Tracer.put(this, "match", target, node, resultIndex, null);
@@ -46,6 +48,7 @@ public class MatchAlgorithmExecutor implements IMatchAlgorithmExecutor {
                     Tracer.put(this, "result", target, resultIndex, result);
                     return result;
                 }
+                resultIndex = next;
             }
         }
         return NO_MATCH;
@@ -2,7 +2,6 @@ package org.openl.rules.cmatch.algorithm;
 
 import org.openl.rules.cmatch.ColumnMatch;
 import org.openl.rules.cmatch.MatchNode;
-import org.openl.rules.cmatch.matcher.IMatcher;
 import org.openl.vm.IRuntimeEnv;
 import org.openl.vm.Tracer;
 
@@ -23,17 +22,13 @@ public class ScoreAlgorithmExecutor implements IMatchAlgorithmExecutor {
 
             Argument arg = node.getArgument();
             Object var = arg.extractValue(target, params, env);
-            IMatcher matcher = node.getMatcher();
 
-            // find all matching scores from left to right
-            for (int resultIndex = 0; resultIndex < scores.length; resultIndex++) {
-                Object checkValue = node.getCheckValues()[resultIndex];
-                if (matcher.match(var, checkValue)) {
-                    int score = scores[resultIndex] * node.getWeight();
-                    sumScore += score;
-                    Tracer.put(this, "match", target, node, resultIndex, score);
-                    break;
-                }
+            // find the first matching score from left to right
+            int resultIndex = node.getIndex().next(var, 0);
+            if (resultIndex >= 0 && resultIndex < scores.length) {
+                int score = scores[resultIndex] * node.getWeight();
+                sumScore += score;
+                Tracer.put(this, "match", target, node, resultIndex, score);
             }
         }
         return sumScore;
@@ -41,4 +41,9 @@ public class BooleanPrimitiveMatch implements IMatcherBuilder, IMatcher {
         return checkValue.equals(var);
     }
 
+    @Override
+    public IMatchIndex buildIndex(Object[] checkValues) {
+        return new EqualsMatchIndex(this, checkValues);
+    }
+
 }
@@ -22,4 +22,9 @@ public class ClassMatchMatcher implements IMatcher {
 
         return checkValue.equals(var);
     }
+
+    @Override
+    public IMatchIndex buildIndex(Object[] checkValues) {
+        return new EqualsMatchIndex(this, checkValues);
+    }
 }
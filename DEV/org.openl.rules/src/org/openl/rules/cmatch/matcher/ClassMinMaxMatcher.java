@@ -27,4 +27,12 @@ public class ClassMinMaxMatcher<T extends Comparable<? super T>> implements IMat
         int result = Comparator.nullsFirst(Comparator.<T>naturalOrder()).compare((T) var, (T) checkValue);
         return isMaxMode ? (result <= 0) : (result >= 0);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public IMatchIndex buildIndex(Object[] checkValues) {
+        Comparator<Object> comparator = (Comparator<Object>) (Comparator<?>) Comparator
+                .nullsFirst(Comparator.<T>naturalOrder());
+        return new MinMaxMatchIndex(comparator, isMaxMode, checkValues);
+    }
 }
@@ -24,4 +24,9 @@ public class EnumMatchMatcher implements IMatcher {
 
         return checkValue.equals(var);
     }
+
+    @Override
+    public IMatchIndex buildIndex(Object[] checkValues) {
+        return new EqualsMatchIndex(this, checkValues);
+    }
 }
@@ -0,0 +1,65 @@
+package org.openl.rules.cmatch.matcher;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index for the matchers which compare the values by {@code equals}. The columns are looked up by the hash of the
+ * value. The other check values, like number ranges, are checked by the matcher. Empty check values never match.
+ */
+class EqualsMatchIndex implements IMatchIndex {
+    /**
+     * The classes with consistent {@code equals} and {@code hashCode}.
+     */
+    private static final Set<Class<?>> HASHABLE_CLASSES = Set.of(Integer.class,
+            Long.class,
+            Double.class,
+            Float.class,
+            Short.class,
+            Byte.class,
+            Character.class,
+            Boolean.class,
+            String.class);
+
+    private final IMatcher matcher;
+    private final Object[] checkValues;
+    private final Map<Object, BitSet> columns = new HashMap<>();
+    private final int[] otherColumns;
+
+    EqualsMatchIndex(IMatcher matcher, Object[] checkValues) {
+        this.matcher = matcher;
+        this.checkValues = checkValues;
+        int[] others = new int[checkValues.length];
+        int count = 0;
+        for (int i = 0; i < checkValues.length; i++) {
+            Object value = checkValues[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Enum || HASHABLE_CLASSES.contains(value.getClass())) {
+                columns.computeIfAbsent(value, k -> new BitSet()).set(i);
+            } else {
+                others[count++] = i;
+            }
+        }
+        otherColumns = Arrays.copyOf(others, count);
+    }
+
+    @Override
+    public int next(Object var, int from) {
+        BitSet equal = columns.get(var);
+        int result = equal == null ? -1 : equal.nextSetBit(from);
+        for (int column : otherColumns) {
+            if (result >= 0 && column > result) {
+                break;
+            }
+            if (column >= from && matcher.match(var, checkValues[column])) {
+                return column;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package org.openl.rules.cmatch.matcher;
+
+/**
+ * Index of the check values of a row. It finds matching columns without checking every column by the matcher.
+ */
+public interface IMatchIndex {
+    /**
+     * Finds the first column which matches the value.
+     *
+     * @param var  actual value
+     * @param from the index of the column to start from
+     * @return the index of the first matching column which is not less than {@code from}, or -1 if there is no such
+     *         column
+     */
+    int next(Object var, int from);
+}
@@ -19,4 +19,14 @@ public interface IMatcher {
      * @return true if it matches
      */
     boolean match(Object var, Object checkValue);
+
+    /**
+     * Builds an index to find matching columns of a row without checking every column.
+     *
+     * @param checkValues check values of a row
+     * @return index which returns the same result as the {@link #match(Object, Object)} method
+     */
+    default IMatchIndex buildIndex(Object[] checkValues) {
+        return new LinearMatchIndex(this, checkValues);
+    }
 }
@@ -0,0 +1,24 @@
+package org.openl.rules.cmatch.matcher;
+
+/**
+ * Checks the columns one by one. It is used for the matchers which cannot be indexed.
+ */
+class LinearMatchIndex implements IMatchIndex {
+    private final IMatcher matcher;
+    private final Object[] checkValues;
+
+    LinearMatchIndex(IMatcher matcher, Object[] checkValues) {
+        this.matcher = matcher;
+        this.checkValues = checkValues;
+    }
+
+    @Override
+    public int next(Object var, int from) {
+        for (int i = from; i < checkValues.length; i++) {
+            if (matcher.match(var, checkValues[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
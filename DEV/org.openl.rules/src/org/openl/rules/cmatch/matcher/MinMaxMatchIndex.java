@@ -0,0 +1,91 @@
+package org.openl.rules.cmatch.matcher;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Index for {@link ClassMinMaxMatcher}. The columns are sorted by the check values, so the matching columns are found by
+ * the binary search: in the max mode they are the columns with the check values not less than the actual value, in the
+ * min mode they are the columns with the check values not greater than the actual value.
+ */
+class MinMaxMatchIndex implements IMatchIndex {
+    private final Comparator<Object> comparator;
+    private final boolean isMaxMode;
+    private final Object[] sortedValues;
+    /**
+     * The position of a column in the sorted values.
+     */
+    private final int[] positions;
+    /**
+     * The minimal column index of the matching columns for every position of the binary search.
+     */
+    private final int[] firstColumns;
+
+    MinMaxMatchIndex(Comparator<Object> comparator, boolean isMaxMode, Object[] checkValues) {
+        this.comparator = comparator;
+        this.isMaxMode = isMaxMode;
+        int length = checkValues.length;
+        Integer[] columns = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            columns[i] = i;
+        }
+        Arrays.sort(columns, (x, y) -> comparator.compare(checkValues[x], checkValues[y]));
+        sortedValues = new Object[length];
+        positions = new int[length];
+        for (int i = 0; i < length; i++) {
+            sortedValues[i] = checkValues[columns[i]];
+            positions[columns[i]] = i;
+        }
+        firstColumns = new int[length + 1];
+        if (isMaxMode) {
+            // The suffix of the sorted values is matched
+            firstColumns[length] = -1;
+            for (int i = length - 1; i >= 0; i--) {
+                firstColumns[i] = min(firstColumns[i + 1], columns[i]);
+            }
+        } else {
+            // The prefix of the sorted values is matched
+            firstColumns[0] = -1;
+            for (int i = 0; i < length; i++) {
+                firstColumns[i + 1] = min(firstColumns[i], columns[i]);
+            }
+        }
+    }
+
+    private static int min(int column, int other) {
+        return column < 0 ? other : Math.min(column, other);
+    }
+
+    @Override
+    public int next(Object var, int from) {
+        int bound = bound(var);
+        if (from == 0) {
+            return firstColumns[bound];
+        }
+        for (int i = from; i < positions.length; i++) {
+            if (isMaxMode ? positions[i] >= bound : positions[i] < bound) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first position of the check value which is not less than the actual value in the max mode, or which is
+     * greater than the actual value in the min mode.
+     */
+    private int bound(Object var) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int result = comparator.compare(sortedValues[middle], var);
+            if (isMaxMode ? result < 0 : result <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -54,4 +54,9 @@ public class NumberMatchMatcher implements IMatcher {
         }
     }
 
+    @Override
+    public IMatchIndex buildIndex(Object[] checkValues) {
+        return new EqualsMatchIndex(this, checkValues);
+    }
+
 }
@@ -1,8 +1,13 @@
 package org.openl.rules.core.ce;
 
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.openl.rules.tbasic.runtime.TBasicContextHolderEnv;
 import org.openl.vm.SimpleRuntimeEnv;
@@ -10,19 +15,127 @@ import org.openl.rules.vm.ce.SimpleRulesRuntimeEnvMT;
 import org.openl.vm.IRuntimeEnv;
 import org.openl.vm.Tracer;
 
-public final class ServiceMT {
+/**
+ * Executes the parallel parts of the rules: the cells of the parallel spreadsheets and the multi-calls. The tasks are
+ * executed either by a work-stealing {@link ForkJoinPool} or by virtual threads.
+ * <p>
+ * There is one shared instance for the whole application, see {@link #getInstance()}. Separate instances can be
+ * created, for example, per deployment, to isolate the calculations of one deployment from the others. An instance is
+ * bound to the current thread with {@link #setCurrent(ServiceMT)} and it is used for all the parallel calls made by
+ * the rules invoked in this thread, including the nested ones.
+ * <p>
+ * The default instance is configured with the system properties:
+ * <ul>
+ * <li>{@code org.openl.rules.mt.executor} - {@code forkjoin} (default) or {@code virtual}</li>
+ * <li>{@code org.openl.rules.mt.parallelism} - the number of threads of the fork-join pool</li>
+ * <li>{@code org.openl.rules.mt.max-depth} - the parallel calls nested deeper are executed sequentially</li>
+ * <li>{@code org.openl.rules.mt.max-fan-out} - the maximum number of not joined tasks forked by one call, the
+ * following tasks are executed in the calling thread</li>
+ * </ul>
+ */
+public final class ServiceMT implements ServiceMTMXBean {
 
-    private final ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
-            new WorkerThreadFactory(),
-            null,
-            false);
+    /**
+     * The type of the JMX bean of an instance.
+     */
+    public static final String MBEAN_TYPE = "ServiceMT";
+
+    public static final String EXECUTOR_PROPERTY = "org.openl.rules.mt.executor";
+    public static final String PARALLELISM_PROPERTY = "org.openl.rules.mt.parallelism";
+    public static final String MAX_DEPTH_PROPERTY = "org.openl.rules.mt.max-depth";
+    public static final String MAX_FAN_OUT_PROPERTY = "org.openl.rules.mt.max-fan-out";
+
+    public static final String FORK_JOIN_EXECUTOR = "forkjoin";
+    public static final String VIRTUAL_EXECUTOR = "virtual";
+
+    private static final ThreadLocal<ServiceMT> CURRENT = new ThreadLocal<>();
+
+    private final ForkJoinPool forkJoinPool;
+    private final ExecutorService virtualThreadExecutor;
+    private final int maxDepth;
+    private final int maxFanOut;
+
+    private final LongAdder forkedCount = new LongAdder();
+    private final LongAdder inlinedCount = new LongAdder();
+    private final AtomicInteger pendingVirtualTasks = new AtomicInteger();
+
+    private ServiceMT(ForkJoinPool forkJoinPool, ExecutorService virtualThreadExecutor, int maxDepth, int maxFanOut) {
+        if (maxDepth <= 0 || maxFanOut <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid settings: maxDepth=%s, maxFanOut=%s.", maxDepth, maxFanOut));
+        }
+        this.forkJoinPool = forkJoinPool;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.maxDepth = maxDepth;
+        this.maxFanOut = maxFanOut;
+    }
+
+    /**
+     * Creates an instance which executes the tasks in a work-stealing pool.
+     *
+     * @param parallelism the number of threads of the pool
+     * @param maxDepth the parallel calls nested deeper are executed sequentially
+     * @param maxFanOut the maximum number of not joined tasks forked by one call
+     */
+    public static ServiceMT forkJoin(int parallelism, int maxDepth, int maxFanOut) {
+        return new ServiceMT(new ForkJoinPool(parallelism, new WorkerThreadFactory(), null, false),
+                null,
+                maxDepth,
+                maxFanOut);
+    }
+
+    /**
+     * Creates an instance which executes every task in a new virtual thread.
+     *
+     * @param name the prefix of the names of the threads
+     * @param maxDepth the parallel calls nested deeper are executed sequentially
+     * @param maxFanOut the maximum number of not joined tasks forked by one call
+     */
+    public static ServiceMT virtualThreads(String name, int maxDepth, int maxFanOut) {
+        return new ServiceMT(null,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory()),
+                maxDepth,
+                maxFanOut);
+    }
 
     private static class ServiceMTHolder {
-        private static final ServiceMT INSTANCE = new ServiceMT();
+        private static final ServiceMT INSTANCE = createDefault();
+
+        private static ServiceMT createDefault() {
+            int maxDepth = Integer.getInteger(MAX_DEPTH_PROPERTY, Integer.MAX_VALUE);
+            int maxFanOut = Integer.getInteger(MAX_FAN_OUT_PROPERTY, Integer.MAX_VALUE);
+            String executor = System.getProperty(EXECUTOR_PROPERTY, FORK_JOIN_EXECUTOR);
+            if (VIRTUAL_EXECUTOR.equals(executor.trim().toLowerCase(Locale.ROOT))) {
+                return virtualThreads("openl-mt", maxDepth, maxFanOut);
+            }
+            return forkJoin(Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                    maxDepth,
+                    maxFanOut);
+        }
     }
 
+    /**
+     * @return the instance bound to the current thread or the shared one
+     */
     public static ServiceMT getInstance() {
-        return ServiceMTHolder.INSTANCE;
+        ServiceMT current = CURRENT.get();
+        return current != null ? current : ServiceMTHolder.INSTANCE;
+    }
+
+    /**
+     * Binds the instance to the current thread.
+     *
+     * @param serviceMT the instance or {@code null} to use the shared one
+     * @return the previously bound instance, it should be restored when the invocation is completed
+     */
+    public static ServiceMT setCurrent(ServiceMT serviceMT) {
+        ServiceMT previous = CURRENT.get();
+        if (serviceMT == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(serviceMT);
+        }
+        return previous;
     }
 
     public void execute(IRuntimeEnv env, Runnable runnable) {
@@ -31,11 +144,27 @@ public final class ServiceMT {
             return;
         }
         SimpleRuntimeEnv simpleRuntimeEnv = extractSimpleRulesRuntimeEnv(env);
-        RunnableRecursiveAction action = new RunnableRecursiveAction(runnable,
-                simpleRuntimeEnv,
+        int depth = simpleRuntimeEnv instanceof SimpleRulesRuntimeEnvMT
+                ? ((SimpleRulesRuntimeEnvMT) simpleRuntimeEnv).getDepth()
+                : 0;
+        if (depth >= maxDepth || simpleRuntimeEnv.getActionCount() >= maxFanOut) {
+            inlinedCount.increment();
+            runnable.run(env);
+            return;
+        }
+        RunnableRecursiveAction action = new RunnableRecursiveAction(this,
+                runnable,
+                new SimpleRulesRuntimeEnvMT(simpleRuntimeEnv),
                 Thread.currentThread().getContextClassLoader());
         simpleRuntimeEnv.pushAction(action);
-        if (simpleRuntimeEnv instanceof SimpleRulesRuntimeEnvMT) {
+        forkedCount.increment();
+        if (virtualThreadExecutor != null) {
+            pendingVirtualTasks.incrementAndGet();
+            virtualThreadExecutor.execute(() -> {
+                pendingVirtualTasks.decrementAndGet();
+                action.quietlyInvoke();
+            });
+        } else if (simpleRuntimeEnv instanceof SimpleRulesRuntimeEnvMT && ForkJoinTask.getPool() == forkJoinPool) {
             action.fork();
         } else {
             forkJoinPool.execute(action);
@@ -43,12 +172,16 @@ public final class ServiceMT {
     }
 
     public void execute(ForkJoinTask<?> task) {
-        forkJoinPool.execute(task);
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.execute(task::quietlyInvoke);
+        } else {
+            forkJoinPool.execute(task);
+        }
     }
 
     public void executeAll(ForkJoinTask<?>... tasks) {
         for (ForkJoinTask<?> task : tasks) {
-            forkJoinPool.execute(task);
+            execute(task);
         }
     }
 
@@ -63,6 +196,58 @@ public final class ServiceMT {
         }
     }
 
+    /**
+     * Stops the threads of the instance. The shared instance cannot be shut down.
+     */
+    public void shutdown() {
+        if (this == ServiceMTHolder.INSTANCE) {
+            throw new IllegalStateException("The shared instance cannot be shut down.");
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        } else {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isVirtualThreads() {
+        return virtualThreadExecutor != null;
+    }
+
+    @Override
+    public int getParallelism() {
+        return forkJoinPool != null ? forkJoinPool.getParallelism() : 0;
+    }
+
+    @Override
+    public long getQueuedTaskCount() {
+        if (forkJoinPool != null) {
+            return forkJoinPool.getQueuedTaskCount() + forkJoinPool.getQueuedSubmissionCount();
+        }
+        return pendingVirtualTasks.get();
+    }
+
+    @Override
+    public long getStealCount() {
+        return forkJoinPool != null ? forkJoinPool.getStealCount() : 0;
+    }
+
+    @Override
+    public int getActiveThreadCount() {
+        return forkJoinPool != null ? forkJoinPool.getActiveThreadCount() : 0;
+    }
+
+    @Override
+    public long getForkedCount() {
+        return forkedCount.sum();
+    }
+
+    @Override
+    public long getInlinedCount() {
+        return inlinedCount.sum();
+    }
+
     private SimpleRuntimeEnv extractSimpleRulesRuntimeEnv(IRuntimeEnv env) {
         if (env instanceof TBasicContextHolderEnv) {
             IRuntimeEnv env1 = ((TBasicContextHolderEnv) env).getEnv();
@@ -78,11 +263,16 @@ public final class ServiceMT {
 
     private static class RunnableRecursiveAction extends RecursiveAction {
         private static final long serialVersionUID = -6827837658658403954L;
+        private final transient ServiceMT serviceMT;
         private final Runnable runnable;
-        private final SimpleRuntimeEnv env;
+        private final SimpleRulesRuntimeEnvMT env;
         private final ClassLoader classLoader;
 
-        private RunnableRecursiveAction(Runnable runnable, SimpleRuntimeEnv env, ClassLoader classLoader) {
+        private RunnableRecursiveAction(ServiceMT serviceMT,
+                                        Runnable runnable,
+                                        SimpleRulesRuntimeEnvMT env,
+                                        ClassLoader classLoader) {
+            this.serviceMT = serviceMT;
             this.runnable = runnable;
             this.env = env;
             this.classLoader = classLoader;
@@ -91,14 +281,12 @@ public final class ServiceMT {
         @Override
         protected void compute() {
             final ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+            ServiceMT previous = setCurrent(serviceMT);
             try {
                 Thread.currentThread().setContextClassLoader(classLoader);
-                if (env instanceof SimpleRulesRuntimeEnvMT) {
-                    runnable.run(env.clone());
-                } else {
-                    runnable.run(new SimpleRulesRuntimeEnvMT(env));
-                }
+                runnable.run(env);
             } finally {
+                setCurrent(previous);
                 Thread.currentThread().setContextClassLoader(oldClassLoader);
             }
         }
@@ -0,0 +1,43 @@
+package org.openl.rules.core.ce;
+
+/**
+ * The metrics of a {@link ServiceMT} which can be published with JMX.
+ */
+public interface ServiceMTMXBean {
+
+    /**
+     * @return {@code true} if the tasks are executed by virtual threads
+     */
+    boolean isVirtualThreads();
+
+    /**
+     * @return the number of threads of the pool or {@code 0} for virtual threads
+     */
+    int getParallelism();
+
+    /**
+     * @return the number of tasks which are submitted, but not started yet
+     */
+    long getQueuedTaskCount();
+
+    /**
+     * @return the number of tasks executed by a thread other than the one which has forked them, it is always
+     *         {@code 0} for virtual threads
+     */
+    long getStealCount();
+
+    /**
+     * @return the number of threads which are executing tasks, it is {@code 0} for virtual threads
+     */
+    int getActiveThreadCount();
+
+    /**
+     * @return the number of tasks submitted for the parallel execution
+     */
+    long getForkedCount();
+
+    /**
+     * @return the number of tasks executed in the calling thread because of the depth or the fan-out limit
+     */
+    long getInlinedCount();
+}
@@ -0,0 +1,389 @@
+package org.openl.rules.data;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+import org.openl.exception.OpenLRuntimeException;
+import org.openl.types.IOpenClass;
+import org.openl.types.IOpenField;
+import org.openl.types.java.JavaOpenClass;
+
+/**
+ * The runtime index of a Data table column. It is built on the first lookup by the column and keeps only the positions
+ * of the rows, so the rows themselves are taken from the data array passed to a lookup. The Data table still stores
+ * the array of its beans.
+ * <p>
+ * The rows of a Data table are not expected to be modified at runtime. The index remembers the rows and their values
+ * and {@link #isModified(Object[], int[]) checks} the found rows on every lookup, so a stale index is rebuilt instead of
+ * returning the changed rows. A row which is changed to have the searched value is found after the index is rebuilt.
+ * <p>
+ * The indexes are kept by the field of the Data table, see {@link DataOpenField#getIndex(Object, String)}.
+ *
+ * @see org.openl.rules.helpers.Lookups
+ * @see DataLookupMethodCaller
+ */
+public final class DataIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final double MIN_LONG = -0x1p63;
+    private static final double MAX_LONG = 0x1p63;
+
+    private final IOpenField field;
+    private final Object[] rows;
+    private final Object[] keys;
+
+    private final Map<Object, int[]> hash;
+
+    // The sorted range index. The keys are kept in one of the arrays, depending on the types of the values.
+    private final long[] longs;
+    private final double[] doubles;
+    private final BigDecimal[] decimals;
+    private final Comparable<Object>[] values;
+    private final int[] sorted;
+
+    DataIndex(Object[] data, IOpenField field) {
+        this.field = field;
+        this.rows = data.clone();
+        this.keys = new Object[data.length];
+        Object[] raw = new Object[data.length];
+        Map<Object, int[]> counts = new HashMap<>();
+        int count = 0;
+        boolean integral = true;
+        boolean floating = true;
+        boolean numeric = true;
+        boolean comparable = true;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == null) {
+                continue;
+            }
+            Object key = field.get(data[i], null);
+            keys[i] = normalize(key);
+            counts.computeIfAbsent(keys[i], k -> new int[1])[0]++;
+            if (key != null) {
+                raw[i] = key;
+                count++;
+                integral &= isIntegral(key);
+                floating &= isFloating(key);
+                numeric &= isNumber(key) && (!isFloating(key) || Double.isFinite(((Number) key).doubleValue()));
+                comparable &= key instanceof Comparable;
+            }
+        }
+
+        // Row positions are grouped by the value. They are filled from the end to keep the ascending order.
+        Map<Object, int[]> hash = new HashMap<>(counts.size() * 4 / 3 + 1);
+        for (int i = data.length - 1; i >= 0; i--) {
+            if (data[i] == null) {
+                continue;
+            }
+            int[] counter = counts.get(keys[i]);
+            int[] positions = hash.computeIfAbsent(keys[i], k -> new int[counter[0]]);
+            positions[--counter[0]] = i;
+        }
+        this.hash = hash;
+
+        Integer[] order = new Integer[count];
+        for (int i = 0, j = 0; i < raw.length; i++) {
+            if (raw[i] != null) {
+                order[j++] = i;
+            }
+        }
+        long[] longs = null;
+        double[] doubles = null;
+        BigDecimal[] decimals = null;
+        Comparable<Object>[] values = null;
+        int[] sorted = null;
+        if (integral) {
+            Arrays.sort(order, (a, b) -> Long.compare(((Number) raw[a]).longValue(), ((Number) raw[b]).longValue()));
+            sorted = toInts(order);
+            longs = new long[count];
+            for (int i = 0; i < count; i++) {
+                longs[i] = ((Number) raw[sorted[i]]).longValue();
+            }
+        } else if (floating) {
+            Arrays.sort(order,
+                    (a, b) -> Double.compare(((Number) raw[a]).doubleValue(), ((Number) raw[b]).doubleValue()));
+            sorted = toInts(order);
+            doubles = new double[count];
+            for (int i = 0; i < count; i++) {
+                doubles[i] = ((Number) raw[sorted[i]]).doubleValue();
+            }
+        } else if (numeric) {
+            // Numbers of different types are compared by value
+            for (Integer i : order) {
+                raw[i] = toBigDecimal((Number) raw[i]);
+            }
+            Arrays.sort(order, (a, b) -> ((BigDecimal) raw[a]).compareTo((BigDecimal) raw[b]));
+            sorted = toInts(order);
+            decimals = new BigDecimal[count];
+            for (int i = 0; i < count; i++) {
+                decimals[i] = (BigDecimal) raw[sorted[i]];
+            }
+        } else if (comparable) {
+            try {
+                Arrays.sort(order, (a, b) -> castComparable(raw[a]).compareTo(raw[b]));
+                sorted = toInts(order);
+                values = newComparableArray(count);
+                for (int i = 0; i < count; i++) {
+                    values[i] = castComparable(raw[sorted[i]]);
+                }
+            } catch (ClassCastException e) {
+                // The values of different types cannot be compared, so the rows are scanned
+                sorted = null;
+                values = null;
+            }
+        }
+        this.longs = longs;
+        this.doubles = doubles;
+        this.decimals = decimals;
+        this.values = values;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Finds the field of the elements of the array.
+     */
+    public static IOpenField getField(Object[] data, String fieldName) {
+        IOpenClass type = JavaOpenClass.getOpenClass(data.getClass().getComponentType());
+        IOpenField field = type.getField(fieldName, false);
+        if (field == null || !field.isReadable()) {
+            throw new OpenLRuntimeException(
+                    String.format("Field '%s' is not found in type '%s'.", fieldName, type.getName()));
+        }
+        return field;
+    }
+
+    /**
+     * Returns the positions of the rows which have the given value in the column in ascending order.
+     */
+    public int[] find(Object key) {
+        int[] found = hash.get(normalize(key));
+        return found == null ? EMPTY : found;
+    }
+
+    /**
+     * Returns the positions of the rows which have the value in the column in the given inclusive range in ascending
+     * order. A {@code null} bound means that the range is not limited from this side. Returns {@code null} if the
+     * values of the column cannot be sorted.
+     */
+    public int[] findRange(Object from, Object to) {
+        if (sorted == null) {
+            return null;
+        }
+        int start = from == null ? 0 : lowerBound(comparator(from));
+        int end = to == null ? sorted.length : upperBound(comparator(to));
+        if (start >= end) {
+            return EMPTY;
+        }
+        int[] found = Arrays.copyOfRange(sorted, start, end);
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * Checks whether the rows at the given positions have been replaced or their values in the column have been changed
+     * since the index was built.
+     */
+    public boolean isModified(Object[] data, int[] positions) {
+        if (data.length != rows.length) {
+            return true;
+        }
+        for (int position : positions) {
+            Object row = data[position];
+            if (row != rows[position] || !Objects.equals(keys[position], normalize(field.get(row, null)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the comparison of the sorted keys with the bound by their position.
+     */
+    private IntUnaryOperator comparator(Object bound) {
+        if (values != null) {
+            Comparable<Object> key = castComparable(bound);
+            return i -> values[i].compareTo(key);
+        }
+        if (!isNumber(bound)) {
+            throw new OpenLRuntimeException("Range bounds must be numbers.");
+        }
+        Number number = (Number) bound;
+        if (longs != null) {
+            if (isIntegral(number)) {
+                long value = number.longValue();
+                return i -> Long.compare(longs[i], value);
+            }
+            return i -> compareNumbers(longs[i], number);
+        } else if (doubles != null) {
+            if (isFloating(number)) {
+                double value = number.doubleValue();
+                return i -> compareDoubles(doubles[i], value);
+            }
+            return i -> compareNumbers(doubles[i], number);
+        } else if (isFloating(number) && !Double.isFinite(number.doubleValue())) {
+            return i -> compareNumbers(decimals[i], number);
+        }
+        BigDecimal value = toBigDecimal(number);
+        return i -> decimals[i].compareTo(value);
+    }
+
+    /**
+     * Returns the first position which key is not less than the bound.
+     */
+    private int lowerBound(IntUnaryOperator comparator) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.applyAsInt(mid) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first position which key is greater than the bound.
+     */
+    private int upperBound(IntUnaryOperator comparator) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.applyAsInt(mid) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the rows at the given positions in an array of the same type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] select(T[] data, int[] positions) {
+        T[] result = (T[]) Array.newInstance(data.getClass().getComponentType(), positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            result[i] = data[positions[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Converts the numbers to the same type, so the values of different number types are equal if they are equal by
+     * value. The integer values are converted to {@link Long}, other values are converted to {@link Double} if the
+     * decimal value is the same, and to {@link BigDecimal} otherwise.
+     */
+    public static Object normalize(Object value) {
+        if (value instanceof Long) {
+            return value;
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (d >= MIN_LONG && d < MAX_LONG && d == Math.rint(d)) {
+                return (long) d;
+            }
+            return value instanceof Double ? value : d;
+        } else if (value instanceof BigInteger) {
+            return normalize(new BigDecimal((BigInteger) value));
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = ((BigDecimal) value).stripTrailingZeros();
+            if (decimal.scale() <= 0 && decimal.toBigInteger().bitLength() < Long.SIZE) {
+                return decimal.longValue();
+            }
+            double d = decimal.doubleValue();
+            if (Double.isFinite(d) && BigDecimal.valueOf(d).compareTo(decimal) == 0) {
+                return d;
+            }
+            return decimal;
+        }
+        return value;
+    }
+
+    /**
+     * Compares the numbers of any types by value. Floating point numbers are compared by their decimal values, the same
+     * way as they are {@link #normalize(Object) normalized}.
+     */
+    public static int compareNumbers(Number a, Number b) {
+        if (isIntegral(a) && isIntegral(b)) {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+        boolean floatingA = isFloating(a);
+        boolean floatingB = isFloating(b);
+        if (floatingA && floatingB) {
+            return compareDoubles(a.doubleValue(), b.doubleValue());
+        }
+        // NaN is greater than all numbers
+        if (floatingA && !Double.isFinite(a.doubleValue())) {
+            return Double.isNaN(a.doubleValue()) || a.doubleValue() > 0 ? 1 : -1;
+        }
+        if (floatingB && !Double.isFinite(b.doubleValue())) {
+            return Double.isNaN(b.doubleValue()) || b.doubleValue() > 0 ? -1 : 1;
+        }
+        return toBigDecimal(a).compareTo(toBigDecimal(b));
+    }
+
+    private static int compareDoubles(double a, double b) {
+        // 0.0 and -0.0 are equal
+        return a == b ? 0 : Double.compare(a, b);
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (isFloating(value)) {
+            return BigDecimal.valueOf(value.doubleValue());
+        }
+        return BigDecimal.valueOf(value.longValue());
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isFloating(Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    private static boolean isNumber(Object value) {
+        return isIntegral(value) ||
+                isFloating(value) ||
+                value instanceof BigDecimal ||
+                value instanceof BigInteger;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object>[] newComparableArray(int size) {
+        return new Comparable[size];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> castComparable(Object value) {
+        if (!(value instanceof Comparable)) {
+            throw new OpenLRuntimeException(String.format("Type '%s' is not comparable.", value.getClass().getName()));
+        }
+        return (Comparable<Object>) value;
+    }
+
+    private static int[] toInts(Integer[] values) {
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package org.openl.rules.data;
+
+import org.openl.binding.IBoundNode;
+import org.openl.binding.impl.FieldBoundNode;
+import org.openl.rules.helpers.Lookups;
+import org.openl.types.IMethodCaller;
+import org.openl.types.IOpenClass;
+import org.openl.types.IOpenField;
+import org.openl.types.impl.MethodCallerDelegator;
+import org.openl.types.impl.OpenFieldDelegator;
+import org.openl.vm.IRuntimeEnv;
+
+/**
+ * Searches the rows of a Data table with the index of the column kept by the Data table field. It is used when the
+ * field of a Data table is passed to a lookup function directly, so the Data table is known at binding time. If the
+ * field holds another array at runtime, the function scans it as usual.
+ *
+ * @see Lookups
+ * @see DataOpenField#getIndex(Object, String)
+ */
+public final class DataLookupMethodCaller extends MethodCallerDelegator {
+
+    private final DataOpenField dataField;
+
+    private DataLookupMethodCaller(IMethodCaller delegate, DataOpenField dataField) {
+        super(delegate);
+        this.dataField = dataField;
+    }
+
+    /**
+     * Returns the method caller which uses the indexes of the Data table if the method is a lookup function and the
+     * first argument is the field of a Data table. Otherwise, the given method caller is returned.
+     */
+    public static IMethodCaller wrap(IMethodCaller methodCaller, IBoundNode[] children) {
+        if (children.length == 0 || !(children[0] instanceof FieldBoundNode fieldNode)) {
+            return methodCaller;
+        }
+        IOpenClass declaringClass = methodCaller.getMethod().getDeclaringClass();
+        if (declaringClass == null || declaringClass.getInstanceClass() != Lookups.class) {
+            return methodCaller;
+        }
+        IOpenField field = fieldNode.getBoundField();
+        while (field instanceof OpenFieldDelegator delegator) {
+            field = delegator.getDelegate();
+        }
+        return field instanceof DataOpenField dataField ? new DataLookupMethodCaller(methodCaller, dataField)
+                                                        : methodCaller;
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] params, IRuntimeEnv env) {
+        String fieldName = params.length > 2 && params[1] instanceof String name ? name : null;
+        DataIndex index = fieldName != null ? dataField.getIndex(params[0], fieldName) : null;
+        if (index == null) {
+            return super.invoke(target, params, env);
+        }
+        Object[] data = (Object[]) params[0];
+        switch (getMethod().getName()) {
+            case "lookup":
+                int[] found = find(index, data, fieldName, params[2]);
+                return found.length == 0 ? null : data[found[0]];
+            case "lookupAll":
+                return DataIndex.select(data, find(index, data, fieldName, params[2]));
+            case "lookupRange":
+                if (params.length < 4) {
+                    return super.invoke(target, params, env);
+                }
+                int[] range = index.findRange(params[2], params[3]);
+                if (range != null && index.isModified(data, range)) {
+                    range = dataField.rebuildIndex(fieldName, index).findRange(params[2], params[3]);
+                }
+                // The values of the column are not comparable, so the rows are scanned
+                return range == null ? super.invoke(target, params, env) : DataIndex.select(data, range);
+            default:
+                return super.invoke(target, params, env);
+        }
+    }
+
+    private int[] find(DataIndex index, Object[] data, String fieldName, Object key) {
+        int[] found = index.find(key);
+        if (index.isModified(data, found)) {
+            // The rows of the Data table have been changed since the index was built
+            found = dataField.rebuildIndex(fieldName, index).find(key);
+        }
+        return found;
+    }
+}
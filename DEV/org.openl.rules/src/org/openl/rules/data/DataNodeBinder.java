@@ -8,6 +8,11 @@ package org.openl.rules.data;
 
 import static org.openl.util.TableNameChecker.NAME_ERROR_MESSAGE;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -31,8 +36,12 @@ import org.openl.rules.lang.xls.binding.AXlsTableBinder;
 import org.openl.rules.lang.xls.binding.XlsModuleOpenClass;
 import org.openl.rules.lang.xls.syntax.TableSyntaxNode;
 import org.openl.rules.lang.xls.types.meta.DataTableMetaInfoReader;
+import org.openl.rules.table.CompositeGrid;
+import org.openl.rules.table.GridTable;
+import org.openl.rules.table.IGridTable;
 import org.openl.rules.table.ILogicalTable;
 import org.openl.rules.table.LogicalTableHelper;
+import org.openl.rules.table.csv.CsvGrid;
 import org.openl.rules.table.openl.GridCellSourceCodeModule;
 import org.openl.rules.testmethod.TestMethodHelper;
 import org.openl.rules.testmethod.TestMethodOpenClass;
@@ -55,6 +64,7 @@ public class DataNodeBinder extends AXlsTableBinder {
     // indexes of names in header
     public static final int TYPE_INDEX = 1;
     private static final int TABLE_NAME_INDEX = 2;
+    private static final int SOURCE_INDEX = 3;
 
     protected ATableBoundNode makeNode(TableSyntaxNode tsn,
                                        XlsModuleOpenClass module,
@@ -91,8 +101,9 @@ public class DataNodeBinder extends AXlsTableBinder {
 
         parsedHeader = mergeArraySymbols(parsedHeader);
 
-        if (parsedHeader.length > 3) {
-            throw SyntaxNodeExceptionUtils.createError("Data table format: Data <typename> <tablename>", source);
+        if (parsedHeader.length > 4) {
+            throw SyntaxNodeExceptionUtils.createError("Data table format: Data <typename> <tablename> [<csv file>]",
+                    source);
         }
 
         String typeName = parsedHeader[TYPE_INDEX].getOriginalText();
@@ -111,7 +122,19 @@ public class DataNodeBinder extends AXlsTableBinder {
             throw SyntaxNodeExceptionUtils.createError(message, parsedHeader[TYPE_INDEX]);
         }
 
-        ITable dataTable = makeTable(module, tableSyntaxNode, tableName, tableType, bindingContext, openl, true);
+        CsvGrid externalData = null;
+        if (parsedHeader.length > SOURCE_INDEX) {
+            externalData = openExternalData(tableSyntaxNode, parsedHeader[SOURCE_INDEX]);
+        }
+
+        ITable dataTable = makeTable(module,
+                tableSyntaxNode,
+                tableName,
+                tableType,
+                bindingContext,
+                openl,
+                true,
+                externalData);
         dataNode.setTable(dataTable);
 
         return dataNode;
@@ -139,6 +162,47 @@ public class DataNodeBinder extends AXlsTableBinder {
         return parsedHeader1.toArray(new IdentifierNode[]{});
     }
 
+    /**
+     * Reads the CSV file with the data of the table. The path is relative to the folder of the Excel file, and the file
+     * must be inside this folder.
+     */
+    private static CsvGrid openExternalData(TableSyntaxNode tableSyntaxNode,
+                                            IdentifierNode sourceNode) throws SyntaxNodeException {
+        String fileName = sourceNode.getIdentifier();
+        File workbook;
+        try {
+            workbook = tableSyntaxNode.getXlsSheetSourceCodeModule().getWorkbookSource().getSourceFile();
+        } catch (IllegalArgumentException e) {
+            // Not a file URI
+            workbook = null;
+        }
+        if (workbook == null) {
+            String message = "Data from a file can be loaded only to a table of an Excel file in the file system.";
+            throw SyntaxNodeExceptionUtils.createError(message, sourceNode);
+        }
+        Path folder = workbook.getAbsoluteFile().getParentFile().toPath().normalize();
+        Path path;
+        try {
+            path = Paths.get(fileName);
+        } catch (InvalidPathException e) {
+            path = null;
+        }
+        if (path == null || path.isAbsolute() || !folder.resolve(path).normalize().startsWith(folder)) {
+            String message = String.format("File '%s' must be located in the folder of the Excel file.", fileName);
+            throw SyntaxNodeExceptionUtils.createError(message, sourceNode);
+        }
+        File file = folder.resolve(path).normalize().toFile();
+        if (!file.isFile()) {
+            throw SyntaxNodeExceptionUtils.createError(String.format("File '%s' is not found.", fileName), sourceNode);
+        }
+        try {
+            return CsvGrid.open(file);
+        } catch (IOException e) {
+            String message = String.format("Failed to read file '%s'. %s", fileName, e.getMessage());
+            throw SyntaxNodeExceptionUtils.createError(message, e, sourceNode);
+        }
+    }
+
     /**
      * Populate the <code>ITable</code> with data from <code>ILogicalTable</code>.
      *
@@ -160,6 +224,33 @@ public class DataNodeBinder extends AXlsTableBinder {
                              IBindingContext bindingContext,
                              OpenL openl,
                              boolean hasColumnTitleRow) throws Exception {
+        processTable(xlsOpenClass,
+                tableToProcess,
+                tableBody,
+                tableName,
+                tableType,
+                bindingContext,
+                openl,
+                hasColumnTitleRow,
+                null);
+    }
+
+    /**
+     * Populate the <code>ITable</code> with data from <code>ILogicalTable</code> followed by the rows of the CSV file.
+     * The first line of the file contains the column titles and is skipped, the titles of the table are used instead.
+     * The values of the file are matched to the columns of the table by their positions.
+     *
+     * @param externalData the CSV file with the data or <code>null</code> if all data is in the table body
+     */
+    protected void processTable(XlsModuleOpenClass xlsOpenClass,
+                                ITable tableToProcess,
+                                ILogicalTable tableBody,
+                                String tableName,
+                                IOpenClass tableType,
+                                IBindingContext bindingContext,
+                                OpenL openl,
+                                boolean hasColumnTitleRow,
+                                CsvGrid externalData) throws Exception {
 
         if (tableBody == null) {
             String message = "There is no body in 'Data' table.";
@@ -169,6 +260,14 @@ public class DataNodeBinder extends AXlsTableBinder {
             if (horizDataTableBody.getHeight() > 1) {
                 ILogicalTable descriptorRows = DataTableBindHelper.getDescriptorRows(horizDataTableBody);
                 ILogicalTable dataWithTitleRows = DataTableBindHelper.getHorizontalDataWithTitle(horizDataTableBody);
+                if (externalData != null) {
+                    if (horizDataTableBody != tableBody || !hasColumnTitleRow || dataWithTitleRows.getHeight() != 1) {
+                        String message = "Data table with data from a file must be horizontal and must contain only " +
+                                "the field names and the column titles.";
+                        throw SyntaxNodeExceptionUtils.createError(message, tableToProcess.getTableSyntaxNode());
+                    }
+                    dataWithTitleRows = appendExternalData(dataWithTitleRows.getSource(), externalData);
+                }
 
                 dataWithTitleRows = LogicalTableHelper
                         .logicalTable(dataWithTitleRows.getSource(), descriptorRows, null);
@@ -202,6 +301,16 @@ public class DataNodeBinder extends AXlsTableBinder {
         }
     }
 
+    private static ILogicalTable appendExternalData(IGridTable titles, CsvGrid externalData) {
+        if (externalData.getHeight() <= 1) {
+            // There are only the titles in the file
+            return LogicalTableHelper.logicalTable(titles);
+        }
+        IGridTable data = new GridTable(1, 0, externalData.getMaxRowIndex(), titles.getWidth() - 1, externalData);
+        CompositeGrid grid = new CompositeGrid(new IGridTable[]{titles, data}, true);
+        return LogicalTableHelper.logicalTable(new GridTable(0, 0, grid.getHeight() - 1, grid.getWidth() - 1, grid));
+    }
+
     private static void validateTestTableDescriptors(ColumnDescriptor[] descriptors,
                                                      ITable tableToProcess,
                                                      IBindingContext bindingContext) throws SyntaxNodeException {
@@ -309,6 +418,24 @@ public class DataNodeBinder extends AXlsTableBinder {
                                IBindingContext bindingContext,
                                OpenL openl,
                                boolean useRegistered) throws Exception {
+        return makeTable(xlsOpenClass,
+                tableSyntaxNode,
+                tableName,
+                tableType,
+                bindingContext,
+                openl,
+                useRegistered,
+                null);
+    }
+
+    private ITable makeTable(XlsModuleOpenClass xlsOpenClass,
+                             TableSyntaxNode tableSyntaxNode,
+                             String tableName,
+                             IOpenClass tableType,
+                             IBindingContext bindingContext,
+                             OpenL openl,
+                             boolean useRegistered,
+                             CsvGrid externalData) throws Exception {
 
         ITable resultTable;
         if (useRegistered) {
@@ -318,7 +445,15 @@ public class DataNodeBinder extends AXlsTableBinder {
         }
         ILogicalTable tableBody = DataTableBindHelper.getTableBody(tableSyntaxNode);
 
-        processTable(xlsOpenClass, resultTable, tableBody, tableName, tableType, bindingContext, openl, true);
+        processTable(xlsOpenClass,
+                resultTable,
+                tableBody,
+                tableName,
+                tableType,
+                bindingContext,
+                openl,
+                true,
+                externalData);
         putSubTableForBusinessView(tableSyntaxNode, tableType);
 
         return resultTable;
@@ -1,5 +1,8 @@
 package org.openl.rules.data;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.openl.binding.impl.module.ModuleOpenClass;
 import org.openl.rules.lang.xls.XlsNodeTypes;
 import org.openl.types.IDynamicObject;
@@ -14,6 +17,7 @@ public class DataOpenField extends AOpenField {
     private ModuleOpenClass declaringClass;
     private XlsNodeTypes nodeType;
     private String uri;
+    private final Map<String, DataIndex> indexes = new ConcurrentHashMap<>();
 
     public DataOpenField() {
         super(null, null);
@@ -73,6 +77,32 @@ public class DataOpenField extends AOpenField {
         }
     }
 
+    /**
+     * Returns the index of the given column if the data is the array of this Data table, or {@code null} otherwise. The
+     * index is built on the first request. The rows of the Data table are shared by all calls and are not expected to be
+     * modified at runtime, see {@link #rebuildIndex(String, DataIndex)}.
+     */
+    public DataIndex getIndex(Object data, String fieldName) {
+        if (data != this.data || !(data instanceof Object[] array) || array.length == 0) {
+            return null;
+        }
+        return indexes.computeIfAbsent(fieldName, name -> new DataIndex(array, DataIndex.getField(array, name)));
+    }
+
+    /**
+     * Replaces the index of the given column which has found the modified rows of the Data table.
+     *
+     * @param fieldName the name of the column
+     * @param stale the index which is not valid anymore
+     * @return the index built from the current rows
+     */
+    public DataIndex rebuildIndex(String fieldName, DataIndex stale) {
+        Object[] array = (Object[]) data;
+        return indexes.compute(fieldName,
+                (name, index) -> index == null || index == stale ? new DataIndex(array, DataIndex.getField(array, name))
+                                                                 : index);
+    }
+
     public XlsNodeTypes getNodeType() {
         return nodeType;
     }
@@ -38,6 +38,7 @@ import org.openl.rules.constants.ConstantOpenField;
 import org.openl.rules.convertor.String2DataConvertorFactory;
 import org.openl.rules.datatype.gen.FieldDescriptionBuilder;
 import org.openl.rules.datatype.gen.JavaBeanClassBuilder;
+import org.openl.rules.lang.xls.binding.XlsModuleOpenClass;
 import org.openl.rules.lang.xls.syntax.TableSyntaxNode;
 import org.openl.rules.lang.xls.types.DatatypeOpenClass;
 import org.openl.rules.lang.xls.types.DatatypeOpenField;
@@ -167,11 +168,12 @@ public class DatatypeTableBoundNode implements IMemberBoundNode {
                 Class<?> beanClass = classLoader.loadClass(datatypeClassName);
                 byteCodeReadyToLoad = true;
                 validateDatatypeClass(beanClass, fields, bindingContext);
+                checkGeneratedClassIsActual(classLoader, fields);
                 LOG.debug("Class '{}' is loaded from classloader.", datatypeClassName);
             } catch (ClassNotFoundException e) {
                 try {
                     final byte[] byteCode = buildByteCodeForDatatype(fields);
-                    classLoader.addGeneratedClass(datatypeClassName, byteCode);
+                    classLoader.addGeneratedClass(datatypeClassName, byteCode, buildFingerprint(fields));
                     dataType.setBytecode(byteCode);
                     byteCodeReadyToLoad = true;
                     LOG.debug("Class '{}' is generated and loaded to classloader.", datatypeClassName);
@@ -190,6 +192,64 @@ public class DatatypeTableBoundNode implements IMemberBoundNode {
         }
     }
 
+    private void checkGeneratedClassIsActual(OpenLClassLoader classLoader, Map<String, FieldDescription> fields) {
+        if (!(moduleOpenClass instanceof XlsModuleOpenClass)) {
+            return;
+        }
+        String fingerprint = classLoader.getGeneratedClassFingerprint(dataType.getJavaName());
+        if (fingerprint == null) {
+            // The class is not generated from a datatype table, for example, it is located in the project jars
+            return;
+        }
+        if (!fingerprint.equals(buildFingerprint(fields))) {
+            // The class was generated from another version of the table, for example, the table has been edited after
+            // the previous compilation of the module
+            ((XlsModuleOpenClass) moduleOpenClass).markGeneratedClassesOutdated();
+        }
+    }
+
+    /**
+     * Describes the parent type and the fields the byte code of the datatype class is generated from. The same byte
+     * code is generated for the same fingerprint, so the class loaded from the classloader is checked without the
+     * generation of the byte code.
+     */
+    private String buildFingerprint(Map<String, FieldDescription> fields) {
+        StringBuilder fingerprint = new StringBuilder();
+        IOpenClass superOpenClass = dataType.getSuperClass();
+        if (superOpenClass != null) {
+            appendFingerprintValue(fingerprint, superOpenClass.getJavaName());
+            if (superOpenClass instanceof DatatypeOpenClass) {
+                LinkedHashMap<String, FieldDescription> parentFields = new LinkedHashMap<>();
+                extractParentFields(this, parentFields, new HashSet<>());
+                appendFingerprintFields(fingerprint, parentFields);
+            }
+        }
+        fingerprint.append('|');
+        appendFingerprintFields(fingerprint, fields);
+        return fingerprint.toString();
+    }
+
+    private static void appendFingerprintFields(StringBuilder fingerprint, Map<String, FieldDescription> fields) {
+        for (Entry<String, FieldDescription> field : fields.entrySet()) {
+            FieldDescription description = field.getValue();
+            appendFingerprintValue(fingerprint, field.getKey());
+            appendFingerprintValue(fingerprint, description.getTypeName());
+            appendFingerprintValue(fingerprint, description.getDefaultValueAsString());
+            appendFingerprintValue(fingerprint, description.getContextPropertyName());
+            appendFingerprintValue(fingerprint, description.getXmlName());
+            fingerprint.append(description.isTransient() ? 'T' : 'F');
+        }
+    }
+
+    private static void appendFingerprintValue(StringBuilder fingerprint, String value) {
+        // The length prefix keeps the values unambiguous whatever characters they contain
+        if (value == null) {
+            fingerprint.append("-1:");
+        } else {
+            fingerprint.append(value.length()).append(':').append(value);
+        }
+    }
+
     private void validateContextPropertyFields(IBindingContext bindingContext) {
         Map<String, Integer> contextPropertiesCounter = new HashMap<>();
         dataType.getFields()
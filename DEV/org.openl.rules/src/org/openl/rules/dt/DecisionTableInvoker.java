@@ -37,10 +37,10 @@ public class DecisionTableInvoker extends RulesMethodInvoker<DecisionTable> {
     @Override
     public Object invokeSimple(Object target, Object[] params, IRuntimeEnv env) {
         try {
-            env.pushLocalFrame(new Object[]{new DecisionTableRuntimePool()});
+            env.allocateLocalFrame(1)[0] = new DecisionTableRuntimePool();
             return doInvoke(target, params, env);
         } finally {
-            env.popLocalFrame();
+            env.releaseLocalFrame();
         }
     }
 
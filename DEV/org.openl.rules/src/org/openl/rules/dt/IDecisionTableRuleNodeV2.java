@@ -4,6 +4,10 @@ import java.util.BitSet;
 
 public interface IDecisionTableRuleNodeV2 extends IDecisionTableRuleNode {
 
-    BitSet getRuleSet();
+    /**
+     * Returns the rules of the node as a working set of the current call which can be modified in place. A node which
+     * already holds a working set gives it away without copying, so the node must not be used after this call.
+     */
+    BitSet toWorkingSet();
 
 }
@@ -6,6 +6,10 @@ import org.openl.domain.IIntIterator;
 import org.openl.rules.dt.index.BitSetIterator;
 import org.openl.rules.dt.index.IRuleIndex;
 
+/**
+ * A node for rules found during the current call. The rules are kept in a working set which is intersected in place by
+ * the next indexed conditions.
+ */
 public class RangeIndexDecisionTableRuleNode extends DecisionTableRuleNode implements IDecisionTableRuleNodeV2 {
 
     private final BitSet ruleSet;
@@ -18,7 +22,7 @@ public class RangeIndexDecisionTableRuleNode extends DecisionTableRuleNode imple
     }
 
     @Override
-    public BitSet getRuleSet() {
+    public BitSet toWorkingSet() {
         return ruleSet;
     }
 
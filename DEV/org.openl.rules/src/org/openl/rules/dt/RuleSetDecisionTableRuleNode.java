@@ -0,0 +1,51 @@
+package org.openl.rules.dt;
+
+import java.util.BitSet;
+
+import org.openl.domain.IIntIterator;
+import org.openl.rules.dt.index.IRuleIndex;
+import org.openl.rules.dt.index.RuleSet;
+
+/**
+ * A node for rules which are precomputed when an index is built. Such nodes are shared between calls.
+ */
+public class RuleSetDecisionTableRuleNode extends DecisionTableRuleNode implements IDecisionTableRuleNodeV2 {
+
+    private final RuleSet ruleSet;
+    private final IRuleIndex nextIndex;
+
+    public RuleSetDecisionTableRuleNode(RuleSet ruleSet, IRuleIndex nextIndex) {
+        super(null);
+        this.ruleSet = ruleSet;
+        this.nextIndex = nextIndex;
+    }
+
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    @Override
+    public int[] getRules() {
+        return ruleSet.toArray();
+    }
+
+    @Override
+    public IIntIterator getRulesIterator() {
+        return ruleSet.iterator();
+    }
+
+    @Override
+    public IRuleIndex getNextIndex() {
+        return nextIndex;
+    }
+
+    @Override
+    public boolean hasIndex() {
+        return nextIndex != null;
+    }
+
+    @Override
+    public BitSet toWorkingSet() {
+        return ruleSet.toBitSet();
+    }
+}
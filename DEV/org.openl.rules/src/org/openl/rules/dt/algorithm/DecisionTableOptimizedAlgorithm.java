@@ -510,6 +510,7 @@ public class DecisionTableOptimizedAlgorithm implements IDecisionTableAlgorithm
                 index = Tracer.wrap(this, index, condition);
                 Object testValue = evaluateTestValue(condition, target, params, env);
 
+                // the rules found by the previous conditions are intersected in place by the next index
                 node = index.findNode(testValue, staticResult, node);
                 Tracer.put(this, "index", condition, node, true);
 
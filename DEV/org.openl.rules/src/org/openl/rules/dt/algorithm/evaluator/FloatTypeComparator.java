@@ -16,8 +16,13 @@ public class FloatTypeComparator implements Comparator<Object> {
 
     @Override
     public int compare(Object o1, Object o2) {
-        double d1 = NumberUtils.convertToDouble(o1);
-        double d2 = NumberUtils.convertToDouble(o2);
+        return compareDoubles(NumberUtils.convertToDouble(o1), NumberUtils.convertToDouble(o2));
+    }
+
+    /**
+     * Compares the numbers with the tolerance of one ulp of the first number. The numbers which differ less are equal.
+     */
+    public static int compareDoubles(double d1, double d2) {
         int compare = Double.compare(d1, d2);
         if (compare == 0) {
             return 0;
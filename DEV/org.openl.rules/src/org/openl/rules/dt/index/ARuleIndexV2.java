@@ -6,9 +6,9 @@ import java.util.Collections;
 
 import org.openl.rules.dt.DecisionTableRuleNode;
 import org.openl.rules.dt.DecisionTableRuleNodeBuilder;
-import org.openl.rules.dt.EqualsIndexDecisionTableRuleNode;
 import org.openl.rules.dt.IDecisionTableRuleNodeV2;
 import org.openl.rules.dt.RangeIndexDecisionTableRuleNode;
+import org.openl.rules.dt.RuleSetDecisionTableRuleNode;
 
 public abstract class ARuleIndexV2 implements IRuleIndex {
 
@@ -19,6 +19,12 @@ public abstract class ARuleIndexV2 implements IRuleIndex {
     protected final int[] emptyRules;
     protected final int rulesTotalSize;
 
+    /**
+     * The node is created on the first call because the next index is assigned after this index is built. The node is
+     * immutable, so a race between threads can only lead to a redundant instance.
+     */
+    private RuleSetDecisionTableRuleNode allRulesNode;
+
     protected ARuleIndexV2(DecisionTableRuleNode nextNode, int[] emptyRules) {
         this.nextNode = nextNode;
         this.emptyRules = emptyRules;
@@ -28,27 +34,37 @@ public abstract class ARuleIndexV2 implements IRuleIndex {
     @Override
     public DecisionTableRuleNode findNode(Object value, Boolean staticDecision, DecisionTableRuleNode prevResult) {
         if (Boolean.TRUE.equals(staticDecision)) {
-            if (!(prevResult instanceof IDecisionTableRuleNodeV2)) {
-                return new EqualsIndexDecisionTableRuleNode(collectRules(), nextNode.getNextIndex());
-            } else {
-                var prevRes = ((IDecisionTableRuleNodeV2) prevResult).getRuleSet();
-                if (prevRes.isEmpty()) {
-                    return new EqualsIndexDecisionTableRuleNode(EMPTY_ARRAY, nextNode.getNextIndex());
-                } else {
-                    var rules = new BitSet();
-                    for (int ruleN : collectRules()) {
-                        rules.set(ruleN);
-                    }
-                    rules.and(prevRes);
-                    return new RangeIndexDecisionTableRuleNode(rules, nextNode.getNextIndex());
-                }
+            RuleSetDecisionTableRuleNode node = allRulesNode;
+            if (node == null) {
+                node = new RuleSetDecisionTableRuleNode(RuleSet.of(collectRules()), nextNode.getNextIndex());
+                allRulesNode = node;
             }
+            return retainRules(node, prevResult);
         }
         return findNode(value, prevResult);
     }
 
     protected abstract DecisionTableRuleNode findNode(Object value, DecisionTableRuleNode prevResult);
 
+    /**
+     * Intersects the precomputed rules found in this index with the result of the previous condition. The working set
+     * of the previous result is modified in place, so at most one set is allocated per call.
+     *
+     * @param found the rules found in this index
+     * @param prevResult the result of the previous condition
+     * @return the found node if there is no previous result, otherwise a node with the working set of the call
+     */
+    protected DecisionTableRuleNode retainRules(RuleSetDecisionTableRuleNode found, DecisionTableRuleNode prevResult) {
+        if (!(prevResult instanceof IDecisionTableRuleNodeV2)) {
+            return found;
+        }
+        BitSet rules = ((IDecisionTableRuleNodeV2) prevResult).toWorkingSet();
+        if (!rules.isEmpty()) {
+            found.getRuleSet().retainAll(rules);
+        }
+        return new RangeIndexDecisionTableRuleNode(rules, nextNode.getNextIndex());
+    }
+
     @Override
     public Iterable<? extends DecisionTableRuleNode> nodes() {
         return Collections.singletonList(nextNode);
@@ -1,12 +1,10 @@
 package org.openl.rules.dt.index;
 
-import java.util.BitSet;
 import java.util.Collections;
 
 import org.openl.binding.impl.cast.IOpenCast;
 import org.openl.rules.dt.DecisionTableRuleNode;
 import org.openl.rules.dt.DecisionTableRuleNodeBuilder;
-import org.openl.rules.dt.RangeIndexDecisionTableRuleNode;
 
 public class CombinedRangeIndex implements IRuleIndex {
 
@@ -36,10 +34,9 @@ public class CombinedRangeIndex implements IRuleIndex {
         if (castToConditionType != null && castToConditionType.isImplicit()) {
             value = castToConditionType.convert(value);
         }
-        BitSet minIndexRules = minIndex.findRules(value, prevResult);
-        DecisionTableRuleNode minIndexResult = new RangeIndexDecisionTableRuleNode(minIndexRules, null);
-        BitSet maxIndexRules = maxIndex.findRules(value, minIndexResult);
-        return new RangeIndexDecisionTableRuleNode(maxIndexRules, nextNode.getNextIndex());
+        // both indexes share the same next node, so the result of the max index can be returned as is
+        DecisionTableRuleNode minIndexResult = minIndex.findNode(value, prevResult);
+        return maxIndex.findNode(value, minIndexResult);
     }
 
     @Override
@@ -0,0 +1,267 @@
+package org.openl.rules.dt.index;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openl.rules.dt.algorithm.evaluator.FloatTypeComparator;
+import org.openl.rules.helpers.NumberUtils;
+
+/**
+ * Maps a condition value to the position of its bucket in {@link EqualsIndexV2}. Specialized implementations keep
+ * {@code int}, {@code long}, {@code double} and {@link String} keys in primitive open-addressing tables or sorted arrays,
+ * so a lookup neither boxes nor allocates.
+ */
+abstract class EqualsIndexKeys {
+
+    static final int NOT_FOUND = -1;
+
+    private static final int MIN_CAPACITY = 4;
+
+    /**
+     * Finds the bucket position of the given value.
+     *
+     * @param value already cast to the condition type, not null
+     * @return the bucket position or {@link #NOT_FOUND}
+     */
+    abstract int find(Object value);
+
+    /**
+     * Creates a lookup for the given keys. The position of the key in the array is used as a bucket position.
+     *
+     * @param keys unique keys of the index
+     * @param positions the same keys mapped to their positions, it is used as is when the keys cannot be specialized,
+     *            so the map must have the same comparison semantics as the index
+     */
+    static EqualsIndexKeys of(Object[] keys, Map<Object, Integer> positions) {
+        if (keys.length == 0) {
+            return EmptyKeys.INSTANCE;
+        }
+        Class<?> keyType = commonKeyType(keys);
+        if (positions instanceof TreeMap) {
+            if (keyType == Double.class && ((TreeMap<?, ?>) positions)
+                    .comparator() == FloatTypeComparator.getInstance()) {
+                return new DoubleKeys(keys);
+            }
+        } else if (keyType == Integer.class) {
+            return new IntKeys(keys);
+        } else if (keyType == Long.class) {
+            return new LongKeys(keys);
+        } else if (keyType == String.class) {
+            return new StringKeys(keys);
+        }
+        return new MapKeys(positions);
+    }
+
+    private static Class<?> commonKeyType(Object[] keys) {
+        Class<?> type = null;
+        for (Object key : keys) {
+            if (key == null) {
+                return null;
+            } else if (type == null) {
+                type = key.getClass();
+            } else if (type != key.getClass()) {
+                return null;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Returns power of two capacity which keeps the load factor of the table not greater than 0.5.
+     */
+    private static int tableCapacity(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size, MIN_CAPACITY / 2)) << 2;
+        return capacity < 0 ? 1 << 30 : capacity;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class EmptyKeys extends EqualsIndexKeys {
+        static final EmptyKeys INSTANCE = new EmptyKeys();
+
+        @Override
+        int find(Object value) {
+            return NOT_FOUND;
+        }
+    }
+
+    private static final class IntKeys extends EqualsIndexKeys {
+        private final int[] table;
+        private final int[] positions;
+        private final int mask;
+
+        IntKeys(Object[] keys) {
+            int capacity = tableCapacity(keys.length);
+            this.table = new int[capacity];
+            this.positions = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(positions, NOT_FOUND);
+            for (int i = 0; i < keys.length; i++) {
+                int key = (Integer) keys[i];
+                int slot = mix(key) & mask;
+                while (positions[slot] != NOT_FOUND) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = key;
+                positions[slot] = i;
+            }
+        }
+
+        @Override
+        int find(Object value) {
+            if (!(value instanceof Integer)) {
+                return NOT_FOUND;
+            }
+            int key = (Integer) value;
+            int slot = mix(key) & mask;
+            int position;
+            while ((position = positions[slot]) != NOT_FOUND) {
+                if (table[slot] == key) {
+                    return position;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+    }
+
+    private static final class LongKeys extends EqualsIndexKeys {
+        private final long[] table;
+        private final int[] positions;
+        private final int mask;
+
+        LongKeys(Object[] keys) {
+            int capacity = tableCapacity(keys.length);
+            this.table = new long[capacity];
+            this.positions = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(positions, NOT_FOUND);
+            for (int i = 0; i < keys.length; i++) {
+                long key = (Long) keys[i];
+                int slot = mix(Long.hashCode(key)) & mask;
+                while (positions[slot] != NOT_FOUND) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = key;
+                positions[slot] = i;
+            }
+        }
+
+        @Override
+        int find(Object value) {
+            if (!(value instanceof Long)) {
+                return NOT_FOUND;
+            }
+            long key = (Long) value;
+            int slot = mix(Long.hashCode(key)) & mask;
+            int position;
+            while ((position = positions[slot]) != NOT_FOUND) {
+                if (table[slot] == key) {
+                    return position;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+    }
+
+    private static final class StringKeys extends EqualsIndexKeys {
+        private final String[] table;
+        private final int[] positions;
+        private final int mask;
+
+        StringKeys(Object[] keys) {
+            int capacity = tableCapacity(keys.length);
+            this.table = new String[capacity];
+            this.positions = new int[capacity];
+            this.mask = capacity - 1;
+            for (int i = 0; i < keys.length; i++) {
+                String key = (String) keys[i];
+                int slot = mix(key.hashCode()) & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = key;
+                positions[slot] = i;
+            }
+        }
+
+        @Override
+        int find(Object value) {
+            if (!(value instanceof String)) {
+                return NOT_FOUND;
+            }
+            int slot = mix(value.hashCode()) & mask;
+            String key;
+            while ((key = table[slot]) != null) {
+                if (key.equals(value)) {
+                    return positions[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+    }
+
+    /**
+     * Sorted {@code double} keys. The binary search uses {@link FloatTypeComparator#compareDoubles(double, double)}.
+     */
+    private static final class DoubleKeys extends EqualsIndexKeys {
+        private final double[] sorted;
+        private final int[] positions;
+
+        DoubleKeys(Object[] keys) {
+            Integer[] order = new Integer[keys.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare((Double) keys[a], (Double) keys[b]));
+            this.sorted = new double[keys.length];
+            this.positions = new int[keys.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = (Double) keys[order[i]];
+                positions[i] = order[i];
+            }
+        }
+
+        @Override
+        int find(Object value) {
+            Double key = value instanceof Double ? (Double) value : NumberUtils.convertToDouble(value);
+            if (key == null) {
+                return NOT_FOUND;
+            }
+            int low = 0;
+            int high = sorted.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = FloatTypeComparator.compareDoubles(key, sorted[mid]);
+                if (cmp > 0) {
+                    low = mid + 1;
+                } else if (cmp < 0) {
+                    high = mid - 1;
+                } else {
+                    return positions[mid];
+                }
+            }
+            return NOT_FOUND;
+        }
+    }
+
+    private static final class MapKeys extends EqualsIndexKeys {
+        private final Map<Object, Integer> positions;
+
+        MapKeys(Map<Object, Integer> positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        int find(Object value) {
+            Integer position = positions.get(value);
+            return position == null ? NOT_FOUND : position;
+        }
+    }
+}
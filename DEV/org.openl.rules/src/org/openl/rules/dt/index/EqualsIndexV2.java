@@ -2,77 +2,110 @@ package org.openl.rules.dt.index;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 import org.openl.rules.dt.DecisionTableRuleNode;
 import org.openl.rules.dt.DecisionTableRuleNodeBuilder;
-import org.openl.rules.dt.EqualsIndexDecisionTableRuleNode;
-import org.openl.rules.dt.IDecisionTableRuleNodeV2;
+import org.openl.rules.dt.RuleSetDecisionTableRuleNode;
 import org.openl.rules.dt.algorithm.evaluator.FloatTypeComparator;
 import org.openl.rules.dt.element.ConditionCasts;
 import org.openl.rules.helpers.NumberUtils;
 
 /**
  * A new implementation of Equals Index for decision tables.
+ * <p>
+ * The rules of each bucket are merged with the empty rules and compressed into a {@link RuleSet} at build time, and the
+ * keys of the most common types ({@code int}, {@code long}, {@code double} and {@link String}) are kept in primitive
+ * lookup tables. So a lookup does not produce garbage unless the found rules have to be intersected with the result of a
+ * previous condition.
  *
  * @author Vladyslav Pikus
  */
 public class EqualsIndexV2 extends ARuleIndexV2 {
 
-    private final Map<Object, int[]> index;
+    private final EqualsIndexKeys keys;
+    /**
+     * Rules of every bucket already merged with the empty rules. The last element keeps the rules for values which are
+     * not found in the index.
+     */
+    private final RuleSet[] rules;
+    private final int[] allRules;
     private final ConditionCasts conditionCasts;
 
+    /**
+     * Nodes are created on the first lookup because the next index is assigned after this index is built. The nodes are
+     * immutable, so a race between threads can only lead to a redundant instance.
+     */
+    private final RuleSetDecisionTableRuleNode[] nodes;
+
     public EqualsIndexV2(DecisionTableRuleNode nextNode,
                          Map<Object, int[]> index,
                          int[] emptyRules,
                          ConditionCasts conditionCasts) {
         super(nextNode, emptyRules);
-        this.index = Collections.unmodifiableMap(index);
         this.conditionCasts = Objects.requireNonNull(conditionCasts, "conditionCasts cannot be null");
+        Object[] keyArray = new Object[index.size()];
+        Map<Object, Integer> positions = index instanceof SortedMap
+                ? new TreeMap<>(((SortedMap<Object, int[]>) index).comparator())
+                : new HashMap<>();
+        this.rules = new RuleSet[keyArray.length + 1];
+        int i = 0;
+        for (Map.Entry<Object, int[]> entry : index.entrySet()) {
+            keyArray[i] = entry.getKey();
+            positions.put(entry.getKey(), i);
+            rules[i] = RuleSet.of(combineSortedArrays(entry.getValue(), emptyRules));
+            i++;
+        }
+        rules[i] = RuleSet.of(emptyRules);
+        this.keys = EqualsIndexKeys.of(keyArray, positions);
+        this.allRules = mergeAllRules(index.values(), emptyRules);
+        this.nodes = new RuleSetDecisionTableRuleNode[rules.length];
     }
 
-    private int[] findIndex(Object value) {
-        int[] result = null;
+    private int findPosition(Object value) {
+        int position = EqualsIndexKeys.NOT_FOUND;
         if (value != null) {
             value = conditionCasts.castToConditionType(value);
-            result = index.get(value);
+            if (value != null) {
+                position = keys.find(value);
+            }
         }
-        return result == null ? EMPTY_ARRAY : result;
+        return position == EqualsIndexKeys.NOT_FOUND ? rules.length - 1 : position;
     }
 
     @Override
     protected DecisionTableRuleNode findNode(Object value, DecisionTableRuleNode prevResult) {
-        return new EqualsIndexDecisionTableRuleNode(findRules(value, prevResult), nextNode.getNextIndex());
-    }
-
-    private int[] findRules(Object value, DecisionTableRuleNode prevResult) {
-        if (!(prevResult instanceof IDecisionTableRuleNodeV2)) {
-            int[] rules = findIndex(value);
-            rules = combineSortedArrays(rules, emptyRules);
-            return rules;
-        }
-        return getResultAndIntersect(value, (IDecisionTableRuleNodeV2) prevResult);
+        return retainRules(getNode(findPosition(value)), prevResult);
     }
 
-    private int[] getResultAndIntersect(Object value, IDecisionTableRuleNodeV2 prevResult) {
-        int[] prevRes = prevResult.getRules();
-        if (prevRes.length == 0) {
-            return EMPTY_ARRAY;
+    private RuleSetDecisionTableRuleNode getNode(int position) {
+        RuleSetDecisionTableRuleNode node = nodes[position];
+        if (node == null) {
+            node = new RuleSetDecisionTableRuleNode(rules[position], nextNode.getNextIndex());
+            nodes[position] = node;
         }
-        int[] rules = findIndex(value);
-        rules = combineSortedArrays(rules, emptyRules);
-        return intersectionSortedArrays(rules, prevRes);
+        return node;
     }
 
     @Override
     public int[] collectRules() {
-        int[] result = new int[rulesTotalSize];
+        return allRules;
+    }
+
+    private static int[] mergeAllRules(Collection<int[]> values, int[] emptyRules) {
+        int size = emptyRules.length;
+        for (int[] arr : values) {
+            size += arr.length;
+        }
+        int[] result = new int[size];
         int k = 0;
-        for (int[] arr : index.values()) {
+        for (int[] arr : values) {
             for (int ruleN : arr) {
                 result[k++] = ruleN;
             }
@@ -81,7 +114,14 @@ public class EqualsIndexV2 extends ARuleIndexV2 {
             result[k++] = ruleN;
         }
         Arrays.sort(result);
-        return result;
+        // the same rule can be present in several buckets for 'contains in array' conditions
+        int n = 0;
+        for (int j = 0; j < result.length; j++) {
+            if (n == 0 || result[n - 1] != result[j]) {
+                result[n++] = result[j];
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
     }
 
     /**
@@ -112,34 +152,6 @@ public class EqualsIndexV2 extends ARuleIndexV2 {
         return result;
     }
 
-    /**
-     * Find an intersection between two sorted arrays. Time Complexity: O(a.length + b.length)
-     *
-     * @param a first array
-     * @param b second array
-     * @return a new array which contains common elements
-     */
-    private static int[] intersectionSortedArrays(int[] a, int[] b) {
-        int[] result = new int[Math.min(a.length, b.length)];
-        int i = 0, j = 0, k = 0;
-        while (i < a.length && j < b.length) {
-            if (a[i] < b[j]) {
-                i++;
-            } else if (b[j] < a[i]) {
-                j++;
-            } else {
-                result[k++] = b[j++];
-                i++;
-            }
-        }
-        if (result.length != k) {
-            int[] res = new int[k];
-            System.arraycopy(result, 0, res, 0, k);
-            return res;
-        }
-        return result;
-    }
-
     public static class Builder {
         private final DecisionTableRuleNodeBuilder nextNodeBuilder = new DecisionTableRuleNodeBuilder();
         private final DecisionTableRuleNodeBuilder emptyBuilder = new DecisionTableRuleNodeBuilder();
@@ -8,13 +8,27 @@ import java.util.List;
 import org.openl.rules.dt.DecisionTableRuleNode;
 import org.openl.rules.dt.IDecisionTableRuleNodeV2;
 import org.openl.rules.dt.RangeIndexDecisionTableRuleNode;
+import org.openl.rules.dt.RuleSetDecisionTableRuleNode;
 import org.openl.rules.dt.algorithm.evaluator.ARangeIndexEvaluator.IndexNode;
 import org.openl.rules.dt.type.IRangeAdaptor;
 
 public class RangeAscIndex extends ARuleIndexV2 {
 
+    private static final int EMPTY_RULE = -1;
+    private static final int NOT_INDEXED = Integer.MIN_VALUE;
+
     protected final List<IndexNode> index;
     private final IRangeAdaptor<IndexNode, ?> adaptor;
+    /**
+     * Position of the index node for every rule, {@link #EMPTY_RULE} for the rules with an empty condition.
+     */
+    private final int[] rulePositions;
+    /**
+     * Number of rules in the index nodes before the given position.
+     */
+    private final int[] rulesBefore;
+    private final RuleSet emptyRuleSet;
+    private RuleSetDecisionTableRuleNode emptyRulesNode;
 
     public RangeAscIndex(DecisionTableRuleNode nextNode,
                          List<IndexNode> index,
@@ -23,6 +37,26 @@ public class RangeAscIndex extends ARuleIndexV2 {
         super(nextNode, emptyRules);
         this.index = Collections.unmodifiableList(index);
         this.adaptor = adaptor;
+        int maxRule = emptyRules.length > 0 ? emptyRules[emptyRules.length - 1] : -1;
+        this.rulesBefore = new int[index.size() + 1];
+        for (int i = 0; i < index.size(); i++) {
+            int[] rules = index.get(i).getRules();
+            rulesBefore[i + 1] = rulesBefore[i] + rules.length;
+            for (int ruleN : rules) {
+                maxRule = Math.max(maxRule, ruleN);
+            }
+        }
+        this.rulePositions = new int[maxRule + 1];
+        Arrays.fill(rulePositions, NOT_INDEXED);
+        for (int i = 0; i < index.size(); i++) {
+            for (int ruleN : index.get(i).getRules()) {
+                rulePositions[ruleN] = i;
+            }
+        }
+        for (int ruleN : emptyRules) {
+            rulePositions[ruleN] = EMPTY_RULE;
+        }
+        this.emptyRuleSet = RuleSet.of(emptyRules);
     }
 
     private IndexRange findIndexRange(Object value) {
@@ -51,54 +85,63 @@ public class RangeAscIndex extends ARuleIndexV2 {
 
     @Override
     protected DecisionTableRuleNode findNode(Object value, DecisionTableRuleNode prevResult) {
-        return new RangeIndexDecisionTableRuleNode(findRules(value, prevResult), nextNode.getNextIndex());
-    }
-
-    BitSet findRules(Object value, DecisionTableRuleNode prevResult) {
-        if (!(prevResult instanceof IDecisionTableRuleNodeV2)) {
-            var range = findIndexRange(value);
-            return collectAllRules(range);
+        IndexRange range = findIndexRange(value);
+        if (prevResult instanceof IDecisionTableRuleNodeV2) {
+            BitSet rules = ((IDecisionTableRuleNodeV2) prevResult).toWorkingSet();
+            if (!rules.isEmpty()) {
+                retainRules(rules, range);
+            }
+            return new RangeIndexDecisionTableRuleNode(rules, nextNode.getNextIndex());
+        } else if (range == null) {
+            return getEmptyRulesNode();
+        }
+        BitSet rules = emptyRuleSet.toBitSet();
+        for (int i = range.min; i < range.max; i++) {
+            for (int ruleN : index.get(i).getRules()) {
+                rules.set(ruleN);
+            }
         }
-        return getResultAndIntersect(value, (IDecisionTableRuleNodeV2) prevResult);
+        return new RangeIndexDecisionTableRuleNode(rules, nextNode.getNextIndex());
     }
 
-    private BitSet collectAllRules(IndexRange range) {
-        BitSet bits = new BitSet();
-        for (int ruleN : emptyRules) {
-            bits.set(ruleN);
-        }
-        if (range != null) {
-            for (int i = range.min; i < range.max; i++) {
-                for (int ruleN : index.get(i).getRules()) {
-                    bits.set(ruleN);
+    /**
+     * Clears the rules which are not in the found range in place. The rules of the previous result are always a subset
+     * of the rules of this index, so either the rules outside the range are cleared, or the rules of the previous result
+     * are checked one by one, whatever is cheaper.
+     */
+    private void retainRules(BitSet rules, IndexRange range) {
+        int from = range == null ? 0 : range.min;
+        int to = range == null ? 0 : range.max;
+        int outside = rulesBefore[index.size()] - (rulesBefore[to] - rulesBefore[from]);
+        if (outside < rules.cardinality()) {
+            clearRules(rules, 0, from);
+            clearRules(rules, to, index.size());
+        } else {
+            for (int ruleN = rules.nextSetBit(0); ruleN >= 0; ruleN = rules.nextSetBit(ruleN + 1)) {
+                int position = ruleN < rulePositions.length ? rulePositions[ruleN] : NOT_INDEXED;
+                if (position != EMPTY_RULE && (position < from || position >= to)) {
+                    rules.clear(ruleN);
                 }
             }
         }
-        return bits;
     }
 
-    private BitSet getResultAndIntersect(Object value, IDecisionTableRuleNodeV2 prevResult) {
-        BitSet prevRes = prevResult.getRuleSet();
-        if (prevRes.isEmpty()) {
-            return prevRes;
-        }
-        var range = findIndexRange(value);
-        BitSet result = new BitSet();
-        for (int ruleN : emptyRules) {
-            if (prevRes.get(ruleN)) {
-                result.set(ruleN);
+    private void clearRules(BitSet rules, int from, int to) {
+        for (int i = from; i < to; i++) {
+            for (int ruleN : index.get(i).getRules()) {
+                rules.clear(ruleN);
             }
         }
-        if (range != null) {
-            for (int i = range.min; i < range.max; i++) {
-                for (int ruleN : index.get(i).getRules()) {
-                    if (prevRes.get(ruleN)) {
-                        result.set(ruleN);
-                    }
-                }
-            }
+    }
+
+    private RuleSetDecisionTableRuleNode getEmptyRulesNode() {
+        RuleSetDecisionTableRuleNode node = emptyRulesNode;
+        if (node == null) {
+            // the next index is assigned after this index is built
+            node = new RuleSetDecisionTableRuleNode(emptyRuleSet, nextNode.getNextIndex());
+            emptyRulesNode = node;
         }
-        return result;
+        return node;
     }
 
     @Override
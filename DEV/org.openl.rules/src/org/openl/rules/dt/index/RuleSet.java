@@ -0,0 +1,305 @@
+package org.openl.rules.dt.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+import org.openl.domain.AIntIterator;
+import org.openl.domain.IIntIterator;
+import org.openl.domain.IntArrayIterator;
+
+/**
+ * An immutable compressed set of rule numbers. It is built once when an index is created and is shared between all
+ * calls of a decision table. Depending on the distribution of the rules, the most compact encoding is selected: a sorted
+ * array for sparse rules, a list of runs for consecutive rules, or a bitmap for dense rules.
+ * <p>
+ * The set is intersected with the working set of the current call in place, see {@link #retainAll(BitSet)}.
+ */
+public abstract class RuleSet {
+
+    public static final RuleSet EMPTY = new ArrayRuleSet(ARuleIndexV2.EMPTY_ARRAY);
+
+    RuleSet() {
+    }
+
+    /**
+     * Creates a compressed set from the sorted array of unique rule numbers.
+     */
+    public static RuleSet of(int[] sortedRules) {
+        if (sortedRules.length == 0) {
+            return EMPTY;
+        }
+        int runs = 1;
+        for (int i = 1; i < sortedRules.length; i++) {
+            if (sortedRules[i] != sortedRules[i - 1] + 1) {
+                runs++;
+            }
+        }
+        long arraySize = (long) sortedRules.length * Integer.BYTES;
+        long runsSize = 2L * runs * Integer.BYTES;
+        long bitmapSize = ((long) sortedRules[sortedRules.length - 1] / Long.SIZE + 1) * Long.BYTES;
+        if (runsSize < arraySize && runsSize <= bitmapSize) {
+            return new RunsRuleSet(sortedRules, runs);
+        } else if (bitmapSize < arraySize) {
+            return new BitmapRuleSet(sortedRules);
+        }
+        return new ArrayRuleSet(sortedRules);
+    }
+
+    public abstract int cardinality();
+
+    public boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    public abstract boolean contains(int ruleN);
+
+    /**
+     * @return iterator over the rules in the ascending order
+     */
+    public abstract IIntIterator iterator();
+
+    /**
+     * @return sorted rules, the result must not be modified
+     */
+    public abstract int[] toArray();
+
+    /**
+     * Sets the bits of all rules of this set in the target.
+     */
+    public abstract void addTo(BitSet target);
+
+    /**
+     * Clears the bits of the target which are not in this set. The target is modified in place.
+     */
+    public abstract void retainAll(BitSet target);
+
+    /**
+     * @return a new modifiable bit set which contains the same rules
+     */
+    public BitSet toBitSet() {
+        BitSet result = new BitSet();
+        addTo(result);
+        return result;
+    }
+
+    private static final class ArrayRuleSet extends RuleSet {
+        private final int[] rules;
+
+        ArrayRuleSet(int[] rules) {
+            this.rules = rules;
+        }
+
+        @Override
+        public int cardinality() {
+            return rules.length;
+        }
+
+        @Override
+        public boolean contains(int ruleN) {
+            return Arrays.binarySearch(rules, ruleN) >= 0;
+        }
+
+        @Override
+        public IIntIterator iterator() {
+            return new IntArrayIterator(rules);
+        }
+
+        @Override
+        public int[] toArray() {
+            return rules;
+        }
+
+        @Override
+        public void addTo(BitSet target) {
+            for (int ruleN : rules) {
+                target.set(ruleN);
+            }
+        }
+
+        @Override
+        public void retainAll(BitSet target) {
+            int from = 0;
+            for (int ruleN : rules) {
+                target.clear(from, ruleN);
+                from = ruleN + 1;
+            }
+            target.clear(from, Math.max(from, target.length()));
+        }
+    }
+
+    /**
+     * Keeps the rules as pairs of the first rule and the next after the last rule of consecutive rules.
+     */
+    private static final class RunsRuleSet extends RuleSet {
+        private final int[] runs;
+        private final int cardinality;
+
+        RunsRuleSet(int[] sortedRules, int runsCount) {
+            this.runs = new int[runsCount * 2];
+            this.cardinality = sortedRules.length;
+            int k = 0;
+            runs[k++] = sortedRules[0];
+            for (int i = 1; i < sortedRules.length; i++) {
+                if (sortedRules[i] != sortedRules[i - 1] + 1) {
+                    runs[k++] = sortedRules[i - 1] + 1;
+                    runs[k++] = sortedRules[i];
+                }
+            }
+            runs[k] = sortedRules[sortedRules.length - 1] + 1;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(int ruleN) {
+            int low = 0;
+            int high = runs.length / 2 - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (ruleN < runs[mid * 2]) {
+                    high = mid - 1;
+                } else if (ruleN >= runs[mid * 2 + 1]) {
+                    low = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public IIntIterator iterator() {
+            return new RunsIterator(runs, cardinality);
+        }
+
+        @Override
+        public int[] toArray() {
+            int[] result = new int[cardinality];
+            int k = 0;
+            for (int i = 0; i < runs.length; i += 2) {
+                for (int ruleN = runs[i]; ruleN < runs[i + 1]; ruleN++) {
+                    result[k++] = ruleN;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void addTo(BitSet target) {
+            for (int i = 0; i < runs.length; i += 2) {
+                target.set(runs[i], runs[i + 1]);
+            }
+        }
+
+        @Override
+        public void retainAll(BitSet target) {
+            int from = 0;
+            for (int i = 0; i < runs.length; i += 2) {
+                target.clear(from, runs[i]);
+                from = runs[i + 1];
+            }
+            target.clear(from, Math.max(from, target.length()));
+        }
+    }
+
+    private static final class RunsIterator extends AIntIterator {
+        private final int[] runs;
+        private final int size;
+        private int run;
+        private int current;
+
+        RunsIterator(int[] runs, int size) {
+            this.runs = runs;
+            this.size = size;
+            reset();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return run < runs.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int result = current++;
+            if (current == runs[run + 1]) {
+                run += 2;
+                if (run < runs.length) {
+                    current = runs[run];
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isResetable() {
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            run = 0;
+            current = runs[0];
+        }
+    }
+
+    private static final class BitmapRuleSet extends RuleSet {
+        private final BitSet bits;
+        private final int cardinality;
+
+        BitmapRuleSet(int[] sortedRules) {
+            this.bits = new BitSet(sortedRules[sortedRules.length - 1] + 1);
+            for (int ruleN : sortedRules) {
+                bits.set(ruleN);
+            }
+            this.cardinality = sortedRules.length;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(int ruleN) {
+            return ruleN >= 0 && bits.get(ruleN);
+        }
+
+        @Override
+        public IIntIterator iterator() {
+            return new BitSetIterator(bits);
+        }
+
+        @Override
+        public int[] toArray() {
+            return bits.stream().toArray();
+        }
+
+        @Override
+        public void addTo(BitSet target) {
+            target.or(bits);
+        }
+
+        @Override
+        public void retainAll(BitSet target) {
+            target.and(bits);
+        }
+
+        @Override
+        public BitSet toBitSet() {
+            return (BitSet) bits.clone();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.openl.rules.helpers;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.openl.exception.OpenLRuntimeException;
+import org.openl.rules.data.DataIndex;
+import org.openl.types.IOpenField;
+
+/**
+ * The functions to search the rows of Data tables by the value of a column. When a Data table is passed to the function
+ * directly, the search uses the index of the column which is built on the first search and kept by the Data table, so
+ * searching in large Data tables does not scan all rows. For other arrays all elements are checked.
+ * <p>
+ * The rows of Data tables are not expected to be modified by rules. If the found rows have been changed, the index is
+ * rebuilt, see {@link DataIndex}.
+ * <p>
+ * Note: For OpenL rules only! Don't use it in Java code.
+ */
+public final class Lookups {
+
+    private Lookups() {
+    }
+
+    /**
+     * Finds the first row which has the given value in the column.
+     *
+     * @param data the rows of a Data table
+     * @param field the name of the column
+     * @param key the value to find
+     * @return the found row or {@code null}
+     */
+    public static <T> T lookup(T[] data, String field, Object key) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        IOpenField openField = DataIndex.getField(data, field);
+        Object normalized = DataIndex.normalize(key);
+        for (T row : data) {
+            if (row != null && Objects.equals(normalized, DataIndex.normalize(openField.get(row, null)))) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds all rows which have the given value in the column.
+     *
+     * @param data the rows of a Data table
+     * @param field the name of the column
+     * @param key the value to find
+     * @return the found rows in the order of the Data table
+     */
+    public static <T> T[] lookupAll(T[] data, String field, Object key) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0) {
+            return data;
+        }
+        IOpenField openField = DataIndex.getField(data, field);
+        Object normalized = DataIndex.normalize(key);
+        int[] found = new int[data.length];
+        int size = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != null && Objects.equals(normalized, DataIndex.normalize(openField.get(data[i], null)))) {
+                found[size++] = i;
+            }
+        }
+        return DataIndex.select(data, Arrays.copyOf(found, size));
+    }
+
+    /**
+     * Finds all rows which have the value of the column between the given bounds inclusively. The rows with empty
+     * values are skipped. Numbers of different types are compared by value.
+     *
+     * @param data the rows of a Data table
+     * @param field the name of the column
+     * @param from the lower bound or {@code null} if it is not limited
+     * @param to the upper bound or {@code null} if it is not limited
+     * @return the found rows in the order of the Data table
+     */
+    public static <T> T[] lookupRange(T[] data, String field, Object from, Object to) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0) {
+            return data;
+        }
+        IOpenField openField = DataIndex.getField(data, field);
+        int[] found = new int[data.length];
+        int size = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == null) {
+                continue;
+            }
+            Object value = openField.get(data[i], null);
+            if (value == null || from != null && compare(from, value) > 0 || to != null && compare(value, to) > 0) {
+                continue;
+            }
+            found[size++] = i;
+        }
+        return DataIndex.select(data, Arrays.copyOf(found, size));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return DataIndex.compareNumbers((Number) a, (Number) b);
+        }
+        if (!(a instanceof Comparable)) {
+            throw new OpenLRuntimeException(String.format("Type '%s' is not comparable.", a.getClass().getName()));
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+}
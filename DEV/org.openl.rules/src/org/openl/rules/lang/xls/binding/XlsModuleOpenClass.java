@@ -116,6 +116,8 @@ public class XlsModuleOpenClass extends ModuleOpenClass implements ExtendableMod
 
     private final boolean appliedChangesToClasspath;
 
+    private volatile boolean generatedClassesOutdated;
+
     /**
      * Constructor for module with dependent modules
      */
@@ -721,6 +723,22 @@ public class XlsModuleOpenClass extends ModuleOpenClass implements ExtendableMod
         return appliedChangesToClasspath;
     }
 
+    /**
+     * Marks that the classes loaded from the classloader for the datatypes of this module were generated from another
+     * version of the datatype tables.
+     */
+    public void markGeneratedClassesOutdated() {
+        this.generatedClassesOutdated = true;
+    }
+
+    /**
+     * @return {@code true} if datatype tables of the module were changed after the generation of the classes in the
+     *         classloader, so the classloader must be reset to apply the changes
+     */
+    public boolean isGeneratedClassesOutdated() {
+        return generatedClassesOutdated;
+    }
+
     @Override
     public void addType(IOpenClass type) {
         validateType(type);
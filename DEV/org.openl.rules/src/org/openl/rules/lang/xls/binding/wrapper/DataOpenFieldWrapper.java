@@ -1,5 +1,6 @@
 package org.openl.rules.lang.xls.binding.wrapper;
 
+import org.openl.rules.data.DataIndex;
 import org.openl.rules.data.DataOpenField;
 import org.openl.rules.data.ITable;
 import org.openl.rules.lang.xls.XlsNodeTypes;
@@ -100,6 +101,16 @@ public class DataOpenFieldWrapper extends DataOpenField {
         return delegate.getData();
     }
 
+    @Override
+    public DataIndex getIndex(Object data, String fieldName) {
+        return delegate.getIndex(data, fieldName);
+    }
+
+    @Override
+    public DataIndex rebuildIndex(String fieldName, DataIndex stale) {
+        return delegate.rebuildIndex(fieldName, stale);
+    }
+
     @Override
     public void setTable(ITable table) {
         delegate.setTable(table);
@@ -7,6 +7,7 @@ import org.openl.binding.BindingDependencies;
 import org.openl.rules.calc.CustomSpreadsheetResultOpenClass;
 import org.openl.rules.calc.Spreadsheet;
 import org.openl.rules.calc.SpreadsheetBoundNode;
+import org.openl.rules.calc.SpreadsheetCellLevels;
 import org.openl.rules.calc.SpreadsheetInvoker;
 import org.openl.rules.calc.SpreadsheetOpenClass;
 import org.openl.rules.calc.element.SpreadsheetCell;
@@ -89,6 +90,16 @@ public class AbstractSpreadsheetWrapper extends Spreadsheet {
         delegate.setCells(cells);
     }
 
+    @Override
+    public SpreadsheetCellLevels getCellLevels() {
+        return delegate.getCellLevels();
+    }
+
+    @Override
+    public void setCellLevels(SpreadsheetCellLevels cellLevels) {
+        delegate.setCellLevels(cellLevels);
+    }
+
     @Override
     public void setColumnNames(String[] colNames) {
         delegate.setColumnNames(colNames);
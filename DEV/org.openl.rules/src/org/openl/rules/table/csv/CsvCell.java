@@ -0,0 +1,138 @@
+package org.openl.rules.table.csv;
+
+import java.util.Date;
+
+import org.openl.rules.table.GridRegion;
+import org.openl.rules.table.ICell;
+import org.openl.rules.table.ICellComment;
+import org.openl.rules.table.IGrid;
+import org.openl.rules.table.IGridRegion;
+import org.openl.rules.table.ui.ICellFont;
+import org.openl.rules.table.ui.ICellStyle;
+import org.openl.rules.table.xls.XlsUtil;
+
+/**
+ * The cell of {@link CsvGrid}. All values are strings, so they are converted to the types of the columns in the same
+ * way as the text cells of Excel.
+ */
+class CsvCell implements ICell {
+    private final int column;
+    private final int row;
+    private final String value;
+
+    CsvCell(int column, int row, String value) {
+        this.column = column;
+        this.row = row;
+        this.value = value;
+    }
+
+    @Override
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public int getColumn() {
+        return column;
+    }
+
+    @Override
+    public int getAbsoluteRow() {
+        return row;
+    }
+
+    @Override
+    public int getAbsoluteColumn() {
+        return column;
+    }
+
+    @Override
+    public IGridRegion getAbsoluteRegion() {
+        return new GridRegion(row, column, row, column);
+    }
+
+    @Override
+    public int getWidth() {
+        return 1;
+    }
+
+    @Override
+    public int getHeight() {
+        return 1;
+    }
+
+    @Override
+    public ICellStyle getStyle() {
+        return null;
+    }
+
+    @Override
+    public Object getObjectValue() {
+        return value;
+    }
+
+    @Override
+    public String getStringValue() {
+        return value;
+    }
+
+    @Override
+    public ICellFont getFont() {
+        return null;
+    }
+
+    @Override
+    public IGridRegion getRegion() {
+        return null;
+    }
+
+    @Override
+    public String getFormula() {
+        return null;
+    }
+
+    @Override
+    public int getType() {
+        return value == null ? IGrid.CELL_TYPE_BLANK : IGrid.CELL_TYPE_STRING;
+    }
+
+    @Override
+    public String getUri() {
+        return XlsUtil.xlsCellPresentation(column, row);
+    }
+
+    @Override
+    public boolean hasNativeType() {
+        return false;
+    }
+
+    @Override
+    public int getNativeType() {
+        return getType();
+    }
+
+    @Override
+    public double getNativeNumber() {
+        return Double.NaN;
+    }
+
+    @Override
+    public boolean getNativeBoolean() {
+        return false;
+    }
+
+    @Override
+    public Date getNativeDate() {
+        return null;
+    }
+
+    @Override
+    public ICellComment getComment() {
+        return null;
+    }
+
+    @Override
+    public ICell getTopLeftCellFromRegion() {
+        return this;
+    }
+}
@@ -0,0 +1,198 @@
+package org.openl.rules.table.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openl.rules.table.AGrid;
+import org.openl.rules.table.GridTable;
+import org.openl.rules.table.ICell;
+import org.openl.rules.table.IGridRegion;
+import org.openl.rules.table.IGridTable;
+import org.openl.util.StringUtils;
+
+/**
+ * The grid with the values imported from a CSV file. It is a plain import: the file is read and parsed when the grid
+ * is opened, and all values are kept in memory while the grid is used, the same as the cells of an Excel file. The
+ * file is not kept open.
+ * <p>
+ * The file must be in UTF-8. The values are separated by commas and can be enclosed in double quotes. A double quote in
+ * a quoted value is escaped by another double quote. Empty values, quoted or not, are {@code null}. Empty lines are
+ * skipped.
+ */
+public final class CsvGrid extends AGrid {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BOM = '\uFEFF';
+
+    private final String uri;
+    private final String[][] rows;
+    private final int width;
+
+    private CsvGrid(String uri, String[][] rows) {
+        this.uri = uri;
+        this.rows = rows;
+        this.width = rows.length == 0 ? 0 : rows[0].length;
+    }
+
+    /**
+     * Reads the values from the file.
+     *
+     * @param file the CSV file
+     * @return the grid, where every line of the file is a row
+     * @throws IOException if the file cannot be read or a quoted value is not closed
+     */
+    public static CsvGrid open(File file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return new CsvGrid(file.toURI().toString(), parse(reader));
+        }
+    }
+
+    private static String[][] parse(Reader reader) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        int line = 1;
+        int quoteLine = 0;
+        boolean quoted = false;
+        // The closing quote is found, the rest characters of the value are skipped
+        boolean closed = false;
+        boolean emptyLine = true;
+        int c = reader.read();
+        if (c == BOM) {
+            c = reader.read();
+        }
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException(String.format("The quoted value started at line %d is not closed.",
+                            quoteLine));
+                } else if (c == QUOTE) {
+                    c = reader.read();
+                    if (c != QUOTE) {
+                        quoted = false;
+                        closed = true;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                value.append((char) c);
+            } else if (c == SEPARATOR) {
+                values.add(toValue(value));
+                closed = false;
+                emptyLine = false;
+            } else if (c == '\n' || c == -1) {
+                if (!emptyLine || value.length() > 0) {
+                    values.add(toValue(value));
+                    rows.add(values.toArray(StringUtils.EMPTY_STRING_ARRAY));
+                }
+                if (c == -1) {
+                    break;
+                }
+                values.clear();
+                line++;
+                closed = false;
+                emptyLine = true;
+            } else if (c == QUOTE && value.length() == 0 && !closed) {
+                quoted = true;
+                quoteLine = line;
+                emptyLine = false;
+            } else if (c != '\r' && !closed) {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    private static String toValue(StringBuilder value) {
+        if (value.length() == 0) {
+            return null;
+        }
+        String result = value.toString();
+        value.setLength(0);
+        return result;
+    }
+
+    /**
+     * Gets the number of the values in the first line.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of the lines.
+     */
+    public int getHeight() {
+        return rows.length;
+    }
+
+    @Override
+    public ICell getCell(int column, int row) {
+        return new CsvCell(column, row, getValue(column, row));
+    }
+
+    String getValue(int column, int row) {
+        if (row < 0 || row >= rows.length || column < 0 || column >= rows[row].length) {
+            return null;
+        }
+        return rows[row][column];
+    }
+
+    @Override
+    public IGridTable[] getTables() {
+        return new IGridTable[] { new GridTable(0, 0, getHeight() - 1, width - 1, this) };
+    }
+
+    @Override
+    public int getColumnWidth(int col) {
+        return 0;
+    }
+
+    @Override
+    public int getMaxColumnIndex(int row) {
+        return width - 1;
+    }
+
+    @Override
+    public int getMaxRowIndex() {
+        return getHeight() - 1;
+    }
+
+    @Override
+    public IGridRegion getMergedRegion(int i) {
+        throw new IndexOutOfBoundsException(String.valueOf(i));
+    }
+
+    @Override
+    public int getMinColumnIndex(int row) {
+        return 0;
+    }
+
+    @Override
+    public int getMinRowIndex() {
+        return 0;
+    }
+
+    @Override
+    public int getNumberOfMergedRegions() {
+        return 0;
+    }
+
+    @Override
+    public String getUri() {
+        return uri;
+    }
+
+    @Override
+    public boolean isEmpty(int col, int row) {
+        return StringUtils.isBlank(getValue(col, row));
+    }
+}
@@ -296,6 +296,10 @@ public interface ITableProperties {
     java.lang.String getNature();
 
     void setNature(java.lang.String nature);
+
+    java.lang.Boolean getConcurrentCells();
+
+    void setConcurrentCells(java.lang.Boolean concurrentCells);
     // <<< END INSERT >>>
 
     void setCategoryProperties(Map<String, Object> categoryProperties);
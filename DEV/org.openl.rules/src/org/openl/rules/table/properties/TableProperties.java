@@ -526,6 +526,17 @@ public class TableProperties implements ITableProperties {
         setFieldValue("nature", nature);
         reset();
     }
+
+    @Override
+    public java.lang.Boolean getConcurrentCells() {
+        return (java.lang.Boolean) getPropertyValue("concurrentCells");
+    }
+
+    @Override
+    public void setConcurrentCells(java.lang.Boolean concurrentCells) {
+        setFieldValue("concurrentCells", concurrentCells);
+        reset();
+    }
     // <<< END INSERT >>>
 
     /**
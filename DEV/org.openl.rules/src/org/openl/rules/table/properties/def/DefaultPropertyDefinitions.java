@@ -20,7 +20,7 @@ public final class DefaultPropertyDefinitions {
 
     static {
         // <<< INSERT TablePropertiesDefinition >>>
-        definitions = new TablePropertyDefinition[41];
+        definitions = new TablePropertyDefinition[42];
 
         definitions[0] = new TablePropertyDefinition();
         definitions[0].setConstraints(new Constraints("unique in:module"));
@@ -598,6 +598,20 @@ public final class DefaultPropertyDefinitions {
         definitions[40].setSystem(false);
         definitions[40].setTableType(new XlsNodeTypes[]{XlsNodeTypes.XLS_DT, XlsNodeTypes.XLS_SPREADSHEET, XlsNodeTypes.XLS_TBASIC, XlsNodeTypes.XLS_COLUMN_MATCH, XlsNodeTypes.XLS_METHOD, XlsNodeTypes.XLS_PROPERTIES});
         definitions[40].setType(org.openl.types.java.JavaOpenClass.getOpenClass(java.lang.String.class));
+
+        definitions[41] = new TablePropertyDefinition();
+        definitions[41].setDefaultValue("false");
+        definitions[41].setDescription("If true calculates the independent cells of the Spreadsheet concurrently. By default = false.");
+        definitions[41].setDimensional(false);
+        definitions[41].setDisplayName("Concurrent Cells Calculation");
+        definitions[41].setGroup("Dev");
+        definitions[41].setInheritanceLevel(new InheritanceLevel[]{InheritanceLevel.TABLE});
+        definitions[41].setName("concurrentCells");
+        definitions[41].setPrimaryKey(false);
+        definitions[41].setSecurityFilter("no");
+        definitions[41].setSystem(false);
+        definitions[41].setTableType(new XlsNodeTypes[]{XlsNodeTypes.XLS_SPREADSHEET});
+        definitions[41].setType(org.openl.types.java.JavaOpenClass.getOpenClass(java.lang.Boolean.class));
         // <<< END INSERT TablePropertiesDefinition >>>
     }
 
@@ -98,6 +98,16 @@ public class TBasicContextHolderEnv implements IRuntimeEnv {
         env.pushLocalFrame(frame);
     }
 
+    @Override
+    public Object[] allocateLocalFrame(int size) {
+        return env.allocateLocalFrame(size);
+    }
+
+    @Override
+    public void releaseLocalFrame() {
+        env.releaseLocalFrame();
+    }
+
     @Override
     public void pushThis(Object thisObject) {
         env.pushThis(thisObject);
@@ -0,0 +1,295 @@
+package org.openl.rules.testmethod;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.openl.binding.BindingDependencies;
+import org.openl.binding.impl.module.ModuleOpenClass;
+import org.openl.dependency.CompiledDependency;
+import org.openl.rules.lang.xls.XlsNodeTypes;
+import org.openl.rules.lang.xls.binding.XlsMetaInfo;
+import org.openl.rules.lang.xls.binding.wrapper.IOpenMethodWrapper;
+import org.openl.rules.lang.xls.syntax.TableSyntaxNode;
+import org.openl.rules.lang.xls.syntax.XlsModuleSyntaxNode;
+import org.openl.rules.method.ExecutableRulesMethod;
+import org.openl.rules.table.IGridTable;
+import org.openl.rules.types.OpenMethodDispatcher;
+import org.openl.types.IOpenClass;
+import org.openl.types.IOpenMethod;
+import org.openl.types.impl.ExecutableMethod;
+import org.openl.types.impl.MethodDelegator;
+
+/**
+ * Keeps the results of the test cases, so the test case is not run again while the tables it depends on are not
+ * changed.
+ * <p>
+ * The result of a test case is identified by the digests of the contents of the tables the test depends on: the test
+ * table, the tables of the methods called from it directly or indirectly, including the methods of other modules
+ * which can be dispatched instead of them in the tested class, and the tables which are not methods, e.g. datatypes
+ * and data, of the modules of these methods and of their dependencies. So the result is reused after the module is
+ * recompiled, if the edited tables are not used by the test. The least recently used results are evicted when the
+ * cache is full.
+ */
+public final class TestResultsCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestResultsCache.class);
+
+    private static final int DEFAULT_MAX_SIZE = 100_000;
+
+    private final Map<Key, Outcome> results;
+    private final Map<IOpenClass, Map<TestSuiteMethod, String>> fingerprints = Collections
+            .synchronizedMap(new WeakHashMap<>());
+    private final Map<TableSyntaxNode, String> tableDigests = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<XlsModuleSyntaxNode, String> moduleDigests = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public TestResultsCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize the maximum number of the kept results of the test cases
+     */
+    public TestResultsCache(int maxSize) {
+        this.results = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Outcome> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the result of the test case from the cache or runs the test case.
+     *
+     * @param testSuiteMethod the test table
+     * @param test the test case
+     * @param openClass the class the test case is run in
+     * @param resultBuilder the builder of the returned result
+     * @param runner runs the test case with the given result builder
+     * @return the result of the test case
+     */
+    ITestUnit runTest(TestSuiteMethod testSuiteMethod,
+                      TestDescription test,
+                      IOpenClass openClass,
+                      ITestResultBuilder resultBuilder,
+                      Function<ITestResultBuilder, ITestUnit> runner) {
+        String fingerprint = getFingerprint(testSuiteMethod.getOriginalTestSuiteMethod(), openClass);
+        if (fingerprint == null) {
+            return runner.apply(resultBuilder);
+        }
+        Key key = new Key(fingerprint, test.getIndex());
+        Outcome outcome = results.get(key);
+        if (outcome != null) {
+            return resultBuilder.build(test, outcome.result, outcome.error, outcome.executionTime);
+        }
+        return runner.apply((t, res, error, executionTime) -> {
+            // Errors, e.g. out of memory, do not depend on the rules only
+            if (!(error instanceof Error)) {
+                results.put(key, new Outcome(res, error, executionTime));
+            }
+            return resultBuilder.build(t, res, error, executionTime);
+        });
+    }
+
+    public void clear() {
+        results.clear();
+        fingerprints.clear();
+        tableDigests.clear();
+        moduleDigests.clear();
+    }
+
+    /**
+     * Returns the digest of the tables the test depends on or {@code null} if the dependencies of the test are unknown.
+     */
+    private String getFingerprint(TestSuiteMethod testSuiteMethod, IOpenClass openClass) {
+        if (testSuiteMethod.getSyntaxNode() == null) {
+            return null;
+        }
+        Map<TestSuiteMethod, String> fingerprintsByTest;
+        synchronized (fingerprints) {
+            fingerprintsByTest = fingerprints.computeIfAbsent(openClass, e -> new ConcurrentHashMap<>());
+        }
+        String fingerprint = fingerprintsByTest.get(testSuiteMethod);
+        if (fingerprint == null) {
+            try {
+                fingerprint = collectFingerprint(testSuiteMethod, openClass);
+            } catch (RuntimeException e) {
+                // The bound nodes are not available, e.g. the module is compiled in the execution mode
+                LOG.debug("Failed to collect the dependencies of test '{}'.", testSuiteMethod.getName(), e);
+                return null;
+            }
+            fingerprintsByTest.put(testSuiteMethod, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private String collectFingerprint(TestSuiteMethod testSuiteMethod, IOpenClass openClass) {
+        Map<String, List<IOpenMethod>> methodsByName = new HashMap<>();
+        for (IOpenMethod method : openClass.getMethods()) {
+            methodsByName.computeIfAbsent(method.getName(), e -> new ArrayList<>()).add(method);
+        }
+        Set<String> digests = new TreeSet<>();
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<IOpenMethod> methods = new ArrayDeque<>();
+        methods.add(testSuiteMethod);
+        while (!methods.isEmpty()) {
+            IOpenMethod method = unwrap(methods.poll());
+            if (method == null || !visited.add(method)) {
+                continue;
+            }
+            if (method instanceof OpenMethodDispatcher) {
+                methods.addAll(((OpenMethodDispatcher) method).getCandidates());
+                continue;
+            }
+            if (visited.add(method.getName())) {
+                // The methods of other modules can be dispatched instead of this method in the tested class
+                methods.addAll(methodsByName.getOrDefault(method.getName(), Collections.emptyList()));
+            }
+            if (method instanceof ExecutableRulesMethod) {
+                TableSyntaxNode tableSyntaxNode = ((ExecutableRulesMethod) method).getSyntaxNode();
+                if (tableSyntaxNode != null) {
+                    digests.add(getTableDigest(tableSyntaxNode));
+                }
+            }
+            if (method instanceof ExecutableMethod) {
+                BindingDependencies dependencies = ((ExecutableMethod) method).getDependencies();
+                if (dependencies != null) {
+                    methods.addAll(dependencies.getRulesMethods());
+                }
+            }
+            collectModuleDigests(method.getDeclaringClass(), digests, visited);
+        }
+        return digest(digests);
+    }
+
+    private void collectModuleDigests(IOpenClass module, Set<String> digests, Set<Object> visited) {
+        if (module == null || !visited.add(module)) {
+            return;
+        }
+        if (module.getMetaInfo() instanceof XlsMetaInfo) {
+            XlsModuleSyntaxNode moduleSyntaxNode = ((XlsMetaInfo) module.getMetaInfo()).getXlsModuleNode();
+            if (moduleSyntaxNode != null) {
+                digests.add(getModuleDigest(moduleSyntaxNode));
+            }
+        }
+        if (module instanceof ModuleOpenClass) {
+            for (CompiledDependency dependency : ((ModuleOpenClass) module).getDependencies()) {
+                collectModuleDigests(dependency.getCompiledOpenClass().getOpenClassWithErrors(), digests, visited);
+            }
+        }
+    }
+
+    private static IOpenMethod unwrap(IOpenMethod method) {
+        while (method instanceof IOpenMethodWrapper || method instanceof MethodDelegator) {
+            method = method instanceof IOpenMethodWrapper ? ((IOpenMethodWrapper) method).getDelegate()
+                                                          : method.getMethod();
+        }
+        return method;
+    }
+
+    /**
+     * The digest of the tables of the module which are not methods. Such tables, e.g. datatypes, data, constants and
+     * properties, can be used by any method of the module.
+     */
+    private String getModuleDigest(XlsModuleSyntaxNode moduleSyntaxNode) {
+        return moduleDigests.computeIfAbsent(moduleSyntaxNode, e -> {
+            Set<String> digests = new TreeSet<>();
+            for (TableSyntaxNode tableSyntaxNode : moduleSyntaxNode.getXlsTableSyntaxNodes()) {
+                if (!(tableSyntaxNode.getMember() instanceof IOpenMethod) && !XlsNodeTypes.XLS_OTHER
+                        .equals(tableSyntaxNode.getNodeType())) {
+                    digests.add(getTableDigest(tableSyntaxNode));
+                }
+            }
+            return digest(digests);
+        });
+    }
+
+    private String getTableDigest(TableSyntaxNode tableSyntaxNode) {
+        return tableDigests.computeIfAbsent(tableSyntaxNode, e -> {
+            MessageDigest digest = DigestUtils.getSha256Digest();
+            update(digest, tableSyntaxNode.getUri());
+            IGridTable table = tableSyntaxNode.getGridTable();
+            for (int row = 0; row < table.getHeight(); row++) {
+                for (int col = 0; col < table.getWidth(); col++) {
+                    update(digest, table.getCell(col, row).getStringValue());
+                }
+            }
+            return Hex.encodeHexString(digest.digest());
+        });
+    }
+
+    private static String digest(Set<String> digests) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        for (String value : digests) {
+            update(digest, value);
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // Separates the values, so the digest of "ab", "c" differs from the digest of "a", "bc"
+        digest.update((byte) 0);
+    }
+
+    private static final class Key {
+        private final String fingerprint;
+        private final int index;
+
+        Key(String fingerprint, int index) {
+            this.fingerprint = fingerprint;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return index == key.index && fingerprint.equals(key.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fingerprint, index);
+        }
+    }
+
+    private static final class Outcome {
+        private final Object result;
+        private final Throwable error;
+        private final long executionTime;
+
+        Outcome(Object result, Throwable error, long executionTime) {
+            this.result = result;
+            this.error = error;
+            this.executionTime = executionTime;
+        }
+    }
+}
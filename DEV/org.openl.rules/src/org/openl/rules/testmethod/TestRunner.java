@@ -12,6 +12,10 @@ public class TestRunner {
         this.resultBuilder = resultBuilder;
     }
 
+    ITestResultBuilder getResultBuilder() {
+        return resultBuilder;
+    }
+
     @SuppressWarnings("unchecked")
     public ITestUnit runTest(TestDescription test,
                              Object target,
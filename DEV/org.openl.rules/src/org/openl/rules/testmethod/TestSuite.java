@@ -53,29 +53,40 @@ public class TestSuite implements INamedThing {
     public TestUnitsResults invokeParallel(TestSuiteExecutor testSuiteExecutor,
                                            final IOpenClass openClass,
                                            final int ntimes) {
-        final int THREAD_COUNT = testSuiteExecutor.getThreadCount();
+        return invokeParallel(testSuiteExecutor, openClass, ntimes, null);
+    }
+
+    /**
+     * Runs the test cases in parallel. Every test case is a separate task, so the test cases of the long test suite
+     * are distributed between all threads of the executor.
+     *
+     * @param resultsCache the results of the test cases which have been run before, can be {@code null}
+     */
+    public TestUnitsResults invokeParallel(TestSuiteExecutor testSuiteExecutor,
+                                           final IOpenClass openClass,
+                                           final int ntimes,
+                                           final TestResultsCache resultsCache) {
         Executor threadPoolExecutor = testSuiteExecutor.getExecutor();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
 
         final TestUnitsResults testUnitResults = new TestUnitsResults(this);
-        final CountDownLatch countDownLatch = new CountDownLatch(THREAD_COUNT);
+        final CountDownLatch countDownLatch = new CountDownLatch(getNumberOfTests());
         final ITestUnit[] testUnitResultsArray = new ITestUnit[getNumberOfTests()];
 
-        for (int i = 0; i < THREAD_COUNT; i++) {
-            final int numThread = i;
-            Runnable runnable = () -> {
+        for (int i = 0; i < getNumberOfTests(); i++) {
+            final int test = i;
+            threadPoolExecutor.execute(() -> {
+                ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
                 try {
-                    for (int j = 0; j < getNumberOfTests(); j++) {
-                        if (j % THREAD_COUNT == numThread) {
-                            testUnitResultsArray[j] = executeTest(openClass, j, ntimes);
-                        }
-                    }
+                    Thread.currentThread().setContextClassLoader(classLoader);
+                    testUnitResultsArray[test] = executeTest(openClass, test, ntimes, resultsCache);
                 } catch (Exception e) {
                     e.printStackTrace();
                 } finally {
+                    Thread.currentThread().setContextClassLoader(oldClassLoader);
                     countDownLatch.countDown();
                 }
-            };
-            threadPoolExecutor.execute(runnable);
+            });
         }
         try {
             countDownLatch.await();
@@ -90,10 +101,19 @@ public class TestSuite implements INamedThing {
     }
 
     public TestUnitsResults invokeSequentially(final IOpenClass openClass, int ntimes) {
+        return invokeSequentially(openClass, ntimes, null);
+    }
+
+    /**
+     * @param resultsCache the results of the test cases which have been run before, can be {@code null}
+     */
+    public TestUnitsResults invokeSequentially(final IOpenClass openClass,
+                                               int ntimes,
+                                               TestResultsCache resultsCache) {
 
         TestUnitsResults testUnitResults = new TestUnitsResults(this);
         for (int i = 0; i < getNumberOfTests(); i++) {
-            final ITestUnit testUnit = executeTest(openClass, i, ntimes);
+            final ITestUnit testUnit = executeTest(openClass, i, ntimes, resultsCache);
             testUnitResults.addTestUnit(testUnit);
         }
 
@@ -107,6 +127,23 @@ public class TestSuite implements INamedThing {
         return testRunner.runTest(currentTest, target, env, ntimes);
     }
 
+    private ITestUnit executeTest(IOpenClass openClass, int test, int ntimes, TestResultsCache resultsCache) {
+        if (resultsCache == null || testSuiteMethod == null || ntimes != 1) {
+            // The benchmarks and the tests with the arguments from the user are not cached
+            return executeTest(openClass, test, ntimes);
+        }
+        TestDescription currentTest = getTest(test);
+        return resultsCache.runTest(testSuiteMethod,
+                currentTest,
+                openClass,
+                testRunner.getResultBuilder(),
+                resultBuilder -> {
+                    IRuntimeEnv env = new SimpleRulesVM().getRuntimeEnv();
+                    Object target = openClass.newInstance(env);
+                    return new TestRunner(resultBuilder).runTest(currentTest, target, env, ntimes);
+                });
+    }
+
     public TestUnitsResults invoke(Object target, IRuntimeEnv env) {
         TestUnitsResults testUnitResults = new TestUnitsResults(this);
 
@@ -1,24 +1,20 @@
 package org.openl.rules.testmethod;
 
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
 
+/**
+ * Runs the test cases on a work-stealing pool. The queue of the pool is not bounded, so the test cases of several
+ * test suites can be submitted at once, and idle threads take the test cases of the busy ones.
+ */
 public final class TestSuiteExecutor {
-    private static final int QUEUE_SIZE = 2000;
 
-    private final ThreadPoolExecutor executor;
+    private final ForkJoinPool executor;
     private final int threadCount;
 
     public TestSuiteExecutor(int threadCount) {
         this.threadCount = threadCount;
-        this.executor = new ThreadPoolExecutor(threadCount,
-                threadCount,
-                1L,
-                TimeUnit.MINUTES, new ArrayBlockingQueue<>(QUEUE_SIZE),
-                new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.allowCoreThreadTimeOut(true);
+        this.executor = new ForkJoinPool(threadCount);
     }
 
     public Executor getExecutor() {
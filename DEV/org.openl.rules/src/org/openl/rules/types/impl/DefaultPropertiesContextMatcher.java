@@ -1,6 +1,8 @@
 package org.openl.rules.types.impl;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openl.rules.context.IRulesRuntimeContext;
@@ -8,7 +10,7 @@ import org.openl.rules.table.properties.ITableProperties;
 
 public class DefaultPropertiesContextMatcher implements IPropertiesContextMatcher {
 
-    private final Map<String, MatchingConstraint<?, ?>> constraints = new HashMap<>();
+    private final Map<String, MatchingConstraint<?, ?>> constraints = new LinkedHashMap<>();
 
     public DefaultPropertiesContextMatcher() {
         initialize();
@@ -24,6 +26,17 @@ public class DefaultPropertiesContextMatcher implements IPropertiesContextMatche
         return mc.match(props, context);
     }
 
+    /**
+     * @return the names of the properties which have the constraints
+     */
+    public List<String> getPropertyNames() {
+        return new ArrayList<>(constraints.keySet());
+    }
+
+    public MatchingConstraint<?, ?> getConstraint(String propName) {
+        return constraints.get(propName);
+    }
+
     @Override
     public void addConstraint(String propertyName, MatchingConstraint<?, ?> ctr) {
         constraints.put(propertyName, ctr);
@@ -0,0 +1,178 @@
+package org.openl.rules.types.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openl.rules.context.IRulesRuntimeContext;
+import org.openl.rules.table.properties.ITableProperties;
+import org.openl.rules.table.properties.PropertiesHelper;
+import org.openl.types.IOpenMethod;
+
+/**
+ * Index of the candidates of {@link MatchingOpenMethodDispatcher} by the dimension properties.
+ * <p>
+ * The properties are compared with the context values by {@code compareTo()} only, so the result of the matching is
+ * the same for all context values located between the same two neighbour property values of the candidates. Such
+ * interval is used as a normalized context value. It is a key of the precomputed set of the matched candidates and a
+ * part of the key of the resolved methods cache shared between all runtime contexts.
+ */
+final class DispatchIndex {
+
+    private static final int MAX_CACHED_CONTEXTS = 4096;
+    private static final int NULL_VALUE = -1;
+    private static final int NOT_INDEXED = 0;
+
+    private final List<IOpenMethod> candidates;
+    private final PropertyIndex[] properties;
+    private final Map<ContextKey, IOpenMethod> cache = new ConcurrentHashMap<>();
+
+    DispatchIndex(List<IOpenMethod> candidates, DefaultPropertiesContextMatcher matcher) {
+        this.candidates = candidates;
+        ITableProperties[] tableProperties = new ITableProperties[candidates.size()];
+        for (int i = 0; i < tableProperties.length; i++) {
+            tableProperties[i] = PropertiesHelper.getTableProperties(candidates.get(i));
+        }
+        List<String> names = matcher.getPropertyNames();
+        properties = new PropertyIndex[names.size()];
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = new PropertyIndex(matcher.getConstraint(names.get(i)), tableProperties);
+        }
+    }
+
+    List<IOpenMethod> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Builds the normalized key of the context.
+     */
+    ContextKey key(IRulesRuntimeContext context) {
+        int[] codes = new int[properties.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = properties[i].code(context);
+        }
+        return new ContextKey(codes);
+    }
+
+    /**
+     * Selects the candidates which properties match the context.
+     *
+     * @return matched candidates in the order of the dispatcher
+     */
+    Set<IOpenMethod> select(ContextKey key, IRulesRuntimeContext context) {
+        BitSet selected = new BitSet(candidates.size());
+        selected.set(0, candidates.size());
+        for (int i = 0; i < properties.length && !selected.isEmpty(); i++) {
+            int code = key.codes[i];
+            if (code != NULL_VALUE && code != NOT_INDEXED) {
+                selected.and(properties[i].matched(code, context));
+            }
+        }
+        Set<IOpenMethod> result = new LinkedHashSet<>();
+        selected.stream().forEach(i -> result.add(candidates.get(i)));
+        return result;
+    }
+
+    IOpenMethod getCachedMethod(ContextKey key) {
+        return cache.get(key);
+    }
+
+    void cacheMethod(ContextKey key, IOpenMethod method) {
+        // The number of the keys is restricted by the number of the property values of the candidates, but it can be
+        // big for the dispatchers with a lot of versions.
+        if (cache.size() < MAX_CACHED_CONTEXTS) {
+            cache.put(key, method);
+        }
+    }
+
+    static final class ContextKey {
+        private final int[] codes;
+        private final int hash;
+
+        private ContextKey(int[] codes) {
+            this.codes = codes;
+            this.hash = Arrays.hashCode(codes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ContextKey that = (ContextKey) o;
+            return hash == that.hash && Arrays.equals(codes, that.codes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class PropertyIndex {
+        private final MatchingConstraint<Object, Object> constraint;
+        private final Object[] propertyValues;
+        // Sorted distinct property values of all candidates
+        private final Comparable<Object>[] bounds;
+        private final Map<Integer, BitSet> matched = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        PropertyIndex(MatchingConstraint<?, ?> constraint, ITableProperties[] tableProperties) {
+            this.constraint = (MatchingConstraint<Object, Object>) constraint;
+            this.propertyValues = new Object[tableProperties.length];
+            TreeSet<Comparable<Object>> values = new TreeSet<>();
+            for (int i = 0; i < propertyValues.length; i++) {
+                Object value = this.constraint.getPropertyValue(tableProperties[i]);
+                propertyValues[i] = value;
+                if (value instanceof Object[]) {
+                    for (Object element : (Object[]) value) {
+                        values.add((Comparable<Object>) element);
+                    }
+                } else if (value != null) {
+                    values.add((Comparable<Object>) value);
+                }
+            }
+            this.bounds = values.toArray(new Comparable[0]);
+        }
+
+        /**
+         * @return {@link #NULL_VALUE} if the context value is not defined, {@link #NOT_INDEXED} if the property is not
+         *         defined for all candidates, otherwise the position of the context value among the property values
+         */
+        int code(IRulesRuntimeContext context) {
+            Object value = constraint.getContextValue(context);
+            if (value == null) {
+                return NULL_VALUE;
+            }
+            if (bounds.length == 0) {
+                return NOT_INDEXED;
+            }
+            int i = Arrays.binarySearch(bounds, value);
+            // Even codes are for the values equal to one of the bounds, odd codes are for the values between them
+            return i >= 0 ? 2 * i + 2 : 2 * (-i - 1) + 1;
+        }
+
+        BitSet matched(int code, IRulesRuntimeContext context) {
+            return matched.computeIfAbsent(code, c -> {
+                // Any context value with the same code gives the same result
+                Object value = constraint.getContextValue(context);
+                BitSet result = new BitSet(propertyValues.length);
+                for (int i = 0; i < propertyValues.length; i++) {
+                    if (constraint.matchValues(propertyValues[i], value) != MatchingResult.NO_MATCH) {
+                        result.set(i);
+                    }
+                }
+                return result;
+            });
+        }
+    }
+}
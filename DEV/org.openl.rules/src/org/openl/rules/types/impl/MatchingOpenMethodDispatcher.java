@@ -3,7 +3,6 @@ package org.openl.rules.types.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -32,12 +31,14 @@ public class MatchingOpenMethodDispatcher extends OpenMethodDispatcher {
     // to hold a new instance of that objects for every of thousands of
     // MatchingOpenMethodDispatchers. That's why
     // they were made static.
-    private static final IPropertiesContextMatcher matcher = new DefaultPropertiesContextMatcher();
+    private static final DefaultPropertiesContextMatcher matcher = new DefaultPropertiesContextMatcher();
     private static final DefaultTablePropertiesSorter prioritySorter = new DefaultTablePropertiesSorter();
     private static final DefaultPropertiesIntersectionFinder intersectionMatcher = new DefaultPropertiesIntersectionFinder();
 
     private List<IOpenMethod> candidatesSorted;
 
+    private volatile DispatchIndex dispatchIndex;
+
     private IOpenMethod decisionTableOpenMethod;
 
     public IOpenMethod getDecisionTableOpenMethod() {
@@ -59,14 +60,21 @@ public class MatchingOpenMethodDispatcher extends OpenMethodDispatcher {
     public void addMethod(IOpenMethod candidate) {
         super.addMethod(candidate);
         candidatesSorted = null;
+        dispatchIndex = null;
     }
 
     @Override
     protected IOpenMethod findMatchingMethod(List<IOpenMethod> candidates, IRuntimeContext context) {
-        Set<IOpenMethod> selected = new HashSet<>(candidates);
+        IRulesRuntimeContext rulesContext = (IRulesRuntimeContext) context;
+        DispatchIndex index = getDispatchIndex(candidates);
+        DispatchIndex.ContextKey key = index.key(rulesContext);
+        IOpenMethod method = index.getCachedMethod(key);
+        if (method != null) {
+            return method;
+        }
 
-        selectCandidates(selected, (IRulesRuntimeContext) context);
-        maxMinSelectCandidates(selected, (IRulesRuntimeContext) context);
+        Set<IOpenMethod> selected = index.select(key, rulesContext);
+        maxMinSelectCandidates(selected, rulesContext);
 
         switch (selected.size()) {
             case 0:
@@ -77,9 +85,11 @@ public class MatchingOpenMethodDispatcher extends OpenMethodDispatcher {
                         context.toString(),
                         candidateMethod.getName()));
             case 1:
-                return selected.iterator().next();
+                method = selected.iterator().next();
+                index.cacheMethod(key, method);
+                return method;
             default:
-                IOpenMethod method = selected.iterator().next();
+                method = selected.iterator().next();
                 throw new OpenLRuntimeException(
                         String.format("Ambiguous dispatch for method '%3$s'. Details: \n%1$s\nContext: %2$s",
                                 toString(selected),
@@ -89,6 +99,16 @@ public class MatchingOpenMethodDispatcher extends OpenMethodDispatcher {
 
     }
 
+    private DispatchIndex getDispatchIndex(List<IOpenMethod> candidates) {
+        DispatchIndex index = dispatchIndex;
+        if (index == null || index.getCandidates() != candidates) {
+            // The candidates are not changed after the compilation, so the index is built once
+            index = new DispatchIndex(candidates, matcher);
+            dispatchIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public TableSyntaxNode getDispatcherTable() {
         if (decisionTableOpenMethod == null) {
@@ -233,27 +253,6 @@ public class MatchingOpenMethodDispatcher extends OpenMethodDispatcher {
         return 0;
     }
 
-    private void selectCandidates(Set<IOpenMethod> selected, IRulesRuntimeContext context) {
-        List<IOpenMethod> nomatched = new ArrayList<>();
-
-        List<String> notNullPropertyNames = getNotNullPropertyNames(context);
-
-        for (IOpenMethod method : selected) {
-            ITableProperties props = PropertiesHelper.getTableProperties(method);
-
-            for (String propName : notNullPropertyNames) {
-                MatchingResult res = matcher.match(propName, props, context);
-
-                if (MatchingResult.NO_MATCH.equals(res)) {
-                    nomatched.add(method);
-                    break;
-                }
-            }
-        }
-
-        nomatched.forEach(selected::remove);
-    }
-
     private String toString(Collection<IOpenMethod> methods) {
 
         StringBuilder builder = new StringBuilder();
@@ -6,13 +6,21 @@ import org.openl.vm.IRuntimeEnv;
 
 public class SimpleRulesRuntimeEnvMT extends SimpleRuntimeEnv {
     private final SimpleRuntimeEnv delegate;
+    private final int depth;
 
+    /**
+     * Creates the environment of a task forked from the given environment. It must be called in the thread of the given
+     * environment, the environments share the current local frame and the context stack.
+     */
     public SimpleRulesRuntimeEnvMT(SimpleRuntimeEnv delegate) {
+        this(delegate,
+            delegate instanceof SimpleRulesRuntimeEnvMT ? ((SimpleRulesRuntimeEnvMT) delegate).depth + 1 : 1);
+    }
+
+    private SimpleRulesRuntimeEnvMT(SimpleRuntimeEnv delegate, int depth) {
+        super(delegate);
         this.delegate = delegate;
-        pushThis(delegate.getThis());
-        this.contextStack = delegate.cloneContextStack();
-        pushContext(delegate.getContext());
-        pushLocalFrame(delegate.getLocalFrame());
+        this.depth = depth;
     }
 
     @Override
@@ -22,7 +30,14 @@ public class SimpleRulesRuntimeEnvMT extends SimpleRuntimeEnv {
 
     @Override
     public SimpleRulesRuntimeEnvMT copy() {
-        return new SimpleRulesRuntimeEnvMT(this);
+        return new SimpleRulesRuntimeEnvMT(this, depth);
+    }
+
+    /**
+     * @return the number of the parallel calls this environment is nested in
+     */
+    public int getDepth() {
+        return depth;
     }
 
     @Override
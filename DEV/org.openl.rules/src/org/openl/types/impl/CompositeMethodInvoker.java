@@ -8,6 +8,7 @@ import org.openl.binding.IBoundMethodNode;
 import org.openl.binding.IBoundNode;
 import org.openl.binding.impl.ABoundNode;
 import org.openl.binding.impl.BlockNode;
+import org.openl.binding.impl.BoundNodeCompiler;
 import org.openl.binding.impl.ControlSignalReturn;
 import org.openl.types.Invokable;
 import org.openl.vm.IRuntimeEnv;
@@ -42,6 +43,9 @@ public class CompositeMethodInvoker implements Invokable {
         }
         if (expressionNode != null) {
             this.methodBodyBoundNode = null;
+            if (BoundNodeCompiler.isEnabled()) {
+                expressionNode = BoundNodeCompiler.compile(expressionNode);
+            }
         }
 
     }
@@ -0,0 +1,76 @@
+package org.openl.vm;
+
+import java.util.Arrays;
+
+/**
+ * Pool of the local frames of one runtime environment. The frames are grouped by their size and are reused in LIFO
+ * order, so the frames of the deep call chains do not produce garbage on every call.
+ * <p>
+ * The frames are pooled by the exact size, because the invokers rely on the length of the local frame. This class is
+ * not thread-safe, it is used by one environment only.
+ *
+ * @see SimpleRuntimeEnv#allocateLocalFrame(int)
+ */
+final class FrameArena {
+
+    static final Object[] EMPTY_FRAME = {};
+
+    // the frames of larger sizes are rare, they are not pooled
+    static final int MAX_POOLED_SIZE = 64;
+    // the limit of the pooled frames of one size
+    static final int MAX_POOLED_FRAMES = 1024;
+
+    private static final int INITIAL_SLAB_SIZE = 8;
+
+    private final Object[][][] slabs = new Object[MAX_POOLED_SIZE + 1][][];
+    private final int[] counts = new int[MAX_POOLED_SIZE + 1];
+
+    Object[] allocate(int size) {
+        if (size == 0) {
+            return EMPTY_FRAME;
+        }
+        if (size <= MAX_POOLED_SIZE) {
+            int count = counts[size];
+            if (count > 0) {
+                Object[][] slab = slabs[size];
+                counts[size] = --count;
+                Object[] frame = slab[count];
+                slab[count] = null;
+                return frame;
+            }
+        }
+        return new Object[size];
+    }
+
+    void release(Object[] frame) {
+        int size = frame.length;
+        if (size == 0 || size > MAX_POOLED_SIZE) {
+            return;
+        }
+        int count = counts[size];
+        if (count == MAX_POOLED_FRAMES) {
+            return;
+        }
+        Object[][] slab = slabs[size];
+        if (slab == null) {
+            slabs[size] = slab = new Object[INITIAL_SLAB_SIZE][];
+        } else if (count == slab.length) {
+            slabs[size] = slab = Arrays.copyOf(slab, Math.min(count * 2, MAX_POOLED_FRAMES));
+        }
+        // Do not keep the values of the finished calls
+        Arrays.fill(frame, null);
+        slab[count] = frame;
+        counts[size] = count + 1;
+    }
+
+    /**
+     * @return the number of the frames ready for reuse
+     */
+    int getPooledCount() {
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+}
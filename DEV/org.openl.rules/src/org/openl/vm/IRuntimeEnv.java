@@ -25,6 +25,26 @@ public interface IRuntimeEnv {
 
     void pushLocalFrame(Object[] frame);
 
+    /**
+     * Pushes a new local frame of the given size. The environment can reuse the frame after
+     * {@link #releaseLocalFrame()}, so the frame must not be referenced after that.
+     *
+     * @param size the size of the frame
+     * @return the pushed frame filled with {@code null}
+     */
+    default Object[] allocateLocalFrame(int size) {
+        Object[] frame = new Object[size];
+        pushLocalFrame(frame);
+        return frame;
+    }
+
+    /**
+     * Pops the local frame pushed by {@link #allocateLocalFrame(int)}.
+     */
+    default void releaseLocalFrame() {
+        popLocalFrame();
+    }
+
     void pushThis(Object thisObject);
 
     /**
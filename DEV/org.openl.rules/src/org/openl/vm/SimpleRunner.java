@@ -27,17 +27,14 @@ class SimpleRunner implements IOpenRunner {
     public Object run(IBoundMethodNode node, Object[] params, IRuntimeEnv env) {
         int frameSize = node.getLocalFrameSize();
 
-        Object[] frame = new Object[frameSize];
-
-        if (params != null && params.length > 0) {
-            System.arraycopy(params, 0, frame, 0, params.length);
-        }
-
+        Object[] frame = env.allocateLocalFrame(frameSize);
         try {
-            env.pushLocalFrame(frame);
+            if (params != null && params.length > 0) {
+                System.arraycopy(params, 0, frame, 0, params.length);
+            }
             return node.evaluate(env);
         } finally {
-            env.popLocalFrame();
+            env.releaseLocalFrame();
         }
     }
 
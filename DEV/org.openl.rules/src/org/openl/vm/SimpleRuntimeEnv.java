@@ -1,8 +1,9 @@
 package org.openl.vm;
 
 import java.util.ArrayDeque;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.concurrent.RecursiveAction;
 
 import org.openl.IOpenRunner;
@@ -11,6 +12,16 @@ import org.openl.rules.lang.xls.binding.wrapper.IRulesMethodWrapper;
 import org.openl.runtime.IRuntimeContext;
 import org.openl.types.IOpenClass;
 
+/**
+ * The runtime environment of the rules executed in one thread.
+ * <p>
+ * The local frames pushed with {@link #allocateLocalFrame(int)} are taken from the {@link FrameArena} of the
+ * environment and are returned to it on {@link #releaseLocalFrame()}. A frame which is shared with a copy of the
+ * environment or is used while tracing is not reused, because the copy or the trace can still refer to it.
+ * <p>
+ * The context stack is an immutable linked list, so the copies of the environment share it with the original one and
+ * the changes of the context in one of them are not visible in the others.
+ */
 public class SimpleRuntimeEnv implements IRuntimeEnv {
 
     private static final Object[] NO_PARAMS = {};
@@ -19,10 +30,13 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
     private final IOpenRunner runner;
     protected final ArrayDeque<Object> thisStack = new ArrayDeque<>();
     protected final ArrayDeque<Object[]> frameStack = new ArrayDeque<>();
-    protected ArrayDeque<IRuntimeContext> contextStack;
+    private ContextNode contextStack;
+    private FrameArena frameArena;
+    // the levels of the frame stack which are shared with the copies of the environment
+    private BitSet sharedFrames;
     private IOpenClass topClass;
     private IRulesMethodWrapper methodWrapper;
-    private Queue<RecursiveAction> actionStack = null;
+    private ArrayDeque<RecursiveAction> actionStack = null;
 
     public SimpleRuntimeEnv() {
         this(SimpleRunner.SIMPLE_RUNNER, 0, NO_PARAMS);
@@ -31,14 +45,17 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
     SimpleRuntimeEnv(IOpenRunner runner, int frameSize, Object[] params) {
         Object[] aLocalFrame = new Object[frameSize];
         this.runner = runner;
-        contextStack = new ArrayDeque<>();
         System.arraycopy(params, 0, aLocalFrame, 0, params.length);
         pushLocalFrame(aLocalFrame);
         pushContext(buildDefaultRuntimeContext());
     }
 
     public ArrayDeque<IRuntimeContext> cloneContextStack() {
-        return new ArrayDeque<>(contextStack);
+        ArrayDeque<IRuntimeContext> result = new ArrayDeque<>();
+        for (ContextNode node = contextStack; node != null; node = node.next) {
+            result.add(node.context);
+        }
+        return result;
     }
 
     private IRuntimeContext buildDefaultRuntimeContext() {
@@ -64,11 +81,18 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
 
     public void pushAction(RecursiveAction action) {
         if (actionStack == null) {
-            actionStack = new LinkedList<>();
+            actionStack = new ArrayDeque<>();
         }
         actionStack.add(action);
     }
 
+    /**
+     * @return the number of the actions which are not joined yet
+     */
+    public int getActionCount() {
+        return actionStack != null ? actionStack.size() : 0;
+    }
+
     public boolean joinActionIfExists() {
         if (actionStack != null && !actionStack.isEmpty()) {
             RecursiveAction action = actionStack.poll();
@@ -89,9 +113,21 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
 
     public SimpleRuntimeEnv(SimpleRuntimeEnv env) {
         this.runner = SimpleRunner.SIMPLE_RUNNER;
-        contextStack = new ArrayDeque<>(env.contextStack);
+        contextStack = env.contextStack;
+        methodWrapper = env.methodWrapper;
         pushThis(env.getThis());
-        pushLocalFrame(env.getLocalFrame());
+        pushLocalFrame(env.shareLocalFrame());
+    }
+
+    /**
+     * @return the current local frame, it is never reused by the arena of this environment
+     */
+    private Object[] shareLocalFrame() {
+        if (sharedFrames == null) {
+            sharedFrames = new BitSet();
+        }
+        sharedFrames.set(frameStack.size());
+        return getLocalFrame();
     }
 
     /*
@@ -129,6 +165,35 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
         frameStack.push(frame);
     }
 
+    @Override
+    public Object[] allocateLocalFrame(int size) {
+        if (frameArena == null) {
+            frameArena = new FrameArena();
+        }
+        Object[] frame = frameArena.allocate(size);
+        frameStack.push(frame);
+        return frame;
+    }
+
+    @Override
+    public void releaseLocalFrame() {
+        int level = frameStack.size();
+        Object[] frame = frameStack.pop();
+        if (sharedFrames != null && sharedFrames.get(level)) {
+            sharedFrames.clear(level);
+        } else if (frameArena != null && !Tracer.isEnabled()) {
+            // The trace can keep the frame values
+            frameArena.release(frame);
+        }
+    }
+
+    /**
+     * @return the number of the local frames ready for reuse
+     */
+    public int getPooledFrameCount() {
+        return frameArena != null ? frameArena.getPooledCount() : 0;
+    }
+
     @Override
     public void pushThis(Object thisObject) {
         thisStack.push(thisObject == null ? NULL_THIS : thisObject); // To prevent NPE
@@ -136,7 +201,7 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
 
     @Override
     public IRuntimeContext getContext() {
-        return contextStack.peek();
+        return contextStack != null ? contextStack.context : null;
     }
 
     @Override
@@ -144,18 +209,22 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
         if (context == null) {
             context = buildDefaultRuntimeContext();
         }
-        contextStack.clear();
-        pushContext(context);
+        contextStack = new ContextNode(context, null);
     }
 
     @Override
     public IRuntimeContext popContext() {
-        return contextStack.pop();
+        if (contextStack == null) {
+            throw new NoSuchElementException();
+        }
+        IRuntimeContext context = contextStack.context;
+        contextStack = contextStack.next;
+        return context;
     }
 
     @Override
     public void pushContext(IRuntimeContext context) {
-        contextStack.push(context);
+        contextStack = new ContextNode(Objects.requireNonNull(context), contextStack);
     }
 
     @Override
@@ -172,4 +241,14 @@ public class SimpleRuntimeEnv implements IRuntimeEnv {
     public SimpleRuntimeEnv copy() {
         return new SimpleRuntimeEnv(this);
     }
+
+    private static final class ContextNode {
+        private final IRuntimeContext context;
+        private final ContextNode next;
+
+        private ContextNode(IRuntimeContext context, ContextNode next) {
+            this.context = context;
+            this.next = next;
+        }
+    }
 }
@@ -0,0 +1,164 @@
+package org.openl.binding.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.binding.IBoundNode;
+import org.openl.binding.impl.cast.CastFactory;
+import org.openl.exception.OpenLRuntimeException;
+import org.openl.rules.operator.Comparison;
+import org.openl.rules.operator.Operators;
+import org.openl.types.IOpenClass;
+import org.openl.types.java.JavaOpenClass;
+import org.openl.types.java.JavaOpenMethod;
+import org.openl.vm.IRuntimeEnv;
+import org.openl.vm.SimpleRuntimeEnv;
+
+public class BoundNodeCompilerTest {
+
+    private final IRuntimeEnv env = new SimpleRuntimeEnv();
+
+    @Test
+    public void testPrimitiveArithmetic() {
+        // (x + 2) * x - 1
+        IBoundNode x = new ValueNode(5, JavaOpenClass.INT);
+        IBoundNode node = operator(Operators.class,
+                "subtract",
+                operator(Operators.class, "multiply", operator(Operators.class, "add", x, literal(2)), x),
+                literal(1));
+        assertCompiled(34, node);
+
+        IBoundNode y = new ValueNode(1.5, JavaOpenClass.DOUBLE);
+        assertCompiled(3.0, operator(Operators.class, "add", y, y));
+        assertCompiled(2.5, operator(Operators.class, "divide", literal(5), literal(2)));
+    }
+
+    @Test
+    public void testComparison() {
+        IBoundNode x = new ValueNode(5L, JavaOpenClass.LONG);
+        IBoundNode y = new ValueNode(7L, JavaOpenClass.LONG);
+        assertCompiled(true, operator(Comparison.class, "lt", x, y));
+        assertCompiled(false, operator(Comparison.class, "ge", x, y));
+        assertCompiled(true, operator(Comparison.class, "ne", x, y));
+
+        IBoundNode d = new ValueNode(0.1 + 0.2, JavaOpenClass.DOUBLE);
+        assertCompiled(true, operator(Comparison.class, "eq", d, new ValueNode(0.3, JavaOpenClass.DOUBLE)));
+    }
+
+    @Test
+    public void testWideningCast() {
+        IBoundNode x = new ValueNode(3, JavaOpenClass.INT);
+        IBoundNode cast = new CastNode(null,
+                x,
+                CastFactory.create().getCast(JavaOpenClass.INT, JavaOpenClass.DOUBLE),
+                JavaOpenClass.DOUBLE);
+        assertCompiled(4.5, operator(Operators.class, "add", cast, new ValueNode(1.5, JavaOpenClass.DOUBLE)));
+    }
+
+    @Test
+    public void testStaticMethod() throws Exception {
+        IBoundNode max = new MethodBoundNode(null,
+                new JavaOpenMethod(Math.class.getMethod("max", int.class, int.class)),
+                new ValueNode(3, JavaOpenClass.INT),
+                literal(4));
+        assertCompiled(4, max);
+
+        IBoundNode format = new MethodBoundNode(null,
+                new JavaOpenMethod(String.class.getMethod("valueOf", Object.class)),
+                new ValueNode(0, JavaOpenClass.OBJECT));
+        assertCompiled("0", format);
+    }
+
+    @Test
+    public void testSameExceptions() throws Exception {
+        IBoundNode failed = new MethodBoundNode(null,
+                new JavaOpenMethod(Math.class.getMethod("floorDiv", int.class, int.class)),
+                literal(1),
+                new ValueNode(0, JavaOpenClass.INT));
+        IBoundNode node = operator(Operators.class, "add", literal(1), failed);
+        IBoundNode compiled = BoundNodeCompiler.compile(node);
+        assertNotSame(node, compiled);
+
+        OpenLRuntimeException expected = assertThrows(OpenLRuntimeException.class, () -> node.evaluate(env));
+        OpenLRuntimeException actual = assertThrows(OpenLRuntimeException.class, () -> compiled.evaluate(env));
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertSame(expected.getCause().getClass(), actual.getCause().getClass());
+
+        IBoundNode interpreted = operator(Operators.class, "add", literal(1), new ErrorNode());
+        OpenLRuntimeException expectedInterpreted = assertThrows(OpenLRuntimeException.class,
+                () -> interpreted.evaluate(env));
+        OpenLRuntimeException actualInterpreted = assertThrows(OpenLRuntimeException.class,
+                () -> BoundNodeCompiler.compile(interpreted).evaluate(env));
+        assertEquals(expectedInterpreted.getMessage(), actualInterpreted.getMessage());
+        assertSame(expectedInterpreted.getCause().getClass(), actualInterpreted.getCause().getClass());
+    }
+
+    @Test
+    public void testNotCompiled() {
+        IBoundNode x = new ValueNode(5, JavaOpenClass.INT);
+        assertSame(x, BoundNodeCompiler.compile(x));
+        IBoundNode literal = literal(1);
+        assertSame(literal, BoundNodeCompiler.compile(literal));
+    }
+
+    private void assertCompiled(Object expected, IBoundNode node) {
+        IBoundNode compiled = BoundNodeCompiler.compile(node);
+        assertNotSame(node, compiled);
+        assertSame(node, compiled.getChildren()[0]);
+        assertEquals(node.getType(), compiled.getType());
+        assertEquals(expected, node.evaluate(env));
+        assertEquals(expected, compiled.evaluate(env));
+    }
+
+    private static IBoundNode literal(int value) {
+        return new LiteralBoundNode(null, value, JavaOpenClass.INT);
+    }
+
+    private static IBoundNode operator(Class<?> operators, String name, IBoundNode left, IBoundNode right) {
+        Class<?>[] types = {left.getType().getInstanceClass(), right.getType().getInstanceClass()};
+        try {
+            return new BinaryOpNode(null, left, right, new JavaOpenMethod(operators.getMethod(name, types)));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * The node which is not supported by the compiler.
+     */
+    private static class ValueNode extends ABoundNode {
+        private final Object value;
+        private final IOpenClass type;
+
+        ValueNode(Object value, IOpenClass type) {
+            super(null);
+            this.value = value;
+            this.type = type;
+        }
+
+        @Override
+        protected Object evaluateRuntime(IRuntimeEnv env) {
+            return value;
+        }
+
+        @Override
+        public IOpenClass getType() {
+            return type;
+        }
+    }
+
+    private static class ErrorNode extends ValueNode {
+        ErrorNode() {
+            super(0, JavaOpenClass.INT);
+        }
+
+        @Override
+        protected Object evaluateRuntime(IRuntimeEnv env) {
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
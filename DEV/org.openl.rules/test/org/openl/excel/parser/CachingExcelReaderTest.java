@@ -0,0 +1,179 @@
+package org.openl.excel.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.openl.rules.table.GridRegion;
+
+public class CachingExcelReaderTest {
+    private static final String FOLDER = FolderUtils.getResourcesFolder();
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    public void cachedXlsx() throws IOException {
+        checkCache(FOLDER + "small.xlsx");
+    }
+
+    @Test
+    public void cachedXls() throws IOException {
+        checkCache(FOLDER + "small.xls");
+    }
+
+    @Test
+    public void brokenSnapshotIsReplaced() throws IOException {
+        String fileName = FOLDER + "small.xlsx";
+        read(fileName, new AtomicInteger());
+        Path snapshot = getSnapshot();
+        Files.write(snapshot, new byte[] { 1, 2, 3 });
+
+        AtomicInteger parsed = new AtomicInteger();
+        assertCellsEqual(fileName, read(fileName, parsed));
+        assertEquals(1, parsed.get());
+
+        parsed.set(0);
+        read(fileName, parsed);
+        assertEquals(0, parsed.get());
+    }
+
+    @Test
+    public void invalidLengthIsRejected() throws IOException {
+        String fileName = FOLDER + "small.xlsx";
+        read(fileName, new AtomicInteger());
+        Path snapshot = getSnapshot();
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(snapshot))) {
+            out.writeUTF("OPENL-GRID-1");
+            out.writeBoolean(false);
+            out.writeInt(1);
+            out.writeInt(0);
+            out.writeUTF("Sheet1");
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(0);
+            out.writeInt(0);
+            // A string of 2 GB
+            out.writeByte(1);
+            out.writeInt(Integer.MAX_VALUE);
+        }
+
+        AtomicInteger parsed = new AtomicInteger();
+        assertCellsEqual(fileName, read(fileName, parsed));
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    public void usedSnapshotIsTouched() throws IOException {
+        String fileName = FOLDER + "small.xlsx";
+        read(fileName, new AtomicInteger());
+        Path snapshot = getSnapshot();
+        FileTime lastUsed = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+        Files.setLastModifiedTime(snapshot, lastUsed);
+
+        AtomicInteger parsed = new AtomicInteger();
+        read(fileName, parsed);
+        assertEquals(0, parsed.get());
+        assertTrue(Files.getLastModifiedTime(snapshot).compareTo(lastUsed) > 0);
+    }
+
+    @Test
+    public void leastRecentlyUsedSnapshotsAreEvicted() throws IOException {
+        read(FOLDER + "small.xlsx", new AtomicInteger());
+        read(FOLDER + "small.xls", new AtomicInteger());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(2, files.count());
+        }
+
+        // Only the most recent snapshot is kept if the snapshots exceed the maximum size
+        String fileName = FOLDER + "ArrayIndexTest.xlsx";
+        read(fileName, new AtomicInteger(), 1);
+        Path snapshot = getSnapshot();
+
+        AtomicInteger parsed = new AtomicInteger();
+        assertCellsEqual(fileName, read(fileName, parsed, 1));
+        assertEquals(0, parsed.get());
+        assertEquals(snapshot, getSnapshot());
+    }
+
+    private void checkCache(String fileName) throws IOException {
+        AtomicInteger parsed = new AtomicInteger();
+        assertCellsEqual(fileName, read(fileName, parsed));
+        assertEquals(1, parsed.get());
+        assertNotNull(getSnapshot());
+
+        parsed.set(0);
+        assertCellsEqual(fileName, read(fileName, parsed));
+        assertEquals(0, parsed.get(), "Workbook must not be parsed again");
+
+        try (ExcelReader reader = new CachingExcelReader(fileName,
+                cacheDir,
+                Long.MAX_VALUE,
+                factory(fileName, parsed))) {
+            SheetDescriptor sheet = reader.getSheets().get(0);
+            assertNotNull(reader.getTableStyles(sheet, new GridRegion(0, 0, 1, 1)));
+        }
+    }
+
+    private Object[][][] read(String fileName, AtomicInteger parsed) {
+        return read(fileName, parsed, Long.MAX_VALUE);
+    }
+
+    private Object[][][] read(String fileName, AtomicInteger parsed, long maxSize) {
+        try (ExcelReader reader = new CachingExcelReader(fileName, cacheDir, maxSize, factory(fileName, parsed))) {
+            List<? extends SheetDescriptor> sheets = reader.getSheets();
+            Object[][][] cells = new Object[sheets.size()][][];
+            for (SheetDescriptor sheet : sheets) {
+                cells[sheet.getIndex()] = reader.getCells(sheet);
+            }
+            return cells;
+        }
+    }
+
+    private static void assertCellsEqual(String fileName, Object[][][] cells) {
+        try (ExcelReader reader = ExcelReaderFactory.sequentialFactory().create(fileName)) {
+            List<? extends SheetDescriptor> sheets = reader.getSheets();
+            assertEquals(sheets.size(), cells.length);
+            for (SheetDescriptor sheet : sheets) {
+                assertArrayEquals(reader.getCells(sheet),
+                        cells[sheet.getIndex()],
+                        "Cells are not equal for sheet '" + sheet.getName() + "'");
+            }
+        }
+    }
+
+    private Path getSnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            List<Path> snapshots = files.toList();
+            assertEquals(1, snapshots.size());
+            return snapshots.get(0);
+        }
+    }
+
+    private static Supplier<ExcelReader> factory(String fileName, AtomicInteger parsed) {
+        return () -> {
+            parsed.incrementAndGet();
+            return ExcelReaderFactory.sequentialFactory().create(fileName);
+        };
+    }
+}
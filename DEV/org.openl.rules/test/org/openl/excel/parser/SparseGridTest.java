@@ -0,0 +1,78 @@
+package org.openl.excel.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SparseGridTest {
+
+    @Test
+    public void testSetAndGet() {
+        SparseGrid grid = new SparseGrid();
+        grid.set(5000, 3, "a");
+        grid.set(5000, 1, "b");
+        grid.set(5000, 2, "c");
+        grid.set(2, 7, 10);
+        grid.set(5000, 2, null);
+        grid.set(100_000, 0, null);
+        assertEquals(3, grid.getCellCount());
+
+        // Outside the region
+        assertNull(grid.get(5000, 3));
+
+        grid.setRegion(0, 0, 100_000, 10);
+        assertEquals("a", grid.get(5000, 3));
+        assertEquals("b", grid.get(5000, 1));
+        assertNull(grid.get(5000, 2));
+        assertEquals(10, grid.get(2, 7));
+        assertNull(grid.get(3, 7));
+        assertNull(grid.get(99_999, 0));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.set(-1, 0, "x"));
+    }
+
+    @Test
+    public void testRegion() {
+        SparseGrid grid = new SparseGrid();
+        grid.set(1, 1, "a");
+        grid.set(1, 4, "b");
+        grid.set(3, 2, "c");
+        grid.set(4, 2, "d");
+        grid.setRegion(1, 2, 3, 2);
+
+        assertTrue(grid.contains(1, 2));
+        assertTrue(grid.contains(3, 3));
+        assertFalse(grid.contains(1, 1));
+        assertFalse(grid.contains(4, 2));
+        assertFalse(grid.contains(1, 4));
+
+        List<Object> values = new ArrayList<>();
+        grid.forEach((row, col, value) -> values.add(row + ":" + col + "=" + value));
+        assertEquals(List.of("3:2=c"), values);
+        assertArrayEquals(new Object[][] { { null, null }, { null, null }, { "c", null } }, grid.toArray());
+    }
+
+    @Test
+    public void testOf() {
+        Object[][] cells = { { "a", null, MergedCell.MERGE_WITH_LEFT }, { null, null, null }, { 1, 2.5, null } };
+        SparseGrid grid = SparseGrid.of(cells, 10, 20);
+        assertEquals(10, grid.getFirstRow());
+        assertEquals(20, grid.getFirstColumn());
+        assertEquals(3, grid.getHeight());
+        assertEquals(3, grid.getWidth());
+        assertEquals(4, grid.getCellCount());
+        assertEquals(MergedCell.MERGE_WITH_LEFT, grid.get(10, 22));
+        assertEquals(2.5, grid.get(12, 21));
+        assertArrayEquals(cells, grid.toArray());
+
+        assertEquals(0, SparseGrid.of(new Object[0][], 0, 0).toArray().length);
+    }
+}
@@ -2,16 +2,20 @@ package org.openl.excel.parser.sax;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import org.openl.excel.parser.AlignedValue;
 import org.openl.excel.parser.ExcelReader;
 import org.openl.excel.parser.ExcelReaderFactory;
 import org.openl.excel.parser.FolderUtils;
 import org.openl.excel.parser.MergedCell;
 import org.openl.excel.parser.SheetDescriptor;
+import org.openl.excel.parser.SparseGrid;
+import org.openl.excel.parser.dom.DOMReader;
 
 public class SheetOptimizationTest {
     @Test
@@ -51,4 +55,60 @@ public class SheetOptimizationTest {
         assertEquals(MergedCell.MERGE_WITH_LEFT, sheet3[5][19]);
         assertNull(sheet3[9][19]);
     }
+
+    @Test
+    public void sparseGrid() {
+        String file = FolderUtils.getResourcesFolder() + "sheet-optimization.xlsx";
+        ExcelReader reader = ExcelReaderFactory.sequentialFactory().create(file);
+        List<? extends SheetDescriptor> sheets = reader.getSheets();
+        // The cells read by the DOM reader are the expected ones
+        DOMReader domReader = new DOMReader(file);
+        List<? extends SheetDescriptor> domSheets = domReader.getSheets();
+        assertEquals(domSheets.size(), sheets.size());
+        for (int i = 0; i < sheets.size(); i++) {
+            SheetDescriptor sheet = sheets.get(i);
+            SheetDescriptor domSheet = domSheets.get(i);
+            Object[][] expected = domReader.getCells(domSheet);
+            SparseGrid grid = reader.getGrid(sheet);
+            // Every value read by the DOM reader is in the grid. The merged regions and the formatted cells without
+            // values are skipped by the sequential reader, so they are checked only in the grid.
+            for (int row = 0; row < expected.length; row++) {
+                for (int col = 0; col < expected[row].length; col++) {
+                    if (hasValue(expected[row][col])) {
+                        int r = domSheet.getFirstRowNum() + row, c = domSheet.getFirstColNum() + col;
+                        assertEquals(expected[row][col],
+                                grid.get(r, c),
+                                () -> String.format("Sheet '%s', row %s, column %s", sheet.getName(), r, c));
+                    }
+                }
+            }
+            // Every cell of the grid is read by the DOM reader as well
+            Object[][] actual = grid.toArray();
+            for (int row = 0; row < actual.length; row++) {
+                for (int col = 0; col < actual[row].length; col++) {
+                    if (actual[row][col] != null) {
+                        int r = grid.getFirstRow() + row, c = grid.getFirstColumn() + col;
+                        int domRow = r - domSheet.getFirstRowNum(), domCol = c - domSheet.getFirstColNum();
+                        String message = String.format("Sheet '%s', row %s, column %s", sheet.getName(), r, c);
+                        assertTrue(domRow >= 0 && domRow < expected.length, message);
+                        assertTrue(domCol >= 0 && domCol < expected[domRow].length, message);
+                        assertEquals(expected[domRow][domCol], actual[row][col], message);
+                    }
+                }
+            }
+        }
+
+        SheetDescriptor sheet3 = sheets.get(2);
+        SparseGrid grid = reader.getGrid(sheet3);
+        assertEquals("S3", grid.get(sheet3.getFirstRowNum() + 5, sheet3.getFirstColNum() + 17));
+        assertEquals(MergedCell.MERGE_WITH_LEFT, grid.get(sheet3.getFirstRowNum() + 5, sheet3.getFirstColNum() + 19));
+        assertNull(grid.get(sheet3.getFirstRowNum() + 9, sheet3.getFirstColNum() + 19));
+    }
+
+    private static boolean hasValue(Object cell) {
+        if (cell instanceof AlignedValue alignedValue) {
+            return alignedValue.getValue() != null;
+        }
+        return cell != null && !(cell instanceof MergedCell);
+    }
 }
@@ -0,0 +1,84 @@
+package org.openl.rules.calc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.openl.CompiledOpenClass;
+import org.openl.rules.runtime.RulesEngineFactory;
+import org.openl.types.IOpenClass;
+import org.openl.types.java.JavaOpenClass;
+
+public class SpreadsheetCellLevelsTest {
+
+    static final String SRC = "test/rules/calc1/ConcurrentCells.xlsx";
+
+    private static IOpenClass openClass;
+
+    @BeforeAll
+    public static void setUp() {
+        RulesEngineFactory<?> engineFactory = new RulesEngineFactory<>(SRC);
+        engineFactory.setExecutionMode(false);
+        CompiledOpenClass compiledOpenClass = engineFactory.getCompiledOpenClass();
+        assertFalse(compiledOpenClass.hasErrors(), () -> compiledOpenClass.getAllMessages().toString());
+        openClass = compiledOpenClass.getOpenClass();
+    }
+
+    static Spreadsheet getSpreadsheet(IOpenClass openClass, String name) {
+        return (Spreadsheet) openClass.getMethod(name,
+                new IOpenClass[]{JavaOpenClass.getOpenClass(Integer.class)});
+    }
+
+    @Test
+    public void testLevels() {
+        SpreadsheetCellLevels cellLevels = getSpreadsheet(openClass, "Levels").getCellLevels();
+        int width = cellLevels.getWidth();
+        // A and B are independent, C refers to both of them, D refers to C. The constant cell is not calculated.
+        assertArrayEquals(new int[][]{{0, width}, {2 * width}, {3 * width}}, cellLevels.getLevels());
+
+        assertEquals(rows(width, 0, 1, 2, 3), cellLevels.getRequiredCells(3, 0));
+        assertEquals(rows(width, 0, 1, 2), cellLevels.getRequiredCells(2, 0));
+        assertEquals(rows(width, 1), cellLevels.getRequiredCells(1, 0));
+        assertEquals(new BitSet(), cellLevels.getRequiredCells(4, 0));
+    }
+
+    @Test
+    public void testCyclicReferences() {
+        SpreadsheetCellLevels cellLevels = getSpreadsheet(openClass, "Cyclic").getCellLevels();
+        int width = cellLevels.getWidth();
+        // A and B refer to each other, D refers to B, so only C is included into the levels
+        assertArrayEquals(new int[][]{{2 * width}}, cellLevels.getLevels());
+        assertEquals(rows(width, 0, 1, 2, 3), cellLevels.getRequiredCells(3, 0));
+        assertEquals(rows(width, 0, 1), cellLevels.getRequiredCells(0, 0));
+    }
+
+    @Test
+    public void testSharedCell() {
+        SpreadsheetCellLevels cellLevels = getSpreadsheet(openClass, "Shared").getCellLevels();
+        int width = cellLevels.getWidth();
+        assertArrayEquals(new int[][]{{0}, {width, 2 * width, 3 * width}, {4 * width}}, cellLevels.getLevels());
+    }
+
+    @Test
+    public void testModulePropertiesDoNotEnableConcurrentCells() {
+        // The module has the 'parallel' property, but the spreadsheet does not have the 'concurrentCells' property
+        assertNull(getSpreadsheet(openClass, "Inherited").getCellLevels());
+    }
+
+    /**
+     * The cells of the first column in the given rows.
+     */
+    private static BitSet rows(int width, int... rows) {
+        BitSet cells = new BitSet();
+        for (int row : rows) {
+            cells.set(row * width);
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,179 @@
+package org.openl.rules.calc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.classloader.ClassLoaderUtils;
+import org.openl.rules.TestUtils;
+
+public class SpreadsheetResultBeanTest {
+
+    private static final String SRC = "test/rules/calc1/SpreadsheetResultBeans.xlsx";
+
+    private static final int SIZE = 600;
+
+    @Test
+    public void testManyFields() throws Exception {
+        String[] rows = new String[SIZE];
+        String[] columns = {"Value"};
+        Object[][] values = new Object[SIZE][1];
+        List<SpreadsheetResultBeanByteCodeGenerator.FieldDescription> fields = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            rows[i] = "Row" + i;
+            values[i][0] = i % 2 == 0 ? i : null;
+            fields.add(new SpreadsheetResultBeanByteCodeGenerator.FieldDescription("java.lang.Integer", rows[i], "Value"));
+        }
+        SpreadsheetResult spreadsheetResult = new SpreadsheetResult(values, rows, columns, rows, columns, null);
+
+        String className = "org.openl.generated.spreadsheetresults.ManyFields";
+        Class<?> beanClass = ClassLoaderUtils.defineClass(className,
+                SpreadsheetResultBeanByteCodeGenerator.byteCode(className, fields),
+                getClass().getClassLoader());
+
+        // 600 fields are set by 3 methods
+        assertNotNull(beanClass
+                .getDeclaredMethod("putValues$2", HashMap.class, SpreadsheetResult.class, BiFunction.class));
+        assertThrows(NoSuchMethodException.class,
+                () -> beanClass
+                        .getDeclaredMethod("putValues$3", HashMap.class, SpreadsheetResult.class, BiFunction.class));
+
+        Object bean = CustomSpreadsheetResultOpenClass.createBean(beanClass, spreadsheetResult, null);
+        assertInstanceOf(SpreadsheetResultBean.class, bean);
+
+        // Reading of the cells does not fill the bean
+        assertEquals(4, ((SpreadsheetResultBean) bean).readCell("$Value$Row4", Integer.class));
+        assertNull(((SpreadsheetResultBean) bean).readCell("$Value$Row5", Integer.class));
+        assertEquals(0, getValues(bean).size());
+
+        // The getters fill the bean with all values
+        assertEquals(598, beanClass.getMethod("getValueRow598").invoke(bean));
+        assertNull(beanClass.getMethod("getValueRow599").invoke(bean));
+        assertEquals(SIZE, getValues(bean).size());
+        for (int i = 0; i < SIZE; i += 97) {
+            assertEquals(values[i][0], beanClass.getMethod("getValueRow" + i).invoke(bean));
+            assertEquals(values[i][0], ((SpreadsheetResultBean) bean).readCell("$Value$Row" + i, Integer.class));
+        }
+
+        // The setters change the filled bean
+        bean = CustomSpreadsheetResultOpenClass.createBean(beanClass, spreadsheetResult, null);
+        beanClass.getMethod("setValueRow1", Integer.class).invoke(bean, 42);
+        assertEquals(42, beanClass.getMethod("getValueRow1").invoke(bean));
+        assertEquals(42, ((SpreadsheetResultBean) bean).readCell("$Value$Row1", Integer.class));
+        assertEquals(2, beanClass.getMethod("getValueRow2").invoke(bean));
+
+        // The values are written by the serialization
+        bean = CustomSpreadsheetResultOpenClass.createBean(beanClass, spreadsheetResult, null);
+        Object copy = deserialize(serialize(bean), beanClass.getClassLoader());
+        assertEquals(SIZE, getValues(copy).size());
+        assertEquals(200, beanClass.getMethod("getValueRow200").invoke(copy));
+        assertEquals(200, ((SpreadsheetResultBean) copy).readCell("$Value$Row200", Integer.class));
+    }
+
+    @Test
+    public void testNestedBeans() throws Exception {
+        ITest instance = TestUtils.create(SRC, ITest.class);
+        SpreadsheetResult outer = instance.Outer(3);
+        Object bean = outer.getCustomSpreadsheetResultOpenClass().createBean(outer);
+
+        Object inner = ((SpreadsheetResultBean) bean).readCell("$Value$First Item", Object.class);
+        assertInstanceOf(SpreadsheetResultBean.class, inner);
+        assertEquals(6, ((SpreadsheetResultBean) inner).readCell("$Value$Amount", Integer.class));
+        assertEquals("item 3", ((SpreadsheetResultBean) inner).readCell("$Value$Item Label", String.class));
+        assertEquals(0, getValues(bean).size());
+    }
+
+    @Test
+    public void testResultModelFieldsByNamingStrategy() {
+        ITest instance = TestUtils.create(SRC, ITest.class);
+        SpreadsheetResult first = instance.Outer(3);
+        SpreadsheetResult second = instance.Outer(5);
+        CustomSpreadsheetResultOpenClass type = first.getCustomSpreadsheetResultOpenClass();
+        assertSame(type, second.getCustomSpreadsheetResultOpenClass());
+
+        Map<String, Object> map = first.toMap(false, null);
+        assertEquals(4, map.size());
+        assertEquals(4.5, map.get("Value_Total_Sum"));
+        assertEquals("total", map.get("Description_Total_Sum"));
+        assertEquals(1, type.resultModelFields.size());
+        SpreadsheetResult.ResultModelFields fields = type.resultModelFields.values().iterator().next();
+
+        SpreadsheetResultBeanPropertyNamingStrategy upperCase = new UpperCaseStrategy();
+        map = first.toMap(false, upperCase);
+        assertEquals(4, map.size());
+        assertEquals(4.5, map.get("VALUE_TOTAL_SUM"));
+        assertEquals("first", map.get("DESCRIPTION_FIRST_ITEM"));
+        assertEquals(2, type.resultModelFields.size());
+        SpreadsheetResult.ResultModelFields upperCaseFields = type.resultModelFields.get(upperCase);
+
+        // The fields are reused for the results of the same type
+        map = second.toMap(false, upperCase);
+        assertEquals(7.5, map.get("VALUE_TOTAL_SUM"));
+        assertSame(upperCaseFields, type.resultModelFields.get(upperCase));
+        map = second.toMap(false, null);
+        assertEquals(7.5, map.get("Value_Total_Sum"));
+        assertEquals(2, type.resultModelFields.size());
+        assertTrue(type.resultModelFields.containsValue(fields));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> getValues(Object bean) throws ReflectiveOperationException {
+        Field field = bean.getClass().getDeclaredField("values");
+        field.setAccessible(true);
+        return (Map<Object, Object>) field.get(bean);
+    }
+
+    private static byte[] serialize(Object bean) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(bean);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes, ClassLoader classLoader) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                return Class.forName(desc.getName(), false, classLoader);
+            }
+        }) {
+            return in.readObject();
+        }
+    }
+
+    private static final class UpperCaseStrategy implements SpreadsheetResultBeanPropertyNamingStrategy {
+        @Override
+        public String transform(String name) {
+            return name.toUpperCase();
+        }
+
+        @Override
+        public String transform(String column, String row) {
+            return transform(column) + "_" + transform(row);
+        }
+    }
+
+    public interface ITest {
+        SpreadsheetResult Outer(Integer n);
+    }
+}
@@ -0,0 +1,174 @@
+package org.openl.rules.calc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.openl.CompiledOpenClass;
+import org.openl.rules.runtime.RulesEngineFactory;
+import org.openl.rules.vm.SimpleRulesVM;
+import org.openl.types.IDynamicObject;
+import org.openl.types.IOpenClass;
+import org.openl.vm.IRuntimeEnv;
+
+public class SpreadsheetResultCalculatorMTTest {
+
+    private static final int THREADS = 8;
+
+    private static final Map<String, AtomicInteger> CALLS = new ConcurrentHashMap<>();
+    private static volatile long delay;
+
+    private static IOpenClass openClass;
+
+    /**
+     * Called from the cells of the test spreadsheets. Counts the calculations of every cell.
+     */
+    public static int call(String cell, int value) throws InterruptedException {
+        CALLS.computeIfAbsent(cell, k -> new AtomicInteger()).incrementAndGet();
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value");
+        }
+        return value;
+    }
+
+    @BeforeAll
+    public static void setUp() {
+        RulesEngineFactory<?> engineFactory = new RulesEngineFactory<>(SpreadsheetCellLevelsTest.SRC);
+        engineFactory.setExecutionMode(false);
+        CompiledOpenClass compiledOpenClass = engineFactory.getCompiledOpenClass();
+        assertFalse(compiledOpenClass.hasErrors(), "There are compilation errors in test");
+        openClass = compiledOpenClass.getOpenClass();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CALLS.clear();
+        delay = 0;
+    }
+
+    @Test
+    public void testCyclicReferences() {
+        SpreadsheetResult result = invoke("Cyclic", 1);
+        assertEquals(1, result.getValue(0, 0));
+        assertEquals(2, result.getValue(1, 0));
+        assertEquals(10, result.getValue(2, 0));
+        assertEquals(12, result.getValue(3, 0));
+    }
+
+    @Test
+    public void testOnlyReturnCellIsCalculated() {
+        assertEquals(18, (Integer) invoke("ReturnOnly", 2));
+        assertEquals(1, CALLS.get("A").get());
+        assertEquals(1, CALLS.get("B").get());
+        assertNull(CALLS.get("Unused"));
+    }
+
+    @Test
+    public void testSharedCellIsCalculatedOnce() {
+        SpreadsheetResult result = invoke("Shared", 1);
+        assertEquals(9, result.getValue(4, 0));
+        assertEquals(1, CALLS.get("Shared").get());
+        assertEquals(1, CALLS.get("A").get());
+        assertEquals(1, CALLS.get("B").get());
+        assertEquals(1, CALLS.get("C").get());
+    }
+
+    @Test
+    public void testConcurrentRequestsOfCell() throws Exception {
+        delay = 200;
+        List<Future<Object>> results = requestConcurrently(createCalculator(1), 0, 0);
+        for (Future<Object> result : results) {
+            assertEquals(1, result.get(10, TimeUnit.SECONDS));
+        }
+        // The first thread calculates the cell, other threads wait for its result
+        assertEquals(1, CALLS.get("Shared").get());
+    }
+
+    @Test
+    public void testFailureIsReportedToWaitingThreads() throws Exception {
+        delay = 200;
+        SpreadsheetResultCalculatorMT calculator = createCalculator(-1);
+        List<Future<Object>> results = requestConcurrently(calculator, 0, 0);
+        for (Future<Object> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(RuntimeException.class, e.getCause());
+        }
+        assertEquals(1, CALLS.get("Shared").get());
+
+        // The failed cell is not memoized and is calculated again on the next request
+        delay = 0;
+        assertThrows(RuntimeException.class, () -> calculator.getValue(0, 0, new SimpleRulesVM().getRuntimeEnv()));
+        assertEquals(2, CALLS.get("Shared").get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T invoke(String name, Integer a) {
+        IRuntimeEnv env = new SimpleRulesVM().getRuntimeEnv();
+        Object target = openClass.newInstance(env);
+        return (T) SpreadsheetCellLevelsTest.getSpreadsheet(openClass, name).invoke(target, new Object[]{a}, env);
+    }
+
+    private static SpreadsheetResultCalculatorMT createCalculator(Integer a) {
+        IRuntimeEnv env = new SimpleRulesVM().getRuntimeEnv();
+        Spreadsheet spreadsheet = SpreadsheetCellLevelsTest.getSpreadsheet(openClass, "Shared");
+        return new SpreadsheetResultCalculatorMT(spreadsheet,
+                (IDynamicObject) openClass.newInstance(env),
+                new Object[]{a},
+                env,
+                new SpreadsheetInvoker(spreadsheet).preFetchResult(spreadsheet),
+                spreadsheet.getCellLevels());
+    }
+
+    /**
+     * Requests the cell from several threads at the same time. Every thread uses its own runtime environment.
+     */
+    private static List<Future<Object>> requestConcurrently(SpreadsheetResultCalculatorMT calculator,
+            int row,
+            int column) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Object>> requests = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                requests.add(() -> {
+                    IRuntimeEnv env = new SimpleRulesVM().getRuntimeEnv();
+                    start.await();
+                    return calculator.getValue(row, column, env);
+                });
+            }
+            List<Future<Object>> results = new ArrayList<>();
+            for (Callable<Object> request : requests) {
+                results.add(threads.submit(request));
+            }
+            start.countDown();
+            threads.shutdown();
+            assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+            return results;
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.openl.rules.cmatch.matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.cmatch.test.TestEnum;
+import org.openl.rules.helpers.IntRange;
+
+public class MatchIndexTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testNumberMatch() {
+        NumberMatchMatcher matcher = new NumberMatchMatcher(Integer.class, IntRange.class);
+        Object[] checkValues = new Object[200];
+        for (int i = 0; i < checkValues.length; i++) {
+            int value = random.nextInt(50);
+            switch (random.nextInt(3)) {
+                case 0:
+                    checkValues[i] = value;
+                    break;
+                case 1:
+                    checkValues[i] = new IntRange(value, value + random.nextInt(10));
+                    break;
+                default:
+                    // empty cell
+            }
+        }
+        Object[] vars = new Object[62];
+        for (int i = 0; i < 60; i++) {
+            vars[i] = i - 5;
+        }
+        vars[60] = 10L;
+        assertSameAsMatcher(matcher, checkValues, vars);
+    }
+
+    @Test
+    public void testEnumMatch() {
+        EnumMatchMatcher matcher = new EnumMatchMatcher(TestEnum.class);
+        TestEnum[] values = TestEnum.values();
+        Object[] checkValues = new Object[100];
+        for (int i = 0; i < checkValues.length; i++) {
+            checkValues[i] = random.nextInt(4) == 0 ? null : values[random.nextInt(values.length - 1)];
+        }
+        Object[] vars = new Object[values.length + 1];
+        System.arraycopy(values, 0, vars, 0, values.length);
+        assertSameAsMatcher(matcher, checkValues, vars);
+    }
+
+    @Test
+    public void testMinMax() {
+        Object[] checkValues = new Object[150];
+        for (int i = 0; i < checkValues.length; i++) {
+            checkValues[i] = random.nextInt(5) == 0 ? null : random.nextInt(100);
+        }
+        Object[] vars = new Object[103];
+        for (int i = 0; i < 102; i++) {
+            vars[i] = i - 1;
+        }
+        assertSameAsMatcher(new ClassMinMaxMatcher<>(Integer.class, true), checkValues, vars);
+        assertSameAsMatcher(new ClassMinMaxMatcher<>(Integer.class, false), checkValues, vars);
+    }
+
+    @Test
+    public void testEmptyRow() {
+        ClassMinMaxMatcher<Integer> matcher = new ClassMinMaxMatcher<>(Integer.class, true);
+        assertEquals(-1, matcher.buildIndex(new Object[0]).next(1, 0));
+        assertEquals(-1, new NumberMatchMatcher(Integer.class, IntRange.class).buildIndex(new Object[0]).next(1, 0));
+    }
+
+    private static void assertSameAsMatcher(IMatcher matcher, Object[] checkValues, Object[] vars) {
+        IMatchIndex index = matcher.buildIndex(checkValues);
+        for (Object var : vars) {
+            for (int from = 0; from <= checkValues.length; from++) {
+                int expected = -1;
+                for (int i = from; i < checkValues.length; i++) {
+                    if (matcher.match(var, checkValues[i])) {
+                        expected = i;
+                        break;
+                    }
+                }
+                assertEquals(expected, index.next(var, from), "var=" + var + ", from=" + from);
+            }
+        }
+    }
+}
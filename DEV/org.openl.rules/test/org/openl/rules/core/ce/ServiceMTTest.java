@@ -0,0 +1,136 @@
+package org.openl.rules.core.ce;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.vm.SimpleRuntimeEnv;
+
+public class ServiceMTTest {
+
+    @Test
+    public void testVirtualThreads() {
+        ServiceMT serviceMT = ServiceMT.virtualThreads("test", Integer.MAX_VALUE, Integer.MAX_VALUE);
+        try {
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            Set<ServiceMT> instances = ConcurrentHashMap.newKeySet();
+            SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+            for (int i = 0; i < 10; i++) {
+                serviceMT.execute(env, e -> {
+                    threads.add(Thread.currentThread());
+                    instances.add(ServiceMT.getInstance());
+                });
+            }
+            serviceMT.join(env);
+
+            assertTrue(threads.stream().allMatch(Thread::isVirtual));
+            // nested parallel calls use the same executor
+            assertEquals(Set.of(serviceMT), instances);
+            assertEquals(10, serviceMT.getForkedCount());
+            assertEquals(0, serviceMT.getInlinedCount());
+        } finally {
+            serviceMT.shutdown();
+        }
+    }
+
+    @Test
+    public void testMetricsArePublishedWithJMX() throws Exception {
+        ServiceMT serviceMT = ServiceMT.forkJoin(2, 1, Integer.MAX_VALUE);
+        try {
+            MBeanServer server = MBeanServerFactory.newMBeanServer();
+            ObjectName name = new ObjectName("test:type=" + ServiceMT.MBEAN_TYPE);
+            server.registerMBean(serviceMT, name);
+
+            SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+            serviceMT.execute(env, e -> {
+                ServiceMT.getInstance().execute(e, e1 -> {
+                });
+                ServiceMT.getInstance().join(e);
+            });
+            serviceMT.join(env);
+
+            assertEquals(false, server.getAttribute(name, "VirtualThreads"));
+            assertEquals(2, server.getAttribute(name, "Parallelism"));
+            assertEquals(1L, server.getAttribute(name, "ForkedCount"));
+            assertEquals(1L, server.getAttribute(name, "InlinedCount"));
+            assertEquals(0L, server.getAttribute(name, "QueuedTaskCount"));
+            assertTrue((Long) server.getAttribute(name, "StealCount") >= 0);
+            assertTrue((Integer) server.getAttribute(name, "ActiveThreadCount") >= 0);
+        } finally {
+            serviceMT.shutdown();
+        }
+    }
+
+    @Test
+    public void testNestedCallsAreLimited() {
+        ServiceMT serviceMT = ServiceMT.forkJoin(2, 1, Integer.MAX_VALUE);
+        try {
+            AtomicInteger nested = new AtomicInteger();
+            SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+            serviceMT.execute(env, e -> {
+                Thread thread = Thread.currentThread();
+                ServiceMT.getInstance().execute(e, e1 -> {
+                    assertSame(thread, Thread.currentThread());
+                    nested.incrementAndGet();
+                });
+                ServiceMT.getInstance().join(e);
+            });
+            serviceMT.join(env);
+
+            assertEquals(1, nested.get());
+            assertEquals(1, serviceMT.getForkedCount());
+            assertEquals(1, serviceMT.getInlinedCount());
+        } finally {
+            serviceMT.shutdown();
+        }
+    }
+
+    @Test
+    public void testFanOutIsLimited() {
+        ServiceMT serviceMT = ServiceMT.forkJoin(2, Integer.MAX_VALUE, 3);
+        try {
+            AtomicInteger executed = new AtomicInteger();
+            SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+            for (int i = 0; i < 10; i++) {
+                serviceMT.execute(env, e -> executed.incrementAndGet());
+            }
+            assertEquals(3, env.getActionCount());
+            serviceMT.join(env);
+
+            assertEquals(10, executed.get());
+            assertEquals(3, serviceMT.getForkedCount());
+            assertEquals(7, serviceMT.getInlinedCount());
+            assertEquals(0, env.getActionCount());
+        } finally {
+            serviceMT.shutdown();
+        }
+    }
+
+    @Test
+    public void testCurrentInstance() {
+        ServiceMT shared = ServiceMT.getInstance();
+        ServiceMT serviceMT = ServiceMT.forkJoin(1, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        try {
+            ServiceMT previous = ServiceMT.setCurrent(serviceMT);
+            try {
+                assertSame(serviceMT, ServiceMT.getInstance());
+            } finally {
+                ServiceMT.setCurrent(previous);
+            }
+            assertSame(shared, ServiceMT.getInstance());
+            assertNotSame(shared, serviceMT);
+        } finally {
+            serviceMT.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.openl.rules.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.message.OpenLMessage;
+import org.openl.rules.TestUtils;
+
+public class CsvDataTest {
+
+    @Test
+    public void testDataFromCsv() {
+        ITestI instance = TestUtils.create("test/rules/data/CsvDataTest.xlsx", ITestI.class);
+
+        Customer[] customers = instance.getCustomers();
+        assertEquals(3, customers.length);
+
+        assertEquals("John", customers[0].getFirstName());
+        assertEquals("Smith", customers[0].getLastName());
+        assertEquals(35, customers[0].getAge());
+
+        assertEquals("Mary \"M\"", customers[1].getFirstName());
+        assertNull(customers[1].getLastName());
+        assertEquals(41, customers[1].getAge());
+
+        assertEquals("Multi\nLine", customers[2].getFirstName());
+        assertEquals("Doe", customers[2].getLastName());
+        assertEquals(7, customers[2].getAge());
+    }
+
+    @Test
+    public void testErrors() {
+        OpenLMessage[] messages = TestUtils
+                .collectErrorMessagesFromFileProcessing("test/rules/data/CsvDataErrorsTest.xlsx");
+        TestUtils.assertErrorMessagesArePresent(messages,
+                "File 'missing.csv' is not found.",
+                "File '../customers.csv' must be located in the folder of the Excel file.",
+                "File '/etc/hosts' must be located in the folder of the Excel file.",
+                "Failed to read file 'broken.csv'. The quoted value started at line 2 is not closed.",
+                "Data table with data from a file must be horizontal and must contain only the field names and the column titles.");
+    }
+
+    public interface ITestI {
+        Customer[] getCustomers();
+    }
+}
@@ -0,0 +1,167 @@
+package org.openl.rules.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.exception.OpenLRuntimeException;
+import org.openl.rules.helpers.Lookups;
+
+public class DataIndexTest {
+
+    @Test
+    public void testFind() {
+        Customer[] data = customers(1000);
+        DataIndex age = new DataIndex(data, DataIndex.getField(data, "age"));
+        DataIndex lastName = new DataIndex(data, DataIndex.getField(data, "lastName"));
+
+        for (int i = -1; i < 60; i++) {
+            assertArrayEquals(Lookups.lookupAll(data, "age", i), DataIndex.select(data, age.find(i)));
+        }
+        assertArrayEquals(Lookups.lookupAll(data, "age", 30), DataIndex.select(data, age.find(30.0)));
+        assertArrayEquals(Lookups.lookupAll(data, "age", 30), DataIndex.select(data, age.find(new BigDecimal("30.00"))));
+        assertEquals(0, age.find(30.5).length);
+
+        assertArrayEquals(Lookups.lookupAll(data, "lastName", "Name7"), DataIndex.select(data, lastName.find("Name7")));
+        assertArrayEquals(Lookups.lookupAll(data, "lastName", null), DataIndex.select(data, lastName.find(null)));
+        assertEquals(0, lastName.find("Unknown").length);
+        assertNull(Lookups.lookup(data, "lastName", "Unknown"));
+    }
+
+    @Test
+    public void testFindRange() {
+        Customer[] data = customers(1000);
+        DataIndex age = new DataIndex(data, DataIndex.getField(data, "age"));
+        DataIndex lastName = new DataIndex(data, DataIndex.getField(data, "lastName"));
+
+        for (int from = -1; from < 60; from += 7) {
+            for (int to = from - 2; to < 60; to += 5) {
+                assertArrayEquals(Lookups.lookupRange(data, "age", from, to),
+                        DataIndex.select(data, age.findRange(from, to)));
+            }
+            assertArrayEquals(Lookups.lookupRange(data, "age", from, null),
+                    DataIndex.select(data, age.findRange(from, null)));
+            assertArrayEquals(Lookups.lookupRange(data, "age", null, from + 0.5),
+                    DataIndex.select(data, age.findRange(null, from + 0.5)));
+        }
+        assertArrayEquals(Lookups.lookupRange(data, "lastName", "Name2", "Name5"),
+                DataIndex.select(data, lastName.findRange("Name2", "Name5")));
+        assertEquals(0, lastName.findRange("Name5", "Name2").length);
+    }
+
+    @Test
+    public void testNormalize() {
+        Double value = 2.5;
+        assertSame(value, DataIndex.normalize(value));
+        assertEquals(2L, DataIndex.normalize(2.0));
+        assertEquals(0L, DataIndex.normalize(-0.0));
+        assertEquals(2.5, DataIndex.normalize(2.5f));
+        assertEquals(2.5, DataIndex.normalize(new BigDecimal("2.50")));
+        assertEquals(0.1, DataIndex.normalize(new BigDecimal("0.1")));
+        assertEquals(Long.MAX_VALUE, DataIndex.normalize(BigInteger.valueOf(Long.MAX_VALUE)));
+        assertEquals(1e20, DataIndex.normalize(BigInteger.TEN.pow(20)));
+        assertEquals(new BigDecimal("0.10000000000000000001"),
+                DataIndex.normalize(new BigDecimal("0.10000000000000000001")));
+    }
+
+    @Test
+    public void testFindRangeByValue() {
+        // The numbers which are equal as double values
+        Amount[] longs = amounts(9007199254740993L, 9007199254740992L, 1L);
+        assertRange(longs, 9007199254740993L, null, 0);
+        assertRange(longs, null, 9007199254740992L, 1, 2);
+        assertRange(longs, 9007199254740992.0, null, 0, 1);
+        assertRange(longs, 1.5, new BigDecimal("9007199254740992.5"), 1);
+
+        Amount[] doubles = amounts(0.1, 0.2, 0.3, -0.0);
+        assertRange(doubles, new BigDecimal("0.1"), new BigDecimal("0.2"), 0, 1);
+        assertRange(doubles, 0.0, 0.1, 0, 3);
+        assertRange(doubles, 0, null, 0, 1, 2, 3);
+
+        Amount[] mixed = amounts(1, 2.5, new BigDecimal("3"), BigInteger.valueOf(4), 5L);
+        assertRange(mixed, 2.5, 3L, 1, 2);
+        assertRange(mixed, new BigDecimal("2.50"), 4, 1, 2, 3);
+        assertRange(mixed, Double.NEGATIVE_INFINITY, 1.0, 0);
+        assertRange(mixed, 4.5, Double.POSITIVE_INFINITY, 4);
+        assertThrows(OpenLRuntimeException.class, () -> index(mixed).findRange("1", null));
+    }
+
+    @Test
+    public void testModifiedRows() {
+        Customer[] data = customers(100);
+        DataIndex age = new DataIndex(data, DataIndex.getField(data, "age"));
+        int[] found = age.find(data[0].getAge());
+        assertFalse(age.isModified(data, found));
+
+        data[found[0]].setAge(data[found[0]].getAge() + 100);
+        assertTrue(age.isModified(data, found));
+        data[found[0]].setAge(data[found[0]].getAge() - 100);
+        assertFalse(age.isModified(data, found));
+
+        data[found[0]] = new Customer();
+        assertTrue(age.isModified(data, found));
+    }
+
+    @Test
+    public void testUnknownField() {
+        Customer[] data = customers(10);
+        assertThrows(OpenLRuntimeException.class, () -> DataIndex.getField(data, "unknown"));
+        assertThrows(OpenLRuntimeException.class, () -> Lookups.lookup(data, "unknown", 1));
+    }
+
+    private static void assertRange(Amount[] data, Object from, Object to, int... expected) {
+        assertArrayEquals(expected, index(data).findRange(from, to));
+        assertArrayEquals(DataIndex.select(data, expected), Lookups.lookupRange(data, "value", from, to));
+    }
+
+    private static DataIndex index(Amount[] data) {
+        return new DataIndex(data, DataIndex.getField(data, "value"));
+    }
+
+    private static Amount[] amounts(Number... values) {
+        Amount[] amounts = new Amount[values.length];
+        for (int i = 0; i < values.length; i++) {
+            amounts[i] = new Amount();
+            amounts[i].setValue(values[i]);
+        }
+        return amounts;
+    }
+
+    private static Customer[] customers(int size) {
+        Random random = new Random(size);
+        Customer[] customers = new Customer[size];
+        for (int i = 0; i < size; i++) {
+            if (i % 100 == 99) {
+                // Empty rows are skipped
+                continue;
+            }
+            Customer customer = new Customer();
+            customer.setAge(random.nextInt(50));
+            customer.setLastName(i % 10 == 0 ? null : "Name" + random.nextInt(10));
+            customers[i] = customer;
+        }
+        return customers;
+    }
+
+    public static class Amount {
+        private Number value;
+
+        public Number getValue() {
+            return value;
+        }
+
+        public void setValue(Number value) {
+            this.value = value;
+        }
+    }
+}
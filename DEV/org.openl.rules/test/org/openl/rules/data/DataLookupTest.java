@@ -0,0 +1,102 @@
+package org.openl.rules.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.lang.xls.binding.wrapper.DataOpenFieldWrapper;
+import org.openl.rules.runtime.RulesEngineFactory;
+import org.openl.types.IOpenField;
+import org.openl.types.impl.OpenFieldDelegator;
+
+public class DataLookupTest {
+
+    private static final String SRC = "test/rules/data/DataLookupTest.xlsx";
+
+    private static ITestI instance;
+    private static DataOpenField dataField;
+
+    @BeforeAll
+    public static void setUp() {
+        RulesEngineFactory<ITestI> engineFactory = new RulesEngineFactory<>(SRC, ITestI.class);
+        instance = engineFactory.newEngineInstance();
+        IOpenField field = engineFactory.getCompiledOpenClass().getOpenClassWithErrors().getField("customers");
+        while (field instanceof OpenFieldDelegator delegator) {
+            field = delegator.getDelegate();
+        }
+        dataField = field instanceof DataOpenFieldWrapper wrapper ? wrapper.getDelegate() : (DataOpenField) field;
+    }
+
+    @Test
+    public void testLookupInDataTable() throws Exception {
+        Customer[] customers = instance.getCustomers();
+
+        assertSame(customers[0], instance.findByAge(35));
+        assertSame(customers[1], instance.findByAge(41));
+        assertNull(instance.findByAge(1));
+        assertArrayEquals(new Customer[]{customers[0], customers[2]}, instance.findAllByLastName("Smith"));
+        assertArrayEquals(new Customer[]{customers[1], customers[3]}, instance.findByAgeRange(36, 50));
+        assertEquals(0, instance.findByAgeRange(50, 36).length);
+
+        // The indexes of the searched columns are kept by the Data table
+        assertEquals(2, getIndexes().size());
+        assertSame(getIndexes().get("age"), dataField.getIndex(customers, "age"));
+    }
+
+    @Test
+    public void testModifiedDataTable() throws Exception {
+        Customer[] customers = instance.getCustomers();
+        DataIndex index = dataField.getIndex(customers, "age");
+        assertSame(customers[0], instance.findByAge(35));
+
+        customers[0].setAge(70);
+        try {
+            // The changed row is not returned, and the index is rebuilt
+            assertNull(instance.findByAge(35));
+            assertNotSame(index, getIndexes().get("age"));
+            assertSame(customers[0], instance.findByAge(70));
+        } finally {
+            customers[0].setAge(35);
+            // The index is rebuilt for other tests
+            assertNull(instance.findByAge(70));
+        }
+        assertSame(customers[0], instance.findByAge(35));
+    }
+
+    @Test
+    public void testLookupInOtherArray() {
+        Customer[] customers = instance.getCustomers();
+        Customer[] copy = customers.clone();
+
+        assertArrayEquals(new Customer[]{customers[0], customers[2]}, instance.findAllInArray(copy, "Smith"));
+        assertArrayEquals(new Customer[]{customers[0], customers[2]}, instance.findAllInArray(customers, "Smith"));
+        assertNull(dataField.getIndex(copy, "lastName"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, DataIndex> getIndexes() throws ReflectiveOperationException {
+        Field field = DataOpenField.class.getDeclaredField("indexes");
+        field.setAccessible(true);
+        return (Map<String, DataIndex>) field.get(dataField);
+    }
+
+    public interface ITestI {
+        Customer[] getCustomers();
+
+        Customer findByAge(int age);
+
+        Customer[] findAllByLastName(String lastName);
+
+        Customer[] findByAgeRange(int from, int to);
+
+        Customer[] findAllInArray(Customer[] array, String lastName);
+    }
+}
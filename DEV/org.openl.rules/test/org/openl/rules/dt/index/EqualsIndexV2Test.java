@@ -0,0 +1,85 @@
+package org.openl.rules.dt.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.dt.DecisionTableRuleNode;
+import org.openl.rules.dt.RangeIndexDecisionTableRuleNode;
+import org.openl.rules.dt.RuleSetDecisionTableRuleNode;
+import org.openl.rules.dt.element.ConditionHelper;
+
+public class EqualsIndexV2Test {
+
+    private static EqualsIndexV2 buildIndex(Object... values) {
+        EqualsIndexV2.Builder builder = new EqualsIndexV2.Builder();
+        builder.setConditionCasts(ConditionHelper.getConditionCastsWithNoCasts());
+        for (int ruleN = 0; ruleN < values.length + 2; ruleN++) {
+            builder.addRule(ruleN);
+            if (ruleN < values.length) {
+                builder.putValueToRule(values[ruleN], ruleN);
+            } else {
+                builder.putEmptyRule(ruleN);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void assertLookups(EqualsIndexV2 index, Object first, Object second, Object missed) {
+        assertArrayEquals(new int[] { 0, 2, 4, 5 }, index.findNode(first, null, null).getRules());
+        assertArrayEquals(new int[] { 1, 3, 4, 5 }, index.findNode(second, null, null).getRules());
+        assertArrayEquals(new int[] { 4, 5 }, index.findNode(missed, null, null).getRules());
+        assertArrayEquals(new int[] { 4, 5 }, index.findNode(null, null, null).getRules());
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5 }, index.collectRules());
+
+        DecisionTableRuleNode prev = new RuleSetDecisionTableRuleNode(RuleSet.of(new int[] { 0, 3, 5 }), null);
+        assertArrayEquals(new int[] { 0, 5 }, index.findNode(first, null, prev).getRules());
+        assertArrayEquals(new int[] { 3, 5 }, index.findNode(second, null, prev).getRules());
+    }
+
+    @Test
+    public void testSpecializedKeys() {
+        assertLookups(buildIndex(1, 2, 1, 2), 1, 2, 3);
+        assertLookups(buildIndex(1L, 2L, 1L, 2L), 1L, 2L, 1);
+        assertLookups(buildIndex("a", "b", "a", "b"), "a", "b", "c");
+        assertLookups(buildIndex(1.0, 2.0, 1.0, 2.0), 1.0, 2.0, 3.0);
+        assertLookups(buildIndex(1.0, 2.0, 1.0, 2.0), 1.0f, 2, 3L);
+    }
+
+    @Test
+    public void testGenericKeys() {
+        assertLookups(buildIndex(BigDecimal.ONE, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN),
+            new BigDecimal("1.00"),
+            BigDecimal.TEN,
+            BigDecimal.ZERO);
+        assertLookups(buildIndex('a', 'b', 'a', 'b'), 'a', 'b', 'c');
+        assertLookups(buildIndex(1, 2L, 1, 2L), 1, 2L, 2);
+    }
+
+    @Test
+    public void testLookupsAreReused() {
+        EqualsIndexV2 index = buildIndex(1, 2, 1, 2);
+        assertSame(index.findNode(1, null, null), index.findNode(1, null, null));
+        assertSame(index.findNode(3, null, null), index.findNode(null, null, null));
+    }
+
+    @Test
+    public void testIntersectionInPlace() {
+        EqualsIndexV2 index = buildIndex(1, 2, 1, 2);
+        BitSet workingSet = new BitSet();
+        workingSet.set(0, 6);
+        DecisionTableRuleNode prev = new RangeIndexDecisionTableRuleNode(workingSet, null);
+
+        DecisionTableRuleNode result = index.findNode(2, null, prev);
+        assertArrayEquals(new int[] { 1, 3, 4, 5 }, result.getRules());
+        assertArrayEquals(new int[] { 1, 3, 4, 5 }, workingSet.stream().toArray());
+
+        result = index.findNode(1, Boolean.TRUE, result);
+        assertArrayEquals(new int[] { 1, 3, 4, 5 }, result.getRules());
+        assertSame(workingSet, ((RangeIndexDecisionTableRuleNode) result).toWorkingSet());
+    }
+}
@@ -0,0 +1,77 @@
+package org.openl.rules.dt.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.domain.IIntIterator;
+
+public class RuleSetTest {
+
+    private static void assertRuleSet(int[] rules) {
+        RuleSet ruleSet = RuleSet.of(rules);
+        assertEquals(rules.length, ruleSet.cardinality());
+        assertArrayEquals(rules, ruleSet.toArray());
+        assertArrayEquals(rules, ruleSet.toBitSet().stream().toArray());
+
+        int[] iterated = new int[rules.length];
+        IIntIterator it = ruleSet.iterator();
+        for (int i = 0; it.hasNext(); i++) {
+            iterated[i] = it.nextInt();
+        }
+        assertArrayEquals(rules, iterated);
+
+        for (int ruleN : rules) {
+            assertTrue(ruleSet.contains(ruleN));
+        }
+        assertFalse(ruleSet.contains(-1));
+        assertFalse(ruleSet.contains(100_000));
+
+        BitSet all = new BitSet();
+        all.set(0, 5000);
+        ruleSet.retainAll(all);
+        assertArrayEquals(rules, all.stream().toArray());
+
+        BitSet some = new BitSet();
+        some.set(3);
+        some.set(1000);
+        some.set(4096);
+        ruleSet.retainAll(some);
+        for (int ruleN = some.nextSetBit(0); ruleN >= 0; ruleN = some.nextSetBit(ruleN + 1)) {
+            assertTrue(ruleSet.contains(ruleN));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        assertRuleSet(new int[0]);
+    }
+
+    @Test
+    public void testSparseRules() {
+        assertRuleSet(new int[] { 3, 1000, 4095 });
+    }
+
+    @Test
+    public void testConsecutiveRules() {
+        int[] rules = new int[3000];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = i < 1500 ? i : i + 1000;
+        }
+        assertRuleSet(rules);
+    }
+
+    @Test
+    public void testDenseRules() {
+        int[] rules = new int[2000];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = i * 2;
+        }
+        assertRuleSet(rules);
+    }
+}
@@ -0,0 +1,109 @@
+package org.openl.rules.table.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.openl.rules.table.IGrid;
+
+public class CsvGridTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testValues() throws IOException {
+        CsvGrid grid = open("\uFEFFa,b,c\r\n" +
+                "1,,\"x,y\"\r\n" +
+                "\r\n" +
+                "\"say \"\"hi\"\"\",\"two\nlines\",3\n" +
+                "4,5\n" +
+                "  6  ,привет,\"\"");
+
+        assertEquals(3, grid.getWidth());
+        assertEquals(5, grid.getHeight());
+        assertEquals(4, grid.getMaxRowIndex());
+
+        assertEquals("a", grid.getCell(0, 0).getStringValue());
+        assertEquals("c", grid.getCell(2, 0).getStringValue());
+
+        assertEquals("1", grid.getCell(0, 1).getStringValue());
+        assertNull(grid.getCell(1, 1).getStringValue());
+        assertEquals(IGrid.CELL_TYPE_BLANK, grid.getCell(1, 1).getType());
+        assertTrue(grid.isEmpty(1, 1));
+        assertEquals("x,y", grid.getCell(2, 1).getStringValue());
+        assertEquals(IGrid.CELL_TYPE_STRING, grid.getCell(2, 1).getType());
+
+        assertEquals("say \"hi\"", grid.getCell(0, 2).getStringValue());
+        assertEquals("two\nlines", grid.getCell(1, 2).getStringValue());
+        assertEquals("3", grid.getCell(2, 2).getStringValue());
+
+        assertEquals("5", grid.getCell(1, 3).getStringValue());
+        assertNull(grid.getCell(2, 3).getStringValue());
+
+        assertEquals("  6  ", grid.getCell(0, 4).getStringValue());
+        assertEquals("привет", grid.getCell(1, 4).getStringValue());
+        // An empty quoted value is the same as an empty value
+        assertNull(grid.getCell(2, 4).getStringValue());
+        assertTrue(grid.isEmpty(2, 4));
+
+        assertNull(grid.getCell(0, 5).getStringValue());
+        assertNull(grid.getCell(3, 0).getStringValue());
+    }
+
+    @Test
+    public void testFileIsNotKeptOpen() throws IOException {
+        CsvGrid grid = open("a,b\n1,2");
+        // The values are imported, so the file can be replaced or removed
+        Files.delete(folder.resolve("test.csv"));
+        assertEquals("2", grid.getCell(1, 1).getStringValue());
+    }
+
+    @Test
+    public void testUnterminatedQuote() {
+        IOException e = assertThrows(IOException.class, () -> open("a,b\n1,\"2\n3,4\n"));
+        assertEquals("The quoted value started at line 2 is not closed.", e.getMessage());
+    }
+
+    @Test
+    public void testTextAfterQuotedValue() throws IOException {
+        CsvGrid grid = open("\"a\"b,c\n1,2");
+        assertEquals("a", grid.getCell(0, 0).getStringValue());
+        assertEquals("c", grid.getCell(1, 0).getStringValue());
+        assertEquals(2, grid.getHeight());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        CsvGrid grid = open("\n\r\n");
+        assertEquals(0, grid.getWidth());
+        assertEquals(0, grid.getHeight());
+        assertNull(grid.getCell(0, 0).getStringValue());
+    }
+
+    @Test
+    public void testTables() throws IOException {
+        CsvGrid grid = open("a,b\n1,2\n3,4");
+        assertEquals(1, grid.getTables().length);
+        assertEquals(3, grid.getTables()[0].getHeight());
+        assertEquals(2, grid.getTables()[0].getWidth());
+        assertEquals("4", grid.getTables()[0].getCell(1, 2).getStringValue());
+        assertEquals("B3", grid.getCell(1, 2).getUri());
+    }
+
+    private CsvGrid open(String content) throws IOException {
+        File file = folder.resolve("test.csv").toFile();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return CsvGrid.open(file);
+    }
+}
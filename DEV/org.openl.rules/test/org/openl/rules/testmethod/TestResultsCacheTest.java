@@ -0,0 +1,159 @@
+package org.openl.rules.testmethod;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.openl.CompiledOpenClass;
+import org.openl.rules.runtime.RulesEngineFactory;
+import org.openl.types.IOpenClass;
+
+public class TestResultsCacheTest {
+
+    private static final String TWICE = "return String.valueOf(a * 2);";
+    private static final String OTHER = "return \"other\";";
+
+    @TempDir
+    Path tempDir;
+
+    private final TestResultsCache cache = new TestResultsCache();
+
+    @Test
+    public void testResultIsCached() throws IOException {
+        IOpenClass openClass = compile("first.xlsx", TWICE, OTHER, 1, 2);
+        TestSuite testSuite = testSuite(openClass);
+        TestUnitsResults first = testSuite.invokeSequentially(openClass, 1, cache);
+        assertEquals(0, first.getNumberOfFailures());
+
+        TestUnitsResults second = testSuite.invokeSequentially(openClass, 1, cache);
+        assertSameResults(first, second);
+
+        // Only the selected test case is taken from the cache
+        TestUnitsResults selected = new TestSuite(testSuite.getTestSuiteMethod(), 1)
+                .invokeSequentially(openClass, 1, cache);
+        assertSame(first.getTestUnits().get(1).getActualResult(), selected.getTestUnits().get(0).getActualResult());
+
+        // The cache is not used for benchmarks
+        TestUnitsResults benchmark = testSuite.invokeSequentially(openClass, 3, cache);
+        assertNotSame(first.getTestUnits().get(0).getActualResult(), benchmark.getTestUnits().get(0).getActualResult());
+    }
+
+    @Test
+    public void testParallelRunIsCached() throws IOException {
+        IOpenClass openClass = compile("first.xlsx", TWICE, OTHER, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        TestSuite testSuite = testSuite(openClass);
+        TestSuiteExecutor executor = new TestSuiteExecutor(2);
+        try {
+            TestUnitsResults first = testSuite.invokeParallel(executor, openClass, 1, cache);
+            TestUnitsResults second = testSuite.invokeParallel(executor, openClass, 1, cache);
+            assertSameResults(first, second);
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testResultIsKeptIfUnrelatedTableIsChanged() throws IOException {
+        IOpenClass openClass = compile("first.xlsx", TWICE, OTHER, 1, 2);
+        TestUnitsResults first = testSuite(openClass).invokeSequentially(openClass, 1, cache);
+
+        // The recompiled module with the same tables
+        IOpenClass recompiled = compile("first.xlsx", TWICE, OTHER, 1, 2);
+        assertSameResults(first, testSuite(recompiled).invokeSequentially(recompiled, 1, cache));
+
+        IOpenClass edited = compile("first.xlsx", TWICE, "return \"edited\";", 1, 2);
+        assertSameResults(first, testSuite(edited).invokeSequentially(edited, 1, cache));
+    }
+
+    @Test
+    public void testResultIsRemovedIfTestedTableIsChanged() throws IOException {
+        IOpenClass openClass = compile("first.xlsx", TWICE, OTHER, 1, 2);
+        TestUnitsResults first = testSuite(openClass).invokeSequentially(openClass, 1, cache);
+
+        IOpenClass edited = compile("first.xlsx", "return String.valueOf(a + a);", OTHER, 1, 2);
+        TestUnitsResults second = testSuite(edited).invokeSequentially(edited, 1, cache);
+        assertEquals(0, second.getNumberOfFailures());
+        assertNotSame(first.getTestUnits().get(0).getActualResult(), second.getTestUnits().get(0).getActualResult());
+    }
+
+    @Test
+    public void testResultIsRemovedIfTestTableIsChanged() throws IOException {
+        IOpenClass openClass = compile("first.xlsx", TWICE, OTHER, 1, 2);
+        TestUnitsResults first = testSuite(openClass).invokeSequentially(openClass, 1, cache);
+
+        IOpenClass edited = compile("first.xlsx", TWICE, OTHER, 1, 3);
+        TestUnitsResults second = testSuite(edited).invokeSequentially(edited, 1, cache);
+        assertEquals(0, second.getNumberOfFailures());
+        assertNotSame(first.getTestUnits().get(0).getActualResult(), second.getTestUnits().get(0).getActualResult());
+    }
+
+    @Test
+    public void testResultIsNotSharedBetweenModules() throws IOException {
+        IOpenClass openClass = compile("first.xlsx", TWICE, OTHER, 1, 2);
+        TestUnitsResults first = testSuite(openClass).invokeSequentially(openClass, 1, cache);
+
+        // The same tables in another file
+        IOpenClass copy = compile("second.xlsx", TWICE, OTHER, 1, 2);
+        TestUnitsResults second = testSuite(copy).invokeSequentially(copy, 1, cache);
+        assertNotSame(first.getTestUnits().get(0).getActualResult(), second.getTestUnits().get(0).getActualResult());
+    }
+
+    private static void assertSameResults(TestUnitsResults expected, TestUnitsResults actual) {
+        assertEquals(expected.getNumberOfTestUnits(), actual.getNumberOfTestUnits());
+        for (int i = 0; i < expected.getNumberOfTestUnits(); i++) {
+            assertSame(expected.getTestUnits().get(i).getActualResult(), actual.getTestUnits().get(i).getActualResult());
+        }
+    }
+
+    private static TestSuite testSuite(IOpenClass openClass) {
+        return new TestSuite((TestSuiteMethod) openClass.getMethod("twiceTest", IOpenClass.EMPTY));
+    }
+
+    /**
+     * Compiles the module with the method doubling the argument, the test of this method and the unrelated method.
+     */
+    private IOpenClass compile(String fileName, String twice, String other, int... tests) throws IOException {
+        Path file = tempDir.resolve(fileName);
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Rules");
+            int row = 0;
+            row = addRow(sheet, row, "Method String twice(Integer a)");
+            row = addRow(sheet, row, twice) + 1;
+            row = addRow(sheet, row, "Method String other()");
+            row = addRow(sheet, row, other) + 1;
+            row = addRow(sheet, row, "Test twice twiceTest");
+            row = addRow(sheet, row, "a", "_res_");
+            row = addRow(sheet, row, "A", "Result");
+            for (int a : tests) {
+                row = addRow(sheet, row, String.valueOf(a), String.valueOf(a * 2));
+            }
+            workbook.write(out);
+        }
+        RulesEngineFactory<?> engineFactory = new RulesEngineFactory<>(file.toUri().toURL());
+        engineFactory.setExecutionMode(false);
+        CompiledOpenClass compiledOpenClass = engineFactory.getCompiledOpenClass();
+        assertFalse(compiledOpenClass.hasErrors(), "There are compilation errors in test");
+        return compiledOpenClass.getOpenClass();
+    }
+
+    private static int addRow(Sheet sheet, int row, String... values) {
+        Row sheetRow = sheet.createRow(row);
+        for (int i = 0; i < values.length; i++) {
+            sheetRow.createCell(i).setCellValue(values[i]);
+        }
+        return row + 1;
+    }
+}
@@ -90,6 +90,25 @@ public class DispatchingTest {
         assertEquals("none", instance.getPriority());
     }
 
+    @Test
+    public void testDispatchingIsSharedBetweenContexts() {
+        Object[][] testData = {{CountriesEnum.US, LanguagesEnum.ENG, CurrenciesEnum.USD, "US.ENG.USD"},
+                {CountriesEnum.US, LanguagesEnum.GER, CurrenciesEnum.USD, "US.USD"},
+                {CountriesEnum.GB, LanguagesEnum.ENG, CurrenciesEnum.GBP, "GB.EUR,GBP"},
+                {CountriesEnum.GB, LanguagesEnum.ENG, CurrenciesEnum.AED, "none"},
+                {null, LanguagesEnum.ITA, CurrenciesEnum.EUR, "ITA.EUR"}};
+
+        // The resolved methods are cached for all contexts, so the result must not depend on the order of the calls
+        for (int n = 0; n < 2 * testData.length; n++) {
+            Object[] data = testData[n < testData.length ? n : 2 * testData.length - n - 1];
+            IRulesRuntimeContext context = initContext();
+            context.setCountry((CountriesEnum) data[0]);
+            context.setLang((LanguagesEnum) data[1]);
+            context.setCurrency((CurrenciesEnum) data[2]);
+            assertEquals(data[3], instance.getPriority());
+        }
+    }
+
     @Test
     public void testRequestDate() throws Exception {
         DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
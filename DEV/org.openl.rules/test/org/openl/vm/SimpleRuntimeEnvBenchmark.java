@@ -0,0 +1,83 @@
+package org.openl.vm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.openl.rules.context.RulesRuntimeContextFactory;
+import org.openl.rules.vm.ce.SimpleRulesRuntimeEnvMT;
+
+/**
+ * Install JMH plugin for running this benchmark.
+ * Define {@code  -prof gc } argument to collect memory stats, {@code gc.alloc.rate.norm} is the allocation per call
+ * chain.
+ */
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 3, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimpleRuntimeEnvBenchmark {
+
+    @State(Scope.Thread)
+    public static class IN {
+        @Param({"10", "1000"})
+        private int depth;
+
+        @Param({"4"})
+        private int frameSize;
+
+        private SimpleRuntimeEnv env;
+
+        @Setup
+        public void setup() {
+            env = new SimpleRuntimeEnv();
+            for (int i = 0; i < 10; i++) {
+                env.pushContext(RulesRuntimeContextFactory.buildRulesRuntimeContext());
+            }
+        }
+    }
+
+    @Benchmark
+    public Object arenaFrames(IN in) {
+        SimpleRuntimeEnv env = in.env;
+        for (int i = 0; i < in.depth; i++) {
+            env.allocateLocalFrame(in.frameSize)[0] = env;
+        }
+        Object[] result = env.getLocalFrame();
+        for (int i = 0; i < in.depth; i++) {
+            env.releaseLocalFrame();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object newFrames(IN in) {
+        SimpleRuntimeEnv env = in.env;
+        for (int i = 0; i < in.depth; i++) {
+            Object[] frame = new Object[in.frameSize];
+            frame[0] = env;
+            env.pushLocalFrame(frame);
+        }
+        Object[] result = env.getLocalFrame();
+        for (int i = 0; i < in.depth; i++) {
+            env.popLocalFrame();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object fork(IN in) {
+        return new SimpleRulesRuntimeEnvMT(in.env);
+    }
+}
@@ -0,0 +1,84 @@
+package org.openl.vm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.context.RulesRuntimeContextFactory;
+import org.openl.rules.vm.ce.SimpleRulesRuntimeEnvMT;
+import org.openl.runtime.IRuntimeContext;
+
+public class SimpleRuntimeEnvTest {
+
+    @Test
+    public void testFramesAreReused() {
+        SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+        Object[] frame = env.allocateLocalFrame(3);
+        frame[0] = "value";
+        Object[] nested = env.allocateLocalFrame(3);
+        assertNotSame(frame, nested);
+        env.releaseLocalFrame();
+        env.releaseLocalFrame();
+        assertEquals(2, env.getPooledFrameCount());
+
+        // LIFO order
+        assertSame(frame, env.allocateLocalFrame(3));
+        assertSame(frame, env.getLocalFrame());
+        assertArrayEquals(new Object[3], frame);
+        assertSame(nested, env.allocateLocalFrame(3));
+        // the frames of other sizes are not mixed up
+        assertEquals(2, env.allocateLocalFrame(2).length);
+    }
+
+    @Test
+    public void testSharedFrameIsNotReused() {
+        SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+        Object[] frame = env.allocateLocalFrame(2);
+        frame[1] = "value";
+        SimpleRuntimeEnv copy = env.copy();
+        env.releaseLocalFrame();
+
+        assertEquals(0, env.getPooledFrameCount());
+        assertSame(frame, copy.getLocalFrame());
+        assertEquals("value", frame[1]);
+
+        Object[] next = env.allocateLocalFrame(2);
+        assertNotSame(frame, next);
+        env.releaseLocalFrame();
+        assertEquals(1, env.getPooledFrameCount());
+    }
+
+    @Test
+    public void testForkedEnvironmentSharesContexts() {
+        SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+        IRuntimeContext context = RulesRuntimeContextFactory.buildRulesRuntimeContext();
+        env.pushContext(context);
+
+        SimpleRulesRuntimeEnvMT forked = new SimpleRulesRuntimeEnvMT(env);
+        assertSame(context, forked.getContext());
+        IRuntimeContext nested = RulesRuntimeContextFactory.buildRulesRuntimeContext();
+        forked.pushContext(nested);
+        assertSame(nested, forked.getContext());
+        assertSame(context, env.getContext());
+
+        env.popContext();
+        assertNotSame(context, env.getContext());
+        assertSame(nested, forked.popContext());
+        assertSame(context, forked.getContext());
+        assertEquals(2, forked.cloneContextStack().size());
+    }
+
+    @Test
+    public void testSetContext() {
+        SimpleRuntimeEnv env = new SimpleRuntimeEnv();
+        env.pushContext(RulesRuntimeContextFactory.buildRulesRuntimeContext());
+        IRuntimeContext context = RulesRuntimeContextFactory.buildRulesRuntimeContext();
+        env.setContext(context);
+        assertSame(context, env.popContext());
+        assertNull(env.getContext());
+    }
+}
@@ -0,0 +1,69 @@
+package org.openl.itest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.openl.itest.core.JettyServer;
+
+public class RunMinioCacheTest extends AbstractMinioTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    public void testDeploymentsAreReadFromCache() throws Exception {
+        config.put("production-repository.cache-directory", cacheDirectory.toString());
+        try (var client = JettyServer.get().withInitParam(config).start()) {
+            verifyS3Repository();
+            client.test("test-resources-smoke/stage1");
+        }
+        var cachedFiles = listFiles();
+        assertFalse(cachedFiles.isEmpty());
+
+        // A read from the cache updates the modification time of the file
+        FileTime lastRead = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+        for (Path file : cachedFiles.keySet()) {
+            Files.setLastModifiedTime(file, lastRead);
+        }
+
+        // The deployments are not changed, so they are read from the cache after the restart
+        try (var client = JettyServer.get().withInitParam(config).start()) {
+            client.test("test-resources-smoke/stage1");
+        }
+
+        // The same files are read, not replaced by the downloaded ones
+        assertEquals(cachedFiles, listFiles());
+        for (Path file : cachedFiles.keySet()) {
+            assertTrue(Files.getLastModifiedTime(file).compareTo(lastRead) > 0, file + " is not read from the cache");
+        }
+    }
+
+    /**
+     * Lists the cached files with their file keys. A downloaded file replaces the cached one, so it gets another key.
+     */
+    private Map<Path, Object> listFiles() throws Exception {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDirectory)) {
+            files = stream.toList();
+        }
+        Map<Path, Object> result = new HashMap<>();
+        for (Path file : files) {
+            result.put(file, Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+        }
+        return result;
+    }
+}
@@ -138,7 +138,8 @@ public class JacksonObjectMapperFactoryBean implements JacksonObjectMapperFactor
                 .addSerializer(Double.class, new DoubleSerializer(Double.class))
                 .addSerializer(Double.TYPE, new DoubleSerializer(Double.TYPE))
                 .addSerializer(Float.class, new FloatSerializer())
-                .addSerializer(Float.TYPE, new FloatSerializer()));
+                .addSerializer(Float.TYPE, new FloatSerializer())
+                .setSerializerModifier(new SpreadsheetResultBeanSerializerModifier()));
 
         AnnotationIntrospector primaryIntrospector = new JacksonAnnotationIntrospector();
         var secondaryIntrospector = new JakartaXmlBindAnnotationIntrospector(
@@ -0,0 +1,122 @@
+package org.openl.rules.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+
+import org.openl.rules.calc.SpreadsheetResultBean;
+
+/**
+ * Writes the property of a spreadsheet result bean with the value read straight from the spreadsheet result, so the
+ * bean is not filled with the values of all cells. The name, the inclusion and the serializers of the property are
+ * resolved by Jackson once for the bean type in the same way as for the getter of the property.
+ *
+ * @see SpreadsheetResultBeanSerializerModifier
+ */
+final class SpreadsheetCellPropertyWriter extends BeanPropertyWriter {
+
+    private final String cell;
+    private final Class<?> type;
+
+    SpreadsheetCellPropertyWriter(BeanPropertyWriter base, String cell) {
+        super(base);
+        this.cell = cell;
+        this.type = base.getMember().getRawType();
+    }
+
+    private SpreadsheetCellPropertyWriter(SpreadsheetCellPropertyWriter base, PropertyName name) {
+        super(base, name);
+        this.cell = base.cell;
+        this.type = base.type;
+    }
+
+    @Override
+    protected BeanPropertyWriter _new(PropertyName newName) {
+        return new SpreadsheetCellPropertyWriter(this, newName);
+    }
+
+    @Override
+    public Object get(Object bean) {
+        return ((SpreadsheetResultBean) bean).readCell(cell, type);
+    }
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        Object value = get(bean);
+        if (value == null) {
+            if (_suppressableValue != null && prov.includeFilterSuppressNulls(_suppressableValue)) {
+                return;
+            }
+            if (_nullSerializer != null) {
+                gen.writeFieldName(_name);
+                _nullSerializer.serialize(null, gen, prov);
+            }
+            return;
+        }
+        JsonSerializer<Object> ser = findSerializer(value, prov);
+        if (isSuppressed(value, ser, prov)) {
+            return;
+        }
+        if (value == bean && _handleSelfReference(bean, gen, prov, ser)) {
+            return;
+        }
+        gen.writeFieldName(_name);
+        if (_typeSerializer == null) {
+            ser.serialize(value, gen, prov);
+        } else {
+            ser.serializeWithType(value, gen, prov, _typeSerializer);
+        }
+    }
+
+    @Override
+    public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        Object value = get(bean);
+        if (value == null) {
+            if (_nullSerializer != null) {
+                _nullSerializer.serialize(null, gen, prov);
+            } else {
+                gen.writeNull();
+            }
+            return;
+        }
+        JsonSerializer<Object> ser = findSerializer(value, prov);
+        if (isSuppressed(value, ser, prov)) {
+            serializeAsPlaceholder(bean, gen, prov);
+            return;
+        }
+        if (value == bean && _handleSelfReference(bean, gen, prov, ser)) {
+            return;
+        }
+        if (_typeSerializer == null) {
+            ser.serialize(value, gen, prov);
+        } else {
+            ser.serializeWithType(value, gen, prov, _typeSerializer);
+        }
+    }
+
+    private JsonSerializer<Object> findSerializer(Object value, SerializerProvider prov) throws Exception {
+        JsonSerializer<Object> ser = _serializer;
+        if (ser == null) {
+            Class<?> cls = value.getClass();
+            PropertySerializerMap serializers = _dynamicSerializers;
+            ser = serializers.serializerFor(cls);
+            if (ser == null) {
+                ser = _findAndAddDynamic(serializers, cls, prov);
+            }
+        }
+        return ser;
+    }
+
+    private boolean isSuppressed(Object value, JsonSerializer<Object> ser, SerializerProvider prov) {
+        if (_suppressableValue == null) {
+            return false;
+        }
+        if (MARKER_FOR_EMPTY == _suppressableValue) {
+            return ser.isEmpty(prov, value);
+        }
+        return _suppressableValue.equals(value);
+    }
+}
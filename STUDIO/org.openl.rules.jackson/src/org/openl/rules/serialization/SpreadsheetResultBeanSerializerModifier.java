@@ -0,0 +1,36 @@
+package org.openl.rules.serialization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import org.openl.rules.calc.SpreadsheetCell;
+import org.openl.rules.calc.SpreadsheetResultBean;
+
+/**
+ * Serializes the properties of the spreadsheet result beans straight from the spreadsheet results. The beans returned
+ * by the services are not filled with the values of the cells before the serialization.
+ */
+class SpreadsheetResultBeanSerializerModifier extends BeanSerializerModifier {
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+                                                     BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        if (!SpreadsheetResultBean.class.isAssignableFrom(beanDesc.getBeanClass())) {
+            return beanProperties;
+        }
+        List<BeanPropertyWriter> writers = new ArrayList<>(beanProperties.size());
+        for (BeanPropertyWriter writer : beanProperties) {
+            SpreadsheetCell cell = writer.getMember() instanceof AnnotatedMethod ? writer
+                    .getAnnotation(SpreadsheetCell.class) : null;
+            writers.add(cell != null ? new SpreadsheetCellPropertyWriter(writer, cell.cell()) : writer);
+        }
+        return writers;
+    }
+}
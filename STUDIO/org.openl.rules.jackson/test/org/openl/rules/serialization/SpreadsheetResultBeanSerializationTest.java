@@ -0,0 +1,91 @@
+package org.openl.rules.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.calc.SpreadsheetCell;
+import org.openl.rules.calc.SpreadsheetResult;
+import org.openl.rules.calc.SpreadsheetResultBean;
+import org.openl.rules.runtime.RulesEngineFactory;
+
+public class SpreadsheetResultBeanSerializationTest {
+
+    private static final String SRC = "test-resources/SpreadsheetResultBeans.xlsx";
+
+    private static ITest instance;
+
+    @BeforeAll
+    public static void setUp() {
+        instance = new RulesEngineFactory<>(SRC, ITest.class).newEngineInstance();
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        SpreadsheetResult result = instance.Outer(3);
+        ObjectMapper objectMapper = createObjectMapper(result, null);
+
+        Object bean = result.getCustomSpreadsheetResultOpenClass().createBean(result);
+        assertInstanceOf(SpreadsheetResultBean.class, bean);
+        String json = objectMapper.writeValueAsString(bean);
+        assertEquals("{\"Value_First_Item\":{\"Amount\":6,\"Item_Label\":\"item 3\",\"Missing\":null}," +
+                "\"Description_First_Item\":\"first\",\"Value_Total_Sum\":4.5,\"Description_Total_Sum\":\"total\"}",
+                json);
+        // The bean is written without copying the values of the cells to it
+        assertEquals(0, getValues(bean).size());
+
+        // The same output as for the bean filled by the getters
+        Object filled = result.getCustomSpreadsheetResultOpenClass().createBean(result);
+        fill(filled);
+        assertEquals(4, getValues(filled).size());
+        assertEquals(json, objectMapper.writeValueAsString(filled));
+    }
+
+    @Test
+    public void testNonNullInclusion() throws Exception {
+        SpreadsheetResult result = instance.Outer(3);
+        ObjectMapper objectMapper = createObjectMapper(result, JsonInclude.Include.NON_NULL);
+
+        Object bean = result.getCustomSpreadsheetResultOpenClass().createBean(result);
+        assertEquals("{\"Value_First_Item\":{\"Amount\":6,\"Item_Label\":\"item 3\"}," +
+                "\"Description_First_Item\":\"first\",\"Value_Total_Sum\":4.5,\"Description_Total_Sum\":\"total\"}",
+                objectMapper.writeValueAsString(bean));
+        assertEquals(0, getValues(bean).size());
+    }
+
+    private static ObjectMapper createObjectMapper(SpreadsheetResult result,
+            JsonInclude.Include serializationInclusion) throws ClassNotFoundException {
+        JacksonObjectMapperFactoryBean factoryBean = new JacksonObjectMapperFactoryBean();
+        factoryBean.setClassLoader(result.getCustomSpreadsheetResultOpenClass().getBeanClass().getClassLoader());
+        factoryBean.setSerializationInclusion(serializationInclusion);
+        return factoryBean.createJacksonObjectMapper();
+    }
+
+    private static void fill(Object bean) throws ReflectiveOperationException {
+        for (Method method : bean.getClass().getMethods()) {
+            if (method.isAnnotationPresent(SpreadsheetCell.class)) {
+                method.invoke(bean);
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> getValues(Object bean) throws ReflectiveOperationException {
+        Field field = bean.getClass().getDeclaredField("values");
+        field.setAccessible(true);
+        return (Map<Object, Object>) field.get(bean);
+    }
+
+    public interface ITest {
+        SpreadsheetResult Outer(Integer n);
+    }
+}
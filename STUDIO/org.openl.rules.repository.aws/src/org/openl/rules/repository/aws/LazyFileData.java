@@ -18,6 +18,7 @@ class LazyFileData extends FileData {
 
     private S3Client s3;
     private final String bucketName;
+    private String eTag;
 
     public LazyFileData(S3Client s3, String bucketName) {
         this.s3 = s3;
@@ -48,6 +49,14 @@ class LazyFileData extends FileData {
         super.setComment(comment);
     }
 
+    String getETag() {
+        return eTag;
+    }
+
+    void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
     private void verifyLoaded() {
         S3Client api = s3;
         if (api != null) {
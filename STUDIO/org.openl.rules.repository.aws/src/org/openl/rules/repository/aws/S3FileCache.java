@@ -0,0 +1,157 @@
+package org.openl.rules.repository.aws;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local disk cache of the objects downloaded from S3. An object version is never changed, so a file is identified by
+ * the object key and the version id, or the ETag if the bucket is not versioned. The least recently read files are
+ * removed when the total size exceeds the limit. The last modification time of a file is used as the time of its last
+ * read, so the order is kept after the restart of the application.
+ */
+final class S3FileCache {
+    private final Logger log = LoggerFactory.getLogger(S3FileCache.class);
+
+    private static final String EXTENSION = ".s3";
+    private static final String TEMP_PREFIX = "download";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxSize;
+    private final Map<Path, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    S3FileCache(Path directory, long maxSize) throws IOException {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        Files.createDirectories(directory);
+        List<Path> existing;
+        try (Stream<Path> stream = Files.list(directory)) {
+            existing = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        existing.sort(Comparator.comparing(S3FileCache::getLastModifiedTime));
+        for (Path file : existing) {
+            String fileName = file.getFileName().toString();
+            if (fileName.endsWith(EXTENSION)) {
+                long fileSize = Files.size(file);
+                files.put(file, fileSize);
+                size += fileSize;
+            } else if (fileName.startsWith(TEMP_PREFIX) && fileName.endsWith(TEMP_SUFFIX)) {
+                // Unfinished download. Other files in the directory are not touched.
+                Files.deleteIfExists(file);
+            }
+        }
+        evict(null);
+    }
+
+    /**
+     * Opens the cached file of the object version. If the file is not cached, the object is downloaded to the cache.
+     *
+     * @param name the object key
+     * @param version the version id or the ETag of the object
+     * @param loader opens the stream of the object
+     * @return the stream of the cached file
+     */
+    InputStream read(String name, String version, Callable<InputStream> loader) throws IOException {
+        Path file = directory.resolve(hash(name, version) + EXTENSION);
+        synchronized (this) {
+            Long fileSize = files.get(file);
+            if (fileSize != null) {
+                try {
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                    return Files.newInputStream(file);
+                } catch (NoSuchFileException e) {
+                    // Removed outside of the application
+                    files.remove(file);
+                    size -= fileSize;
+                }
+            }
+        }
+        Path tempFile = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+        try {
+            try (InputStream stream = loader.call()) {
+                Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long fileSize = Files.size(tempFile);
+            if (fileSize > maxSize) {
+                log.debug("'{}' is too large to be cached.", name);
+                return Files.newInputStream(tempFile, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            synchronized (this) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Long previous = files.put(file, fileSize);
+                size += previous == null ? fileSize : fileSize - previous;
+                evict(file);
+                return Files.newInputStream(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        } catch (Exception e) {
+            Files.deleteIfExists(tempFile);
+            throw new IOException(e);
+        }
+    }
+
+    private void evict(Path retained) {
+        Iterator<Map.Entry<Path, Long>> iterator = files.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<Path, Long> entry = iterator.next();
+            if (entry.getKey().equals(retained)) {
+                continue;
+            }
+            iterator.remove();
+            size -= entry.getValue();
+            try {
+                Files.deleteIfExists(entry.getKey());
+            } catch (IOException e) {
+                // The file can be locked on Windows. It is counted again on the next start.
+                log.debug("Failed to remove '{}' from the cache.", entry.getKey(), e);
+            }
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String hash(String name, String version) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(version.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
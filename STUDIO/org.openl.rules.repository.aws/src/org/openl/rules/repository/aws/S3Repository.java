@@ -4,6 +4,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -12,6 +13,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +29,14 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.BucketVersioningStatus;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteMarkerEntry;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
@@ -40,6 +52,7 @@ import software.amazon.awssdk.services.s3.model.ObjectVersion;
 import software.amazon.awssdk.services.s3.model.PutBucketVersioningRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.model.VersioningConfiguration;
 
 import org.openl.rules.repository.api.ChangesetType;
@@ -68,8 +81,14 @@ public class S3Repository implements Repository, Closeable {
     private String secretKey;
     private String sseAlgorithm;
     private int listenerTimerPeriod = 10;
+    private String cacheDirectory;
+    private long cacheSize = 1024;
+    private int parallelism = 4;
+    private int partSize = 16;
 
     private S3Client s3;
+    private S3FileCache cache;
+    private ExecutorService executor;
     private ChangesMonitor monitor;
     private String id;
     private String name;
@@ -106,12 +125,32 @@ public class S3Repository implements Repository, Closeable {
         this.listenerTimerPeriod = listenerTimerPeriod;
     }
 
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setPartSize(int partSize) {
+        this.partSize = partSize;
+    }
+
     @Override
     public void close() {
         if (monitor != null) {
             monitor.release();
             monitor = null;
         }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
         if (s3 != null) {
             s3.close();
             s3 = null;
@@ -166,6 +205,21 @@ public class S3Repository implements Repository, Closeable {
             log.warn("Failed to initialize a repository", e);
         }
 
+        if (StringUtils.isNotBlank(cacheDirectory)) {
+            try {
+                cache = new S3FileCache(Path.of(cacheDirectory), cacheSize * 1024 * 1024);
+            } catch (IOException e) {
+                log.warn("Failed to initialize the cache in '{}'. Files are read without caching.", cacheDirectory, e);
+            }
+        }
+        if (parallelism > 1) {
+            executor = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread thread = new Thread(r, "openl-s3-repository");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
         monitor = new ChangesMonitor(new S3RevisionGetter(), listenerTimerPeriod);
     }
 
@@ -210,41 +264,76 @@ public class S3Repository implements Repository, Closeable {
     public List<FileData> list(String path) throws IOException {
         try {
             List<FileData> result = new ArrayList<>();
-            var request = ListObjectVersionsRequest.builder().bucket(bucketName).prefix(path);
-            do {
-                var response = s3.listObjectVersions(request.build());
-                var versionSummaries = response.versions();
-                for (var versionSummary : versionSummaries) {
-                    if (versionSummary.isLatest()) {
-                        result.add(createFileData(versionSummary));
-                    }
-                }
-                for (var deleteMarkers : response.deleteMarkers()) {
-                    if (deleteMarkers.isLatest()) {
-                        result.add(createFileData(deleteMarkers));
-                    }
-                }
-
-                if (response.isTruncated()) {
-                    request.keyMarker(response.nextKeyMarker());
-                    request.versionIdMarker(response.nextVersionIdMarker());
-                } else {
-                    request = null;
-                }
-            } while (request != null);
-
+            if (executor == null) {
+                listLatest(path, null, result);
+                return result;
+            }
+            // The folders of the first level are listed in parallel
+            List<CompletableFuture<List<FileData>>> folders = new ArrayList<>();
+            for (String folder : listLatest(path, "/", result)) {
+                folders.add(CompletableFuture.supplyAsync(() -> {
+                    List<FileData> files = new ArrayList<>();
+                    listLatest(folder, null, files);
+                    return files;
+                }, executor));
+            }
+            for (var folder : folders) {
+                result.addAll(folder.join());
+            }
             return result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SdkClientException) {
+                throw new IOException(e.getCause());
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         } catch (SdkClientException e) {
             throw new IOException(e);
         }
     }
 
+    /**
+     * Lists the latest versions of the objects with the given prefix.
+     *
+     * @param delimiter if it is set, the objects in the folders are not listed
+     * @return the folders, if the delimiter is set
+     */
+    private List<String> listLatest(String prefix, String delimiter, List<FileData> result) {
+        List<String> folders = new ArrayList<>();
+        var request = ListObjectVersionsRequest.builder().bucket(bucketName).prefix(prefix).delimiter(delimiter);
+        do {
+            var response = s3.listObjectVersions(request.build());
+            var versionSummaries = response.versions();
+            for (var versionSummary : versionSummaries) {
+                if (versionSummary.isLatest()) {
+                    result.add(createFileData(versionSummary));
+                }
+            }
+            for (var deleteMarkers : response.deleteMarkers()) {
+                if (deleteMarkers.isLatest()) {
+                    result.add(createFileData(deleteMarkers));
+                }
+            }
+            for (var commonPrefix : response.commonPrefixes()) {
+                folders.add(commonPrefix.prefix());
+            }
+
+            if (response.isTruncated()) {
+                request.keyMarker(response.nextKeyMarker());
+                request.versionIdMarker(response.nextVersionIdMarker());
+            } else {
+                request = null;
+            }
+        } while (request != null);
+        return folders;
+    }
+
     private FileData createFileData(ObjectVersion latest) {
         var data = new LazyFileData(s3, bucketName);
         data.setName(latest.key());
         data.setSize(latest.size());
         data.setModifiedAt(Date.from(latest.lastModified()));
         data.setVersion(latest.versionId());
+        data.setETag(latest.eTag());
         return data;
     }
 
@@ -295,12 +384,32 @@ public class S3Repository implements Repository, Closeable {
             if (fileData == null || fileData.isDeleted()) {
                 return null;
             }
-            return new FileItem(fileData, new DrainableInputStream(doRead(name, null)));
+            return new FileItem(fileData, openStream(fileData));
         } catch (SdkClientException e) {
             throw new IOException(e);
         }
     }
 
+    /**
+     * Opens the stream of the file version. The file is read from the cache, if it is enabled.
+     */
+    private InputStream openStream(FileData data) throws IOException {
+        String name = data.getName();
+        String version = isVersion(data.getVersion()) ? data.getVersion() : null;
+        String cacheKey = version;
+        if (cacheKey == null && data instanceof LazyFileData) {
+            cacheKey = ((LazyFileData) data).getETag();
+        }
+        if (cache == null || StringUtils.isBlank(cacheKey)) {
+            return new DrainableInputStream(doRead(name, version));
+        }
+        return cache.read(name, cacheKey, () -> new DrainableInputStream(doRead(name, version)));
+    }
+
+    private static boolean isVersion(String version) {
+        return StringUtils.isNotBlank(version) && !"null".equalsIgnoreCase(version);
+    }
+
     private InputStream doRead(String name, String versionId) {
         var request = GetObjectRequest.builder().bucket(bucketName).key(name).versionId(versionId).build();
         return s3.getObject(request);
@@ -317,7 +426,12 @@ public class S3Repository implements Repository, Closeable {
         }
     }
 
-    private void doSave(FileData data, InputStream stream) {
+    private void doSave(FileData data, InputStream stream) throws IOException {
+        long partSizeInBytes = Math.max(partSize, 5) * 1024L * 1024L;
+        if (executor != null && (data.getSize() == FileData.UNDEFINED_SIZE || data.getSize() > partSizeInBytes)) {
+            doMultipartSave(data, stream, (int) partSizeInBytes);
+            return;
+        }
         var request = PutObjectRequest.builder()
                 .bucket(bucketName)
                 .key(data.getName())
@@ -327,6 +441,88 @@ public class S3Repository implements Repository, Closeable {
         s3.putObject(request, RequestBody.fromInputStream(stream, data.getSize()));
     }
 
+    /**
+     * Uploads the parts of the file in parallel. The parts are read from the stream one by one, and the number of the
+     * parts kept in memory is limited by the parallelism.
+     */
+    private void doMultipartSave(FileData data, InputStream stream, int partSizeInBytes) throws IOException {
+        String name = data.getName();
+        var createRequest = CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(name)
+                .metadata(createInsertFileMetadata(data))
+                .build();
+        String uploadId = s3.createMultipartUpload(createRequest).uploadId();
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        Semaphore permits = new Semaphore(parallelism);
+        try {
+            byte[] bytes;
+            do {
+                bytes = stream.readNBytes(partSizeInBytes);
+                if (bytes.length == 0 && !parts.isEmpty()) {
+                    break;
+                }
+                permits.acquire();
+                byte[] partBytes = bytes;
+                int partNumber = parts.size() + 1;
+                parts.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        var request = UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(name)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) partBytes.length)
+                                .build();
+                        var response = s3.uploadPart(request, RequestBody.fromBytes(partBytes));
+                        return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+                    } finally {
+                        permits.release();
+                    }
+                }, executor));
+            } while (bytes.length == partSizeInBytes);
+
+            List<CompletedPart> completedParts = new ArrayList<>();
+            for (var part : parts) {
+                completedParts.add(part.join());
+            }
+            var completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(name)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build();
+            s3.completeMultipartUpload(completeRequest);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortMultipartUpload(name, uploadId, parts);
+            throw new IOException(e);
+        } catch (CompletionException e) {
+            abortMultipartUpload(name, uploadId, parts);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(name, uploadId, parts);
+            throw e;
+        }
+    }
+
+    private void abortMultipartUpload(String name, String uploadId, List<CompletableFuture<CompletedPart>> parts) {
+        // Parts in progress must be finished, otherwise they can be stored after the upload is aborted
+        for (var part : parts) {
+            try {
+                part.join();
+            } catch (CompletionException | CancellationException ignored) {
+                // The upload is aborted anyway
+            }
+        }
+        try {
+            s3.abortMultipartUpload(
+                    AbortMultipartUploadRequest.builder().bucket(bucketName).key(name).uploadId(uploadId).build());
+        } catch (S3Exception | SdkClientException e) {
+            log.warn("Failed to abort the upload of '{}'.", name, e);
+        }
+    }
+
     private Map<String, String> createInsertFileMetadata(FileData data) {
         Map<String, String> userMetadata = new HashMap<>();
 
@@ -497,8 +693,8 @@ public class S3Repository implements Repository, Closeable {
                 var response = s3.listObjectVersions(request.build());
                 for (var versionSummary : response.versions()) {
                     if (versionSummary.key().equals(name) && versionSummary.versionId().equals(version)) {
-                        return new FileItem(checkHistory(name, version),
-                                new DrainableInputStream(doRead(name, version)));
+                        var fileData = createFileData(versionSummary);
+                        return new FileItem(fileData, openStream(fileData));
                     }
                 }
                 if (response.isTruncated()) {
@@ -147,6 +147,7 @@ import org.openl.util.StringUtils;
 
 public class GitRepository implements BranchRepository, RepositorySettingsAware, Closeable {
     static final String DELETED_MARKER_FILE = ".archived";
+    private static final String HISTORY_INDEX_DIRECTORY = "openl-history";
 
     private final Logger log = LoggerFactory.getLogger(GitRepository.class);
 
@@ -178,6 +179,7 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
 
     private ChangesMonitor monitor;
     private volatile Git git;
+    private HistoryIndex historyIndex;
     private NotResettableCredentialsProvider credentialsProvider;
 
     private ReadWriteLock repositoryLock = new ReentrantReadWriteLock();
@@ -415,6 +417,7 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
                 commitId = commit.getId().getName();
 
                 addTagToCommit(commit, data.getAuthor());
+                historyIndex.remove(name);
             }
 
             push();
@@ -590,6 +593,10 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
             addTagToCommit(commit, data.getAuthor());
 
             push();
+            if (version == null) {
+                // The erased path is not requested anymore
+                historyIndex.remove(name);
+            }
         } catch (IOException e) {
             log.error(e.getMessage(), e);
             reset(commitId);
@@ -726,6 +733,7 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
             boolean clonedOrCreated = cloneOrInit(local);
 
             git = Git.open(local);
+            historyIndex = new HistoryIndex(new File(git.getRepository().getDirectory(), HISTORY_INDEX_DIRECTORY));
             updateGitConfigs();
 
             // Track all remote branches as local branches
@@ -1780,12 +1788,11 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
             }
 
             // We cannot use git.log().addPath(path) because jgit has some issues for some scenarios when merging commits
-            // so some history elements aren't shown. So we iterate all commits and filter them out ourselves.
-            Iterator<RevCommit> iterator = git.log()
-                    .add(resolveBranchId())
-                    .setRevFilter(buildGlobalRevisionFilter(globalFilter))
-                    .call()
-                    .iterator();
+            // so some history elements aren't shown. So the commits changing the path are found by the index, which
+            // compares the trees of every commit itself.
+            ObjectId branchId = resolveBranchId();
+            List<ObjectId> changes = historyIndex.getChanges(git, name, branchId);
+            RevFilter filter = buildGlobalRevisionFilter(globalFilter);
 
             List<Ref> tags = git.tagList().call();
 
@@ -1799,15 +1806,13 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
                 skip = page.getOffset();
                 maxCount = page.getPageSize();
             }
-            try (ObjectReader or = repository.newObjectReader()) {
-                TreeWalk tw = createTreeWalk(or, name);
-
+            if (techRevs) {
+                // The technical revisions are the commits which don't change the path, so the whole log is walked
+                Set<ObjectId> changed = new HashSet<>(changes);
+                Iterator<RevCommit> iterator = git.log().add(branchId).setRevFilter(filter).call().iterator();
                 while (iterator.hasNext() && processed < maxCount) {
                     RevCommit commit = iterator.next();
-                    boolean hasChanges = hasChangesInPath(tw, commit, git);
-                    if (!techRevs && !hasChanges) {
-                        continue;
-                    }
+                    boolean hasChanges = changed.contains(commit);
                     totalProcessed++;
                     if (totalProcessed <= skip) {
                         continue;
@@ -1819,6 +1824,27 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
                         break;
                     }
                 }
+            } else {
+                // Only the commits of the requested page and the skipped ones matching the filter are read
+                try (RevWalk walk = new RevWalk(repository)) {
+                    Iterator<ObjectId> iterator = changes.iterator();
+                    while (iterator.hasNext() && processed < maxCount) {
+                        RevCommit commit = walk.parseCommit(iterator.next());
+                        if (!filter.include(walk, commit)) {
+                            continue;
+                        }
+                        totalProcessed++;
+                        if (totalProcessed <= skip) {
+                            continue;
+                        }
+                        boolean stop = historyVisitor.visit(name, commit, getVersionName(repository, tags, commit));
+                        historyVisitor.getLastVisited().setTechnicalRevision(false);
+                        processed++;
+                        if (stop) {
+                            break;
+                        }
+                    }
+                }
             }
 
             return historyVisitor.getResult();
@@ -2034,7 +2060,7 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
         return null;
     }
 
-    private static boolean hasChangesInPath(TreeWalk tw, RevCommit commit, Git git) throws IOException,
+    static boolean hasChangesInPath(TreeWalk tw, RevCommit commit, Git git) throws IOException,
             GitAPIException {
         Repository repository = git.getRepository();
         RevCommit[] parents = commit.getParents();
@@ -2140,7 +2166,7 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
         return trees;
     }
 
-    private static TreeWalk createTreeWalk(ObjectReader or, String path) {
+    static TreeWalk createTreeWalk(ObjectReader or, String path) {
         TreeFilter t = AndTreeFilter.create(PathFilterGroup.create(Collections.singleton(PathFilter.create(path))),
                 TreeFilter.ANY_DIFF);
         TreeWalk tw = new TreeWalk(or);
@@ -2831,6 +2857,7 @@ public class GitRepository implements BranchRepository, RepositorySettingsAware,
         repo.setCommentTemplateOld(commentTemplateOld);
         repo.setRepositorySettings(repositorySettings);
         repo.git = git;
+        repo.historyIndex = historyIndex; // Can be shared between instances
         repo.repositoryLock = repositoryLock; // must be common for all instances because git
         // repository is same
         repo.remoteRepoLock = remoteRepoLock; // must be common for all instances because git
@@ -0,0 +1,334 @@
+package org.openl.rules.repository.git;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the commits which change a path, so the history of a project is not recalculated by comparing the trees of
+ * every commit in the repository on each request.
+ * <p>
+ * For every path the index remembers the inspected heads and, for each of them, the commits reachable from the head
+ * which change the path, in the order of the log. Whether a commit changes a path depends on the commit and its
+ * ancestors only, so the found commits are never invalidated. When the history is requested for a new head, only the
+ * commits which are reachable from it but not from the inspected heads are compared, and the rest are taken from the
+ * lists of the inspected heads. The history of a path can be paged from the list without walking the log.
+ * <p>
+ * The index of every path is stored in a separate file inside the git directory and is read on the first request
+ * after a restart. Only the recently used paths are kept in memory. The file of a path is removed when the path is
+ * erased, and the files which have not been used for {@link #MAX_AGE_DAYS} days are removed when the index is
+ * created. A missing or unreadable file is rebuilt on the next request.
+ */
+final class HistoryIndex {
+
+    private static final int VERSION = 2;
+
+    /**
+     * The number of inspected heads is limited to keep the walk boundary small. If the forgotten head is requested
+     * again, the commits which are not reachable from the remaining heads are compared once more.
+     */
+    private static final int MAX_HEADS = 8;
+
+    /**
+     * The number of paths kept in memory. The evicted paths are read from the disk again when requested.
+     */
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final int MAX_AGE_DAYS = 30;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Logger log = LoggerFactory.getLogger(HistoryIndex.class);
+
+    private final File directory;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    HistoryIndex(File directory) {
+        this.directory = directory;
+        cleanUp();
+    }
+
+    /**
+     * Returns the commits reachable from the given head which change the given path, in the order of the log: the
+     * newest commits go first.
+     *
+     * @param git the repository
+     * @param path the path of the file or the folder
+     * @param head the commit to start from
+     * @return the unmodifiable list of commits which change the path
+     */
+    List<ObjectId> getChanges(Git git, String path, ObjectId head) throws IOException, GitAPIException {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(path, Entry::new);
+        }
+        synchronized (entry) {
+            if (!entry.loaded) {
+                load(entry);
+                entry.loaded = true;
+            }
+            List<ObjectId> changes = entry.heads.get(head);
+            if (changes == null) {
+                changes = Collections.unmodifiableList(update(git, entry, head));
+                entry.heads.put(head.copy(), changes);
+                if (entry.heads.size() > MAX_HEADS) {
+                    Iterator<ObjectId> eldest = entry.heads.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+                save(entry);
+            }
+            return changes;
+        }
+    }
+
+    /**
+     * Removes the index of the given path from the memory and from the disk.
+     */
+    void remove(String path) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.remove(path);
+        }
+        if (entry != null) {
+            synchronized (entry) {
+                entry.heads.clear();
+            }
+        }
+        try {
+            Files.deleteIfExists(getFile(path).toPath());
+        } catch (IOException e) {
+            log.warn("Failed to remove history index for path '{}'", path, e);
+        }
+    }
+
+    private List<ObjectId> update(Git git, Entry entry, ObjectId head) throws IOException, GitAPIException {
+        Repository repository = git.getRepository();
+        try (ObjectReader or = repository.newObjectReader(); RevWalk walk = new RevWalk(or)) {
+            walk.sort(RevSort.BOUNDARY);
+            walk.markStart(walk.parseCommit(head));
+            for (Iterator<ObjectId> it = entry.heads.keySet().iterator(); it.hasNext();) {
+                ObjectId inspected = it.next();
+                try {
+                    walk.markUninteresting(walk.parseCommit(inspected));
+                } catch (MissingObjectException e) {
+                    // The branch was rewritten, and the commit was removed by gc.
+                    log.debug("Commit '{}' is not found in the repository", inspected.name());
+                    it.remove();
+                }
+            }
+
+            // The new commits are compared, the boundary commits are reachable from the inspected heads
+            TreeWalk tw = GitRepository.createTreeWalk(or, entry.path);
+            Set<ObjectId> compared = new HashSet<>();
+            List<RevCommit> found = new ArrayList<>();
+            List<List<ObjectId>> boundaries = new ArrayList<>();
+            boolean boundariesInspected = true;
+            for (RevCommit commit : walk) {
+                if (commit.has(RevFlag.UNINTERESTING)) {
+                    List<ObjectId> changes = entry.heads.get(commit);
+                    if (changes == null) {
+                        boundariesInspected = false;
+                    } else {
+                        boundaries.add(changes);
+                    }
+                } else {
+                    compared.add(commit);
+                    if (GitRepository.hasChangesInPath(tw, commit, git)) {
+                        found.add(commit);
+                    }
+                }
+            }
+
+            if (compared.isEmpty() || boundaries.size() > 1 || !boundariesInspected) {
+                // The head is behind the inspected heads, or the branches were merged. The commits of several heads
+                // are ordered by walking the log.
+                return collect(repository, head, compared, found, entry);
+            }
+            List<ObjectId> result = new ArrayList<>();
+            for (RevCommit commit : found) {
+                result.add(commit.copy());
+            }
+            if (!boundaries.isEmpty()) {
+                // The head is a descendant of the inspected head: the usual case when the branch is moved forward
+                result.addAll(boundaries.get(0));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Walks the whole log from the head without comparing the trees. The commits reachable from the inspected heads
+     * change the path if they are found in their lists.
+     */
+    private List<ObjectId> collect(Repository repository,
+                                   ObjectId head,
+                                   Set<ObjectId> compared,
+                                   List<RevCommit> found,
+                                   Entry entry) throws IOException {
+        Set<ObjectId> newChanges = new HashSet<>(found);
+        Set<ObjectId> changes = new HashSet<>();
+        entry.heads.values().forEach(changes::addAll);
+        List<ObjectId> result = new ArrayList<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            walk.markStart(walk.parseCommit(head));
+            for (RevCommit commit : walk) {
+                if (compared.contains(commit) ? newChanges.contains(commit) : changes.contains(commit)) {
+                    result.add(commit.copy());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void load(Entry entry) {
+        File file = getFile(entry.path);
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != VERSION || !entry.path.equals(in.readUTF())) {
+                return;
+            }
+            Map<ObjectId, List<ObjectId>> heads = new LinkedHashMap<>();
+            int size = in.readInt();
+            byte[] raw = new byte[Constants.OBJECT_ID_LENGTH];
+            for (int i = 0; i < size; i++) {
+                in.readFully(raw);
+                ObjectId head = ObjectId.fromRaw(raw);
+                heads.put(head, Collections.unmodifiableList(readIds(in, raw)));
+            }
+            entry.heads.putAll(heads);
+            // The last usage time of the index
+            file.setLastModified(System.currentTimeMillis());
+        } catch (IOException e) {
+            // The index will be rebuilt
+            log.warn("Failed to read history index for path '{}'", entry.path, e);
+        }
+    }
+
+    private void save(Entry entry) {
+        File file = getFile(entry.path);
+        try {
+            Files.createDirectories(directory.toPath());
+            File temp = File.createTempFile(file.getName(), TEMP_SUFFIX, directory);
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                    out.writeInt(VERSION);
+                    out.writeUTF(entry.path);
+                    out.writeInt(entry.heads.size());
+                    for (Map.Entry<ObjectId, List<ObjectId>> head : entry.heads.entrySet()) {
+                        head.getKey().copyRawTo(out);
+                        writeIds(out, head.getValue());
+                    }
+                }
+                try {
+                    Files.move(temp.toPath(),
+                            file.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            // The index is kept in memory and will be rebuilt after restart
+            log.warn("Failed to save history index for path '{}'", entry.path, e);
+        }
+    }
+
+    /**
+     * Removes the files of the paths which have not been requested for a long time, for example the paths which were
+     * renamed or deleted, and the temporary files left after a failure.
+     */
+    private void cleanUp() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long expired = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+        for (File file : files) {
+            if (file.getName().endsWith(TEMP_SUFFIX) || file.lastModified() < expired) {
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (IOException e) {
+                    log.warn("Failed to remove history index file '{}'", file, e);
+                }
+            }
+        }
+    }
+
+    private File getFile(String path) {
+        ObjectId id = new ObjectInserter.Formatter().idFor(Constants.OBJ_BLOB,
+                path.getBytes(StandardCharsets.UTF_8));
+        return new File(directory, id.name());
+    }
+
+    private static List<ObjectId> readIds(DataInputStream in, byte[] raw) throws IOException {
+        int size = in.readInt();
+        List<ObjectId> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            in.readFully(raw);
+            ids.add(ObjectId.fromRaw(raw));
+        }
+        return ids;
+    }
+
+    private static void writeIds(DataOutputStream out, List<ObjectId> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (ObjectId id : ids) {
+            id.copyRawTo(out);
+        }
+    }
+
+    private static final class Entry {
+        private final String path;
+        private final Map<ObjectId, List<ObjectId>> heads = new LinkedHashMap<>();
+        private boolean loaded;
+
+        private Entry(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.openl.rules.repository.git;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.openl.util.FileUtils;
+
+public class HistoryIndexTest {
+
+    private File root;
+    private File directory;
+    private Git git;
+
+    @BeforeEach
+    public void setUp() throws IOException, GitAPIException {
+        root = Files.createTempDirectory("openl").toFile();
+        directory = new File(root, "index");
+        git = Git.init().setDirectory(new File(root, "repository")).call();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (git != null) {
+            git.close();
+        }
+        FileUtils.deleteQuietly(root);
+    }
+
+    @Test
+    public void testIncrementalUpdate() throws IOException, GitAPIException {
+        HistoryIndex index = new HistoryIndex(directory);
+
+        ObjectId first = commit("project1/file1", "1");
+        ObjectId second = commit("project2/file1", "1");
+        ObjectId third = commit("project1/file2", "1");
+        assertEquals(List.of(third, first), index.getChanges(git, "project1", third));
+        assertEquals(List.of(second), index.getChanges(git, "project2", third));
+
+        ObjectId fourth = commit("project1/file1", "2");
+        ObjectId fifth = commit("project2/file2", "1");
+        assertEquals(List.of(fourth, third, first), index.getChanges(git, "project1", fifth));
+        assertEquals(List.of(fifth, second), index.getChanges(git, "project2", fifth));
+        assertEquals(List.of(fourth, first), index.getChanges(git, "project1/file1", fifth));
+
+        // The previous head is still known
+        assertEquals(List.of(third, first), index.getChanges(git, "project1", third));
+        // The head which has not been inspected is behind the inspected ones
+        assertEquals(List.of(first), index.getChanges(git, "project1", second));
+
+        // The index is read from the disk
+        assertTrue(directory.isDirectory());
+        HistoryIndex restored = new HistoryIndex(directory);
+        assertEquals(List.of(fourth, third, first), restored.getChanges(git, "project1", fifth));
+
+        ObjectId sixth = commit("project1/file2", "2");
+        assertEquals(List.of(sixth, fourth, third, first), restored.getChanges(git, "project1", sixth));
+    }
+
+    @Test
+    public void testMergedBranches() throws IOException, GitAPIException {
+        HistoryIndex index = new HistoryIndex(directory);
+        String main = git.getRepository().getBranch();
+
+        commit("project1/file1", "1");
+        git.branchCreate().setName("feature").call();
+        commit("project1/file1", "2");
+        ObjectId mainHead = commit("project2/file1", "1");
+        index.getChanges(git, "project1", mainHead);
+
+        git.checkout().setName("feature").call();
+        commit("project1/file2", "1");
+        ObjectId featureHead = commit("project1/file2", "2");
+        index.getChanges(git, "project1", featureHead);
+
+        git.checkout().setName(main).call();
+        ObjectId merged = git.merge().include(featureHead).setMessage("Merge").call().getNewHead();
+        // Both merged heads are inspected
+        assertEquals(new HistoryIndex(new File(root, "other")).getChanges(git, "project1", merged),
+                index.getChanges(git, "project1", merged));
+
+        git.checkout().setName("feature").call();
+        ObjectId notInspected = commit("project1/file3", "1");
+        git.checkout().setName(main).call();
+        commit("project1/file1", "3");
+        merged = git.merge().include(notInspected).setMessage("Merge").call().getNewHead();
+        // The branch is merged in the middle of the inspected history
+        assertEquals(new HistoryIndex(new File(root, "another")).getChanges(git, "project1", merged),
+                index.getChanges(git, "project1", merged));
+    }
+
+    @Test
+    public void testRemove() throws IOException, GitAPIException {
+        HistoryIndex index = new HistoryIndex(directory);
+        ObjectId first = commit("project1/file1", "1");
+        index.getChanges(git, "project1", first);
+        index.getChanges(git, "project2", first);
+        assertEquals(2, directory.list().length);
+
+        index.remove("project1");
+        assertEquals(1, directory.list().length);
+        assertEquals(List.of(first), index.getChanges(git, "project1", first));
+    }
+
+    @Test
+    public void testUnusedFilesAreRemoved() throws IOException, GitAPIException {
+        ObjectId first = commit("project1/file1", "1");
+        new HistoryIndex(directory).getChanges(git, "project1", first);
+        new HistoryIndex(directory).getChanges(git, "project2", first);
+        File[] files = directory.listFiles();
+        assertEquals(2, files.length);
+        assertTrue(files[0].setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(31)));
+        File temp = new File(directory, "index.tmp");
+        assertTrue(temp.createNewFile());
+
+        new HistoryIndex(directory);
+        assertFalse(files[0].exists());
+        assertTrue(files[1].exists());
+        assertFalse(temp.exists());
+    }
+
+    private ObjectId commit(String path, String text) throws IOException, GitAPIException {
+        File file = new File(git.getRepository().getWorkTree(), path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), text);
+        git.add().addFilepattern(path).call();
+        return git.commit().setMessage("Modify " + path).call().getId();
+    }
+}
@@ -1,8 +1,20 @@
 package org.openl.rules.repository.api;
 
+import java.util.Set;
+
 /**
  * @author Yury Molchan
  */
 public interface Listener {
     void onChange();
+
+    /**
+     * Is called instead of {@link #onChange()} when the changed files are known. By default, all changes are
+     * processed in the same way.
+     *
+     * @param paths the paths of the added, modified and deleted files
+     */
+    default void onChange(Set<String> paths) {
+        onChange();
+    }
 }
@@ -1,5 +1,6 @@
 package org.openl.rules.repository.common;
 
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -12,7 +13,8 @@ import org.openl.rules.repository.api.Listener;
 
 /**
  * For monitoring changes in a repository. If the difference is detected then a {@link Listener#onChange()} will be
- * called. Monitor uses {@link RevisionGetter#getRevision()} to retrieve the current change set revision.
+ * called. Monitor uses {@link RevisionGetter#getRevision()} to retrieve the current change set revision. If the getter
+ * knows the changed files, then {@link Listener#onChange(Set)} is called instead.
  *
  * @author Yury Molchan
  */
@@ -74,7 +76,7 @@ public class ChangesMonitor implements Runnable {
             }
             lastChange = currentChange;
 
-            fireOnChange();
+            fireOnChange(getChangedPaths());
         } catch (Exception e) {
             LOG.warn("An exception has occurred during checking the repository.", e);
         }
@@ -84,10 +86,23 @@ public class ChangesMonitor implements Runnable {
      * Call onChange() method in the listener;
      */
     public void fireOnChange() {
+        fireOnChange(null);
+    }
+
+    /**
+     * Call onChange() method in the listener with the changed paths.
+     *
+     * @param paths the changed paths or {@code null} if they are unknown
+     */
+    public void fireOnChange(Set<String> paths) {
         Listener listener = callback; // Copy for multi-thread
         try {
             if (listener != null) {
-                listener.onChange();
+                if (paths != null) {
+                    listener.onChange(paths);
+                } else {
+                    listener.onChange();
+                }
             }
         } catch (Exception e) {
             LOG.warn("An exception is occurred in onChange() method in '{}' listener.", listener, e);
@@ -125,6 +140,15 @@ public class ChangesMonitor implements Runnable {
         scheduledPool = null;
     }
 
+    private Set<String> getChangedPaths() {
+        try {
+            return getter.getChangedPaths();
+        } catch (Exception e) {
+            LOG.warn("An exception is occurred during retrieving the changed files from the repository.", e);
+            return null;
+        }
+    }
+
     private Object getRevision() {
         try {
             return getter.getRevision();
@@ -1,5 +1,7 @@
 package org.openl.rules.repository.common;
 
+import java.util.Set;
+
 /**
  * For retrieving a current revision of a repository.
  *
@@ -11,4 +13,13 @@ public interface RevisionGetter {
      * {@link Object#equals(Object)} method which must return true if no changes were detected between two change sets.
      */
     Object getRevision();
+
+    /**
+     * Returns the paths of the files changed between the last two revisions returned by {@link #getRevision()}.
+     *
+     * @return the changed paths or {@code null} if they are unknown
+     */
+    default Set<String> getChangedPaths() {
+        return null;
+    }
 }
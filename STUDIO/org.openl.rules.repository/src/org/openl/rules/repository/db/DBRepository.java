@@ -12,8 +12,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -662,6 +664,10 @@ abstract class DBRepository implements Repository, Closeable {
     }
 
     private class DBRepositoryRevisionGetter implements RevisionGetter {
+        private Object lastRevision;
+        private Long lastId;
+        private long lastCount;
+        private Set<String> changedPaths;
 
         @Override
         public Object getRevision() {
@@ -675,8 +681,69 @@ abstract class DBRepository implements Repository, Closeable {
                 LOG.warn("Cannot check revision of the repository.", (Throwable) revision);
                 return null;
             }
+            if (revision != null && !revision.equals(lastRevision)) {
+                lastRevision = revision;
+                changedPaths = readChangedPaths();
+            }
             return revision;
         }
+
+        @Override
+        public Set<String> getChangedPaths() {
+            return changedPaths;
+        }
+
+        /**
+         * Reads the names of the files from the rows inserted since the previous check. The changes are unknown if
+         * some rows have been deleted, for example, when the history of a file is erased.
+         */
+        private Set<String> readChangedPaths() {
+            if (settings.selectChangesState == null || settings.selectChanges == null) {
+                return null;
+            }
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet rs = null;
+            try {
+                connection = createConnection();
+                statement = connection.prepareStatement(settings.selectChangesState);
+                rs = statement.executeQuery();
+                if (!rs.next()) {
+                    return null;
+                }
+                long maxId = rs.getLong("max_id");
+                long count = rs.getLong("files_count");
+                SqlDBUtils.safeClose(rs);
+                SqlDBUtils.safeClose(statement);
+
+                Long fromId = lastId;
+                long fromCount = lastCount;
+                lastId = maxId;
+                lastCount = count;
+                if (fromId == null || maxId < fromId) {
+                    return null;
+                }
+                Set<String> paths = new HashSet<>();
+                int inserted = 0;
+                statement = connection.prepareStatement(settings.selectChanges);
+                statement.setLong(1, fromId);
+                statement.setLong(2, maxId);
+                rs = statement.executeQuery();
+                while (rs.next()) {
+                    paths.add(rs.getString("file_name"));
+                    inserted++;
+                }
+                return count == fromCount + inserted ? paths : null;
+            } catch (Exception e) {
+                lastId = null;
+                LOG.warn("Cannot detect changed files in the repository.", e);
+                return null;
+            } finally {
+                SqlDBUtils.safeClose(rs);
+                SqlDBUtils.safeClose(statement);
+                SqlDBUtils.safeClose(connection);
+            }
+        }
     }
 
     /**
@@ -29,6 +29,8 @@ final class Settings {
     String deleteAllHistory;
     String deleteVersion;
     String selectLastChange;
+    String selectChangesState;
+    String selectChanges;
     String copyFile;
     String copyHistory;
 
@@ -53,6 +55,9 @@ final class Settings {
         selectAllMetaInfo = getRequired(queries, "query.list-last-metainfo");
         selectAllHistoryMetaInfo = getRequired(queries, "query.list-all-metainfo");
         selectLastChange = getRequired(queries, "query.select-last-change");
+        // Optional, the changed files are not detected without them
+        selectChangesState = queries.get("query.select-changes-state");
+        selectChanges = queries.get("query.select-changes");
 
         initStatements = queries.subMap("init.", "init." + Character.MAX_VALUE).values();
     }
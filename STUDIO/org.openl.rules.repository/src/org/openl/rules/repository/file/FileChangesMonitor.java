@@ -1,63 +1,69 @@
 package org.openl.rules.repository.file;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.openl.rules.repository.common.RevisionGetter;
 
 public final class FileChangesMonitor implements RevisionGetter {
     private final File baseDir;
-    private ArrayList<FileTimeStamp> timestamps = new ArrayList<>(0);
+    private Map<String, Long> timestamps = new HashMap<>(0);
+    private Set<String> changedPaths = Collections.emptySet();
     private int revision;
 
     FileChangesMonitor(File baseDir) {
         this.baseDir = baseDir;
     }
 
-    private void collect(File file, ArrayList<FileTimeStamp> result) {
+    private void collect(File file, String path, Map<String, Long> result) {
         if (file.isDirectory()) {
             File[] filesArray = file.listFiles();
             if (filesArray != null) {
                 for (File f : filesArray) {
-                    collect(f, result);
+                    collect(f, path == null ? f.getName() : path + "/" + f.getName(), result);
                 }
             }
-        } else {
+        } else if (path != null) {
             // Assuming that "a not directory is a file"
-            result.add(new FileTimeStamp(file));
+            result.put(path, file.lastModified());
         }
     }
 
     @Override
     public Object getRevision() {
-        int quantity = timestamps.size();
         // Allocate memory for scanning the base directory.
-        // Usually directory size is not increased extensively from the previous scanning,
-        // so 10 free cells is enough for fast expanding.
-        ArrayList<FileTimeStamp> newTimestamps = new ArrayList<>(quantity + 10);
+        // Usually directory size is not increased extensively from the previous scanning.
+        Map<String, Long> newTimestamps = new HashMap<>(timestamps.size() + 10);
         // Scanning all files in the base directory
-        collect(baseDir, newTimestamps);
-        boolean changed = false;
-        // If quantity of files is different from the previous scanning
-        // e.g. files have been added or deleted
-        if (newTimestamps.size() != quantity) {
-            // then we can ensure that the base directory has been modified
-            changed = true;
-        } else {
-            // else scan file modification from the previous scanning
-            for (FileTimeStamp entry : timestamps) {
-                if (entry.isModified()) {
-                    // A file has been deleted or recreated to a directory or modified
-                    changed = true;
-                    break;
-                }
+        collect(baseDir, null, newTimestamps);
+        // Files which have been added, deleted, modified or recreated to a directory
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Long> entry : newTimestamps.entrySet()) {
+            if (!Objects.equals(entry.getValue(), timestamps.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String path : timestamps.keySet()) {
+            if (!newTimestamps.containsKey(path)) {
+                changed.add(path);
             }
         }
         // After above checks if changes have been found, keep the scanned files and fire an event
-        if (changed) {
+        if (!changed.isEmpty()) {
             timestamps = newTimestamps;
+            changedPaths = changed;
             revision++;
         }
         return revision;
     }
+
+    @Override
+    public Set<String> getChangedPaths() {
+        return Collections.unmodifiableSet(changedPaths);
+    }
 }
@@ -0,0 +1,46 @@
+package org.openl.rules.repository.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.util.FileUtils;
+
+public class FileChangesMonitorTest {
+
+    @Test
+    public void testChangedPaths() throws IOException {
+        File root = new File("target/test-file-changes-monitor/");
+        FileUtils.deleteQuietly(root);
+        write(root, "deploy/first/rules.xml");
+        write(root, "deploy/first/Main.xlsx");
+        write(root, "deploy/second/rules.xml");
+
+        FileChangesMonitor monitor = new FileChangesMonitor(root);
+        Object revision = monitor.getRevision();
+        assertEquals(revision, monitor.getRevision());
+
+        write(root, "deploy/third/rules.xml");
+        File modified = new File(root, "deploy/first/Main.xlsx");
+        modified.setLastModified(modified.lastModified() - 10_000);
+        FileUtils.deleteQuietly(new File(root, "deploy/second"));
+        Object changedRevision = monitor.getRevision();
+        assertNotEquals(revision, changedRevision);
+        assertEquals(Set.of("deploy/third/rules.xml", "deploy/first/Main.xlsx", "deploy/second/rules.xml"),
+                monitor.getChangedPaths());
+
+        assertEquals(changedRevision, monitor.getRevision());
+    }
+
+    private static void write(File root, String path) throws IOException {
+        File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), path);
+    }
+}
@@ -19,6 +19,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -77,6 +80,7 @@ import org.openl.rules.table.properties.ITableProperties;
 import org.openl.rules.table.xls.XlsUrlParser;
 import org.openl.rules.tableeditor.model.TableEditorModel;
 import org.openl.rules.testmethod.ProjectHelper;
+import org.openl.rules.testmethod.TestResultsCache;
 import org.openl.rules.testmethod.TestSuite;
 import org.openl.rules.testmethod.TestSuiteExecutor;
 import org.openl.rules.testmethod.TestSuiteMethod;
@@ -93,6 +97,7 @@ import org.openl.rules.webstudio.dependencies.WebStudioWorkspaceRelatedDependenc
 import org.openl.rules.webstudio.web.Props;
 import org.openl.rules.webstudio.web.SearchScope;
 import org.openl.rules.webstudio.web.admin.AdministrationSettings;
+import org.openl.rules.webstudio.web.search.TableSearchIndex;
 import org.openl.rules.webstudio.web.trace.node.CachingArgumentsCloner;
 import org.openl.rules.webstudio.web.util.Constants;
 import org.openl.rules.webstudio.web.util.WebStudioUtils;
@@ -124,6 +129,15 @@ public class ProjectModel {
     private XlsModuleSyntaxNode xlsModuleSyntaxNode;
     private final Map<String, Set<XlsModuleSyntaxNode>> xlsModuleSyntaxNodesPerProject = new ConcurrentHashMap<>();
     private final Collection<XlsModuleSyntaxNode> xlsModuleSyntaxNodes = ConcurrentHashMap.newKeySet();
+    private final TableSearchIndex searchIndex = new TableSearchIndex();
+    private final TestResultsCache testResultsCache = new TestResultsCache();
+    /**
+     * Held for reading by the running tests, so the class loaders used by them are not released. It is always taken
+     * before the lock of the model, so the model is not locked while the running tests are awaited.
+     *
+     * @see #awaitRunningTests()
+     */
+    private final ReadWriteLock runningTests = new ReentrantReadWriteLock();
 
     private Module moduleInfo;
     private long moduleLastModified;
@@ -907,7 +921,11 @@ public class ProjectModel {
         return false;
     }
 
-    public synchronized List<IOpenLTable> search(Predicate<TableSyntaxNode> selectors, SearchScope searchScope) {
+    /**
+     * Searches the tables. Only the scope is collected under the lock of the model, so concurrent searches don't block
+     * each other.
+     */
+    public List<IOpenLTable> search(Predicate<TableSyntaxNode> selectors, SearchScope searchScope) {
         return getSearchScopeData(searchScope).stream()
                 .filter(tableSyntaxNode -> !XlsNodeTypes.XLS_TABLEPART.toString().equals(tableSyntaxNode.getType()))
                 .filter(tsn -> !isGapOverlap(tsn))
@@ -1099,7 +1117,18 @@ public class ProjectModel {
         reset(reloadType, moduleInfo);
     }
 
-    public synchronized void reset(ReloadType reloadType, Module moduleToOpen) throws Exception {
+    public void reset(ReloadType reloadType, Module moduleToOpen) throws Exception {
+        Lock lock = awaitRunningTests();
+        try {
+            synchronized (this) {
+                resetModule(reloadType, moduleToOpen);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resetModule(ReloadType reloadType, Module moduleToOpen) throws Exception {
         switch (reloadType) {
             case FORCED:
                 moduleToOpen = studio.getCurrentModule();
@@ -1109,43 +1138,97 @@ public class ProjectModel {
                     webStudioWorkspaceDependencyManager.shutdown();
                     xlsModuleSyntaxNodesPerProject.clear();
                     xlsModuleSyntaxNodes.clear();
+                    searchIndex.clear();
+                    testResultsCache.clear();
                 }
                 webStudioWorkspaceDependencyManager = null;
                 recentlyVisitedTables.clear();
 
                 break;
             case SINGLE:
+                // Only the module and the modules depending on it are recompiled. The whole project is recompiled
+                // only if the datatypes of the module have been changed. See setModuleInfo().
                 webStudioWorkspaceDependencyManager
-                        .reset(AbstractDependencyManager.buildResolvedDependency(moduleToOpen));
+                        .resetKeepingClasspath(AbstractDependencyManager.buildResolvedDependency(moduleToOpen));
                 break;
         }
-        setModuleInfo(moduleToOpen, reloadType);
+        if (!isModuleOpened(moduleToOpen, reloadType)) {
+            openModule(moduleToOpen, reloadType);
+        }
         projectRoot = null;
     }
 
-    public synchronized TestUnitsResults runTest(TestSuite test, boolean currentOpenedModule) {
+    /**
+     * Runs the test suite. The model is not locked while the tests are running, but the modules are not reset until
+     * the tests are finished. The results of the test cases, which do not depend on the modules recompiled since the
+     * previous run, are taken from the cache.
+     */
+    public TestUnitsResults runTest(TestSuite test, boolean currentOpenedModule) {
         Integer threads = Props.integer(AdministrationSettings.TEST_RUN_THREAD_COUNT_PROPERTY);
         boolean isParallel = threads != null && threads > 1;
-        return runTest(test,
-                isParallel,
-                currentOpenedModule ? openedModuleCompiledOpenClass.getOpenClassWithErrors()
-                        : compiledOpenClass.getOpenClassWithErrors());
+        CompiledOpenClass compiledClass;
+        IOpenClass openClass;
+        Lock lock = runningTests.readLock();
+        lock.lock();
+        try {
+            synchronized (this) {
+                compiledClass = compiledOpenClass;
+                openClass = currentOpenedModule ? openedModuleCompiledOpenClass.getOpenClassWithErrors()
+                        : compiledOpenClass.getOpenClassWithErrors();
+            }
+            return runTest(test,
+                    isParallel,
+                    testSuiteExecutor,
+                    compiledClass.getClassLoader(),
+                    openClass,
+                    testResultsCache);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the running tests before the compiled modules are released. New tests are not started until the
+     * returned lock is unlocked by the caller. It must not be called under the lock of the model, otherwise the running
+     * tests could not read the model and the other callers of the model would wait for the tests.
+     *
+     * @return the locked lock
+     */
+    private Lock awaitRunningTests() {
+        if (Thread.holdsLock(this)) {
+            throw new IllegalStateException("The running tests cannot be awaited under the lock of the model.");
+        }
+        Lock lock = runningTests.writeLock();
+        lock.lock();
+        return lock;
     }
 
-    private TestUnitsResults runTest(TestSuite test, boolean isParallel, IOpenClass openClass) {
+    private static TestUnitsResults runTest(TestSuite test,
+                                            boolean isParallel,
+                                            TestSuiteExecutor testSuiteExecutor,
+                                            ClassLoader classLoader,
+                                            IOpenClass openClass,
+                                            TestResultsCache resultsCache) {
         ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
         try {
-            Thread.currentThread().setContextClassLoader(compiledOpenClass.getClassLoader());
+            Thread.currentThread().setContextClassLoader(classLoader);
             if (!isParallel) {
-                return test.invokeSequentially(openClass, 1);
+                return test.invokeSequentially(openClass, 1, resultsCache);
             } else {
-                return test.invokeParallel(testSuiteExecutor, openClass, 1);
+                return test.invokeParallel(testSuiteExecutor, openClass, 1, resultsCache);
             }
         } finally {
             Thread.currentThread().setContextClassLoader(oldClassLoader);
         }
     }
 
+    /**
+     * @return the index of the compiled tables. It is used without the lock of the project model.
+     */
+    public TableSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
     // Logic in this block of code implemented with a recursion to achieve sorting of each dataset by comparator
     // and place this sets in the proper order.
     public synchronized Set<TableSyntaxNode> getSearchScopeData(SearchScope searchScope) {
@@ -1167,7 +1250,18 @@ public class ProjectModel {
         }
     }
 
-    public synchronized void clearModuleInfo() {
+    public void clearModuleInfo() {
+        Lock lock = awaitRunningTests();
+        try {
+            synchronized (this) {
+                clearModule();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clearModule() {
         this.moduleInfo = null;
         historyStoragePath = null;
 
@@ -1180,6 +1274,8 @@ public class ProjectModel {
             webStudioWorkspaceDependencyManager.shutdown();
             xlsModuleSyntaxNodesPerProject.clear();
             xlsModuleSyntaxNodes.clear();
+            searchIndex.clear();
+            testResultsCache.clear();
         }
         webStudioWorkspaceDependencyManager = null;
         xlsModuleSyntaxNode = null;
@@ -1200,6 +1296,7 @@ public class ProjectModel {
                 if (!(xlsModuleSyntaxNode.getModule() instanceof VirtualSourceCodeModule)) {
                     xlsModuleSyntaxNodes.add(xlsModuleSyntaxNode);
                 }
+                searchIndex.index(xlsModuleSyntaxNode);
             }
         }
     }
@@ -1214,6 +1311,7 @@ public class ProjectModel {
                 if (!(xlsModuleSyntaxNode.getModule() instanceof VirtualSourceCodeModule)) {
                     xlsModuleSyntaxNodes.remove(xlsModuleSyntaxNode);
                 }
+                searchIndex.remove(xlsModuleSyntaxNode);
             }
         }
     }
@@ -1222,10 +1320,32 @@ public class ProjectModel {
         return xlsModuleSyntaxNodesPerProject.computeIfAbsent(projectName, e -> ConcurrentHashMap.newKeySet());
     }
 
-    public synchronized void setModuleInfo(Module moduleInfo, ReloadType reloadType) throws Exception {
-        if (moduleInfo == null || this.moduleInfo == moduleInfo && reloadType == ReloadType.NO) {
-            return;
+    public void setModuleInfo(Module moduleInfo, ReloadType reloadType) throws Exception {
+        synchronized (this) {
+            if (isModuleOpened(moduleInfo, reloadType)) {
+                return;
+            }
+        }
+        Lock lock = awaitRunningTests();
+        try {
+            synchronized (this) {
+                if (!isModuleOpened(moduleInfo, reloadType)) {
+                    openModule(moduleInfo, reloadType);
+                }
+            }
+        } finally {
+            lock.unlock();
         }
+    }
+
+    private boolean isModuleOpened(Module moduleInfo, ReloadType reloadType) {
+        return moduleInfo == null || this.moduleInfo == moduleInfo && reloadType == ReloadType.NO;
+    }
+
+    /**
+     * Opens the module. The caller holds the lock of the running tests, because the compiled modules can be released.
+     */
+    private void openModule(Module moduleInfo, ReloadType reloadType) throws Exception {
 
         File projectFolder = moduleInfo.getProject().getProjectFolder().toFile();
         if (reloadType == ReloadType.FORCED) {
@@ -1250,9 +1370,16 @@ public class ProjectModel {
         xlsModuleSyntaxNode = null;
         prepareWorkspaceDependencyManager(moduleInfo.getProject());
         try {
+            ResolvedDependency moduleDependency = AbstractDependencyManager.buildResolvedDependency(moduleInfo);
             CompiledOpenClass thisModuleCompiledOpenClass = webStudioWorkspaceDependencyManager
-                    .loadDependency(AbstractDependencyManager.buildResolvedDependency(moduleInfo))
+                    .loadDependency(moduleDependency)
                     .getCompiledOpenClass();
+            if (isGeneratedClassesOutdated(thisModuleCompiledOpenClass)) {
+                // Datatypes of the module have been changed, so the classes generated for the project are reset
+                webStudioWorkspaceDependencyManager.reset(moduleDependency);
+                thisModuleCompiledOpenClass = webStudioWorkspaceDependencyManager.loadDependency(moduleDependency)
+                        .getCompiledOpenClass();
+            }
 
             xlsModuleSyntaxNode = findXlsModuleSyntaxNode(thisModuleCompiledOpenClass);
             openedModuleCompiledOpenClass = thisModuleCompiledOpenClass;
@@ -1274,32 +1401,21 @@ public class ProjectModel {
         }
     }
 
+    private static boolean isGeneratedClassesOutdated(CompiledOpenClass compiledOpenClass) {
+        IOpenClass openClass = compiledOpenClass.getOpenClassWithErrors();
+        return openClass instanceof XlsModuleOpenClass && ((XlsModuleOpenClass) openClass).isGeneratedClassesOutdated();
+    }
+
     public void compileProject(boolean sync, boolean prepareWorkspaceDependencyManager) {
-        final CountDownLatch countDownLatch = new CountDownLatch(1);
-        synchronized (this) {
-            ProjectDescriptor projectDescriptor = getProjectDescriptor();
-            if (this.webStudioWorkspaceDependencyManager == null || prepareWorkspaceDependencyManager) {
-                prepareWorkspaceDependencyManager(projectDescriptor);
+        // The dependency manager can be replaced, so the compiled modules can be released
+        Lock lock = prepareWorkspaceDependencyManager ? awaitRunningTests() : null;
+        CountDownLatch countDownLatch;
+        try {
+            countDownLatch = startProjectCompilation(prepareWorkspaceDependencyManager);
+        } finally {
+            if (lock != null) {
+                lock.unlock();
             }
-            this.compilationInProgress = true;
-            this.projectCompilationCompleted = null;
-            ResolvedDependency projectDependency = AbstractDependencyManager.buildResolvedDependency(projectDescriptor);
-            this.webStudioWorkspaceDependencyManager.loadDependencyAsync(projectDependency, (compiledDependency) -> {
-                synchronized (ProjectModel.this) {
-                    try {
-                        this.compiledOpenClass = this.validate(projectDescriptor);
-                        XlsMetaInfo metaInfo1 = (XlsMetaInfo) this.compiledOpenClass.getOpenClassWithErrors()
-                                .getMetaInfo();
-                        getModuleSyntaxNodesByProject(projectDescriptor.getName()).add(metaInfo1.getXlsModuleNode());
-                        redraw();
-                    } catch (Exception | LinkageError e) {
-                        onCompilationFailed(e);
-                    }
-                    this.projectCompilationCompleted = compiledDependency.getDependency();
-                    this.compilationInProgress = false;
-                    countDownLatch.countDown();
-                }
-            });
         }
         if (sync) {
             try {
@@ -1310,6 +1426,34 @@ public class ProjectModel {
         }
     }
 
+    private synchronized CountDownLatch startProjectCompilation(boolean prepareWorkspaceDependencyManager) {
+        final CountDownLatch countDownLatch = new CountDownLatch(1);
+        ProjectDescriptor projectDescriptor = getProjectDescriptor();
+        if (this.webStudioWorkspaceDependencyManager == null || prepareWorkspaceDependencyManager) {
+            prepareWorkspaceDependencyManager(projectDescriptor);
+        }
+        this.compilationInProgress = true;
+        this.projectCompilationCompleted = null;
+        ResolvedDependency projectDependency = AbstractDependencyManager.buildResolvedDependency(projectDescriptor);
+        this.webStudioWorkspaceDependencyManager.loadDependencyAsync(projectDependency, (compiledDependency) -> {
+            synchronized (ProjectModel.this) {
+                try {
+                    this.compiledOpenClass = this.validate(projectDescriptor);
+                    XlsMetaInfo metaInfo1 = (XlsMetaInfo) this.compiledOpenClass.getOpenClassWithErrors()
+                            .getMetaInfo();
+                    getModuleSyntaxNodesByProject(projectDescriptor.getName()).add(metaInfo1.getXlsModuleNode());
+                    redraw();
+                } catch (Exception | LinkageError e) {
+                    onCompilationFailed(e);
+                }
+                this.projectCompilationCompleted = compiledDependency.getDependency();
+                this.compilationInProgress = false;
+                countDownLatch.countDown();
+            }
+        });
+        return countDownLatch;
+    }
+
     private ProjectDescriptor getProjectDescriptor() {
         try {
             ProjectResolver projectResolver = studio.getProjectResolver();
@@ -1391,6 +1535,8 @@ public class ProjectModel {
                     webStudioWorkspaceDependencyManager.shutdown();
                     xlsModuleSyntaxNodesPerProject.clear();
                     xlsModuleSyntaxNodes.clear();
+                    searchIndex.clear();
+                    testResultsCache.clear();
                     webStudioWorkspaceDependencyManager = webStudioWorkspaceDependencyManagerFactory
                             .buildDependencyManager(projectDescriptor);
                     webStudioWorkspaceDependencyManager
@@ -1414,11 +1560,21 @@ public class ProjectModel {
             if (currentOpenedModule) {
                 Thread.currentThread().setContextClassLoader(openedModuleCompiledOpenClass.getClassLoader());
                 CachingArgumentsCloner.initInstance();
-                runTest(testSuite, false, openedModuleCompiledOpenClass.getOpenClassWithErrors());
+                runTest(testSuite,
+                        false,
+                        testSuiteExecutor,
+                        compiledOpenClass.getClassLoader(),
+                        openedModuleCompiledOpenClass.getOpenClassWithErrors(),
+                        null);
             } else {
                 Thread.currentThread().setContextClassLoader(compiledOpenClass.getClassLoader());
                 CachingArgumentsCloner.initInstance();
-                runTest(testSuite, false, compiledOpenClass.getOpenClassWithErrors());
+                runTest(testSuite,
+                        false,
+                        testSuiteExecutor,
+                        compiledOpenClass.getClassLoader(),
+                        compiledOpenClass.getOpenClassWithErrors(),
+                        null);
             }
         } finally {
             Thread.currentThread().setContextClassLoader(currentContextClassLoader);
@@ -235,6 +235,18 @@ public class WebStudioWorkspaceRelatedDependencyManager extends AbstractDependen
         super.reset(dependency);
     }
 
+    /**
+     * Resets the dependency and the dependencies depending on it only. The classes generated for the datatypes are kept
+     * in the project classloader, so the modules of the project which do not depend on the dependency are not
+     * recompiled.
+     *
+     * @see org.openl.rules.lang.xls.binding.XlsModuleOpenClass#isGeneratedClassesOutdated()
+     */
+    public void resetKeepingClasspath(ResolvedDependency dependency) {
+        version.incrementAndGet();
+        super.reset(dependency, false);
+    }
+
     @Override
     public void resetAll() {
         throw new UnsupportedOperationException("Unsupported operation");
@@ -6,7 +6,6 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import jakarta.faces.model.SelectItem;
 
@@ -25,6 +24,7 @@ import org.openl.rules.ui.ProjectModel;
 import org.openl.rules.webstudio.WebStudioFormats;
 import org.openl.rules.webstudio.web.search.AISearch;
 import org.openl.rules.webstudio.web.search.SearchResult;
+import org.openl.rules.webstudio.web.search.TableSearchIndex;
 import org.openl.rules.webstudio.web.util.WebStudioUtils;
 import org.openl.util.CollectionUtils;
 import org.openl.util.StringUtils;
@@ -182,35 +182,32 @@ public class SearchBean {
     private void search() {
         if (this.active) {
             ProjectModel projectModel = WebStudioUtils.getProjectModel();
+            projectModel.compileProject(true, true);
 
-            Predicate<TableSyntaxNode> selectors = (e) -> true;
+            List<TableSyntaxNode> tnses = projectModel.getSearchScopeData(searchScope)
+                    .stream()
+                    .filter(tableSyntaxNode -> !XlsNodeTypes.XLS_TABLEPART.toString().equals(tableSyntaxNode.getType()))
+                    .filter(tsn -> !projectModel.isGapOverlap(tsn))
+                    .collect(Collectors.toList());
 
+            // The index is used without the lock of the project model
+            TableSearchIndex searchIndex = projectModel.getSearchIndex();
             if (CollectionUtils.isNotEmpty(tableTypes)) {
-                selectors = selectors.and(new TableTypeSelector(tableTypes));
+                tnses = searchIndex.filterByTypes(tnses, tableTypes);
             }
 
             if (StringUtils.isNotBlank(tableHeader)) {
-                selectors = selectors.and(new TableHeaderSelector(tableHeader));
+                tnses = searchIndex.filterByHeader(tnses, tableHeader);
             }
 
             Map<String, Object> properties = getSearchProperties();
             if (CollectionUtils.isNotEmpty(properties)) {
-                selectors = selectors.and(new TablePropertiesSelector(properties));
+                tnses = searchIndex.filterByProperties(tnses, properties);
             }
-
-            projectModel.compileProject(true, true);
-
-            List<TableSyntaxNode> tnses = projectModel.getSearchScopeData(searchScope)
-                    .stream()
-                    .filter(tableSyntaxNode -> !XlsNodeTypes.XLS_TABLEPART.toString().equals(tableSyntaxNode.getType()))
-                    .filter(tsn -> !projectModel.isGapOverlap(tsn))
-                    .filter(selectors)
-                    .collect(Collectors.toList());
             String q = query != null ? UriEncoder.decode(query) : null;
-            Predicate<TableSyntaxNode> cellValueSelector = new CellValueSelector(q);
 
             LinkedHashMap<TableSyntaxNode, Integer> result = new LinkedHashMap<>();
-            List<TableSyntaxNode> foundTsnes = tnses.stream().filter(cellValueSelector).collect(Collectors.toList());
+            List<TableSyntaxNode> foundTsnes = searchIndex.filterByCellValue(tnses, q);
             foundTsnes.forEach(e -> result.put(e, 1));
             if (StringUtils.isNotBlank(q)) {
                 // AI search is expensive operation. It is better to use only actual tables for it.
@@ -0,0 +1,323 @@
+package org.openl.rules.webstudio.web.search;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.time.DateUtils;
+
+import org.openl.rules.lang.xls.syntax.TableSyntaxNode;
+import org.openl.rules.lang.xls.syntax.XlsModuleSyntaxNode;
+import org.openl.rules.table.IGridTable;
+import org.openl.rules.table.properties.ITableProperties;
+import org.openl.rules.webstudio.web.TablePropertiesSelector;
+import org.openl.util.StringUtils;
+
+/**
+ * Inverted index of the tables for the search in OpenL Studio.
+ * <p>
+ * The tables of a module are indexed once, when the module is compiled, by their types, by the trigrams of their
+ * headers and cell values and by the values of their properties. A query checks only the tables found in the index.
+ * The index of a module is immutable: it is replaced as a whole when the module is recompiled, so the queries do not
+ * need the lock of the project model. The tables of the modules which are not indexed yet are checked directly.
+ */
+public class TableSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final String TYPE = "t:";
+    private static final String HEADER = "h:";
+    private static final String CELL = "c:";
+    private static final String PROPERTY = "p:";
+
+    private final Map<XlsModuleSyntaxNode, ModuleIndex> modules = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes the tables of the compiled module. The index of the module is available for the queries when all tables
+     * of the module are indexed. If the module is removed while it is indexed, the built index is not used.
+     */
+    public void index(XlsModuleSyntaxNode moduleSyntaxNode) {
+        ModuleIndex moduleIndex = new ModuleIndex();
+        if (modules.putIfAbsent(moduleSyntaxNode, moduleIndex) == null) {
+            moduleIndex.build(moduleSyntaxNode.getXlsTableSyntaxNodes());
+        }
+    }
+
+    /**
+     * Removes the tables of the module from the index.
+     */
+    public void remove(XlsModuleSyntaxNode moduleSyntaxNode) {
+        modules.remove(moduleSyntaxNode);
+    }
+
+    public void clear() {
+        modules.clear();
+    }
+
+    /**
+     * Selects the tables of the given types.
+     *
+     * @param scope the tables to search in
+     * @param types the table types, see {@link org.openl.rules.lang.xls.XlsNodeTypes}
+     * @return the found tables in the order of the scope
+     */
+    public List<TableSyntaxNode> filterByTypes(Collection<TableSyntaxNode> scope, String[] types) {
+        return filter(scope, moduleIndex -> {
+            Set<TableSyntaxNode> candidates = new HashSet<>();
+            for (String type : types) {
+                candidates.addAll(moduleIndex.getPosting(TYPE + type));
+            }
+            return candidates;
+        }, (moduleIndex, tsn) -> ArrayUtils.contains(types, tsn.getType()));
+    }
+
+    /**
+     * Selects the tables which header contains the given value ignoring the case.
+     *
+     * @param scope the tables to search in
+     * @param value the searched value
+     * @return the found tables in the order of the scope
+     */
+    public List<TableSyntaxNode> filterByHeader(Collection<TableSyntaxNode> scope, String value) {
+        if (StringUtils.isBlank(value)) {
+            return new ArrayList<>(scope);
+        }
+        List<String> keys = grams(HEADER, fold(value));
+        return filter(scope,
+                moduleIndex -> moduleIndex.getSmallestPosting(keys),
+                (moduleIndex, tsn) -> StringUtils.containsIgnoreCase(getHeader(tsn), value));
+    }
+
+    /**
+     * Selects the tables which have all given property values.
+     *
+     * @param scope the tables to search in
+     * @param properties the searched property values
+     * @return the found tables in the order of the scope
+     * @see TablePropertiesSelector
+     */
+    public List<TableSyntaxNode> filterByProperties(Collection<TableSyntaxNode> scope, Map<String, Object> properties) {
+        if (properties.isEmpty()) {
+            return new ArrayList<>(scope);
+        }
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            keys.add(PROPERTY + property.getKey());
+            keys.addAll(getPropertyKeys(property.getKey(), property.getValue()));
+        }
+        TablePropertiesSelector selector = new TablePropertiesSelector(properties);
+        return filter(scope,
+                moduleIndex -> moduleIndex.getSmallestPosting(keys),
+                (moduleIndex, tsn) -> selector.test(tsn));
+    }
+
+    /**
+     * Selects the tables containing a cell with the given value ignoring the case.
+     *
+     * @param scope the tables to search in
+     * @param value the searched value
+     * @return the found tables in the order of the scope
+     */
+    public List<TableSyntaxNode> filterByCellValue(Collection<TableSyntaxNode> scope, String value) {
+        if (StringUtils.isBlank(value)) {
+            return new ArrayList<>(scope);
+        }
+        String query = fold(value);
+        List<String> keys = grams(CELL, query);
+        return filter(scope, moduleIndex -> moduleIndex.getSmallestPosting(keys), (moduleIndex, tsn) -> {
+            String[] cellValues = moduleIndex != null ? moduleIndex.tables.get(tsn)
+                                                      : readCellValues(tsn.getGridTable());
+            for (String cellValue : cellValues) {
+                if (cellValue.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Selects the tables of the scope which are found in the index and match the query. The tables which are not
+     * indexed are matched directly.
+     *
+     * @param scope the tables to search in
+     * @param candidates selects the tables of the module index which can match the query
+     * @param matcher checks the table, the module index is {@code null} if the table is not indexed
+     */
+    private List<TableSyntaxNode> filter(Collection<TableSyntaxNode> scope,
+            Function<ModuleIndex, Set<TableSyntaxNode>> candidates,
+            BiPredicate<ModuleIndex, TableSyntaxNode> matcher) {
+        List<ModuleIndex> indexes = new ArrayList<>();
+        for (ModuleIndex moduleIndex : modules.values()) {
+            if (moduleIndex.built) {
+                indexes.add(moduleIndex);
+            }
+        }
+        Map<ModuleIndex, Set<TableSyntaxNode>> candidatesByModule = new IdentityHashMap<>();
+        List<TableSyntaxNode> result = new ArrayList<>();
+        for (TableSyntaxNode tsn : scope) {
+            ModuleIndex moduleIndex = findModuleIndex(indexes, tsn);
+            if (moduleIndex == null) {
+                if (matcher.test(null, tsn)) {
+                    result.add(tsn);
+                }
+            } else if (candidatesByModule.computeIfAbsent(moduleIndex, candidates).contains(tsn) && matcher
+                    .test(moduleIndex, tsn)) {
+                result.add(tsn);
+            }
+        }
+        return result;
+    }
+
+    private static ModuleIndex findModuleIndex(List<ModuleIndex> indexes, TableSyntaxNode tsn) {
+        for (ModuleIndex moduleIndex : indexes) {
+            if (moduleIndex.tables.containsKey(tsn)) {
+                return moduleIndex;
+            }
+        }
+        return null;
+    }
+
+    private static String getHeader(TableSyntaxNode tsn) {
+        return tsn.getHeaderLineValue() != null ? tsn.getHeaderLineValue().getValue() : null;
+    }
+
+    /**
+     * Returns the keys of the property value. The keys of a searched value are contained in the keys of every
+     * property value matching it by {@link TablePropertiesSelector}.
+     */
+    private static List<String> getPropertyKeys(String name, Object value) {
+        if (value instanceof String stringValue) {
+            return grams(PROPERTY + name + "~", fold(stringValue));
+        } else if (value instanceof Date date) {
+            return List.of(PROPERTY + name + "=" + DateUtils.truncate(date, Calendar.DATE).getTime());
+        } else if (value instanceof Enum || value instanceof Boolean) {
+            return List.of(PROPERTY + name + "=" + value);
+        } else if (value instanceof Object[] array) {
+            List<String> keys = new ArrayList<>();
+            for (Object element : array) {
+                if (element instanceof String || element instanceof Enum) {
+                    keys.add(PROPERTY + name + "[]" + element);
+                }
+            }
+            return keys;
+        }
+        return List.of();
+    }
+
+    private static List<String> grams(String prefix, String value) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(prefix + value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Converts the string to the form which is used to compare strings ignoring the case in the same way as
+     * {@link String#regionMatches(boolean, int, String, int, int)}. The length of the string is kept.
+     */
+    private static String fold(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static String[] readCellValues(IGridTable table) {
+        Set<String> cellValues = new LinkedHashSet<>();
+        for (int row = 0; row < table.getHeight(); row++) {
+            for (int col = 0; col < table.getWidth(); col++) {
+                addCellValue(cellValues, table.getCell(col, row).getObjectValue());
+            }
+        }
+        return cellValues.toArray(new String[0]);
+    }
+
+    private static void addCellValue(Set<String> cellValues, Object cellValue) {
+        if (cellValue == null) {
+            return;
+        }
+        if (cellValue.getClass().isArray()) {
+            int len = Array.getLength(cellValue);
+            for (int i = 0; i < len; i++) {
+                addCellValue(cellValues, Array.get(cellValue, i));
+            }
+        } else {
+            cellValues.add(fold(String.valueOf(cellValue)));
+        }
+    }
+
+    /**
+     * The index of the tables of one module. It is not modified after it is built.
+     */
+    private static final class ModuleIndex {
+        private final Map<TableSyntaxNode, String[]> tables = new HashMap<>();
+        private final Map<String, Set<TableSyntaxNode>> postings = new HashMap<>();
+        private volatile boolean built;
+
+        void build(TableSyntaxNode[] tableSyntaxNodes) {
+            for (TableSyntaxNode tsn : tableSyntaxNodes) {
+                String[] cellValues = readCellValues(tsn.getGridTable());
+                tables.put(tsn, cellValues);
+                addPosting(TYPE + tsn.getType(), tsn);
+                String header = getHeader(tsn);
+                if (header != null) {
+                    grams(HEADER, fold(header)).forEach(key -> addPosting(key, tsn));
+                }
+                for (String cellValue : cellValues) {
+                    grams(CELL, cellValue).forEach(key -> addPosting(key, tsn));
+                }
+                ITableProperties tableProperties = tsn.getTableProperties();
+                if (tableProperties != null) {
+                    for (Map.Entry<String, Object> property : tableProperties.getAllProperties().entrySet()) {
+                        if (property.getValue() != null) {
+                            addPosting(PROPERTY + property.getKey(), tsn);
+                            getPropertyKeys(property.getKey(), property.getValue())
+                                    .forEach(key -> addPosting(key, tsn));
+                        }
+                    }
+                }
+            }
+            // The index is published to the queries by the volatile write
+            built = true;
+        }
+
+        private void addPosting(String key, TableSyntaxNode tsn) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(tsn);
+        }
+
+        Set<TableSyntaxNode> getPosting(String key) {
+            return postings.getOrDefault(key, Set.of());
+        }
+
+        /**
+         * Returns the smallest posting of the keys. The tables of the posting are checked by the whole query. If there
+         * are no keys, all tables of the module are returned.
+         */
+        Set<TableSyntaxNode> getSmallestPosting(List<String> keys) {
+            Set<TableSyntaxNode> candidates = null;
+            for (String key : keys) {
+                Set<TableSyntaxNode> posting = getPosting(key);
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+            return candidates != null ? candidates : tables.keySet();
+        }
+    }
+}
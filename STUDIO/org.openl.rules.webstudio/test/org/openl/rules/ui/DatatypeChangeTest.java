@@ -1,6 +1,8 @@
 package org.openl.rules.ui;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -68,6 +70,23 @@ public class DatatypeChangeTest extends AbstractWorkbookGeneratingTest {
         assertTrue(contains(methods, "getDwarea"));
     }
 
+    @Test
+    public void testGeneratedClassIsKeptIfDatatypeIsNotChanged() throws Exception {
+        pm.setModuleInfo(expenseModule);
+        Class<?> expenseClass = getExpenseInstanceClass(pm);
+
+        // Reload the module without changes in the datatype. The generated class should be reused.
+        setFieldName("area");
+        pm.reset(ReloadType.SINGLE);
+        assertSame(expenseClass, getExpenseInstanceClass(pm));
+
+        // Change the datatype. The class should be regenerated.
+        setFieldName("dwarea");
+        pm.reset(ReloadType.SINGLE);
+        assertNotSame(expenseClass, getExpenseInstanceClass(pm));
+        assertTrue(contains(getExpenseInstanceClass(pm).getMethods(), "getDwarea"));
+    }
+
     @Test
     public void testDependencyOwnerRebuild() throws Exception {
         // Initial field name
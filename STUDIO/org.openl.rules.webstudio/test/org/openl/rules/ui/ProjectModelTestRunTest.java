@@ -0,0 +1,96 @@
+package org.openl.rules.ui;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.Environment;
+
+import org.openl.rules.project.instantiation.ReloadType;
+import org.openl.rules.testmethod.TestSuite;
+import org.openl.rules.testmethod.TestSuiteExecutor;
+import org.openl.rules.testmethod.TestUnitsResults;
+import org.openl.rules.webstudio.web.Props;
+import org.openl.rules.webstudio.web.admin.AdministrationSettings;
+
+public class ProjectModelTestRunTest extends AbstractWorkbookGeneratingTest {
+
+    private ProjectModel pm;
+    private TestSuiteExecutor testSuiteExecutor;
+    private Environment environment;
+
+    @BeforeEach
+    public void init() throws Exception {
+        Workbook book = new HSSFWorkbook();
+        createTable(book.createSheet("Test"), new String[][]{{"Datatype Expense"}, {"String", "area"}});
+        writeBook(book, "Module.xls");
+
+        environment = Props.getEnvironment();
+        Environment parallelRun = mock(Environment.class);
+        when(parallelRun.getProperty(AdministrationSettings.TEST_RUN_THREAD_COUNT_PROPERTY)).thenReturn("2");
+        Props.setEnvironment(parallelRun);
+
+        testSuiteExecutor = new TestSuiteExecutor(2);
+        pm = new ProjectModel(mock(WebStudio.class), testSuiteExecutor);
+        pm.setModuleInfo(getModules().get(0));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Props.setEnvironment(environment);
+        testSuiteExecutor.destroy();
+    }
+
+    @Test
+    public void testReloadWaitsForRunningTests() throws Exception {
+        CountDownLatch testsStarted = new CountDownLatch(1);
+        CountDownLatch testsFinished = new CountDownLatch(1);
+        TestUnitsResults results = mock(TestUnitsResults.class);
+        TestSuite testSuite = mock(TestSuite.class);
+        when(testSuite.invokeParallel(same(testSuiteExecutor), any(), eq(1), any())).thenAnswer(invocation -> {
+            testsStarted.countDown();
+            testsFinished.await();
+            return results;
+        });
+
+        ExecutorService threads = Executors.newFixedThreadPool(3);
+        try {
+            Future<TestUnitsResults> run = threads.submit(() -> pm.runTest(testSuite, true));
+            assertTrue(testsStarted.await(10, TimeUnit.SECONDS));
+
+            Future<?> reload = threads.submit(() -> {
+                pm.reset(ReloadType.RELOAD);
+                return null;
+            });
+            // The compiled modules are not released while the tests are running
+            assertThrows(TimeoutException.class, () -> reload.get(500, TimeUnit.MILLISECONDS));
+            // The model is not locked while the reload waits for the tests
+            assertTrue(threads.submit(pm::isCompiledSuccessfully).get(10, TimeUnit.SECONDS));
+
+            testsFinished.countDown();
+            assertSame(results, run.get(10, TimeUnit.SECONDS));
+            reload.get(30, TimeUnit.SECONDS);
+            assertFalse(pm.getCompiledOpenClass().hasErrors());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
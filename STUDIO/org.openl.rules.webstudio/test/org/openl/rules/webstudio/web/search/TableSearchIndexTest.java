@@ -0,0 +1,187 @@
+package org.openl.rules.webstudio.web.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.junit.jupiter.api.Test;
+
+import org.openl.meta.StringValue;
+import org.openl.rules.enumeration.UsStatesEnum;
+import org.openl.rules.lang.xls.XlsNodeTypes;
+import org.openl.rules.lang.xls.syntax.TableSyntaxNode;
+import org.openl.rules.lang.xls.syntax.XlsModuleSyntaxNode;
+import org.openl.rules.table.ICell;
+import org.openl.rules.table.IGridTable;
+import org.openl.rules.table.properties.ITableProperties;
+
+public class TableSearchIndexTest {
+
+    private final TableSyntaxNode rules = table(XlsNodeTypes.XLS_DT,
+            "Rules String hello(String name)",
+            Map.of("category", "Greetings", "state", new UsStatesEnum[]{UsStatesEnum.CA, UsStatesEnum.NY}),
+            "Greeting",
+            "Hello, World");
+    private final TableSyntaxNode data = table(XlsNodeTypes.XLS_DATA,
+            "Data Driver drivers",
+            Map.of("category", "Drivers", "effectiveDate", new Date(0)),
+            new String[]{"Bob", "Alice"},
+            42);
+    private final TableSyntaxNode empty = table(XlsNodeTypes.XLS_DATATYPE, "Datatype Empty", Map.of(), (Object) null);
+    private final List<TableSyntaxNode> scope = List.of(rules, data, empty);
+
+    @Test
+    public void testFilterByCellValue() {
+        TableSearchIndex index = createIndex();
+
+        assertEquals(List.of(rules), index.filterByCellValue(scope, "hello"));
+        assertEquals(List.of(rules), index.filterByCellValue(scope, "WORLD"));
+        assertEquals(List.of(data), index.filterByCellValue(scope, "alic"));
+        assertEquals(List.of(data), index.filterByCellValue(scope, "42"));
+        assertEquals(List.of(rules, data), index.filterByCellValue(scope, "r"));
+        assertEquals(List.of(data, empty), index.filterByCellValue(scope, "Data"));
+        assertEquals(List.of(), index.filterByCellValue(scope, "Hello World"));
+        assertEquals(List.of(), index.filterByCellValue(scope, "unknown"));
+        assertEquals(scope, index.filterByCellValue(scope, " "));
+        assertEquals(List.of(data), index.filterByCellValue(List.of(data, empty), "bob"));
+    }
+
+    @Test
+    public void testFilterByTypes() {
+        TableSearchIndex index = createIndex();
+
+        assertEquals(List.of(rules),
+                index.filterByTypes(scope, new String[]{XlsNodeTypes.XLS_DT.toString()}));
+        assertEquals(List.of(data, empty),
+                index.filterByTypes(scope,
+                        new String[]{XlsNodeTypes.XLS_DATA.toString(), XlsNodeTypes.XLS_DATATYPE.toString()}));
+        assertEquals(List.of(),
+                index.filterByTypes(scope, new String[]{XlsNodeTypes.XLS_SPREADSHEET.toString()}));
+    }
+
+    @Test
+    public void testFilterByHeader() {
+        TableSearchIndex index = createIndex();
+
+        assertEquals(List.of(rules), index.filterByHeader(scope, "STRING HELLO"));
+        assertEquals(List.of(data), index.filterByHeader(scope, "driver"));
+        assertEquals(List.of(rules), index.filterByHeader(scope, "tr"));
+        assertEquals(List.of(), index.filterByHeader(scope, "Spreadsheet"));
+        assertEquals(scope, index.filterByHeader(scope, ""));
+    }
+
+    @Test
+    public void testFilterByProperties() {
+        TableSearchIndex index = createIndex();
+
+        assertEquals(List.of(rules), index.filterByProperties(scope, Map.of("category", "greet")));
+        assertEquals(List.of(data), index.filterByProperties(scope, Map.of("effectiveDate", new Date(1000))));
+        assertEquals(List.of(rules),
+                index.filterByProperties(scope, Map.of("state", new UsStatesEnum[]{UsStatesEnum.NY})));
+        assertEquals(List.of(),
+                index.filterByProperties(scope, Map.of("state", new UsStatesEnum[]{UsStatesEnum.NY, UsStatesEnum.TX})));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("category", "rs");
+        properties.put("effectiveDate", new Date(0));
+        assertEquals(List.of(data), index.filterByProperties(scope, properties));
+        assertEquals(scope, index.filterByProperties(scope, Map.of()));
+    }
+
+    @Test
+    public void testTablesAreReadOnceWhenModuleIsCompiled() {
+        TableSearchIndex index = createIndex();
+        verify(rules, times(1)).getGridTable();
+
+        index.filterByCellValue(List.of(rules), "hello");
+        index.filterByCellValue(List.of(rules), "world");
+        verify(rules, times(1)).getGridTable();
+    }
+
+    @Test
+    public void testNotIndexedTablesAreCheckedDirectly() {
+        TableSearchIndex index = new TableSearchIndex();
+
+        assertEquals(List.of(rules), index.filterByCellValue(scope, "hello"));
+        assertEquals(List.of(rules), index.filterByHeader(scope, "hello"));
+        assertEquals(List.of(data),
+                index.filterByTypes(scope, new String[]{XlsNodeTypes.XLS_DATA.toString()}));
+        assertEquals(List.of(rules), index.filterByProperties(scope, Map.of("category", "greet")));
+    }
+
+    @Test
+    public void testRemoveModule() {
+        XlsModuleSyntaxNode module = module(rules);
+        TableSearchIndex index = new TableSearchIndex();
+        index.index(module);
+
+        assertEquals(List.of(rules), index.filterByCellValue(List.of(rules), "hello"));
+        index.remove(module);
+        // The removed module is not indexed again by the queries
+        assertEquals(List.of(rules), index.filterByCellValue(List.of(rules), "hello"));
+        assertEquals(List.of(rules), index.filterByCellValue(List.of(rules), "world"));
+        verify(rules, times(3)).getGridTable();
+    }
+
+    @Test
+    public void testModuleIsIndexedOnce() {
+        XlsModuleSyntaxNode module = module(rules);
+        TableSearchIndex index = new TableSearchIndex();
+        index.index(module);
+        index.index(module);
+        verify(rules, times(1)).getGridTable();
+
+        // The recompiled module is indexed as a whole
+        TableSyntaxNode edited = table(XlsNodeTypes.XLS_DT, "Rules String hello(String name)", Map.of(), "Hi");
+        index.remove(module);
+        index.index(module(edited));
+        assertEquals(List.of(edited), index.filterByCellValue(List.of(edited), "hi"));
+        verify(edited, times(1)).getGridTable();
+        verify(rules, times(1)).getGridTable();
+    }
+
+    private TableSearchIndex createIndex() {
+        TableSearchIndex index = new TableSearchIndex();
+        index.index(module(rules, data));
+        index.index(module(empty));
+        return index;
+    }
+
+    private static XlsModuleSyntaxNode module(TableSyntaxNode... tables) {
+        XlsModuleSyntaxNode module = mock(XlsModuleSyntaxNode.class);
+        when(module.getXlsTableSyntaxNodes()).thenReturn(tables);
+        return module;
+    }
+
+    private static TableSyntaxNode table(XlsNodeTypes type, String header, Map<String, Object> properties,
+            Object... values) {
+        // The header is the first cell of the table
+        values = ArrayUtils.insert(0, values, header);
+        IGridTable gridTable = mock(IGridTable.class);
+        when(gridTable.getHeight()).thenReturn(values.length);
+        when(gridTable.getWidth()).thenReturn(1);
+        for (int i = 0; i < values.length; i++) {
+            ICell cell = mock(ICell.class);
+            when(cell.getObjectValue()).thenReturn(values[i]);
+            when(gridTable.getCell(0, i)).thenReturn(cell);
+        }
+        ITableProperties tableProperties = mock(ITableProperties.class);
+        when(tableProperties.getAllProperties()).thenReturn(properties);
+        when(tableProperties.getPropertyValue(anyString()))
+                .thenAnswer(i -> properties.get(i.<String>getArgument(0)));
+        TableSyntaxNode tsn = mock(TableSyntaxNode.class);
+        when(tsn.getGridTable()).thenReturn(gridTable);
+        when(tsn.getType()).thenReturn(type.toString());
+        when(tsn.getHeaderLineValue()).thenReturn(new StringValue(header));
+        when(tsn.getTableProperties()).thenReturn(tableProperties);
+        return tsn;
+    }
+}
@@ -0,0 +1,88 @@
+package org.openl.rules.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.openl.binding.ICastFactory;
+import org.openl.binding.impl.cast.CastFactory;
+import org.openl.binding.impl.cast.IOpenCast;
+import org.openl.types.IOpenClass;
+import org.openl.types.java.JavaOpenClass;
+
+/**
+ * Type conversions by {@link CastFactory}: the lookup of the cast and the conversion of a value.
+ */
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 3, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CastFactoryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Casts {
+        @Param({"Integer-Long", "int-Double", "Integer-BigDecimal", "Double-double", "Integer[]-Long[]"})
+        String conversion;
+
+        private final ICastFactory castFactory = CastFactory.create();
+        private IOpenClass from;
+        private IOpenClass to;
+        IOpenCast cast;
+        Object value;
+
+        @Setup
+        public void setup() {
+            switch (conversion) {
+                case "Integer-Long":
+                    init(Integer.class, Long.class, 42);
+                    break;
+                case "int-Double":
+                    init(int.class, Double.class, 42);
+                    break;
+                case "Integer-BigDecimal":
+                    init(Integer.class, BigDecimal.class, 42);
+                    break;
+                case "Double-double":
+                    init(Double.class, double.class, 42.5);
+                    break;
+                case "Integer[]-Long[]":
+                    init(Integer[].class, Long[].class, new Integer[]{1, 2, 3, 4, 5, 6, 7, 8});
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown conversion: " + conversion);
+            }
+            if (cast == null) {
+                throw new IllegalStateException("Cast is not found: " + conversion);
+            }
+        }
+
+        private void init(Class<?> fromClass, Class<?> toClass, Object value) {
+            from = JavaOpenClass.getOpenClass(fromClass);
+            to = JavaOpenClass.getOpenClass(toClass);
+            cast = castFactory.getCast(from, to);
+            this.value = value;
+        }
+    }
+
+    @Benchmark
+    public IOpenCast getCast(Casts casts) {
+        return casts.castFactory.getCast(casts.from, casts.to);
+    }
+
+    @Benchmark
+    public Object convert(Casts casts) {
+        return casts.cast.convert(casts.value);
+    }
+}
@@ -0,0 +1,81 @@
+package org.openl.rules.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups in the decision tables optimized with the equals, range and contains in array indexes.
+ */
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 3, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DecisionTableBenchmark {
+
+    // the number of the prepared arguments, the arguments are used in turn
+    static final int ARGUMENTS = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Rules {
+        @Param({"100", "10000"})
+        private int rules;
+
+        private SyntheticRules instance;
+        private String[] keys;
+        private Integer[] values;
+        private String[] containsKeys;
+
+        @Setup
+        public void setup() throws IOException {
+            instance = new SyntheticProject(rules, 1, 1).compile();
+            Random random = new Random(rules);
+            keys = new String[ARGUMENTS];
+            values = new Integer[ARGUMENTS];
+            containsKeys = new String[ARGUMENTS];
+            for (int i = 0; i < ARGUMENTS; i++) {
+                int rule = random.nextInt(rules);
+                keys[i] = SyntheticProject.key(rule);
+                values[i] = SyntheticProject.rangeValue(rule);
+                containsKeys[i] = SyntheticProject.containsKey(rule);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Counter {
+        private int next;
+
+        int next() {
+            return next++ & (ARGUMENTS - 1);
+        }
+    }
+
+    @Benchmark
+    public String equalsIndex(Rules rules, Counter counter) {
+        return rules.instance.equalsLookup(rules.keys[counter.next()]);
+    }
+
+    @Benchmark
+    public String rangeIndex(Rules rules, Counter counter) {
+        return rules.instance.rangeLookup(rules.values[counter.next()]);
+    }
+
+    @Benchmark
+    public String containsInArray(Rules rules, Counter counter) {
+        return rules.instance.containsLookup(rules.containsKeys[counter.next()]);
+    }
+}
@@ -0,0 +1,127 @@
+package org.openl.rules.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.openl.binding.ICastFactory;
+import org.openl.binding.impl.cast.CastFactory;
+import org.openl.conf.LibrariesRegistry;
+import org.openl.rules.context.IRulesRuntimeContext;
+import org.openl.rules.context.IRulesRuntimeContextProvider;
+import org.openl.types.IMethodCaller;
+import org.openl.types.IOpenClass;
+import org.openl.types.java.JavaOpenClass;
+
+/**
+ * Method dispatch: the search of the library methods by {@code MethodSearch} at compile time and the selection of the
+ * overloaded version of a table by the runtime context.
+ */
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 3, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MethodDispatchBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Rules {
+        @Param({"5", "50"})
+        private int versions;
+
+        private final String key = SyntheticProject.key(3);
+        private SyntheticRules instance;
+
+        @Setup
+        public void setup() throws IOException {
+            instance = new SyntheticProject(100, 1, versions).compile();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Context {
+        private IRulesRuntimeContext context;
+        private int next;
+
+        @Setup
+        public void setup(Rules rules) {
+            // the runtime context is bound to the current thread
+            context = ((IRulesRuntimeContextProvider) rules.instance).getRuntimeContext();
+        }
+
+        void nextState(int versions) {
+            context.setUsState(SyntheticProject.state(next++ % versions));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Libraries {
+        @Param({"exact", "autocast", "varargs", "operator"})
+        String signature;
+
+        private final LibrariesRegistry registry = new LibrariesRegistry();
+        private final ICastFactory castFactory = CastFactory.create();
+        private String name;
+        private IOpenClass[] params;
+        private boolean operator;
+
+        @Setup
+        public void setup() {
+            switch (signature) {
+                case "exact":
+                    name = "round";
+                    params = types(Double.class, int.class);
+                    break;
+                case "autocast":
+                    name = "round";
+                    params = types(Integer.class, int.class);
+                    break;
+                case "varargs":
+                    name = "sum";
+                    params = types(Integer.class, Integer.class, Integer.class);
+                    break;
+                case "operator":
+                    name = "add";
+                    params = types(Integer.class, Long.class);
+                    operator = true;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown signature: " + signature);
+            }
+        }
+
+        IMethodCaller search() {
+            return registry.getMethodCaller(name, params, castFactory, operator);
+        }
+
+        private static IOpenClass[] types(Class<?>... classes) {
+            IOpenClass[] result = new IOpenClass[classes.length];
+            for (int i = 0; i < classes.length; i++) {
+                result[i] = JavaOpenClass.getOpenClass(classes[i]);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public String dispatchByContext(Rules rules, Context context) {
+        context.nextState(rules.versions);
+        return rules.instance.dispatch(rules.key);
+    }
+
+    @Benchmark
+    public IMethodCaller methodSearch(Libraries libraries) {
+        return libraries.search();
+    }
+}
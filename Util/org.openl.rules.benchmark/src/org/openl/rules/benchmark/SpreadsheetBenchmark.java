@@ -0,0 +1,47 @@
+package org.openl.rules.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.openl.rules.calc.SpreadsheetResult;
+
+/**
+ * Calculation of a spreadsheet with the chain of dependent steps by {@code SpreadsheetResultCalculator}.
+ */
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 3, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpreadsheetBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Rules {
+        @Param({"10", "500"})
+        private int steps;
+
+        private SyntheticRules instance;
+
+        @Setup
+        public void setup() throws IOException {
+            instance = new SyntheticProject(100, steps, 1).compile();
+        }
+    }
+
+    @Benchmark
+    public SpreadsheetResult calculate(Rules rules) {
+        return rules.instance.calc(7);
+    }
+}
@@ -0,0 +1,188 @@
+package org.openl.rules.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import org.openl.rules.enumeration.UsStatesEnum;
+import org.openl.rules.runtime.RulesEngineFactory;
+import org.openl.util.FileUtils;
+
+/**
+ * Generates an Excel project of the configurable size for the benchmarks. The project implements
+ * {@link SyntheticRules}.
+ */
+public final class SyntheticProject {
+
+    // the number of rules in every overloaded version of the dispatch table
+    private static final int VERSION_RULES = 10;
+
+    private final int rules;
+    private final int steps;
+    private final int versions;
+
+    private Sheet sheet;
+    private int rowNum;
+
+    /**
+     * @param rules the number of rules in the lookup tables
+     * @param steps the number of steps of the spreadsheet
+     * @param versions the number of overloaded versions of the dispatch table, each version is defined for a state
+     */
+    public SyntheticProject(int rules, int steps, int versions) {
+        if (rules <= 0 || steps <= 0 || versions <= 0 || versions > UsStatesEnum.values().length) {
+            throw new IllegalArgumentException(
+                String.format("Invalid project size: rules=%s, steps=%s, versions=%s.", rules, steps, versions));
+        }
+        this.rules = rules;
+        this.steps = steps;
+        this.versions = versions;
+    }
+
+    public static String key(int rule) {
+        return "K" + rule;
+    }
+
+    public static String result(int rule) {
+        return "R" + rule;
+    }
+
+    /**
+     * @return the value which is matched by the given rule of the range lookup
+     */
+    public static int rangeValue(int rule) {
+        return rule * 10 + 5;
+    }
+
+    /**
+     * @return the second of the keys of the given rule of the contains lookup
+     */
+    public static String containsKey(int rule) {
+        return key(rule) + "b";
+    }
+
+    public static UsStatesEnum state(int version) {
+        return UsStatesEnum.values()[version];
+    }
+
+    public int getRules() {
+        return rules;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public int getVersions() {
+        return versions;
+    }
+
+    public void write(Path file) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            sheet = workbook.createSheet("Rules");
+            rowNum = 0;
+            writeLookups();
+            writeDispatch();
+            writeSpreadsheet();
+            workbook.write(out);
+        } finally {
+            sheet = null;
+        }
+    }
+
+    /**
+     * Generates the project in a temporary directory and compiles it. The directory is removed after the compilation.
+     */
+    public SyntheticRules compile() throws IOException {
+        Path directory = Files.createTempDirectory("openl-benchmark");
+        try {
+            return compile(directory);
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * Generates the project in the given directory and compiles it.
+     */
+    public SyntheticRules compile(Path directory) throws IOException {
+        Path file = directory.resolve(String.format("Synthetic-%s-%s-%s.xlsx", rules, steps, versions));
+        write(file);
+        RulesEngineFactory<SyntheticRules> factory = new RulesEngineFactory<>(file.toUri().toURL(),
+            SyntheticRules.class);
+        factory.setExecutionMode(true);
+        factory.getCompiledOpenClass().throwErrorExceptionsIfAny();
+        return factory.newEngineInstance();
+    }
+
+    private void writeLookups() {
+        header("SimpleRules String equalsLookup(String key)", 2);
+        row("Key", "Result");
+        for (int i = 0; i < rules; i++) {
+            row(key(i), result(i));
+        }
+        rowNum++;
+
+        header("SimpleRules String rangeLookup(Integer value)", 2);
+        row("Value", "Result");
+        for (int i = 0; i < rules; i++) {
+            row(String.format("[%s; %s)", i * 10, i * 10 + 10), result(i));
+        }
+        rowNum++;
+
+        header("SimpleRules String containsLookup(String key)", 2);
+        row("Keys", "Result");
+        for (int i = 0; i < rules; i++) {
+            row(String.format("%1$sa,%1$sb,%1$sc", key(i)), result(i));
+        }
+        rowNum++;
+    }
+
+    private void writeDispatch() {
+        for (int v = 0; v < versions; v++) {
+            header("SimpleRules String dispatch(String key)", 3);
+            row("properties", "state", state(v).name());
+            row("Key", "Result");
+            for (int i = 0; i < VERSION_RULES; i++) {
+                row(key(i), result(v * VERSION_RULES + i));
+            }
+            rowNum++;
+        }
+    }
+
+    private void writeSpreadsheet() {
+        header("Spreadsheet SpreadsheetResult calc(Integer a)", 2);
+        row("Step", "Value");
+        row("Step0", "= a");
+        for (int i = 1; i < steps; i++) {
+            if (i % 10 == 0) {
+                // a call of the other table from the spreadsheet
+                row("Step" + i, String.format("= $Value$Step%s + rangeLookup(a).length()", i - 1));
+            } else {
+                row("Step" + i, String.format("= $Value$Step%s + a * %s", i - 1, i));
+            }
+        }
+        rowNum++;
+    }
+
+    private void header(String text, int width) {
+        row(text);
+        sheet.addMergedRegion(new CellRangeAddress(rowNum - 1, rowNum - 1, 0, width - 1));
+    }
+
+    private void row(String... values) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                row.createCell(i).setCellValue(values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.openl.rules.benchmark;
+
+import org.openl.rules.calc.SpreadsheetResult;
+
+/**
+ * The rules of the project generated by {@link SyntheticProject}.
+ */
+public interface SyntheticRules {
+
+    /**
+     * Decision table with the equals index.
+     */
+    String equalsLookup(String key);
+
+    /**
+     * Decision table with the range index.
+     */
+    String rangeLookup(Integer value);
+
+    /**
+     * Decision table with the contains in array condition.
+     */
+    String containsLookup(String key);
+
+    /**
+     * Overloaded decision tables, the version is selected by the state of the runtime context.
+     */
+    String dispatch(String key);
+
+    /**
+     * Spreadsheet with the chain of dependent steps.
+     */
+    SpreadsheetResult calc(Integer a);
+}
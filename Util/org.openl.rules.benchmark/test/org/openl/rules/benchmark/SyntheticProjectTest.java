@@ -0,0 +1,54 @@
+package org.openl.rules.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.calc.SpreadsheetResult;
+import org.openl.rules.context.IRulesRuntimeContextProvider;
+
+public class SyntheticProjectTest {
+
+    @Test
+    public void testGeneratedRules() throws Exception {
+        SyntheticProject project = new SyntheticProject(50, 25, 3);
+        SyntheticRules rules = project.compile();
+
+        assertEquals(SyntheticProject.result(17), rules.equalsLookup(SyntheticProject.key(17)));
+        assertNull(rules.equalsLookup("unknown"));
+        assertEquals(SyntheticProject.result(49), rules.rangeLookup(SyntheticProject.rangeValue(49)));
+        assertEquals(SyntheticProject.result(0), rules.rangeLookup(0));
+        assertEquals(SyntheticProject.result(33), rules.containsLookup(SyntheticProject.containsKey(33)));
+
+        ((IRulesRuntimeContextProvider) rules).getRuntimeContext().setUsState(SyntheticProject.state(2));
+        assertEquals(SyntheticProject.result(25), rules.dispatch(SyntheticProject.key(5)));
+
+        SpreadsheetResult result = rules.calc(2);
+        assertEquals(25, result.getHeight());
+        // 2 + 2 * (1 + ... + 9) + length("R0") + 2 * (11 + ... + 19) + length("R0") + 2 * (21 + ... + 24)
+        assertEquals(2 + 90 + 2 + 270 + 2 + 180, ((Number) result.getValue(24, 0)).intValue());
+    }
+
+    @Test
+    public void testMethodSearch() {
+        for (String signature : new String[]{"exact", "autocast", "varargs", "operator"}) {
+            MethodDispatchBenchmark.Libraries libraries = new MethodDispatchBenchmark.Libraries();
+            libraries.signature = signature;
+            libraries.setup();
+            assertNotNull(libraries.search(), signature);
+        }
+    }
+
+    @Test
+    public void testCasts() {
+        String[] conversions = {"Integer-Long", "int-Double", "Integer-BigDecimal", "Double-double", "Integer[]-Long[]"};
+        for (String conversion : conversions) {
+            CastFactoryBenchmark.Casts casts = new CastFactoryBenchmark.Casts();
+            casts.conversion = conversion;
+            casts.setup();
+            assertNotNull(casts.cast.convert(casts.value), conversion);
+        }
+    }
+}
@@ -6,14 +6,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import org.openl.binding.MethodUtil;
@@ -22,6 +29,7 @@ import org.openl.rules.ruleservice.storelogdata.Inject;
 import org.openl.rules.ruleservice.storelogdata.StoreLogData;
 import org.openl.rules.ruleservice.storelogdata.StoreLogDataException;
 import org.openl.rules.ruleservice.storelogdata.StoreLogDataMapper;
+import org.openl.rules.ruleservice.storelogdata.StoreLogDataWriter;
 import org.openl.rules.ruleservice.storelogdata.annotation.AnnotationUtils;
 import org.openl.rules.ruleservice.storelogdata.db.annotation.InjectEntityManager;
 import org.openl.rules.ruleservice.storelogdata.db.annotation.StoreLogDataToDB;
@@ -31,9 +39,26 @@ import org.openl.spring.config.ConditionalOnEnable;
 @ConditionalOnEnable("ruleservice.store.logs.db.enabled")
 public class DBStoreLogDataService extends AbstractStoreLogDataService {
 
+    private final Logger log = LoggerFactory.getLogger(DBStoreLogDataService.class);
+
     @Autowired
     private EntityManagerOperations hibernateSessionOperations;
 
+    @Value("${ruleservice.store.logs.db.async.queue-size}")
+    private int queueSize;
+
+    @Value("${ruleservice.store.logs.db.async.batch-size}")
+    private int batchSize;
+
+    @Value("${ruleservice.store.logs.db.async.flush-interval}")
+    private long flushInterval;
+
+    @Value("${ruleservice.store.logs.db.async.writers}")
+    private int writers;
+
+    @Value("${ruleservice.store.logs.db.async.overflow}")
+    private String overflow;
+
     private final StoreLogDataMapper storeLogDataMapper = new StoreLogDataMapper();
 
     private Collection<Inject<?>> supportedInjects;
@@ -76,8 +101,76 @@ public class DBStoreLogDataService extends AbstractStoreLogDataService {
         return supportedInjects;
     }
 
+    @Override
+    protected StoreLogDataWriter createWriter() {
+        return new StoreLogDataWriter("store-logs-db",
+                this::saveBatch,
+                queueSize,
+                batchSize,
+                flushInterval,
+                writers,
+                StoreLogDataWriter.OverflowPolicy.valueOf(overflow.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    @PreDestroy
+    @Override
+    public void shutdown() {
+        super.shutdown();
+    }
+
     @Override
     protected void save(StoreLogData storeLogData, boolean sync) throws StoreLogDataException {
+        List<Object> entities = createEntities(storeLogData);
+        Class<?>[] entityClasses = getEntityClasses(entities);
+        for (Object entity : entities) {
+            try {
+                hibernateSessionOperations.save(entityClasses, entity);
+            } catch (Exception e) {
+                // Continue the loop if exception occurs
+                throw new StoreLogDataException("Failed on database save operation.", e);
+            }
+        }
+    }
+
+    /**
+     * Saves the entities of the records in one transaction per set of entity classes. If the transaction fails, the
+     * records are saved one by one, so a broken record does not prevent saving of the others.
+     */
+    @Override
+    protected void saveBatch(List<StoreLogData> batch) {
+        Map<Set<Class<?>>, List<StoreLogData>> records = new LinkedHashMap<>();
+        Map<Set<Class<?>>, List<Object>> entitiesByClasses = new LinkedHashMap<>();
+        for (StoreLogData storeLogData : batch) {
+            try {
+                List<Object> entities = createEntities(storeLogData);
+                if (!entities.isEmpty()) {
+                    Set<Class<?>> entityClasses = Set.of(getEntityClasses(entities));
+                    records.computeIfAbsent(entityClasses, e -> new ArrayList<>()).add(storeLogData);
+                    entitiesByClasses.computeIfAbsent(entityClasses, e -> new ArrayList<>()).addAll(entities);
+                }
+            } catch (StoreLogDataException e) {
+                log.error("Failed on data store operation.", e);
+            }
+        }
+        for (Map.Entry<Set<Class<?>>, List<Object>> entry : entitiesByClasses.entrySet()) {
+            try {
+                hibernateSessionOperations.saveAll(entry.getKey().toArray(new Class<?>[0]), entry.getValue());
+            } catch (Exception e) {
+                log.warn("Failed on database batch save operation. Records are saved one by one.", e);
+                super.saveBatch(records.get(entry.getKey()));
+            }
+        }
+    }
+
+    private static Class<?>[] getEntityClasses(List<Object> entities) {
+        Set<Class<?>> entityClasses = new HashSet<>();
+        for (Object entity : entities) {
+            entityClasses.add(entity.getClass());
+        }
+        return entityClasses.toArray(new Class<?>[0]);
+    }
+
+    private List<Object> createEntities(StoreLogData storeLogData) throws StoreLogDataException {
         StoreLogDataToDB storeLogDataToDBAnnotation = storeLogData.getServiceClass()
                 .getAnnotation(StoreLogDataToDB.class);
         Method serviceMethod = storeLogData.getServiceMethod();
@@ -85,7 +178,7 @@ public class DBStoreLogDataService extends AbstractStoreLogDataService {
             storeLogDataToDBAnnotation = serviceMethod.getAnnotation(StoreLogDataToDB.class);
         }
         if (storeLogDataToDBAnnotation == null) {
-            return;
+            return Collections.emptyList();
         }
         List<Object> entities = new ArrayList<>();
         if (storeLogDataToDBAnnotation.value().length == 0) {
@@ -113,11 +206,9 @@ public class DBStoreLogDataService extends AbstractStoreLogDataService {
                 }
             }
         }
-        Set<Class<?>> entityClasses = new HashSet<>();
         for (Object entity : entities) {
             try {
                 storeLogDataMapper.map(storeLogData, entity);
-                entityClasses.add(entity.getClass());
             } catch (Exception e) {
                 if (serviceMethod != null) {
                     throw new StoreLogDataException(String.format("Failed to populate entity '%s' for method '%s'.",
@@ -130,15 +221,6 @@ public class DBStoreLogDataService extends AbstractStoreLogDataService {
                 }
             }
         }
-        for (Object entity : entities) {
-            if (entity != null) {
-                try {
-                    hibernateSessionOperations.save(entityClasses.toArray(new Class<?>[0]), entity);
-                } catch (Exception e) {
-                    // Continue the loop if exception occurs
-                    throw new StoreLogDataException("Failed on database save operation.", e);
-                }
-            }
-        }
+        return entities;
     }
 }
@@ -1,5 +1,6 @@
 package org.openl.rules.ruleservice.storelogdata.db;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -75,6 +76,33 @@ public class EntityManagerOperations implements RuleServicePublisherListener {
         }
     }
 
+    /**
+     * Saves the entities in one transaction, so the inserts are sent to the database in JDBC batches of
+     * {@code hibernate.jdbc.batch_size}.
+     */
+    public void saveAll(Class<?>[] entityClasses, Collection<?> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try (var session = getSessionFactory(entityClasses).openSession()) {
+            Transaction tx = null;
+            try {
+                tx = session.beginTransaction();
+                for (Object entity : entities) {
+                    if (entity != null) {
+                        session.merge(entity);
+                    }
+                }
+                tx.commit();
+            } catch (RuntimeException e) {
+                if (tx != null && tx.isActive()) {
+                    tx.rollback();
+                }
+                throw e;
+            }
+        }
+    }
+
     public SessionFactory getSessionFactory(Class<?>[] entityClasses) {
         SessionFactory entityManagerFactory = null;
         Map<Key, SessionFactory> current;
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import jakarta.persistence.PersistenceException;
 
 import org.hibernate.Session;
@@ -92,4 +93,18 @@ public class EntityManagerOperationsTest {
         verify(session).merge(entity);
         verify(session).close();
     }
+
+    @Test
+    public void testSaveAllInOneTransaction() {
+        var entity1 = new Object();
+        var entity2 = new Object();
+        entityManagerOperations.saveAll(new Class<?>[]{Object.class}, List.of(entity1, entity2));
+
+        verify(session).beginTransaction();
+        verify(session).merge(entity1);
+        verify(session).merge(entity2);
+        verify(transaction).commit();
+        verify(transaction, never()).rollback();
+        verify(session).close();
+    }
 }
@@ -1,30 +1,100 @@
 package org.openl.rules.ruleservice.storelogdata;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.openl.rules.ruleservice.management.MBeanRegistry;
 
 public abstract class AbstractStoreLogDataService implements StoreLogDataService {
     private final Logger log = LoggerFactory.getLogger(AbstractStoreLogDataService.class);
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private static final int DEFAULT_QUEUE_SIZE = 10_000;
+
+    private volatile StoreLogDataWriter writer;
+
+    private MBeanRegistry mbeanRegistry;
+
+    /**
+     * Sets the registry which the metrics of the writer are published to. It is present when JMX is enabled.
+     */
+    @Autowired(required = false)
+    public void setMBeanRegistry(MBeanRegistry mbeanRegistry) {
+        this.mbeanRegistry = mbeanRegistry;
+    }
 
     protected abstract void save(StoreLogData storeLogData, boolean sync) throws StoreLogDataException;
 
+    /**
+     * Saves a batch of asynchronous records. The records are saved one by one by default, the implementations which
+     * support batch operations override this method.
+     */
+    protected void saveBatch(List<StoreLogData> batch) {
+        for (StoreLogData storeLogData : batch) {
+            try {
+                save(storeLogData, false);
+            } catch (StoreLogDataException e) {
+                log.error("Failed on data store operation.", e);
+            }
+        }
+    }
+
+    /**
+     * Creates the writer for asynchronous records. By default, the records are saved one by one in a single thread.
+     */
+    protected StoreLogDataWriter createWriter() {
+        return new StoreLogDataWriter(getClass().getSimpleName(),
+                this::saveBatch,
+                DEFAULT_QUEUE_SIZE,
+                1,
+                0,
+                1,
+                StoreLogDataWriter.OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @return the writer for asynchronous records, it is created on the first asynchronous record
+     */
+    public StoreLogDataWriter getWriter() {
+        StoreLogDataWriter result = writer;
+        if (result == null) {
+            synchronized (this) {
+                result = writer;
+                if (result == null) {
+                    writer = result = createWriter();
+                    if (mbeanRegistry != null) {
+                        mbeanRegistry.register(StoreLogDataWriter.MBEAN_TYPE, result.getName(), result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Saves the queued asynchronous records and stops the writer.
+     */
+    public void shutdown() {
+        StoreLogDataWriter result;
+        synchronized (this) {
+            result = writer;
+        }
+        if (result != null) {
+            result.close();
+            if (mbeanRegistry != null) {
+                mbeanRegistry.unregister(StoreLogDataWriter.MBEAN_TYPE, result.getName());
+            }
+        }
+    }
+
     @Override
     public final void save(StoreLogData storeLogData) throws StoreLogDataException {
         if (isSync(storeLogData)) {
             save(storeLogData, true);
         } else {
-            executorService.submit(() -> {
-                try {
-                    save(storeLogData, false);
-                } catch (StoreLogDataException e) {
-                    log.error("Failed on data store operation.", e);
-                }
-            });
+            getWriter().submit(storeLogData);
         }
     }
 }
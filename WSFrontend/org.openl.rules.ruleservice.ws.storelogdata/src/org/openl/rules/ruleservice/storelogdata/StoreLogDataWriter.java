@@ -0,0 +1,233 @@
+package org.openl.rules.ruleservice.storelogdata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous writer of {@link StoreLogData}. The records are put into a bounded queue and are saved by the writer
+ * threads in batches. A batch is saved when it is full or when the flush interval has elapsed since its first record
+ * was taken from the queue.
+ */
+public final class StoreLogDataWriter implements StoreLogDataWriterMXBean {
+
+    /**
+     * The type of the JMX bean of the writer.
+     */
+    public static final String MBEAN_TYPE = "StoreLogDataWriter";
+
+    /**
+     * Defines what happens with a record when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The caller waits for a free place in the queue.
+         */
+        BLOCK,
+        /**
+         * The record is dropped.
+         */
+        DROP
+    }
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+    // how often the idle writer threads check whether the writer is closed
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    private final Logger log = LoggerFactory.getLogger(StoreLogDataWriter.class);
+
+    private final String name;
+    private final Consumer<List<StoreLogData>> batchSaver;
+    private final BlockingQueue<StoreLogData> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread[] writers;
+    private volatile boolean running = true;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final LongAdder savedCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushTimeNanos = new LongAdder();
+    private volatile long lastFlushTimeNanos;
+
+    /**
+     * @param name the name of the writer threads
+     * @param batchSaver saves a batch of records, it is called concurrently from the writer threads
+     * @param queueSize the maximum number of records waiting for saving
+     * @param batchSize the maximum number of records in a batch
+     * @param flushIntervalMillis the maximum time to wait for a batch to fill up
+     * @param writerThreads the number of writer threads
+     * @param overflowPolicy what to do with a record when the queue is full
+     */
+    public StoreLogDataWriter(String name,
+                              Consumer<List<StoreLogData>> batchSaver,
+                              int queueSize,
+                              int batchSize,
+                              long flushIntervalMillis,
+                              int writerThreads,
+                              OverflowPolicy overflowPolicy) {
+        if (queueSize <= 0 || batchSize <= 0 || writerThreads <= 0 || flushIntervalMillis < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid writer settings: queueSize=%s, batchSize=%s, flushInterval=%s, writers=%s.",
+                    queueSize,
+                    batchSize,
+                    flushIntervalMillis,
+                    writerThreads));
+        }
+        this.name = Objects.requireNonNull(name, "name cannot be null");
+        this.batchSaver = Objects.requireNonNull(batchSaver, "batchSaver cannot be null");
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null");
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.writers = new Thread[writerThreads];
+        for (int i = 0; i < writerThreads; i++) {
+            Thread writer = new Thread(this::writeLoop, name + "-writer-" + (i + 1));
+            writer.setDaemon(true);
+            writers[i] = writer;
+            writer.start();
+        }
+    }
+
+    /**
+     * Puts the record into the queue.
+     *
+     * @return {@code false} if the record is dropped
+     */
+    public boolean submit(StoreLogData storeLogData) {
+        boolean accepted;
+        if (!running) {
+            accepted = false;
+        } else if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(storeLogData);
+                accepted = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(storeLogData);
+        }
+        if (!accepted) {
+            long dropped = droppedCount.incrementAndGet();
+            if ((dropped == 1 || dropped % 1000 == 0) && log.isWarnEnabled()) {
+                log.warn("Store log data queue of '{}' is full or closed. Dropped records: {}.", name, dropped);
+            }
+        }
+        return accepted;
+    }
+
+    private void writeLoop() {
+        List<StoreLogData> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                StoreLogData first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    StoreLogData next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void flush(List<StoreLogData> batch) {
+        long start = System.nanoTime();
+        try {
+            batchSaver.accept(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed on data store operation.", e);
+        } finally {
+            long time = System.nanoTime() - start;
+            lastFlushTimeNanos = time;
+            flushTimeNanos.add(time);
+            flushCount.increment();
+            savedCount.add(batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stops accepting new records, saves the queued records and waits for the writer threads to finish.
+     */
+    public void close() {
+        running = false;
+        try {
+            for (Thread writer : writers) {
+                writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty() && log.isWarnEnabled()) {
+            log.warn("Store log data writer '{}' is closed with {} not saved records.", name, queue.size());
+        }
+    }
+
+    /**
+     * @return the name of the writer threads
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public long getSavedCount() {
+        return savedCount.sum();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    @Override
+    public long getLastFlushTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastFlushTimeNanos);
+    }
+
+    @Override
+    public long getAverageFlushTimeMillis() {
+        long count = flushCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(flushTimeNanos.sum() / count);
+    }
+}
@@ -0,0 +1,37 @@
+package org.openl.rules.ruleservice.storelogdata;
+
+/**
+ * The metrics of a {@link StoreLogDataWriter} published with JMX.
+ */
+public interface StoreLogDataWriterMXBean {
+
+    /**
+     * @return the number of records waiting for saving
+     */
+    int getQueueSize();
+
+    /**
+     * @return the number of records dropped because the queue was full or the writer was closed
+     */
+    long getDroppedCount();
+
+    /**
+     * @return the number of records passed to the batch saver
+     */
+    long getSavedCount();
+
+    /**
+     * @return the number of saved batches
+     */
+    long getFlushCount();
+
+    /**
+     * @return the time of saving of the last batch in milliseconds
+     */
+    long getLastFlushTimeMillis();
+
+    /**
+     * @return the average time of saving of a batch in milliseconds
+     */
+    long getAverageFlushTimeMillis();
+}
@@ -0,0 +1,57 @@
+package org.openl.rules.ruleservice.storelogdata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.ruleservice.management.MBeanRegistry;
+
+public class AbstractStoreLogDataServiceTest {
+
+    @Test
+    public void writerMetricsArePublished() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        TestStoreLogDataService service = new TestStoreLogDataService();
+        service.setMBeanRegistry(new MBeanRegistry(server));
+        ObjectName name = MBeanRegistry.getObjectName(StoreLogDataWriter.MBEAN_TYPE, "TestStoreLogDataService");
+        // The writer is created on the first asynchronous record
+        assertFalse(server.isRegistered(name));
+
+        service.save(new StoreLogData());
+        assertTrue(server.isRegistered(name));
+        assertEquals(0L, server.getAttribute(name, "DroppedCount"));
+        for (String attribute : List.of("QueueSize",
+                "SavedCount",
+                "FlushCount",
+                "LastFlushTimeMillis",
+                "AverageFlushTimeMillis")) {
+            assertTrue(server.getAttribute(name, attribute) instanceof Number, attribute);
+        }
+
+        service.shutdown();
+        assertEquals(1, service.saved.size());
+        assertFalse(server.isRegistered(name));
+    }
+
+    private static final class TestStoreLogDataService extends AbstractStoreLogDataService {
+        private final List<StoreLogData> saved = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void save(StoreLogData storeLogData, boolean sync) {
+            saved.add(storeLogData);
+        }
+
+        @Override
+        public boolean isSync(StoreLogData storeLogData) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.openl.rules.ruleservice.storelogdata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class StoreLogDataWriterTest {
+
+    @Test
+    public void testBatches() {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        StoreLogDataWriter writer = new StoreLogDataWriter("test",
+                batch -> batchSizes.add(batch.size()),
+                100,
+                10,
+                60_000,
+                1,
+                StoreLogDataWriter.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 25; i++) {
+            assertTrue(writer.submit(new StoreLogData()));
+        }
+        writer.close();
+
+        assertEquals(25, writer.getSavedCount());
+        assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+        assertEquals(batchSizes.size(), writer.getFlushCount());
+        assertEquals(0, writer.getQueueSize());
+        assertEquals(0, writer.getDroppedCount());
+        assertFalse(writer.submit(new StoreLogData()));
+    }
+
+    @Test
+    public void testDropWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<StoreLogData> saved = new ArrayList<>();
+        StoreLogDataWriter writer = new StoreLogDataWriter("test", batch -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (saved) {
+                saved.addAll(batch);
+            }
+        }, 2, 1, 0, 1, StoreLogDataWriter.OverflowPolicy.DROP);
+        assertTrue(writer.submit(new StoreLogData()));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        // the writer thread is busy, so the queue is filled up
+        assertTrue(writer.submit(new StoreLogData()));
+        assertTrue(writer.submit(new StoreLogData()));
+        assertFalse(writer.submit(new StoreLogData()));
+        assertEquals(2, writer.getQueueSize());
+        assertEquals(1, writer.getDroppedCount());
+
+        release.countDown();
+        writer.close();
+        assertEquals(3, saved.size());
+    }
+}
@@ -46,6 +46,7 @@ import org.openl.rules.ruleservice.kafka.conf.BaseKafkaConfig;
 import org.openl.rules.ruleservice.kafka.conf.KafkaDeploy;
 import org.openl.rules.ruleservice.kafka.conf.KafkaMethodConfig;
 import org.openl.rules.ruleservice.kafka.conf.KafkaServiceConfig;
+import org.openl.rules.ruleservice.management.MBeanRegistry;
 import org.openl.rules.ruleservice.publish.RuleServicePublisher;
 import org.openl.rules.ruleservice.storelogdata.ObjectSerializer;
 import org.openl.rules.ruleservice.storelogdata.StoreLogDataManager;
@@ -55,6 +56,7 @@ public class KafkaRuleServicePublisher implements RuleServicePublisher {
     private final Logger log = LoggerFactory.getLogger(KafkaRuleServicePublisher.class);
 
     private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+    private static final int DEFAULT_MAX_IN_FLIGHT = 256;
 
     private final Map<OpenLService, Triple<Collection<KafkaService>, Collection<KafkaProducer<?, ?>>, Collection<KafkaConsumer<?, ?>>>> runningServices = new HashMap<>();
 
@@ -71,6 +73,9 @@ public class KafkaRuleServicePublisher implements RuleServicePublisher {
     @Qualifier("serviceDescriptionInProcess")
     private ObjectFactory<ServiceDescription> serviceDescriptionObjectFactory;
 
+    @Autowired(required = false)
+    private MBeanRegistry mbeanRegistry;
+
     public void setStoreLogDataManager(StoreLogDataManager storeLogDataManager) {
         this.storeLogDataManager = storeLogDataManager;
     }
@@ -309,6 +314,11 @@ public class KafkaRuleServicePublisher implements RuleServicePublisher {
             kafkaProducers.add(dltProducer);
         }
         var requestIdHeaderKey = org.openl.util.StringUtils.trimToNull(env.getProperty("log.request-id.header"));
+        var concurrency = env.getProperty("ruleservice.kafka.concurrency", Integer.class);
+        if (concurrency == null) {
+            concurrency = Runtime.getRuntime().availableProcessors();
+        }
+        var maxInFlight = env.getProperty("ruleservice.kafka.max-in-flight", Integer.class, DEFAULT_MAX_IN_FLIGHT);
         final KafkaService kafkaService = KafkaService.createService(service,
                 requestIdHeaderKey,
                 mergedKafkaConfig.getInTopic(),
@@ -320,10 +330,15 @@ public class KafkaRuleServicePublisher implements RuleServicePublisher {
                 objectSerializer,
                 getStoreLogDataManager(),
                 getStoreLogDataManager().isEnabled(),
-                rulesDeploy);
+                rulesDeploy,
+                concurrency,
+                maxInFlight);
         kafkaServices.add(kafkaService);
 
         kafkaService.start();
+        if (mbeanRegistry != null) {
+            mbeanRegistry.register(KafkaService.MBEAN_TYPE, kafkaService.getMBeanName(), kafkaService);
+        }
     }
 
     /**
@@ -424,6 +439,9 @@ public class KafkaRuleServicePublisher implements RuleServicePublisher {
             Triple<Collection<KafkaService>, Collection<KafkaProducer<?, ?>>, Collection<KafkaConsumer<?, ?>>> t) {
         boolean ret = true;
         for (KafkaService kafkaService : t.getLeft()) {
+            if (mbeanRegistry != null) {
+                mbeanRegistry.unregister(KafkaService.MBEAN_TYPE, kafkaService.getMBeanName());
+            }
             try {
                 kafkaService.stop();
             } catch (Exception e1) {
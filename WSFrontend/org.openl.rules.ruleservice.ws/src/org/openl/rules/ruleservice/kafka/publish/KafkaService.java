@@ -12,10 +12,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import org.apache.commons.lang3.StringUtils;
@@ -49,14 +50,15 @@ import org.openl.rules.ruleservice.storelogdata.StoreLogDataHolder;
 import org.openl.rules.ruleservice.storelogdata.StoreLogDataManager;
 import org.openl.rules.serialization.ProjectJacksonObjectMapperFactoryBean;
 
-public final class KafkaService implements Runnable {
+public final class KafkaService implements Runnable, KafkaServiceMXBean {
 
-    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
-            Runtime.getRuntime().availableProcessors(),
-            Runtime.getRuntime().availableProcessors() * 2,
-            60L,
-            TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>());
+    /**
+     * The type of the JMX bean of the service.
+     */
+    public static final String MBEAN_TYPE = "KafkaService";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final long COMPLETION_TIMEOUT_MILLIS = 30_000;
 
     private final Logger log = LoggerFactory.getLogger(KafkaService.class);
 
@@ -66,7 +68,12 @@ public final class KafkaService implements Runnable {
     private final String inTopic;
     private final String outTopic;
     private final String dltTopic;
-    private final Map<TopicPartition, OffsetAndMetadata> currentOffsets = new HashMap<>();
+    private final Map<TopicPartition, PartitionOffsets> partitionOffsets = new HashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean paused;
+    private volatile long lag;
     private final KafkaProducer<String, Object> producer;
     private final KafkaProducer<String, byte[]> dltProducer;
     private final KafkaConsumer<String, RequestMessage> consumer;
@@ -87,7 +94,9 @@ public final class KafkaService implements Runnable {
                                              ObjectSerializer objectSerializer,
                                              StoreLogDataManager storeLogDataManager,
                                              boolean storeLogDataEnabled,
-                                             RulesDeploy rulesDeploy) throws KafkaServiceException {
+                                             RulesDeploy rulesDeploy,
+                                             int concurrency,
+                                             int maxInFlight) throws KafkaServiceException {
         return new KafkaService(service,
                 requestIdHeaderKey,
                 inTopic,
@@ -99,7 +108,9 @@ public final class KafkaService implements Runnable {
                 objectSerializer,
                 storeLogDataManager,
                 storeLogDataEnabled,
-                rulesDeploy);
+                rulesDeploy,
+                concurrency,
+                maxInFlight);
     }
 
     private KafkaService(OpenLService service,
@@ -113,7 +124,15 @@ public final class KafkaService implements Runnable {
                          ObjectSerializer objectSerializer,
                          StoreLogDataManager storeLogDataManager,
                          boolean storageEnabled,
-                         RulesDeploy rulesDeploy) throws KafkaServiceException {
+                         RulesDeploy rulesDeploy,
+                         int concurrency,
+                         int maxInFlight) throws KafkaServiceException {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
         this.service = Objects.requireNonNull(service);
         this.requestIdHeaderKey = requestIdHeaderKey;
         this.inTopic = Objects.requireNonNull(inTopic);
@@ -127,6 +146,17 @@ public final class KafkaService implements Runnable {
         this.outTopic = outTopic;
         this.dltTopic = dltTopic;
         this.storageEnabled = storageEnabled;
+        this.maxInFlight = maxInFlight;
+        // The queue never overflows while the consumer is paused in time. Otherwise, the polling thread processes
+        // the message itself, so polling is slowed down instead of piling up messages in memory.
+        this.executor = new ThreadPoolExecutor(concurrency,
+                concurrency,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxInFlight),
+                new KafkaServiceThreadFactory(inTopic),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
         try {
             PropertyNamingStrategy propertyNamingStrategy = ProjectJacksonObjectMapperFactoryBean
                     .extractPropertyNamingStrategy(rulesDeploy, service.getClassLoader());
@@ -152,10 +182,18 @@ public final class KafkaService implements Runnable {
         return service;
     }
 
+    @Override
     public String getInTopic() {
         return inTopic;
     }
 
+    /**
+     * @return the name of the JMX bean of the service
+     */
+    public String getMBeanName() {
+        return service.getDeployPath() + "/" + inTopic;
+    }
+
     public String getOutTopic(ConsumerRecord<?, ?> record) {
         Header header = record.headers().lastHeader(KafkaHeaders.REPLY_TOPIC);
         if (header != null && header.value() != null) {
@@ -180,15 +218,20 @@ public final class KafkaService implements Runnable {
         consumer.subscribe(Collections.singletonList(getInTopic()), new ConsumerRebalanceListener() {
             @Override
             public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                awaitCompletion(partitions);
+                Map<TopicPartition, OffsetAndMetadata> offsets = collectOffsetsToCommit(partitions);
                 if (log.isInfoEnabled()) {
-                    log.info("Lost partitions in rebalance. Committing current offsets: {}", currentOffsets);
+                    log.info("Lost partitions in rebalance. Committing current offsets: {}", offsets);
                 }
-                consumer.commitSync(currentOffsets);
-                currentOffsets.clear();
+                consumer.commitSync(offsets);
+                partitionOffsets.keySet().removeAll(partitions);
             }
 
             @Override
             public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                if (paused) {
+                    consumer.pause(partitions);
+                }
             }
         });
     }
@@ -219,135 +262,254 @@ public final class KafkaService implements Runnable {
     public void run() {
         while (flag) {
             try {
-                ConsumerRecords<String, RequestMessage> records = consumer.poll(Duration.ofMillis(100));
+                ConsumerRecords<String, RequestMessage> records = consumer.poll(POLL_TIMEOUT);
                 if (!records.isEmpty()) {
-                    CountDownLatch countDownLatch = new CountDownLatch(records.count());
                     ZonedDateTime incomingTime = ZonedDateTime.now();
                     for (ConsumerRecord<String, RequestMessage> consumerRecord : records) {
-                        executor.submit(() -> {
-                            StoreLogData storeLogData = isStoreLogDataEnabled() ? StoreLogDataHolder.get() : null;
-                            String requestIdHeader = null;
-                            try {
-                                if (requestIdHeaderKey != null) {
-                                    var idHeader = consumerRecord.headers().lastHeader(requestIdHeaderKey);
-                                    if (idHeader != null) {
-                                        requestIdHeader = new String(idHeader.value(), StandardCharsets.UTF_8);
-                                    }
-                                    if (StringUtils.isBlank(requestIdHeader)) {
-                                        requestIdHeader = UUID.randomUUID().toString();
-                                    }
-                                    MDC.put(RuleServicesFilter.REQUEST_ID_KEY, requestIdHeader);
-                                }
-                                if (storeLogData != null) {
-                                    storeLogData.setServiceClass(service.getServiceClass());
-                                    storeLogData.setServiceName(service.getName());
-                                    storeLogData.setIncomingMessageTime(incomingTime);
-                                    storeLogData.setPublisherType(PublisherType.KAFKA);
-                                    storeLogData.setObjectSerializer(getObjectSerializer());
-                                    storeLogData.setConsumerRecord(consumerRecord);
-                                }
-                                RequestMessage requestMessage = consumerRecord.value();
-                                if (storeLogData != null) {
-                                    storeLogData.setServiceMethod(requestMessage.getMethod());
-                                    storeLogData.setParameters(requestMessage.getParameters());
-                                }
-                                String outputTopic = getOutTopic(consumerRecord);
-                                if (!StringUtils.isBlank(outputTopic)) {
-                                    Object result = requestMessage.getMethod()
-                                            .invoke(service.getServiceBean(), requestMessage.getParameters());
-                                    Header header = consumerRecord.headers().lastHeader(KafkaHeaders.REPLY_PARTITION);
-                                    ProducerRecord<String, Object> producerRecord;
-                                    if (header == null) {
-                                        producerRecord = new ProducerRecord<>(outputTopic,
-                                                consumerRecord.key(),
-                                                result);
-                                    } else {
-                                        Integer partition = Integer
-                                                .parseInt(new String(header.value(), StandardCharsets.UTF_8));
-                                        producerRecord = new ProducerRecord<>(outputTopic,
-                                                partition,
-                                                consumerRecord.key(),
-                                                result);
-                                    }
-                                    if (requestIdHeader != null) {
-                                        producerRecord.headers().add(requestIdHeaderKey, requestIdHeader.getBytes(StandardCharsets.UTF_8));
-                                    }
-                                    forwardHeadersToOutput(consumerRecord, producerRecord);
-
-                                    if (storeLogData != null) {
-                                        storeLogData.setOutcomingMessageTime(ZonedDateTime.now());
-                                    }
-                                    String finalRequestIdHeader = requestIdHeader;
-                                    producer.send(producerRecord, (metadata, exception) -> {
-                                        if (storeLogData != null) {
-                                            storeLogData.setProducerRecord(producerRecord);
-                                        }
-                                        if (exception == null && storeLogData != null) {
-                                            try {
-                                                getStoreLogDataManager().store(storeLogData);
-                                            } catch (StoreLogDataException e) {
-                                                exception = e;
-                                            }
-                                        }
-                                        if (exception != null) {
-                                            try {
-                                                if (log.isErrorEnabled()) {
-                                                    log.error(
-                                                            "Failed to send a result message for method '{}' in service '{}' to output topic '{}'.",
-                                                            requestMessage.getMethod(),
-                                                            getService().getDeployPath(),
-                                                            getOutTopic(consumerRecord), exception);
-                                                }
-                                            } catch (Exception e) {
-                                                log.error("Unexpected error.", e);
-                                            }
-                                            sendErrorToDlt(consumerRecord, exception, storeLogData, finalRequestIdHeader);
-                                        }
-                                    });
-                                } else {
-                                    if (storeLogData != null) {
-                                        storeLogData.setOutcomingMessageTime(ZonedDateTime.now());
-                                        getStoreLogDataManager().store(storeLogData);
-                                    }
-                                }
-                            } catch (InvocationTargetException | UndeclaredThrowableException e) {
-                                Throwable ex = e.getCause();
-                                sendError(consumerRecord, storeLogData, ex instanceof Exception ? (Exception) ex : e, requestIdHeader);
-                            } catch (Exception e) {
-                                sendError(consumerRecord, storeLogData, e, requestIdHeader);
-                            } finally {
-                                countDownLatch.countDown();
-                                if (isStoreLogDataEnabled()) {
-                                    StoreLogDataHolder.remove();
-                                }
-                                if (requestIdHeader != null) {
-                                    MDC.remove(RuleServicesFilter.REQUEST_ID_KEY);
-                                }
-                            }
-                        });
+                        submit(consumerRecord, incomingTime);
                     }
-                    countDownLatch.await();
-                    for (ConsumerRecord<String, RequestMessage> record : records) {
-                        currentOffsets.put(new TopicPartition(record.topic(), record.partition()),
-                                new OffsetAndMetadata(record.offset() + 1));
+                }
+                applyBackpressure();
+                commitOffsets();
+            } catch (Exception e) {
+                log.error("Something wrong.", e);
+            }
+        }
+        shutdown();
+    }
+
+    private void submit(ConsumerRecord<String, RequestMessage> consumerRecord, ZonedDateTime incomingTime) {
+        PartitionOffsets offsets = partitionOffsets.computeIfAbsent(
+                new TopicPartition(consumerRecord.topic(), consumerRecord.partition()),
+                e -> new PartitionOffsets());
+        offsets.add(consumerRecord.offset());
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    process(consumerRecord, incomingTime);
+                } finally {
+                    inFlight.decrementAndGet();
+                    offsets.complete(consumerRecord.offset());
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            offsets.complete(consumerRecord.offset());
+            throw e;
+        }
+    }
+
+    /**
+     * Pauses fetching from all assigned partitions when too many messages are being processed and resumes it when
+     * the half of them is processed. The consumer keeps polling while it is paused, so it stays in the group.
+     */
+    private void applyBackpressure() {
+        int current = inFlight.get();
+        if (!paused && current >= maxInFlight) {
+            consumer.pause(consumer.assignment());
+            paused = true;
+            if (log.isDebugEnabled()) {
+                log.debug("Consuming from topic '{}' is paused. Messages in flight: {}.", inTopic, current);
+            }
+        } else if (paused && current <= maxInFlight / 2) {
+            consumer.resume(consumer.paused());
+            paused = false;
+            if (log.isDebugEnabled()) {
+                log.debug("Consuming from topic '{}' is resumed. Messages in flight: {}.", inTopic, current);
+            }
+        }
+        long totalLag = 0;
+        for (TopicPartition partition : consumer.assignment()) {
+            totalLag += consumer.currentLag(partition).orElse(0);
+        }
+        lag = totalLag;
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> collectOffsetsToCommit(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            PartitionOffsets po = partitionOffsets.get(partition);
+            if (po != null) {
+                long offset = po.getOffsetToCommit();
+                if (offset != PartitionOffsets.NOTHING_TO_COMMIT) {
+                    offsets.put(partition, new OffsetAndMetadata(offset));
+                }
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Commits the offsets of the processed messages for all partitions in one request. A partition offset moves only
+     * over the messages which are processed together with all the messages preceding them.
+     */
+    private void commitOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = collectOffsetsToCommit(partitionOffsets.keySet());
+        if (offsets.isEmpty()) {
+            return;
+        }
+        try {
+            consumer.commitSync(offsets);
+            offsets.forEach((partition, offset) -> partitionOffsets.get(partition).committed(offset.offset()));
+            if (log.isDebugEnabled()) {
+                log.debug("Current offsets have been committed: {}", offsets);
+            }
+        } catch (Exception e) {
+            if (log.isErrorEnabled()) {
+                log.error("Failed to commit current offsets: {}", offsets);
+            }
+        }
+    }
+
+    private void awaitCompletion(Collection<TopicPartition> partitions) {
+        try {
+            for (TopicPartition partition : partitions) {
+                PartitionOffsets po = partitionOffsets.get(partition);
+                if (po != null && !po.awaitCompletion(COMPLETION_TIMEOUT_MILLIS) && log.isWarnEnabled()) {
+                    log.warn("Messages from partition '{}' are still being processed: {}.",
+                            partition,
+                            po.getPendingCount());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(COMPLETION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS) && log.isWarnEnabled()) {
+                log.warn("Messages from topic '{}' are still being processed: {}.", inTopic, inFlight.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commitOffsets();
+    }
+
+    private void process(ConsumerRecord<String, RequestMessage> consumerRecord, ZonedDateTime incomingTime) {
+        StoreLogData storeLogData = isStoreLogDataEnabled() ? StoreLogDataHolder.get() : null;
+        String requestIdHeader = null;
+        try {
+            if (requestIdHeaderKey != null) {
+                var idHeader = consumerRecord.headers().lastHeader(requestIdHeaderKey);
+                if (idHeader != null) {
+                    requestIdHeader = new String(idHeader.value(), StandardCharsets.UTF_8);
+                }
+                if (StringUtils.isBlank(requestIdHeader)) {
+                    requestIdHeader = UUID.randomUUID().toString();
+                }
+                MDC.put(RuleServicesFilter.REQUEST_ID_KEY, requestIdHeader);
+            }
+            if (storeLogData != null) {
+                storeLogData.setServiceClass(service.getServiceClass());
+                storeLogData.setServiceName(service.getName());
+                storeLogData.setIncomingMessageTime(incomingTime);
+                storeLogData.setPublisherType(PublisherType.KAFKA);
+                storeLogData.setObjectSerializer(getObjectSerializer());
+                storeLogData.setConsumerRecord(consumerRecord);
+            }
+            RequestMessage requestMessage = consumerRecord.value();
+            if (storeLogData != null) {
+                storeLogData.setServiceMethod(requestMessage.getMethod());
+                storeLogData.setParameters(requestMessage.getParameters());
+            }
+            String outputTopic = getOutTopic(consumerRecord);
+            if (!StringUtils.isBlank(outputTopic)) {
+                Object result = requestMessage.getMethod()
+                        .invoke(service.getServiceBean(), requestMessage.getParameters());
+                Header header = consumerRecord.headers().lastHeader(KafkaHeaders.REPLY_PARTITION);
+                ProducerRecord<String, Object> producerRecord;
+                if (header == null) {
+                    producerRecord = new ProducerRecord<>(outputTopic,
+                            consumerRecord.key(),
+                            result);
+                } else {
+                    Integer partition = Integer
+                            .parseInt(new String(header.value(), StandardCharsets.UTF_8));
+                    producerRecord = new ProducerRecord<>(outputTopic,
+                            partition,
+                            consumerRecord.key(),
+                            result);
+                }
+                if (requestIdHeader != null) {
+                    producerRecord.headers().add(requestIdHeaderKey, requestIdHeader.getBytes(StandardCharsets.UTF_8));
+                }
+                forwardHeadersToOutput(consumerRecord, producerRecord);
+
+                if (storeLogData != null) {
+                    storeLogData.setOutcomingMessageTime(ZonedDateTime.now());
+                }
+                String finalRequestIdHeader = requestIdHeader;
+                producer.send(producerRecord, (metadata, exception) -> {
+                    if (storeLogData != null) {
+                        storeLogData.setProducerRecord(producerRecord);
                     }
-                    try {
-                        consumer.commitSync(currentOffsets);
-                        if (log.isDebugEnabled()) {
-                            log.debug("Current offsets have been committed: {}", currentOffsets);
+                    if (exception == null && storeLogData != null) {
+                        try {
+                            getStoreLogDataManager().store(storeLogData);
+                        } catch (StoreLogDataException e) {
+                            exception = e;
                         }
-                    } catch (Exception e) {
-                        if (log.isErrorEnabled()) {
-                            log.error("Failed to commit current offsets: {}", currentOffsets);
+                    }
+                    if (exception != null) {
+                        try {
+                            if (log.isErrorEnabled()) {
+                                log.error(
+                                        "Failed to send a result message for method '{}' in service '{}' to output topic '{}'.",
+                                        requestMessage.getMethod(),
+                                        getService().getDeployPath(),
+                                        getOutTopic(consumerRecord), exception);
+                            }
+                        } catch (Exception e) {
+                            log.error("Unexpected error.", e);
                         }
+                        sendErrorToDlt(consumerRecord, exception, storeLogData, finalRequestIdHeader);
                     }
+                });
+            } else {
+                if (storeLogData != null) {
+                    storeLogData.setOutcomingMessageTime(ZonedDateTime.now());
+                    getStoreLogDataManager().store(storeLogData);
                 }
-            } catch (Exception e) {
-                log.error("Something wrong.", e);
+            }
+        } catch (InvocationTargetException | UndeclaredThrowableException e) {
+            Throwable ex = e.getCause();
+            sendError(consumerRecord, storeLogData, ex instanceof Exception ? (Exception) ex : e, requestIdHeader);
+        } catch (Exception e) {
+            sendError(consumerRecord, storeLogData, e, requestIdHeader);
+        } finally {
+            if (isStoreLogDataEnabled()) {
+                StoreLogDataHolder.remove();
+            }
+            if (requestIdHeader != null) {
+                MDC.remove(RuleServicesFilter.REQUEST_ID_KEY);
             }
         }
     }
 
+    @Override
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public long getLag() {
+        return lag;
+    }
+
+    @Override
+    public boolean isPaused() {
+        return paused;
+    }
+
     private void sendError(ConsumerRecord<String, RequestMessage> consumerRecord, StoreLogData storeLogData, Exception e, String requestIdHeader) {
         if (log.isErrorEnabled()) {
             log.error("Failed to process a message from input topic '{}'.", getInTopic(), e);
@@ -459,4 +621,20 @@ public final class KafkaService implements Runnable {
         flag = false;
         loopRunningThread.join();
     }
+
+    private static final class KafkaServiceThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final String namePrefix;
+
+        private KafkaServiceThreadFactory(String inTopic) {
+            this.namePrefix = "kafka-" + inTopic + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package org.openl.rules.ruleservice.kafka.publish;
+
+/**
+ * The metrics of a {@link KafkaService} published with JMX.
+ */
+public interface KafkaServiceMXBean {
+
+    /**
+     * @return the topic which the messages are consumed from
+     */
+    String getInTopic();
+
+    /**
+     * @return the number of the polled messages which are not processed yet
+     */
+    int getInFlightCount();
+
+    /**
+     * @return the number of the polled messages which are waiting for a free thread
+     */
+    int getQueueSize();
+
+    /**
+     * @return the total number of messages in the assigned partitions which are not polled yet
+     */
+    long getLag();
+
+    /**
+     * @return {@code true} if consuming is paused because too many messages are being processed
+     */
+    boolean isPaused();
+}
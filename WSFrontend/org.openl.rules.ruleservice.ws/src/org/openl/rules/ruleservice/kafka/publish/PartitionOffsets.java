@@ -0,0 +1,69 @@
+package org.openl.rules.ruleservice.kafka.publish;
+
+import java.util.TreeSet;
+
+/**
+ * Tracks offsets of the records of one partition which are being processed. The records are completed in any order,
+ * but the offset to commit moves forward only over the completed records, so a record is never committed before the
+ * records preceding it.
+ */
+final class PartitionOffsets {
+
+    static final long NOTHING_TO_COMMIT = -1;
+
+    private final TreeSet<Long> pending = new TreeSet<>();
+    private long nextOffset = NOTHING_TO_COMMIT;
+    private long committedOffset = NOTHING_TO_COMMIT;
+
+    /**
+     * Registers the polled record which is submitted for processing.
+     */
+    synchronized void add(long offset) {
+        pending.add(offset);
+        nextOffset = Math.max(nextOffset, offset + 1);
+    }
+
+    /**
+     * Marks the record as processed.
+     */
+    synchronized void complete(long offset) {
+        pending.remove(offset);
+        if (pending.isEmpty()) {
+            notifyAll();
+        }
+    }
+
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the offset of the next record to consume after the processed records or {@link #NOTHING_TO_COMMIT} if
+     *         it has not changed since the last commit
+     */
+    synchronized long getOffsetToCommit() {
+        long offset = pending.isEmpty() ? nextOffset : pending.first();
+        return offset > committedOffset ? offset : NOTHING_TO_COMMIT;
+    }
+
+    synchronized void committed(long offset) {
+        committedOffset = Math.max(committedOffset, offset);
+    }
+
+    /**
+     * Waits until all the registered records are processed.
+     *
+     * @return {@code true} if all the records are processed, {@code false} if the timeout has elapsed
+     */
+    synchronized boolean awaitCompletion(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!pending.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+}
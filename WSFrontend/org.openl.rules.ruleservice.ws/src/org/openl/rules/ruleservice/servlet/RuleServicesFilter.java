@@ -187,19 +187,12 @@ public class RuleServicesFilter implements Filter {
             }
         }
 
-        // Lock RuleServices until all services are available
-        // TODO: Replace locking of all requests by locking per OpenL service in RuleService
-        if (path.startsWith("/admin/")) { // Do not block admin functionality
-            chain.doFilter(request, response);
-            return;
-        }
-        var lock = RuleServiceRedeployLock.getInstance().getReadLock();
-        try {
-            lock.lock();
-            chain.doFilter(request, response);
-        } finally {
-            lock.unlock();
+        // Hold new requests while the services are switched to the new versions.
+        // The calls in progress are tracked per OpenL service, so they are not waited for.
+        if (!path.startsWith("/admin/")) { // Do not block admin functionality
+            RuleServiceRedeployLock.getInstance().awaitSwitching();
         }
+        chain.doFilter(request, response);
 
     }
 
@@ -1,15 +1,19 @@
 package org.openl.rules.ruleservice.spring;
 
+import java.lang.management.ManagementFactory;
+
 import org.apache.cxf.Bus;
 import org.apache.cxf.management.counters.CounterRepository;
 import org.apache.cxf.management.jmx.InstrumentationManagerImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import org.openl.rules.core.ce.ServiceMT;
+import org.openl.rules.ruleservice.management.MBeanRegistry;
 import org.openl.spring.config.ConditionalOnEnable;
 
 /**
- * Registering of CXF MBeans.
+ * Registering of CXF MBeans and the registry of the rule services MBeans.
  *
  * @author Yury Molchan
  * @see <a href="https://cxf.apache.org/docs/jmx-management.html">CXF JMX Integration</a>
@@ -34,4 +38,12 @@ public class CXFManagement {
         manager.init();
         return manager;
     }
+
+    @Bean
+    MBeanRegistry mbeanRegistry() {
+        MBeanRegistry registry = new MBeanRegistry(ManagementFactory.getPlatformMBeanServer());
+        // No instance is bound to the current thread here, so it is the shared one
+        registry.register(ServiceMT.MBEAN_TYPE, "shared", ServiceMT.getInstance());
+        return registry;
+    }
 }
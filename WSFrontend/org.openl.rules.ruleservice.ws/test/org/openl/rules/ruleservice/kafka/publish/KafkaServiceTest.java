@@ -0,0 +1,58 @@
+package org.openl.rules.ruleservice.kafka.publish;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.ruleservice.core.OpenLService;
+import org.openl.rules.ruleservice.management.MBeanRegistry;
+import org.openl.rules.ruleservice.storelogdata.ObjectSerializer;
+
+public class KafkaServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void metricsArePublished() throws Exception {
+        OpenLService service = mock(OpenLService.class);
+        when(service.getDeployPath()).thenReturn("deployment/service");
+        KafkaService kafkaService = KafkaService.createService(service,
+                null,
+                "in-topic",
+                "out-topic",
+                "dlt-topic",
+                mock(KafkaConsumer.class),
+                mock(KafkaProducer.class),
+                mock(KafkaProducer.class),
+                mock(ObjectSerializer.class),
+                null,
+                false,
+                null,
+                2,
+                16);
+
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        MBeanRegistry registry = new MBeanRegistry(server);
+        registry.register(KafkaService.MBEAN_TYPE, kafkaService.getMBeanName(), kafkaService);
+
+        ObjectName name = MBeanRegistry.getObjectName(KafkaService.MBEAN_TYPE, "deployment/service/in-topic");
+        assertTrue(server.isRegistered(name));
+        assertEquals("in-topic", server.getAttribute(name, "InTopic"));
+        assertEquals(0, server.getAttribute(name, "InFlightCount"));
+        assertEquals(0, server.getAttribute(name, "QueueSize"));
+        assertEquals(0L, server.getAttribute(name, "Lag"));
+        assertEquals(false, server.getAttribute(name, "Paused"));
+
+        registry.unregister(KafkaService.MBEAN_TYPE, kafkaService.getMBeanName());
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,49 @@
+package org.openl.rules.ruleservice.kafka.publish;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PartitionOffsetsTest {
+
+    @Test
+    public void offsetMovesOnlyOverProcessedRecords() {
+        PartitionOffsets offsets = new PartitionOffsets();
+        assertEquals(PartitionOffsets.NOTHING_TO_COMMIT, offsets.getOffsetToCommit());
+
+        offsets.add(10);
+        offsets.add(11);
+        offsets.add(12);
+        assertEquals(10, offsets.getOffsetToCommit());
+
+        offsets.complete(11);
+        assertEquals(10, offsets.getOffsetToCommit());
+
+        offsets.complete(10);
+        assertEquals(12, offsets.getOffsetToCommit());
+        offsets.committed(12);
+        assertEquals(PartitionOffsets.NOTHING_TO_COMMIT, offsets.getOffsetToCommit());
+
+        offsets.complete(12);
+        assertEquals(13, offsets.getOffsetToCommit());
+        offsets.committed(13);
+        assertEquals(PartitionOffsets.NOTHING_TO_COMMIT, offsets.getOffsetToCommit());
+        assertEquals(0, offsets.getPendingCount());
+    }
+
+    @Test
+    public void awaitCompletion() throws InterruptedException {
+        PartitionOffsets offsets = new PartitionOffsets();
+        assertTrue(offsets.awaitCompletion(0));
+
+        offsets.add(0);
+        assertFalse(offsets.awaitCompletion(10));
+
+        Thread worker = new Thread(() -> offsets.complete(0));
+        worker.start();
+        assertTrue(offsets.awaitCompletion(10_000));
+        worker.join();
+    }
+}
@@ -13,7 +13,7 @@ import org.openl.util.StringUtils;
  * @author Vladyslav Pikus
  * @since 5.21.4
  */
-final class DeploymentNameMatcher {
+public final class DeploymentNameMatcher {
 
     private final Logger log = LoggerFactory.getLogger(DeploymentNameMatcher.class);
     private static final Pattern WILDCARD_REDUNDANT_OCCUR = Pattern.compile("\\*{2,}");
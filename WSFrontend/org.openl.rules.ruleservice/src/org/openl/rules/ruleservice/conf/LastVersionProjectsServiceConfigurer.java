@@ -59,8 +59,22 @@ public class LastVersionProjectsServiceConfigurer implements ServiceConfigurer,
     public final Collection<ServiceDescription> getServicesToBeDeployed(RuleServiceLoader ruleServiceLoader) {
         log.debug("Calculate services to be deployed...");
 
-        Collection<IDeployment> deployments = ruleServiceLoader.getDeployments();
+        return collectServices(ruleServiceLoader, ruleServiceLoader.getDeployments());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final Collection<ServiceDescription> getServicesToBeDeployed(RuleServiceLoader ruleServiceLoader,
+                                                                        Collection<IDeployment> deployments) {
+        log.debug("Calculate services to be deployed for changed deployments...");
+
+        return collectServices(ruleServiceLoader, deployments);
+    }
 
+    private Collection<ServiceDescription> collectServices(RuleServiceLoader ruleServiceLoader,
+                                                          Collection<IDeployment> deployments) {
         Collection<ServiceDescription> serviceDescriptions = new HashSet<>();
         for (IDeployment deployment : deployments) {
             if (!deploymentMatcher.hasMatches(deployment.getDeploymentName())) {
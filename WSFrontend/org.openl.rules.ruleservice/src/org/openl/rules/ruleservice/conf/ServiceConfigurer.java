@@ -2,6 +2,7 @@ package org.openl.rules.ruleservice.conf;
 
 import java.util.Collection;
 
+import org.openl.rules.project.abstraction.IDeployment;
 import org.openl.rules.ruleservice.core.ServiceDescription;
 import org.openl.rules.ruleservice.loader.RuleServiceLoader;
 
@@ -19,4 +20,17 @@ public interface ServiceConfigurer {
      * @return List of {@link ServiceDescription} to deployed.
      */
     Collection<ServiceDescription> getServicesToBeDeployed(RuleServiceLoader ruleServiceLoader);
+
+    /**
+     * Compute the services of the given deployments only, when other deployments have not been changed.
+     *
+     * @param ruleServiceLoader Loader to access projects.
+     * @param deployments the changed deployments
+     * @return List of {@link ServiceDescription} of the given deployments or {@code null} if all services must be
+     *         computed again.
+     */
+    default Collection<ServiceDescription> getServicesToBeDeployed(RuleServiceLoader ruleServiceLoader,
+                                                                   Collection<IDeployment> deployments) {
+        return null;
+    }
 }
@@ -4,6 +4,7 @@ public abstract class AbstractOpenLServiceInitializer implements OpenLServiceIni
 
     private volatile boolean initialized;
     private volatile boolean initializationStarted;
+    private volatile RuleServiceInstantiationException failure;
 
     @Override
     public void ensureInitialization(OpenLService openLService) throws RuleServiceInstantiationException {
@@ -11,13 +12,31 @@ public abstract class AbstractOpenLServiceInitializer implements OpenLServiceIni
             synchronized (this) {
                 if (!initialized && !initializationStarted) {
                     initializationStarted = true;
-                    init(openLService);
+                    try {
+                        init(openLService);
+                    } catch (RuleServiceInstantiationException e) {
+                        failure = e;
+                        throw e;
+                    } catch (RuntimeException | Error e) {
+                        // Otherwise the next callers would use the service which has not been initialized
+                        failure = new RuleServiceInstantiationException("Failed to initialize the service.", e);
+                        throw e;
+                    }
                     initialized = true;
                 }
             }
+            // The service can be initialized before publishing, so the failure is reported to every caller
+            if (failure != null) {
+                throw failure;
+            }
         }
     }
 
+    @Override
+    public boolean isInitialized() {
+        return initialized || failure != null;
+    }
+
     protected abstract void init(OpenLService openLService) throws RuleServiceInstantiationException;
 
 }
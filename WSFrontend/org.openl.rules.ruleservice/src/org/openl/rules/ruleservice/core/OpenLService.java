@@ -7,6 +7,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.springframework.context.ConfigurableApplicationContext;
 
@@ -40,6 +42,7 @@ public final class OpenLService {
     private Map<String, String> urls = Collections.emptyMap();
     private final DeploymentDescription deployment;
     private ConfigurableApplicationContext serviceContext;
+    private final ReadWriteLock invocationLock = new ReentrantReadWriteLock();
 
     /**
      * Returns service classloader
@@ -160,6 +163,13 @@ public final class OpenLService {
         initializer.ensureInitialization(this);
     }
 
+    /**
+     * Checks if the service has been compiled, successfully or not. The service is not compiled by this method.
+     */
+    public boolean isInitialized() {
+        return initializer.isInitialized();
+    }
+
     /**
      * Returns a class name for service.
      *
@@ -254,6 +264,16 @@ public final class OpenLService {
         this.serviceContext = serviceContext;
     }
 
+    /**
+     * Returns the lock of the service methods invocation. The read lock is held by every call of the service bean,
+     * the write lock is used to wait for the calls in progress before the resources of the service are released.
+     *
+     * @return invocation lock
+     */
+    public ReadWriteLock getInvocationLock() {
+        return invocationLock;
+    }
+
     /**
      * {@inheritDoc}
      */
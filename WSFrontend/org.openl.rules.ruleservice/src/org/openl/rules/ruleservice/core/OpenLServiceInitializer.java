@@ -9,4 +9,9 @@ public interface OpenLServiceInitializer {
 
     void ensureInitialization(OpenLService openLService) throws RuleServiceInstantiationException;
 
+    /**
+     * Checks if the initialization has been completed, successfully or not.
+     */
+    boolean isInitialized();
+
 }
@@ -7,6 +7,11 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,6 +89,30 @@ public class RuleServiceDependencyManager extends AbstractDependencyManager {
         }
     }
 
+    /**
+     * The dependencies are compiled in advance by the threads of this executor. The number of the threads is the same
+     * as the number of the permits of {@link MaxThreadsForCompileSemaphore}, so all of them can compile at once.
+     */
+    private static final class CompilationExecutorHolder {
+        private static final ThreadPoolExecutor INSTANCE;
+
+        static {
+            int threads = RuleServiceStaticConfigurationUtil.getMaxThreadsForCompile();
+            AtomicInteger counter = new AtomicInteger();
+            INSTANCE = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "openl-compile-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            INSTANCE.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    @Override
+    protected Executor getCompilationExecutor() {
+        return CompilationExecutorHolder.INSTANCE;
+    }
+
     public RuleServiceDependencyManager(DeploymentDescription deploymentDescription,
                                         RuleServiceLoader ruleServiceLoader,
                                         ClassLoader rootClassLoader,
@@ -5,8 +5,11 @@ import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -15,20 +18,27 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
 
 import org.openl.CompiledOpenClass;
 import org.openl.classloader.OpenLClassLoader;
 import org.openl.dependency.IDependencyManager;
+import org.openl.dependency.ResolvedDependency;
+import org.openl.rules.common.CommonVersion;
+import org.openl.rules.core.ce.ServiceMT;
 import org.openl.rules.lang.xls.binding.XlsModuleOpenClass;
 import org.openl.rules.project.dependencies.ProjectExternalDependenciesHelper;
+import org.openl.rules.project.instantiation.AbstractDependencyManager;
 import org.openl.rules.project.instantiation.RulesInstantiationException;
 import org.openl.rules.project.instantiation.RulesInstantiationStrategy;
 import org.openl.rules.project.instantiation.RuntimeContextInstantiationStrategyEnhancer;
 import org.openl.rules.project.instantiation.SimpleMultiModuleInstantiationStrategy;
 import org.openl.rules.project.model.Module;
+import org.openl.rules.project.model.ProjectDependencyDescriptor;
 import org.openl.rules.ruleservice.core.interceptors.DynamicInterfaceAnnotationEnhancerHelper;
 import org.openl.rules.ruleservice.core.interceptors.ServiceInvocationAdviceListener;
 import org.openl.rules.ruleservice.loader.RuleServiceLoader;
+import org.openl.rules.ruleservice.management.MBeanRegistry;
 import org.openl.rules.ruleservice.management.ServiceManagerImpl;
 import org.openl.runtime.ASMProxyFactory;
 import org.openl.types.IOpenClass;
@@ -47,6 +57,8 @@ public class RuleServiceOpenLServiceInstantiationFactoryImpl implements RuleServ
 
     private final Map<DeploymentDescription, RuleServiceDependencyManager> dependencyManagerMap = new HashMap<>();
 
+    private final Map<DeploymentDescription, ServiceMT> serviceMTMap = new HashMap<>();
+
     private ObjectProvider<Collection<ServiceInvocationAdviceListener>> serviceInvocationAdviceListeners;
 
     @Autowired
@@ -56,12 +68,16 @@ public class RuleServiceOpenLServiceInstantiationFactoryImpl implements RuleServ
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired(required = false)
+    private MBeanRegistry mbeanRegistry;
+
     private void initService(ServiceDescription serviceDescription,
                              RuleServiceDependencyManager dependencyManager,
                              OpenLService service) throws RuleServiceInstantiationException, RulesInstantiationException {
         Objects.requireNonNull(serviceDescription, "serviceDescription cannot be null");
         Objects.requireNonNull((IDependencyManager) dependencyManager, "dependencyManager cannot be null");
         Collection<Module> modules = serviceDescription.getModules();
+        compileProjectDependencies(modules, dependencyManager);
 
         RulesInstantiationStrategy baseInstantiationStrategy = new SimpleMultiModuleInstantiationStrategy(modules, dependencyManager, true);
         RulesInstantiationStrategy instantiationStrategy = baseInstantiationStrategy;
@@ -85,6 +101,27 @@ public class RuleServiceOpenLServiceInstantiationFactoryImpl implements RuleServ
         }
     }
 
+    /**
+     * Compiles the projects which the service depends on, the independent projects are compiled concurrently.
+     */
+    private static void compileProjectDependencies(Collection<Module> modules,
+                                                   RuleServiceDependencyManager dependencyManager) {
+        Set<ResolvedDependency> dependencies = new LinkedHashSet<>();
+        for (Module module : modules) {
+            List<ProjectDependencyDescriptor> projectDependencies = module.getProject() != null
+                    ? module.getProject().getDependencies()
+                    : null;
+            if (projectDependencies != null) {
+                for (ProjectDependencyDescriptor projectDependency : projectDependencies) {
+                    dependencies.add(AbstractDependencyManager.buildResolvedDependency(projectDependency.getName()));
+                }
+            }
+        }
+        if (!dependencies.isEmpty()) {
+            dependencyManager.compileDependencies(dependencies);
+        }
+    }
+
     private ClassLoader resolveServiceClassLoader(OpenLService service,
                                                   RulesInstantiationStrategy instantiationStrategy) throws RulesInstantiationException,
             RuleServiceInstantiationException {
@@ -120,7 +157,9 @@ public class RuleServiceOpenLServiceInstantiationFactoryImpl implements RuleServ
                     classLoader,
                     getListServiceInvocationAdviceListeners(),
                     applicationContext,
-                    serviceManager != null ? serviceManager.getRulesDeployInProcess() : null);
+                    serviceManager != null ? serviceManager.getRulesDeployInProcess() : null,
+                    getServiceMT(service.getDeployment()),
+                    service.getInvocationLock().readLock());
             Object proxyServiceBean = ASMProxyFactory
                     .newProxyInstance(classLoader, serviceInvocationAdvice, serviceClass);
             service.setServiceBean(proxyServiceBean);
@@ -283,6 +322,62 @@ public class RuleServiceOpenLServiceInstantiationFactoryImpl implements RuleServ
     @Override
     public void clean(ServiceDescription serviceDescription) {
         dependencyManagerMap.remove(serviceDescription.getDeployment()).resetAll();
+        ServiceMT serviceMT = serviceMTMap.remove(serviceDescription.getDeployment());
+        if (serviceMT != null) {
+            if (mbeanRegistry != null) {
+                mbeanRegistry.unregister(ServiceMT.MBEAN_TYPE, getMBeanName(serviceDescription.getDeployment()));
+            }
+            serviceMT.shutdown();
+        }
+    }
+
+    /**
+     * Returns the executor of the parallel calculations for the deployment.
+     *
+     * @return the executor or {@code null} if the shared one is used
+     */
+    private ServiceMT getServiceMT(DeploymentDescription deployment) {
+        if (applicationContext == null || deployment == null) {
+            return null;
+        }
+        Environment environment = applicationContext.getEnvironment();
+        String executor = environment.getProperty("ruleservice.parallel.executor", "shared").trim();
+        if ("shared".equalsIgnoreCase(executor)) {
+            return null;
+        }
+        return serviceMTMap.computeIfAbsent(deployment, d -> {
+            ServiceMT serviceMT = createServiceMT(d, environment, executor);
+            if (mbeanRegistry != null) {
+                mbeanRegistry.register(ServiceMT.MBEAN_TYPE, getMBeanName(d), serviceMT);
+            }
+            return serviceMT;
+        });
+    }
+
+    /**
+     * The name of the JMX bean of the executor of the deployment. Several versions of the deployment can be deployed
+     * at the same time while the services are switched to the new version.
+     */
+    private static String getMBeanName(DeploymentDescription deployment) {
+        CommonVersion version = deployment.getVersion();
+        return version != null ? deployment.getName() + ":" + version.getVersionName() : deployment.getName();
+    }
+
+    private static ServiceMT createServiceMT(DeploymentDescription deployment,
+            Environment environment,
+            String executor) {
+        int maxDepth = environment.getProperty("ruleservice.parallel.max-depth", Integer.class, Integer.MAX_VALUE);
+        int maxFanOut = environment.getProperty("ruleservice.parallel.max-fan-out", Integer.class, Integer.MAX_VALUE);
+        if ("virtual".equalsIgnoreCase(executor)) {
+            return ServiceMT.virtualThreads("openl-mt-" + deployment.getName(), maxDepth, maxFanOut);
+        } else if ("deployment".equalsIgnoreCase(executor)) {
+            Integer threads = environment.getProperty("ruleservice.parallel.threads", Integer.class);
+            return ServiceMT.forkJoin(threads != null ? threads : Runtime.getRuntime().availableProcessors(),
+                    maxDepth,
+                    maxFanOut);
+        }
+        throw new IllegalArgumentException(
+                String.format("Unknown value '%s' of 'ruleservice.parallel.executor' property.", executor));
     }
 
     private RuleServiceDependencyManager getDependencyManager(ServiceDescription serviceDescription) {
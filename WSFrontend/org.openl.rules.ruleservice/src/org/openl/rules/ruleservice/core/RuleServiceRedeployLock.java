@@ -4,6 +4,12 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Guards switching of the services during the redeployment. The new versions of the services are compiled before the
+ * switching, so the write lock is held only while the old versions are replaced by the new ones in the publishers.
+ * The calls in progress are not waited for by this lock, they are tracked by {@link OpenLService#getInvocationLock()}
+ * of every service.
+ */
 public final class RuleServiceRedeployLock {
     private static class RuleServiceRedeployLockHolder {
         private static final RuleServiceRedeployLock INSTANCE = new RuleServiceRedeployLock();
@@ -23,4 +29,13 @@ public final class RuleServiceRedeployLock {
         return reentrantReadWriteLock.writeLock();
     }
 
+    /**
+     * Waits until the switching of the services in progress is completed.
+     */
+    public void awaitSwitching() {
+        Lock lock = getReadLock();
+        lock.lock();
+        lock.unlock();
+    }
+
 }
@@ -10,6 +10,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,6 +31,7 @@ import org.openl.rules.calc.CombinedSpreadsheetResultOpenClass;
 import org.openl.rules.calc.CustomSpreadsheetResultOpenClass;
 import org.openl.rules.calc.SpreadsheetResult;
 import org.openl.rules.calc.SpreadsheetResultBeanPropertyNamingStrategy;
+import org.openl.rules.core.ce.ServiceMT;
 import org.openl.rules.lang.xls.binding.XlsModuleOpenClass;
 import org.openl.rules.project.model.RulesDeploy;
 import org.openl.rules.ruleservice.core.annotations.BeanToSpreadsheetResultConvert;
@@ -89,14 +92,23 @@ public final class ServiceInvocationAdvice extends AbstractOpenLMethodHandler<Me
 
     private final Function<Object, String> serializer;
 
+    // executor of the parallel calculations, null if the shared one is used
+    private final ServiceMT serviceMT;
+
+    private final Lock invocationLock;
+
     public ServiceInvocationAdvice(IOpenClass openClass,
                                    Object serviceTarget,
                                    Map<Method, Method> methodMap,
                                    ClassLoader serviceClassLoader,
                                    Collection<ServiceInvocationAdviceListener> serviceMethodAdviceListeners,
                                    ApplicationContext applicationContext,
-                                   RulesDeploy rulesDeploy) {
+                                   RulesDeploy rulesDeploy,
+                                   ServiceMT serviceMT,
+                                   Lock invocationLock) {
         this.serviceTarget = serviceTarget;
+        this.invocationLock = Objects.requireNonNull(invocationLock, "invocationLock cannot be null");
+        this.serviceMT = serviceMT;
         this.methodMap = methodMap;
         this.serviceClassLoader = serviceClassLoader;
         this.openClass = openClass;
@@ -394,6 +406,16 @@ public final class ServiceInvocationAdvice extends AbstractOpenLMethodHandler<Me
 
     @Override
     public Object invoke(Method calledMethod, Object[] args) {
+        // The resources of the service are not released until the call is completed
+        invocationLock.lock();
+        try {
+            return invokeServiceMethod(calledMethod, args);
+        } finally {
+            invocationLock.unlock();
+        }
+    }
+
+    private Object invokeServiceMethod(Method calledMethod, Object[] args) {
         String methodName = calledMethod.getName();
         Class<?>[] parameterTypes = calledMethod.getParameterTypes();
         Object result = null;
@@ -409,6 +431,7 @@ public final class ServiceInvocationAdvice extends AbstractOpenLMethodHandler<Me
         }
         try {
             ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+            ServiceMT oldServiceMT = serviceMT != null ? ServiceMT.setCurrent(serviceMT) : null;
             try {
                 LoggingHandler.setup(this);
                 Thread.currentThread().setContextClassLoader(serviceClassLoader);
@@ -464,6 +487,9 @@ public final class ServiceInvocationAdvice extends AbstractOpenLMethodHandler<Me
             } finally {
                 LoggingHandler.remove();
                 Thread.currentThread().setContextClassLoader(oldClassLoader);
+                if (serviceMT != null) {
+                    ServiceMT.setCurrent(oldServiceMT);
+                }
             }
         } catch (Throwable t) {
             var error = RuleServiceWrapperException.create(t, sprBeanPropertyNamingStrategy);
@@ -1,5 +1,7 @@
 package org.openl.rules.ruleservice.loader;
 
+import java.util.Set;
+
 /**
  * Data source listener for DataSource.
  *
@@ -10,4 +12,13 @@ public interface DataSourceListener {
      * Executes on deployment added to data source.
      */
     void onDeploymentAdded();
+
+    /**
+     * Executes when the given deployments have been changed in data source and the rest ones have not.
+     *
+     * @param deploymentFolders the names of the folders of the changed deployments
+     */
+    default void onDeploymentsChanged(Set<String> deploymentFolders) {
+        onDeploymentAdded();
+    }
 }
@@ -1,6 +1,7 @@
 package org.openl.rules.ruleservice.loader;
 
 import java.util.Collection;
+import java.util.Set;
 
 import org.openl.rules.common.CommonVersion;
 import org.openl.rules.project.abstraction.IDeployment;
@@ -29,6 +30,14 @@ public interface RuleServiceLoader {
      */
     Collection<IDeployment> getDeployments();
 
+    /**
+     * Returns the deployments stored in the given folders. The other deployments are not read from data source.
+     *
+     * @param deploymentFolders the names of the deployment folders
+     * @return list of deployments.
+     */
+    Collection<IDeployment> getDeployments(Set<String> deploymentFolders);
+
     /**
      * @param deploymentName
      * @param deploymentVersion
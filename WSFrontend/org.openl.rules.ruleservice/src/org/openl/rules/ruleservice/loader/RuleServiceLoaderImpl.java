@@ -9,12 +9,15 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.ProviderNotFoundException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
@@ -38,6 +41,7 @@ import org.openl.rules.project.model.ProjectDescriptor;
 import org.openl.rules.project.resolving.ProjectResolver;
 import org.openl.rules.project.resolving.ProjectResolvingException;
 import org.openl.rules.repository.api.FileData;
+import org.openl.rules.repository.api.Listener;
 import org.openl.rules.repository.api.Repository;
 import org.openl.rules.repository.file.FileSystemRepository;
 import org.openl.rules.repository.zip.ZippedLocalRepository;
@@ -172,7 +176,36 @@ public class RuleServiceLoaderImpl implements RuleServiceLoader {
         } catch (IOException ex) {
             throw RuntimeExceptionWrapper.wrap(ex);
         }
+        return buildDeployments(fileData, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<IDeployment> getDeployments(Set<String> deploymentFolders) {
+        List<FileData> fileData = new ArrayList<>();
+        try {
+            if (repository.supports().folders()) {
+                // The folders are listed without their content
+                fileData = repository.listFolders(getDeployPath());
+            } else {
+                for (String deploymentFolder : deploymentFolders) {
+                    fileData.addAll(repository.list(getDeployPath() + deploymentFolder + "/"));
+                }
+            }
+        } catch (IOException ex) {
+            throw RuntimeExceptionWrapper.wrap(ex);
+        }
+        return buildDeployments(fileData, deploymentFolders);
+    }
 
+    /**
+     * Builds the deployments of the listed files.
+     *
+     * @param deploymentFolders the folders of the built deployments or {@code null} if all deployments are built
+     */
+    private Collection<IDeployment> buildDeployments(List<FileData> fileData, Set<String> deploymentFolders) {
         ConcurrentMap<String, IDeployment> deployments = new ConcurrentHashMap<>();
         for (FileData fd : fileData) {
             String name = fd.getName();
@@ -180,6 +213,9 @@ public class RuleServiceLoaderImpl implements RuleServiceLoader {
             String deploymentPath = name.substring(deployFolder.length());
             String[] pathEntries = deploymentPath.split("/");
             String deploymentFolderName = pathEntries[0];
+            if (deploymentFolders != null && !deploymentFolders.contains(deploymentFolderName)) {
+                continue;
+            }
 
             String version = fd.getVersion();
             CommonVersionImpl commonVersion = new CommonVersionImpl(version == null ? "0" : version);
@@ -267,8 +303,37 @@ public class RuleServiceLoaderImpl implements RuleServiceLoader {
         if (dataSourceListener == null) {
             repository.setListener(null);
         } else {
-            repository.setListener(dataSourceListener::onDeploymentAdded);
+            repository.setListener(new Listener() {
+                @Override
+                public void onChange() {
+                    dataSourceListener.onDeploymentAdded();
+                }
+
+                @Override
+                public void onChange(Set<String> paths) {
+                    Set<String> deploymentFolders = getDeploymentFolders(paths);
+                    if (!deploymentFolders.isEmpty()) {
+                        dataSourceListener.onDeploymentsChanged(deploymentFolders);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the names of the deployment folders containing the given files. The files outside the deployment path
+     * are ignored. The name of a deployment can differ from the name of its folder, so the folders are resolved to the
+     * deployments by {@link #getDeployments(Set)}.
+     */
+    Set<String> getDeploymentFolders(Set<String> paths) {
+        String deployFolder = getDeployPath();
+        Set<String> deploymentFolders = new HashSet<>();
+        for (String path : paths) {
+            if (path.startsWith(deployFolder) && path.length() > deployFolder.length()) {
+                deploymentFolders.add(path.substring(deployFolder.length()).split("/")[0]);
+            }
         }
+        return deploymentFolders;
     }
 
     /**
@@ -0,0 +1,83 @@
+package org.openl.rules.ruleservice.management;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Publishes the runtime metrics of the rule services as JMX beans. The registry exists only when JMX is enabled with
+ * the {@code ruleservice.jmx.enabled} property, so the components which have metrics inject it as an optional
+ * dependency.
+ * <p>
+ * The beans are registered under the {@value #DOMAIN} domain with the {@code type} and {@code name} keys. The beans
+ * which are not unregistered by their owners are unregistered when the registry is destroyed.
+ */
+public final class MBeanRegistry implements DisposableBean {
+
+    public static final String DOMAIN = "org.openl.rules.ruleservice";
+
+    private final Logger log = LoggerFactory.getLogger(MBeanRegistry.class);
+
+    private final MBeanServer server;
+    private final Map<ObjectName, Object> registered = new ConcurrentHashMap<>();
+
+    public MBeanRegistry(MBeanServer server) {
+        this.server = Objects.requireNonNull(server, "server cannot be null");
+    }
+
+    public static ObjectName getObjectName(String type, String name) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+    }
+
+    /**
+     * Registers the bean. The failure of the registration is logged, it does not affect the bean owner.
+     *
+     * @param type the type of the bean, for example, {@code KafkaService}
+     * @param name the name which identifies the bean among the beans of the same type
+     * @param mbean the standard MBean or MXBean
+     */
+    public void register(String type, String name, Object mbean) {
+        try {
+            ObjectName objectName = getObjectName(type, name);
+            server.registerMBean(mbean, objectName);
+            registered.put(objectName, mbean);
+        } catch (JMException e) {
+            log.warn("Failed to register JMX bean '{}' with name '{}'.", type, name, e);
+        }
+    }
+
+    /**
+     * Unregisters the bean registered with the given type and name. Nothing happens if there is no such bean.
+     */
+    public void unregister(String type, String name) {
+        try {
+            unregister(getObjectName(type, name));
+        } catch (MalformedObjectNameException e) {
+            log.warn("Failed to unregister JMX bean '{}' with name '{}'.", type, name, e);
+        }
+    }
+
+    private void unregister(ObjectName objectName) {
+        if (registered.remove(objectName) == null) {
+            return;
+        }
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            log.warn("Failed to unregister JMX bean '{}'.", objectName, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        registered.keySet().forEach(this::unregister);
+    }
+}
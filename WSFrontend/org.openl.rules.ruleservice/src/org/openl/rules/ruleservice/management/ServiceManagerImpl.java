@@ -6,11 +6,15 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
@@ -30,6 +34,7 @@ import org.openl.message.OpenLMessage;
 import org.openl.message.OpenLMessagesUtils;
 import org.openl.message.Severity;
 import org.openl.rules.common.CommonVersion;
+import org.openl.rules.project.abstraction.IDeployment;
 import org.openl.rules.project.model.RulesDeploy;
 import org.openl.rules.ruleservice.conf.ServiceConfigurer;
 import org.openl.rules.ruleservice.core.DeploymentDescription;
@@ -57,6 +62,8 @@ import org.openl.util.StringUtils;
  */
 public class ServiceManagerImpl implements ServiceManager, DataSourceListener, ServiceInfoProvider, InitializingBean {
     private final Logger log = LoggerFactory.getLogger(ServiceManagerImpl.class);
+    // How long the resources of the undeployed service are kept for its calls in progress
+    private static final long INVOCATIONS_TIMEOUT_SECONDS = 60;
     private RuleServiceInstantiationFactory ruleServiceInstantiationFactory;
     private ServiceConfigurer serviceConfigurer;
     private RuleServiceLoader ruleServiceLoader;
@@ -66,6 +73,7 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
 
     private Collection<RuleServicePublisher> supportedPublishers;
     private Collection<RuleServicePublisherListener> listeners = Collections.emptyList();
+    private ServiceWarmUp serviceWarmUp;
 
     private ServiceDescription serviceDescriptionInProcess;
 
@@ -93,6 +101,10 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
         this.listeners = listeners;
     }
 
+    public void setServiceWarmUp(ServiceWarmUp serviceWarmUp) {
+        this.serviceWarmUp = serviceWarmUp;
+    }
+
     @Autowired
     public void setSupportedPublishers(Collection<RuleServicePublisher> supportedPublishers) {
         this.supportedPublishers = supportedPublishers;
@@ -114,10 +126,32 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
         processServices();
     }
 
-    private synchronized void processServices() {
-        Map<String, ServiceDescription> newServices = gatherServicesToBeDeployed();
+    /**
+     * Redeploys the services of the changed deployments only. The rest deployments are not read from the data source.
+     */
+    @Override
+    public void onDeploymentsChanged(Set<String> deploymentFolders) {
+        log.info("Assembling services after modification of deployments {} in data source.", deploymentFolders);
+        processServices(deploymentFolders);
+    }
+
+    private void processServices() {
+        processServices(null);
+    }
+
+    private synchronized void processServices(Set<String> deploymentFolders) {
+        Map<String, ServiceDescription> newServices = null;
+        if (deploymentFolders != null) {
+            newServices = gatherServicesToBeDeployed(deploymentFolders);
+        }
+        if (newServices == null) {
+            newServices = gatherServicesToBeDeployed();
+        }
         undeployUnnecessary(newServices);
         deployServices(newServices);
+        if (serviceWarmUp != null) {
+            serviceWarmUp.warmUp(services2.values(), this);
+        }
     }
 
     private Map<String, ServiceDescription> gatherServicesToBeDeployed() {
@@ -135,6 +169,46 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
         }
     }
 
+    /**
+     * Replaces the services of the deployments stored in the given folders in the current ones.
+     *
+     * @return the services to be deployed or {@code null} if all services must be gathered again
+     */
+    private Map<String, ServiceDescription> gatherServicesToBeDeployed(Set<String> deploymentFolders) {
+        try {
+            Collection<IDeployment> deployments = ruleServiceLoader.getDeployments(deploymentFolders);
+            if (deployments.size() != deploymentFolders.size()) {
+                // The deployment has been removed
+                return null;
+            }
+            Set<String> deploymentNames = new HashSet<>();
+            for (IDeployment deployment : deployments) {
+                deploymentNames.add(deployment.getDeploymentName());
+            }
+            Collection<ServiceDescription> changedServices = serviceConfigurer
+                    .getServicesToBeDeployed(ruleServiceLoader, deployments);
+            if (changedServices == null) {
+                return null;
+            }
+            Map<String, ServiceDescription> newServices = new HashMap<>();
+            for (ServiceDescription serviceDescription : services.values()) {
+                if (!deploymentNames.contains(serviceDescription.getDeployment().getName())) {
+                    newServices.put(serviceDescription.getDeployPath(), serviceDescription);
+                }
+            }
+            for (ServiceDescription serviceDescription : changedServices) {
+                if (newServices.putIfAbsent(serviceDescription.getDeployPath(), serviceDescription) != null) {
+                    // The service is moved from another deployment
+                    return null;
+                }
+            }
+            return newServices;
+        } catch (Exception e) {
+            log.error("Failed to gather services of deployments {} to be deployed.", deploymentFolders, e);
+            return null;
+        }
+    }
+
     private void undeployUnnecessary(Map<String, ServiceDescription> newServices) {
         for (String deployPath : services.keySet().toArray(StringUtils.EMPTY_STRING_ARRAY)) {
             if (!newServices.containsKey(deployPath)) {
@@ -151,33 +225,103 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
         final Map<DeploymentDescription, List<ServiceDescription>> groupedServices = newServices.values()
                 .stream()
                 .collect(Collectors.groupingBy(ServiceDescription::getDeployment));
+        for (List<ServiceDescription> serviceDescriptionsForDeployment : groupedServices.values()) {
+            if (hasAtLeastOneToDeploy(serviceDescriptionsForDeployment)) {
+                Map<String, OpenLService> compiledServices = new HashMap<>();
+                for (ServiceDescription serviceDescription : serviceDescriptionsForDeployment) {
+                    compiledServices.put(serviceDescription.getDeployPath(), createService(serviceDescription));
+                }
+                switchServices(serviceDescriptionsForDeployment, compiledServices);
+            }
+        }
+    }
+
+    private OpenLService createService(ServiceDescription serviceDescription) {
+        try {
+            this.serviceDescriptionInProcess = serviceDescription;
+            OpenLService service = ruleServiceInstantiationFactory.createService(serviceDescription);
+            if (services.containsKey(serviceDescription.getDeployPath())) {
+                // The new version is compiled while the old one is still in use. The new services are compiled on
+                // publishing as before, so the publishers which compile the services by request are not affected.
+                try {
+                    service.getServiceBean();
+                } catch (RuleServiceInstantiationException e) {
+                    // The failure is reported on publishing
+                    log.debug("Failed to initialize service '{}'.", serviceDescription.getDeployPath(), e);
+                }
+            }
+            return service;
+        } catch (Exception | LinkageError e) {
+            log.error("Failed to deploy service '{}'.", serviceDescription.getDeployPath(), e);
+            return null;
+        } finally {
+            this.serviceDescriptionInProcess = null;
+        }
+    }
+
+    /**
+     * Replaces the old versions of the services by the compiled ones. The requests are held only while the publishers
+     * are switched, the resources of the old versions are released after completion of their calls in progress.
+     * <p>
+     * If an old version cannot be unpublished, it is kept in use and the new version of this service is discarded.
+     */
+    private void switchServices(List<ServiceDescription> serviceDescriptions,
+                                Map<String, OpenLService> compiledServices) {
+        Map<ServiceDescription, OpenLService> oldServices = new LinkedHashMap<>();
+        Map<ServiceDescription, OpenLService> discardedServices = new LinkedHashMap<>();
         Lock lock = RuleServiceRedeployLock.getInstance().getWriteLock();
         try {
             lock.lock();
-            for (List<ServiceDescription> serviceDescriptionsForDeployment : groupedServices.values()) {
-                if (hasAtLeastOneToDeploy(serviceDescriptionsForDeployment)) {
-                    for (ServiceDescription serviceDescription : serviceDescriptionsForDeployment) {
-                        ServiceDescription old = services.get(serviceDescription.getDeployPath());
-                        if (old != null) {
-                            try {
-                                undeploy(old);
-                            } catch (Exception e) {
-                                log.error("Failed to undeploy service '{}'.", serviceDescription.getDeployPath(), e);
-                            }
-                        }
-                    }
-                    for (ServiceDescription serviceDescription : serviceDescriptionsForDeployment) {
-                        try {
-                            deploy(serviceDescription);
-                        } catch (Exception | LinkageError e) {
-                            log.error("Failed to deploy service '{}'.", serviceDescription.getDeployPath(), e);
+            for (ServiceDescription serviceDescription : serviceDescriptions) {
+                String deployPath = serviceDescription.getDeployPath();
+                ServiceDescription old = services.get(deployPath);
+                if (old != null) {
+                    OpenLService oldService = getServiceByDeploy(deployPath);
+                    try {
+                        this.serviceDescriptionInProcess = old;
+                        if (oldService != null) {
+                            // Null is possible when the old version was not compiled
+                            unpublish(deployPath);
                         }
+                        log.info("Service '{}' has been undeployed successfully.", deployPath);
+                        startDates.remove(deployPath);
+                        services.remove(deployPath);
+                        oldServices.put(old, oldService);
+                    } catch (Exception e) {
+                        log.error("Failed to undeploy service '{}'. The old version is kept in use.", deployPath, e);
+                        discardedServices.put(serviceDescription, compiledServices.get(deployPath));
+                    } finally {
+                        this.serviceDescriptionInProcess = null;
                     }
                 }
             }
+            for (ServiceDescription serviceDescription : serviceDescriptions) {
+                if (discardedServices.containsKey(serviceDescription)) {
+                    continue;
+                }
+                try {
+                    deploy(serviceDescription, compiledServices.get(serviceDescription.getDeployPath()));
+                } catch (Exception | LinkageError e) {
+                    log.error("Failed to deploy service '{}'.", serviceDescription.getDeployPath(), e);
+                }
+            }
         } finally {
             lock.unlock();
         }
+        Map<DeploymentDescription, ServiceDescription> releasedDeployments = new LinkedHashMap<>();
+        for (Map.Entry<ServiceDescription, OpenLService> e : oldServices.entrySet()) {
+            release(e.getValue());
+            releasedDeployments.putIfAbsent(e.getKey().getDeployment(), e.getKey());
+        }
+        for (Map.Entry<ServiceDescription, OpenLService> e : discardedServices.entrySet()) {
+            // The discarded service has not been published, so it has no calls
+            if (e.getValue() != null) {
+                closeServiceContext(e.getValue());
+                releaseClassLoader(e.getValue());
+            }
+            releasedDeployments.putIfAbsent(e.getKey().getDeployment(), e.getKey());
+        }
+        releasedDeployments.values().forEach(this::cleanDeploymentResources);
     }
 
     private boolean hasAtLeastOneToDeploy(List<ServiceDescription> serviceDescriptionsForCurrentDeployment) {
@@ -207,15 +351,55 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
             this.serviceDescriptionInProcess = null;
             startDates.remove(serviceName);
             services.remove(serviceName);
-            try {
-                ClassLoader classloader = service.getClassLoader();
-                OpenClassUtil.releaseClassLoader(classloader);
-            } catch (RuleServiceInstantiationException ignored) {
-            }
+            releaseClassLoader(service);
             cleanDeploymentResources(serviceDescription);
         }
     }
 
+    private void release(OpenLService service) {
+        if (service == null) {
+            return;
+        }
+        awaitInvocations(service);
+        closeServiceContext(service);
+        releaseClassLoader(service);
+    }
+
+    private void awaitInvocations(OpenLService service) {
+        Lock lock = service.getInvocationLock().writeLock();
+        try {
+            if (lock.tryLock(INVOCATIONS_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                lock.unlock();
+            } else {
+                log.warn("Service '{}' has calls in progress after {} seconds. Its resources are released anyway.",
+                        service.getDeployPath(),
+                        INVOCATIONS_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeServiceContext(OpenLService service) {
+        var serviceContext = service.getServiceContext();
+        if (serviceContext != null) {
+            // Null is possible when deployment was unsuccessful
+            serviceContext.close();
+        }
+        service.setServiceContext(null);
+    }
+
+    private static void releaseClassLoader(OpenLService service) {
+        if (service == null) {
+            return;
+        }
+        try {
+            ClassLoader classloader = service.getClassLoader();
+            OpenClassUtil.releaseClassLoader(classloader);
+        } catch (RuleServiceInstantiationException ignored) {
+        }
+    }
+
     private void cleanDeploymentResources(ServiceDescription serviceDescription) {
         boolean foundServiceWithThisDeployment = false;
         for (ServiceDescription sd : services.values()) {
@@ -229,20 +413,21 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
         }
     }
 
-    private void deploy(ServiceDescription serviceDescription) throws RuleServiceDeployException {
+    private void deploy(ServiceDescription serviceDescription,
+                        OpenLService newService) throws RuleServiceDeployException {
         String servicePath = serviceDescription.getDeployPath();
         if (getServiceByDeploy(servicePath) != null) {
             throw new RuleServiceDeployException(
                     String.format("The service with path '%s' is already deployed.", servicePath));
         }
         try {
-            this.serviceDescriptionInProcess = serviceDescription;
-            OpenLService newService = ruleServiceInstantiationFactory.createService(serviceDescription);
+            if (newService == null) {
+                // The failure has been logged on compilation
+                return;
+            }
             this.serviceDescriptionInProcess = serviceDescription;
             deploy(newService);
             log.info("Service '{}' has been deployed successfully.", servicePath);
-        } catch (RuleServiceInstantiationException e) {
-            throw new RuleServiceDeployException("Failed on deploy a service.", e);
         } finally {
             this.serviceDescriptionInProcess = null;
             // Register a service even it was deployed unsuccessfully.
@@ -307,7 +492,7 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
 
     @Override
     public boolean isReady() {
-        return ruleServiceLoader.isReady();
+        return ruleServiceLoader.isReady() && (serviceWarmUp == null || serviceWarmUp.isReady(services2.values()));
     }
 
     private void setUrls(OpenLService service) {
@@ -423,6 +608,12 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
 
     @Override
     public void undeploy(String deployPath) throws RuleServiceUndeployException {
+        OpenLService undeployService = unpublish(deployPath);
+        awaitInvocations(undeployService);
+        closeServiceContext(undeployService);
+    }
+
+    private OpenLService unpublish(String deployPath) throws RuleServiceUndeployException {
         Objects.requireNonNull(deployPath, "deployPath cannot be null");
         OpenLService undeployService = services2.get(deployPath);
         Objects.requireNonNull(undeployService, String.format("Service '%s' has not been found.", deployPath));
@@ -436,19 +627,12 @@ public class ServiceManagerImpl implements ServiceManager, DataSourceListener, S
                 }
             }
         }
-        if (e1 == null) {
-
-            var serviceContext = undeployService.getServiceContext();
-            if (serviceContext != null) {
-                // Null is possible when deployment was unsuccessful
-                serviceContext.close();
-            }
-            undeployService.setServiceContext(null);
-            services2.remove(deployPath);
-        } else {
+        if (e1 != null) {
             throw new RuleServiceUndeployException("Failed to undeploy a service.", e1);
         }
+        services2.remove(deployPath);
         fireUndeployListeners(deployPath);
+        return undeployService;
     }
 
     private void fireUndeployListeners(String deployPath) {
@@ -0,0 +1,151 @@
+package org.openl.rules.ruleservice.management;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import org.openl.rules.ruleservice.conf.DeploymentNameMatcher;
+import org.openl.rules.ruleservice.core.OpenLService;
+import org.openl.rules.ruleservice.core.RuleServiceInstantiationException;
+import org.openl.util.StringUtils;
+
+/**
+ * Compiles the deployed services in the background, so the publishers which compile the services by request can
+ * publish them without compilation and the first request does not wait for it.
+ * <p>
+ * The services matching the priority patterns are compiled first, in the order of the patterns. The required services
+ * are always compiled in the background, the service manager is not ready until they are compiled.
+ * <p>
+ * Only the services which are published without compilation, for example by the Java publisher, are sped up. The REST
+ * and the other JAX-RS publishers, as well as the Kafka publisher, read the service class when they publish a service,
+ * so the service is compiled synchronously during the deployment anyway.
+ */
+public class ServiceWarmUp implements DisposableBean {
+    private final Logger log = LoggerFactory.getLogger(ServiceWarmUp.class);
+
+    private boolean enabled;
+    private List<DeploymentNameMatcher> priority = new ArrayList<>();
+    private DeploymentNameMatcher required;
+
+    private ExecutorService executor;
+
+    /**
+     * Enables the background compilation of all deployed services.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets comma-separated deploy path patterns of the services which are compiled first.
+     */
+    public void setPriority(String priority) {
+        List<DeploymentNameMatcher> matchers = new ArrayList<>();
+        if (priority != null) {
+            for (String pattern : priority.split(",")) {
+                if (StringUtils.isNotBlank(pattern)) {
+                    matchers.add(new DeploymentNameMatcher(pattern));
+                }
+            }
+        }
+        this.priority = matchers;
+    }
+
+    /**
+     * Sets comma-separated deploy path patterns of the services which must be compiled before the service manager is
+     * ready.
+     */
+    public void setRequired(String required) {
+        this.required = StringUtils.isNotBlank(required) ? new DeploymentNameMatcher(required) : null;
+    }
+
+    /**
+     * Schedules the compilation of the services which have not been compiled yet.
+     *
+     * @param services the deployed services
+     * @param serviceManager used to skip the services which have been undeployed before their compilation
+     */
+    public synchronized void warmUp(Collection<OpenLService> services, ServiceManager serviceManager) {
+        List<OpenLService> servicesToCompile = new ArrayList<>();
+        for (OpenLService service : services) {
+            if (enabled || isRequired(service)) {
+                if (!service.isInitialized()) {
+                    servicesToCompile.add(service);
+                } else {
+                    log.debug("Service '{}' has been compiled by its publishers during the deployment.",
+                            service.getDeployPath());
+                }
+            }
+        }
+        if (servicesToCompile.isEmpty()) {
+            return;
+        }
+        servicesToCompile.sort(Comparator.comparingInt(this::getPriority));
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "openl-warm-up");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        for (OpenLService service : servicesToCompile) {
+            executor.execute(() -> compile(service, serviceManager));
+        }
+    }
+
+    private void compile(OpenLService service, ServiceManager serviceManager) {
+        if (service.isInitialized() || serviceManager.getServiceByDeploy(service.getDeployPath()) != service) {
+            return;
+        }
+        try {
+            service.getServiceBean();
+            log.info("Service '{}' has been compiled in the background.", service.getDeployPath());
+        } catch (RuleServiceInstantiationException e) {
+            // The failure is reported to the callers of the service
+            log.debug("Failed to compile service '{}' in the background.", service.getDeployPath(), e);
+        } catch (Exception | LinkageError e) {
+            log.error("Failed to compile service '{}' in the background.", service.getDeployPath(), e);
+        }
+    }
+
+    /**
+     * Checks if all required services from the given ones have been compiled.
+     */
+    public boolean isReady(Collection<OpenLService> services) {
+        for (OpenLService service : services) {
+            if (isRequired(service) && !service.isInitialized()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isRequired(OpenLService service) {
+        return required != null && required.hasMatches(service.getDeployPath());
+    }
+
+    private int getPriority(OpenLService service) {
+        for (int i = 0; i < priority.size(); i++) {
+            if (priority.get(i).hasMatches(service.getDeployPath())) {
+                return i;
+            }
+        }
+        // The required services are compiled before the rest ones
+        return isRequired(service) ? priority.size() : priority.size() + 1;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -118,13 +117,8 @@ public class RulesFrontendImpl implements RulesFrontend {
     }
 
     private OpenLService getService(String serviceName) {
-        Lock lock = RuleServiceRedeployLock.getInstance().getReadLock();
-        try {
-            lock.lock();
-            return runningServices.get(serviceName);
-        } finally {
-            lock.unlock();
-        }
+        RuleServiceRedeployLock.getInstance().awaitSwitching();
+        return runningServices.get(serviceName);
     }
 
     /**
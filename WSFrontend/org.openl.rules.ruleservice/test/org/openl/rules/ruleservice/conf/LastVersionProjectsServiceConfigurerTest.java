@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import org.openl.rules.project.abstraction.IDeployment;
 import org.openl.rules.ruleservice.core.ServiceDescription;
 import org.openl.rules.ruleservice.loader.RuleServiceLoader;
 
@@ -58,6 +59,17 @@ public class LastVersionProjectsServiceConfigurerTest {
         assertTrue(serviceNames.contains(PROJECT_NAME));
     }
 
+    @Test
+    public void shouldConfigureChangedDeployments() {
+        LastVersionProjectsServiceConfigurer configurer = new LastVersionProjectsServiceConfigurer();
+        Collection<IDeployment> deployments = rulesLoader
+                .getDeployments(Set.of("LastVersionProjectsServiceConfigurerTest", "removed"));
+        assertEquals(1, deployments.size());
+        Collection<ServiceDescription> servicesToBeDeployed = configurer.getServicesToBeDeployed(rulesLoader,
+                deployments);
+        assertEquals(2, servicesToBeDeployed.size());
+    }
+
     @Test
     public void shouldNotMatchAnyDeployments_whenDeploymentMatcherIsSet() {
         LastVersionProjectsServiceConfigurer configurer = new LastVersionProjectsServiceConfigurer();
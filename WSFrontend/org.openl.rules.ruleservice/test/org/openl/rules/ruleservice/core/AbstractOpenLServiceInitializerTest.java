@@ -0,0 +1,65 @@
+package org.openl.rules.ruleservice.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class AbstractOpenLServiceInitializerTest {
+
+    @Test
+    public void testInitializedOnce() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        AbstractOpenLServiceInitializer initializer = new AbstractOpenLServiceInitializer() {
+            @Override
+            protected void init(OpenLService openLService) {
+                count.incrementAndGet();
+            }
+        };
+        initializer.ensureInitialization(null);
+        initializer.ensureInitialization(null);
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testFailureIsReportedToEveryCaller() {
+        AtomicInteger count = new AtomicInteger();
+        RuleServiceInstantiationException failure = new RuleServiceInstantiationException("Failed");
+        AbstractOpenLServiceInitializer initializer = new AbstractOpenLServiceInitializer() {
+            @Override
+            protected void init(OpenLService openLService) throws RuleServiceInstantiationException {
+                count.incrementAndGet();
+                throw failure;
+            }
+        };
+        assertSame(failure, assertThrows(RuleServiceInstantiationException.class,
+                () -> initializer.ensureInitialization(null)));
+        assertSame(failure, assertThrows(RuleServiceInstantiationException.class,
+                () -> initializer.ensureInitialization(null)));
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testErrorIsReportedToEveryCaller() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        LinkageError error = new LinkageError("Failed");
+        AbstractOpenLServiceInitializer initializer = new AbstractOpenLServiceInitializer() {
+            @Override
+            protected void init(OpenLService openLService) {
+                count.incrementAndGet();
+                throw error;
+            }
+        };
+        assertFalse(initializer.isInitialized());
+        assertSame(error, assertThrows(LinkageError.class, () -> initializer.ensureInitialization(null)));
+        assertTrue(initializer.isInitialized());
+        assertSame(error, assertThrows(RuleServiceInstantiationException.class,
+                () -> initializer.ensureInitialization(null)).getCause());
+        assertEquals(1, count.get());
+    }
+}
@@ -1,9 +1,20 @@
 package org.openl.rules.ruleservice.loader;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.openl.rules.project.abstraction.IDeployment;
+
+import org.openl.rules.repository.file.FileSystemRepository;
 
 public class RuleServiceLoaderImplTest {
 
@@ -19,4 +30,43 @@ public class RuleServiceLoaderImplTest {
 
         assertNotEquals(str1, str2);
     }
+
+    @Test
+    public void testDeploymentFolders() throws Exception {
+        RuleServiceLoaderImpl loader = new RuleServiceLoaderImpl(new FileSystemRepository());
+        try {
+            loader.setDeployPath("deploy");
+            assertEquals(Set.of("first", "second"),
+                    loader.getDeploymentFolders(Set.of("deploy/first/project/rules.xml",
+                            "deploy/first/rules-deploy.xml",
+                            "deploy/second",
+                            "deploy/",
+                            ".openl-settings/.modification")));
+        } finally {
+            loader.destroy();
+        }
+    }
+
+    @Test
+    public void testDeploymentsOfFolders(@TempDir Path root) throws Exception {
+        for (String deployment : new String[]{"first", "second"}) {
+            Path project = Files.createDirectories(root.resolve("deploy/" + deployment + "/project"));
+            Files.writeString(project.resolve("rules.xml"), "<project><name>project</name></project>");
+        }
+        FileSystemRepository repository = new FileSystemRepository();
+        repository.setUri(root.toString());
+        repository.initialize();
+        RuleServiceLoaderImpl loader = new RuleServiceLoaderImpl(repository);
+        try {
+            loader.setDeployPath("deploy");
+            Collection<IDeployment> deployments = loader.getDeployments(Set.of("first", "removed"));
+            assertEquals(1, deployments.size());
+            IDeployment deployment = deployments.iterator().next();
+            assertEquals("first", deployment.getDeploymentName());
+            assertEquals("project", deployment.getProjects().iterator().next().getName());
+        } finally {
+            loader.destroy();
+            repository.close();
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package org.openl.rules.ruleservice.management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+public class MBeanRegistryTest {
+
+    private final MBeanServer server = MBeanServerFactory.newMBeanServer();
+    private final MBeanRegistry registry = new MBeanRegistry(server);
+
+    @Test
+    public void registerAndUnregister() throws Exception {
+        Counter counter = new Counter();
+        registry.register("Counter", "first", counter);
+
+        ObjectName name = MBeanRegistry.getObjectName("Counter", "first");
+        assertEquals(new ObjectName("org.openl.rules.ruleservice:type=Counter,name=\"first\""), name);
+        assertTrue(server.isRegistered(name));
+        counter.value.set(5);
+        assertEquals(5, server.getAttribute(name, "Value"));
+
+        registry.unregister("Counter", "first");
+        assertFalse(server.isRegistered(name));
+        // Unregistering of the missed bean is ignored
+        registry.unregister("Counter", "first");
+    }
+
+    @Test
+    public void failedRegistrationDoesNotAffectOwner() throws Exception {
+        Counter first = new Counter();
+        registry.register("Counter", "same", first);
+        registry.register("Counter", "same", new Counter());
+
+        ObjectName name = MBeanRegistry.getObjectName("Counter", "same");
+        first.value.set(1);
+        assertEquals(1, server.getAttribute(name, "Value"));
+    }
+
+    @Test
+    public void destroyUnregistersRemainingBeans() throws Exception {
+        registry.register("Counter", "first", new Counter());
+        registry.register("Counter", "second", new Counter());
+
+        registry.destroy();
+        assertFalse(server.isRegistered(MBeanRegistry.getObjectName("Counter", "first")));
+        assertFalse(server.isRegistered(MBeanRegistry.getObjectName("Counter", "second")));
+    }
+
+    public interface CounterMXBean {
+        int getValue();
+    }
+
+    public static final class Counter implements CounterMXBean {
+        private final AtomicInteger value = new AtomicInteger();
+
+        @Override
+        public int getValue() {
+            return value.get();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.openl.rules.ruleservice.management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import org.openl.rules.common.impl.CommonVersionImpl;
+import org.openl.rules.project.abstraction.IDeployment;
+import org.openl.rules.ruleservice.conf.ServiceConfigurer;
+import org.openl.rules.ruleservice.core.AbstractOpenLServiceInitializer;
+import org.openl.rules.ruleservice.core.DeploymentDescription;
+import org.openl.rules.ruleservice.core.OpenLService;
+import org.openl.rules.ruleservice.core.RuleServiceInstantiationFactory;
+import org.openl.rules.ruleservice.core.RuleServiceRedeployLock;
+import org.openl.rules.ruleservice.core.RuleServiceUndeployException;
+import org.openl.rules.ruleservice.core.ServiceDescription;
+import org.openl.rules.ruleservice.loader.RuleServiceLoader;
+import org.openl.rules.ruleservice.publish.RuleServicePublisher;
+
+public class ServiceManagerImplTest {
+
+    private static final String DEPLOY_PATH = "deployment/service";
+
+    private final ServiceManagerImpl serviceManager = new ServiceManagerImpl();
+    private final ServiceConfigurer serviceConfigurer = mock(ServiceConfigurer.class);
+    private final RuleServiceLoader ruleServiceLoader = mock(RuleServiceLoader.class);
+    private final TestPublisher publisher = new TestPublisher();
+    private final Map<String, ConfigurableApplicationContext> contexts = new ConcurrentHashMap<>();
+    private final CountDownLatch compilationStarted = new CountDownLatch(1);
+    private final CountDownLatch compilationAllowed = new CountDownLatch(1);
+    private final List<String> errors = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        RuleServiceInstantiationFactory instantiationFactory = mock(RuleServiceInstantiationFactory.class);
+        when(instantiationFactory.createService(any())).thenAnswer(i -> createService(i.getArgument(0)));
+        serviceManager.setRuleServiceInstantiationFactory(instantiationFactory);
+        serviceManager.setServiceConfigurer(serviceConfigurer);
+        serviceManager.setRuleServiceLoader(ruleServiceLoader);
+        serviceManager.setSupportedPublishers(List.of(publisher));
+
+        when(serviceConfigurer.getServicesToBeDeployed(any())).thenReturn(List.of(description("1")));
+        serviceManager.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        compilationAllowed.countDown();
+    }
+
+    @Test
+    public void testOldVersionIsUsedWhileNewOneIsCompiled() throws Exception {
+        OpenLService oldService = serviceManager.getServiceByDeploy(DEPLOY_PATH);
+        Lock invocation = oldService.getInvocationLock().readLock();
+
+        Thread redeploy = redeploy();
+        assertTrue(compilationStarted.await(10, TimeUnit.SECONDS));
+        // The requests are not held during the compilation of the new version
+        assertSame(oldService, serviceManager.getServiceByDeploy(DEPLOY_PATH));
+        assertSame(oldService, publisher.getServiceByDeploy(DEPLOY_PATH));
+        assertFalse(isSwitching());
+
+        // A call of the old version is in progress
+        invocation.lock();
+        try {
+            compilationAllowed.countDown();
+            awaitSwitched(oldService);
+            OpenLService newService = serviceManager.getServiceByDeploy(DEPLOY_PATH);
+            assertEquals("2", newService.getDeployment().getVersion().getVersionName());
+            assertSame(newService, publisher.getServiceByDeploy(DEPLOY_PATH));
+            // The write lock is released after switching, the old version waits for its calls
+            assertFalse(isSwitching());
+            assertTrue(redeploy.isAlive());
+            verify(contexts.get("1"), never()).close();
+        } finally {
+            invocation.unlock();
+        }
+        redeploy.join(10_000);
+        assertFalse(redeploy.isAlive());
+        verify(contexts.get("1")).close();
+        verify(contexts.get("2"), never()).close();
+
+        // The publishers are switched under the write lock only
+        assertEquals(List.of("undeploy 1", "deploy 2"), publisher.switched);
+        assertEquals(List.of(), errors);
+    }
+
+    @Test
+    public void testOldVersionIsKeptIfItCannotBeUndeployed() throws Exception {
+        OpenLService oldService = serviceManager.getServiceByDeploy(DEPLOY_PATH);
+        publisher.failUndeploy = true;
+
+        compilationAllowed.countDown();
+        Thread redeploy = redeploy();
+        redeploy.join(10_000);
+        assertFalse(redeploy.isAlive());
+
+        assertSame(oldService, serviceManager.getServiceByDeploy(DEPLOY_PATH));
+        assertSame(oldService, publisher.getServiceByDeploy(DEPLOY_PATH));
+        assertEquals(1, serviceManager.getServicesInfo().size());
+        // The resources of the used version are not released, the new version is discarded
+        verify(contexts.get("1"), never()).close();
+        verify(contexts.get("2"), timeout(10_000)).close();
+        assertEquals(List.of(), errors);
+    }
+
+    @Test
+    public void testServicesOfChangedDeploymentsAreReplaced() {
+        compilationAllowed.countDown();
+        IDeployment deployment = mock(IDeployment.class);
+        // The name of the deployment differs from the name of its folder
+        when(deployment.getDeploymentName()).thenReturn("deployment");
+        when(ruleServiceLoader.getDeployments(Set.of("folder"))).thenReturn(List.of(deployment));
+        when(serviceConfigurer.getServicesToBeDeployed(any(), eq(List.of(deployment))))
+                .thenReturn(List.of(description("2")));
+
+        serviceManager.onDeploymentsChanged(Set.of("folder"));
+        assertEquals("2", serviceManager.getServiceByDeploy(DEPLOY_PATH).getDeployment().getVersion().getVersionName());
+        // The rest deployments are not read
+        verify(serviceConfigurer).getServicesToBeDeployed(any());
+
+        // The removed deployment requires gathering of all services
+        when(serviceConfigurer.getServicesToBeDeployed(any())).thenReturn(List.of(description("3")));
+        when(ruleServiceLoader.getDeployments(Set.of("removed"))).thenReturn(List.of());
+        serviceManager.onDeploymentsChanged(Set.of("removed"));
+        assertEquals("3", serviceManager.getServiceByDeploy(DEPLOY_PATH).getDeployment().getVersion().getVersionName());
+        assertEquals(List.of(), errors);
+    }
+
+    private Thread redeploy() {
+        when(serviceConfigurer.getServicesToBeDeployed(any())).thenReturn(List.of(description("2")));
+        Thread thread = new Thread(serviceManager::onDeploymentAdded);
+        thread.start();
+        return thread;
+    }
+
+    private void awaitSwitched(OpenLService oldService) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (publisher.getServiceByDeploy(DEPLOY_PATH) == oldService) {
+            assertTrue(System.currentTimeMillis() < deadline, "Services have not been switched");
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean isSwitching() {
+        Lock lock = RuleServiceRedeployLock.getInstance().getReadLock();
+        if (lock.tryLock()) {
+            lock.unlock();
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isWriteLockHeld() {
+        return ((ReentrantReadWriteLock.WriteLock) RuleServiceRedeployLock.getInstance().getWriteLock())
+                .isHeldByCurrentThread();
+    }
+
+    private static ServiceDescription description(String version) {
+        return new ServiceDescription.ServiceDescriptionBuilder().setName("service")
+                .setServicePath(DEPLOY_PATH)
+                .setResourceLoader(location -> null)
+                .setModules(List.of())
+                .setDeployment(new DeploymentDescription("deployment", new CommonVersionImpl(version)))
+                .build();
+    }
+
+    private OpenLService createService(ServiceDescription serviceDescription) {
+        String version = serviceDescription.getDeployment().getVersion().getVersionName();
+        OpenLService service = new OpenLService.OpenLServiceBuilder().setName(serviceDescription.getName())
+                .setDeployPath(serviceDescription.getDeployPath())
+                .setDeployment(serviceDescription.getDeployment())
+                .build(new AbstractOpenLServiceInitializer() {
+                    @Override
+                    protected void init(OpenLService openLService) {
+                        if (isWriteLockHeld()) {
+                            errors.add("The service is compiled under the write lock");
+                        }
+                        compilationStarted.countDown();
+                        try {
+                            if (!compilationAllowed.await(10, TimeUnit.SECONDS)) {
+                                errors.add("The compilation is not allowed");
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        service.setServiceContext(context);
+        contexts.put(version, context);
+        return service;
+    }
+
+    private final class TestPublisher implements RuleServicePublisher {
+        private final Map<String, OpenLService> services = new ConcurrentHashMap<>();
+        private final List<String> switched = new ArrayList<>();
+        private volatile boolean failUndeploy;
+
+        @Override
+        public void deploy(OpenLService service) {
+            record("deploy", service);
+            services.put(service.getDeployPath(), service);
+        }
+
+        @Override
+        public void undeploy(OpenLService service) throws RuleServiceUndeployException {
+            record("undeploy", service);
+            if (failUndeploy) {
+                throw new RuleServiceUndeployException("Failed");
+            }
+            services.remove(service.getDeployPath());
+        }
+
+        private void record(String action, OpenLService service) {
+            String version = service.getDeployment().getVersion().getVersionName();
+            if (!"1".equals(version) || !"deploy".equals(action)) {
+                if (!isWriteLockHeld()) {
+                    errors.add(action + " " + version + " is not under the write lock");
+                }
+                switched.add(action + " " + version);
+            }
+        }
+
+        @Override
+        public OpenLService getServiceByDeploy(String deployPath) {
+            return services.get(deployPath);
+        }
+
+        @Override
+        public String getUrl(OpenLService service) {
+            return null;
+        }
+    }
+}
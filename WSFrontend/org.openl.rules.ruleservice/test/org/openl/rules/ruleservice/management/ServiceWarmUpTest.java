@@ -0,0 +1,126 @@
+package org.openl.rules.ruleservice.management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.openl.rules.common.impl.CommonVersionImpl;
+import org.openl.rules.ruleservice.core.AbstractOpenLServiceInitializer;
+import org.openl.rules.ruleservice.core.DeploymentDescription;
+import org.openl.rules.ruleservice.core.OpenLService;
+import org.openl.rules.ruleservice.core.RuleServiceInstantiationException;
+
+public class ServiceWarmUpTest {
+
+    private final List<String> compiled = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, OpenLService> deployed = new LinkedHashMap<>();
+    private final ServiceManager serviceManager = mock(ServiceManager.class);
+    private final ServiceWarmUp warmUp = new ServiceWarmUp();
+
+    {
+        when(serviceManager.getServiceByDeploy(anyString())).thenAnswer(i -> deployed.get(i.getArgument(0)));
+    }
+
+    @AfterEach
+    public void destroy() {
+        warmUp.destroy();
+    }
+
+    @Test
+    public void testServicesAreCompiledInPriorityOrder() throws Exception {
+        deploy("bar");
+        deploy("foo-1");
+        deploy("baz");
+        deploy("foo-2");
+        warmUp.setEnabled(true);
+        warmUp.setPriority("baz, foo-*");
+
+        warmUp.warmUp(deployed.values(), serviceManager);
+        await(() -> compiled.size() == 4);
+        assertEquals(List.of("baz", "foo-1", "foo-2", "bar"), compiled);
+    }
+
+    @Test
+    public void testOnlyRequiredServicesAreCompiledIfDisabled() throws Exception {
+        OpenLService foo = deploy("foo");
+        OpenLService bar = deploy("bar");
+        warmUp.setRequired("foo");
+        assertFalse(warmUp.isReady(deployed.values()));
+
+        warmUp.warmUp(deployed.values(), serviceManager);
+        await(foo::isInitialized);
+        assertEquals(List.of("foo"), compiled);
+        assertFalse(bar.isInitialized());
+        assertTrue(warmUp.isReady(deployed.values()));
+    }
+
+    @Test
+    public void testFailedServiceIsReady() throws Exception {
+        OpenLService failed = new OpenLService.OpenLServiceBuilder().setName("failed")
+                .setDeployPath("failed")
+                .setDeployment(new DeploymentDescription("failed", new CommonVersionImpl("0")))
+                .build(new AbstractOpenLServiceInitializer() {
+                    @Override
+                    protected void init(OpenLService openLService) throws RuleServiceInstantiationException {
+                        throw new RuleServiceInstantiationException("Failed");
+                    }
+                });
+        deployed.put("failed", failed);
+        warmUp.setRequired("*");
+        assertFalse(warmUp.isReady(deployed.values()));
+
+        warmUp.warmUp(deployed.values(), serviceManager);
+        await(failed::isInitialized);
+        assertTrue(warmUp.isReady(deployed.values()));
+    }
+
+    @Test
+    public void testUndeployedServiceIsNotCompiled() throws Exception {
+        deploy("foo");
+        OpenLService bar = deploy("bar");
+        OpenLService baz = deploy("baz");
+        warmUp.setEnabled(true);
+        List<OpenLService> services = new ArrayList<>(deployed.values());
+        deployed.remove("bar");
+
+        warmUp.warmUp(services, serviceManager);
+        await(baz::isInitialized);
+        assertEquals(List.of("foo", "baz"), compiled);
+        assertFalse(bar.isInitialized());
+    }
+
+    private OpenLService deploy(String deployPath) {
+        OpenLService service = new OpenLService.OpenLServiceBuilder().setName(deployPath)
+                .setDeployPath(deployPath)
+                .setDeployment(new DeploymentDescription(deployPath, new CommonVersionImpl("0")))
+                .build(new AbstractOpenLServiceInitializer() {
+                    @Override
+                    protected void init(OpenLService openLService) {
+                        compiled.add(openLService.getDeployPath());
+                    }
+                });
+        deployed.put(deployPath, service);
+        return service;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Services have not been compiled");
+            Thread.sleep(10);
+        }
+    }
+}